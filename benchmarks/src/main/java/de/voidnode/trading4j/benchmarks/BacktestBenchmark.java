@@ -0,0 +1,161 @@
+package de.voidnode.trading4j.benchmarks;
+
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import de.voidnode.trading4j.api.BasicExpertAdvisorFactory;
+import de.voidnode.trading4j.api.Broker;
+import de.voidnode.trading4j.api.ExpertAdvisor;
+import de.voidnode.trading4j.api.Failed;
+import de.voidnode.trading4j.api.OrderEventListener;
+import de.voidnode.trading4j.backtest.Backtest;
+import de.voidnode.trading4j.domain.ForexSymbol;
+import de.voidnode.trading4j.domain.Volume;
+import de.voidnode.trading4j.domain.environment.AccountInformation;
+import de.voidnode.trading4j.domain.environment.SpecialFeesInformation;
+import de.voidnode.trading4j.domain.environment.TradingEnvironmentInformation;
+import de.voidnode.trading4j.domain.environment.VolumeConstraints;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.orders.BasicPendingOrder;
+import de.voidnode.trading4j.domain.orders.CloseConditions;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.domain.trades.CompletedTrade;
+import de.voidnode.trading4j.moneymanagement.NonMoneyManagement;
+
+import static de.voidnode.trading4j.domain.VolumeUnit.LOT;
+import static de.voidnode.trading4j.domain.VolumeUnit.MINI_LOT;
+import static de.voidnode.trading4j.domain.orders.ExecutionCondition.STOP;
+import static de.voidnode.trading4j.domain.orders.OrderType.BUY;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how many {@link M1} candle sticks a {@link Backtest} processes.
+ *
+ * <p>
+ * The expert advisor places a pending order every hour so that the costs of the simulated broker and the trade
+ * tracking are included. The result is the number of candle sticks per millisecond.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BacktestBenchmark {
+
+    private static final int CANDLE_STICKS_PER_RUN = 100_000;
+    private static final int EXPERT_ADVISOR_NUMBER = 1;
+    private static final int CANDLE_STICKS_PER_ORDER = 60;
+    private static final long ENTRY_DISTANCE = 20;
+    private static final long TAKE_PROFIT_DISTANCE = 150;
+    private static final long STOP_LOOSE_DISTANCE = 100;
+
+    private static final ForexSymbol EURUSD = new ForexSymbol("EURUSD");
+    // 2015-01-01T00:00:00Z, the start of the synthetic market data.
+    private static final Instant NON_HISTORIC_TIME = Instant.ofEpochSecond(1420070400L);
+
+    /**
+     * The benchmark is not interested in the events of single orders.
+     */
+    private static final OrderEventListener IGNORED_ORDER_EVENTS = new OrderEventListener() {
+        @Override
+        public void orderRejected(final Failed failure) {
+            // nothing to do here
+        }
+
+        @Override
+        public void orderOpened(final Instant time, final Price price) {
+            // nothing to do here
+        }
+
+        @Override
+        public void orderClosed(final Instant time, final Price price) {
+            // nothing to do here
+        }
+    };
+
+    private Backtest backtest;
+    private SyntheticM1Stream marketData;
+
+    /**
+     * Creates a fresh backtest and market data for each run.
+     */
+    @Setup
+    public void setUp() {
+        final TradingEnvironmentInformation environment = new TradingEnvironmentInformation(
+                new AccountInformation("Backtest", 1, EURUSD.getQuoteCurrency()), EURUSD, EURUSD,
+                new SpecialFeesInformation(new Price(0), new Price(0)), NON_HISTORIC_TIME,
+                new VolumeConstraints(new Volume(1, MINI_LOT), new Volume(100, LOT), new Volume(1, MINI_LOT)));
+        backtest = new Backtest(new HourlyOrderFactory(), new NonMoneyManagement(new Volume(1, MINI_LOT)),
+                environment);
+        marketData = new SyntheticM1Stream(1);
+    }
+
+    /**
+     * Measures a backtest of {@link #CANDLE_STICKS_PER_RUN} candle sticks.
+     *
+     * @return The completed trades.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CANDLE_STICKS_PER_RUN)
+    public List<CompletedTrade> backtest() {
+        return backtest.run(EXPERT_ADVISOR_NUMBER, () -> new Iterator<FullMarketData<M1>>() {
+            private int remaining = CANDLE_STICKS_PER_RUN;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public FullMarketData<M1> next() {
+                remaining--;
+                return marketData.next();
+            }
+        });
+    }
+
+    /**
+     * Produces expert advisors that place a buy stop order slightly above the market every hour.
+     */
+    private static final class HourlyOrderFactory implements BasicExpertAdvisorFactory {
+
+        @Override
+        public Optional<ExpertAdvisor<FullMarketData<M1>>> newExpertAdvisor(final int expertAdvisorNumber,
+                final Broker<BasicPendingOrder> broker, final TradingEnvironmentInformation environment) {
+            return Optional.of(new ExpertAdvisor<FullMarketData<M1>>() {
+                private int candleSticks;
+
+                @Override
+                public void newData(final FullMarketData<M1> candleStick) {
+                    if (++candleSticks % CANDLE_STICKS_PER_ORDER != 0) {
+                        return;
+                    }
+                    final long close = candleStick.getClose().asPipette();
+                    broker.sendOrder(new BasicPendingOrder(BUY, STOP, new Price(close + ENTRY_DISTANCE),
+                            new CloseConditions(new Price(close + TAKE_PROFIT_DISTANCE),
+                                    new Price(close - STOP_LOOSE_DISTANCE))),
+                            IGNORED_ORDER_EVENTS);
+                }
+            });
+        }
+    }
+}
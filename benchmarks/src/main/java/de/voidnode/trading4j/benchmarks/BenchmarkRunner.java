@@ -0,0 +1,59 @@
+package de.voidnode.trading4j.benchmarks;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the settings used to compare Trading4j versions.
+ *
+ * <p>
+ * In addition to the throughput the allocation rate is measured with the {@link GCProfiler}. The results are written
+ * as JSON to <code>jmh-result.json</code> in the working directory. All JMH command line options can be used to change
+ * these defaults, e.g. <code>-rf csv -rff result.csv</code> or a regular expression to select benchmarks.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public final class BenchmarkRunner {
+
+    private static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    private BenchmarkRunner() {
+
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args
+     *            JMH command line options.
+     * @throws CommandLineOptionException
+     *             When the command line options are invalid.
+     * @throws RunnerException
+     *             When running the benchmarks failed.
+     * @throws IOException
+     *             When JMH failed to list the benchmarks.
+     */
+    public static void main(final String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        final CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        final Options options = new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class)
+                .resultFormat(commandLine.getResultFormat().orElse(ResultFormatType.JSON))
+                .result(commandLine.getResult().orElse(DEFAULT_RESULT_FILE)).build();
+        new Runner(options).run();
+    }
+}
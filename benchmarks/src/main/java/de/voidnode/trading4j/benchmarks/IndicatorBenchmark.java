@@ -0,0 +1,104 @@
+package de.voidnode.trading4j.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import de.voidnode.trading4j.api.Indicator;
+import de.voidnode.trading4j.domain.MarketDirection;
+import de.voidnode.trading4j.domain.Ratio;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.indicators.FractalIndicator;
+import de.voidnode.trading4j.indicators.ParabolicStopAndReverse;
+import de.voidnode.trading4j.indicators.RelativeStrengthIndex;
+import de.voidnode.trading4j.indicators.adx.AverageDirectionalMovementIndexFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of passing a single {@link M1} candle stick to an {@link Indicator}.
+ *
+ * @author Raik Bieniek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndicatorBenchmark {
+
+    private static final int RSI_PERIOD = 14;
+    private static final double PSAR_ACCELERATION_STEP = 0.02;
+    private static final double PSAR_MAXIMAL_ACCELERATION = 0.2;
+
+    private SyntheticM1Stream marketData;
+    private Indicator<Ratio, FullMarketData<M1>> relativeStrengthIndex;
+    private Indicator<Ratio, FullMarketData<M1>> averageDirectionalMovementIndex;
+    private Indicator<Price, FullMarketData<M1>> parabolicStopAndReverse;
+    private Indicator<MarketDirection, FullMarketData<M1>> fractal;
+
+    /**
+     * Creates fresh indicators and market data for each run.
+     */
+    @Setup
+    public void setUp() {
+        marketData = new SyntheticM1Stream(1);
+        relativeStrengthIndex = new RelativeStrengthIndex<>(RSI_PERIOD);
+        averageDirectionalMovementIndex = new AverageDirectionalMovementIndexFactory().createDefaultAdxIndicator();
+        parabolicStopAndReverse = new ParabolicStopAndReverse<>(new Ratio(PSAR_ACCELERATION_STEP),
+                new Ratio(PSAR_MAXIMAL_ACCELERATION));
+        fractal = new FractalIndicator<>(MarketDirection.UP);
+    }
+
+    /**
+     * Measures {@link RelativeStrengthIndex}.
+     *
+     * @return The indicated value.
+     */
+    @Benchmark
+    public Optional<Ratio> relativeStrengthIndex() {
+        return relativeStrengthIndex.indicate(marketData.next());
+    }
+
+    /**
+     * Measures the indicator chain created by
+     * {@link AverageDirectionalMovementIndexFactory#createDefaultAdxIndicator()}.
+     *
+     * @return The indicated value.
+     */
+    @Benchmark
+    public Optional<Ratio> averageDirectionalMovementIndex() {
+        return averageDirectionalMovementIndex.indicate(marketData.next());
+    }
+
+    /**
+     * Measures {@link ParabolicStopAndReverse}.
+     *
+     * @return The indicated value.
+     */
+    @Benchmark
+    public Optional<Price> parabolicStopAndReverse() {
+        return parabolicStopAndReverse.indicate(marketData.next());
+    }
+
+    /**
+     * Measures {@link FractalIndicator}.
+     *
+     * @return The indicated value.
+     */
+    @Benchmark
+    public Optional<MarketDirection> fractal() {
+        return fractal.indicate(marketData.next());
+    }
+}
@@ -0,0 +1,117 @@
+package de.voidnode.trading4j.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import de.voidnode.trading4j.api.MoneyManagement;
+import de.voidnode.trading4j.api.UsedVolumeManagement;
+import de.voidnode.trading4j.domain.ForexSymbol;
+import de.voidnode.trading4j.domain.Volume;
+import de.voidnode.trading4j.domain.monetary.Money;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.moneymanagement.ThreadSafeMoneyManagement;
+import de.voidnode.trading4j.moneymanagement.standard.DefaultMoneyManagement;
+
+import static de.voidnode.trading4j.domain.VolumeUnit.MICRO_LOT;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Measures the contention on a {@link MoneyManagement} that is shared by many expert advisors.
+ *
+ * <p>
+ * Each thread simulates an expert advisor that updates the exchange rate of its symbol and then requests and returns
+ * volume for it. The threads are spread evenly over symbols with distinct currencies. The {@link DefaultMoneyManagement}
+ * is compared with and without being wrapped in a {@link ThreadSafeMoneyManagement} that serializes all calls with a
+ * single lock. The result is the number of simulated requests per millisecond of all threads together.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(64)
+public class MoneyManagementBenchmark {
+
+    private static final ForexSymbol[] SYMBOLS = { new ForexSymbol("EURGBP"), new ForexSymbol("AUDNZD"),
+        new ForexSymbol("CHFJPY"), new ForexSymbol("CADSEK"), new ForexSymbol("NOKDKK"), new ForexSymbol("SGDHKD"),
+        new ForexSymbol("PLNCZK"), new ForexSymbol("ZARMXN"), };
+    private static final Price PRICE = new Price(1.0);
+    private static final Price STOP_LOOSE = new Price(100);
+    private static final Volume STEP_SIZE = new Volume(1, MICRO_LOT);
+
+    /**
+     * Whether the {@link DefaultMoneyManagement} is wrapped in a {@link ThreadSafeMoneyManagement}.
+     */
+    @Param({ "synchronized", "concurrent" })
+    private String synchronization;
+
+    private MoneyManagement moneyManagement;
+
+    /**
+     * Creates the money management with an account in USD and the exchange rates needed for all symbols.
+     */
+    @Setup
+    public void setUp() {
+        final DefaultMoneyManagement defaultMoneyManagement = new DefaultMoneyManagement();
+        moneyManagement = "synchronized".equals(synchronization)
+                ? new ThreadSafeMoneyManagement(defaultMoneyManagement) : defaultMoneyManagement;
+        moneyManagement.updateBalance(new Money(10_000, 0, "USD"));
+        for (final ForexSymbol symbol : SYMBOLS) {
+            moneyManagement.updateExchangeRate(
+                    new ForexSymbol(symbol.getQuoteCurrency().getCurrencyCode() + "USD"), PRICE);
+        }
+    }
+
+    /**
+     * Updates the exchange rate of the symbol of the calling thread and requests and returns volume for it.
+     *
+     * @param expertAdvisor
+     *            The symbol of the calling thread.
+     * @return The requested volume if any.
+     */
+    @Benchmark
+    public Optional<UsedVolumeManagement> requestVolume(final ExpertAdvisorState expertAdvisor) {
+        moneyManagement.updateExchangeRate(expertAdvisor.symbol, PRICE);
+        final Optional<UsedVolumeManagement> volume = moneyManagement.requestVolume(expertAdvisor.symbol, PRICE,
+                STOP_LOOSE, STEP_SIZE);
+        volume.ifPresent(UsedVolumeManagement::releaseVolume);
+        return volume;
+    }
+
+    /**
+     * The symbol traded by a single thread.
+     */
+    @State(Scope.Thread)
+    public static class ExpertAdvisorState {
+
+        private ForexSymbol symbol;
+
+        /**
+         * Chooses the symbol based on the index of the thread.
+         *
+         * @param thread
+         *            Information about the calling thread.
+         */
+        @Setup
+        public void setUp(final ThreadParams thread) {
+            symbol = SYMBOLS[thread.getThreadIndex() % SYMBOLS.length];
+        }
+    }
+}
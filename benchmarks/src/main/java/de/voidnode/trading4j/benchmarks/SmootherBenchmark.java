@@ -0,0 +1,84 @@
+package de.voidnode.trading4j.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.functionality.smoothers.ExponentialMovingAveragePrice;
+import de.voidnode.trading4j.functionality.smoothers.SimpleMovingAveragePrice;
+import de.voidnode.trading4j.functionality.smoothers.SmoothedMovingAveragePrice;
+import de.voidnode.trading4j.functionality.smoothers.Smoother;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of smoothing the close price of a single {@link de.voidnode.trading4j.domain.timeframe.M1} candle
+ * stick.
+ *
+ * @author Raik Bieniek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SmootherBenchmark {
+
+    private static final int PERIOD = 14;
+
+    private SyntheticM1Stream marketData;
+    private Smoother<Price> simpleMovingAverage;
+    private Smoother<Price> exponentialMovingAverage;
+    private Smoother<Price> smoothedMovingAverage;
+
+    /**
+     * Creates fresh smoothers and market data for each run.
+     */
+    @Setup
+    public void setUp() {
+        marketData = new SyntheticM1Stream(1);
+        simpleMovingAverage = new SimpleMovingAveragePrice(PERIOD);
+        exponentialMovingAverage = new ExponentialMovingAveragePrice(PERIOD);
+        smoothedMovingAverage = new SmoothedMovingAveragePrice(PERIOD);
+    }
+
+    /**
+     * Measures {@link SimpleMovingAveragePrice}.
+     *
+     * @return The smoothed price.
+     */
+    @Benchmark
+    public Optional<Price> simpleMovingAverage() {
+        return simpleMovingAverage.smooth(marketData.next().getClose());
+    }
+
+    /**
+     * Measures {@link ExponentialMovingAveragePrice}.
+     *
+     * @return The smoothed price.
+     */
+    @Benchmark
+    public Optional<Price> exponentialMovingAverage() {
+        return exponentialMovingAverage.smooth(marketData.next().getClose());
+    }
+
+    /**
+     * Measures {@link SmoothedMovingAveragePrice}.
+     *
+     * @return The smoothed price.
+     */
+    @Benchmark
+    public Optional<Price> smoothedMovingAverage() {
+        return smoothedMovingAverage.smooth(marketData.next().getClose());
+    }
+}
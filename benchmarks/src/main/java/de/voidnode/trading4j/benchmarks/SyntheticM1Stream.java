@@ -0,0 +1,88 @@
+package de.voidnode.trading4j.benchmarks;
+
+import java.util.Random;
+
+import de.voidnode.trading4j.domain.VolumeUnit;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.marketdata.impl.ReusableFullMarketData;
+import de.voidnode.trading4j.domain.timeframe.M1;
+
+/**
+ * An endless stream of synthetic {@link M1} market data that is used as input for benchmarks.
+ *
+ * <p>
+ * The prices follow a random walk that is generated up front from a fixed seed so that every run of a benchmark gets
+ * the same input. The generated candle sticks are repeated when the end is reached but the time advances by one minute
+ * for every candle stick. The market data is passed as a {@link ReusableFullMarketData} like the server does it.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public final class SyntheticM1Stream {
+
+    private static final int CANDLE_STICKS = 1 << 14;
+    private static final int INDEX_MASK = CANDLE_STICKS - 1;
+
+    // 2015-01-01T00:00:00Z
+    private static final long START_TIME = 1420070400L;
+    private static final long SECONDS_PER_CANDLE_STICK = 60;
+
+    private static final double START_PRICE = 1.1;
+    private static final double CLOSE_DEVIATION = 0.0003;
+    private static final double WICK_DEVIATION = 0.0001;
+    private static final int MIN_SPREAD = 5;
+    private static final int SPREAD_RANGE = 20;
+    private static final int VOLUME_STEPS = 100;
+    private static final int VOLUME_STEP_SIZE = 1000;
+    private static final int MAX_TICK_COUNT = 200;
+
+    private final double[] open = new double[CANDLE_STICKS];
+    private final double[] high = new double[CANDLE_STICKS];
+    private final double[] low = new double[CANDLE_STICKS];
+    private final double[] close = new double[CANDLE_STICKS];
+    private final int[] spread = new int[CANDLE_STICKS];
+    private final int[] volume = new int[CANDLE_STICKS];
+    private final int[] tickCount = new int[CANDLE_STICKS];
+
+    private final ReusableFullMarketData<M1> current = new ReusableFullMarketData<>();
+    private long position;
+
+    /**
+     * Generates the candle sticks of the stream.
+     *
+     * @param seed
+     *            The seed for the random walk. Streams with the same seed contain the same market data.
+     */
+    public SyntheticM1Stream(final long seed) {
+        final Random random = new Random(seed);
+        double price = START_PRICE;
+        for (int i = 0; i < CANDLE_STICKS; i++) {
+            open[i] = price;
+            close[i] = price + random.nextGaussian() * CLOSE_DEVIATION;
+            high[i] = Math.max(open[i], close[i]) + Math.abs(random.nextGaussian()) * WICK_DEVIATION;
+            low[i] = Math.min(open[i], close[i]) - Math.abs(random.nextGaussian()) * WICK_DEVIATION;
+            spread[i] = MIN_SPREAD + random.nextInt(SPREAD_RANGE);
+            volume[i] = (1 + random.nextInt(VOLUME_STEPS)) * VOLUME_STEP_SIZE;
+            tickCount[i] = 1 + random.nextInt(MAX_TICK_COUNT);
+            price = close[i];
+        }
+    }
+
+    /**
+     * Returns the next candle stick of the stream.
+     *
+     * <p>
+     * The instance returned is the same for all calls and is refilled with the values of the next candle stick.
+     * </p>
+     *
+     * @return The next candle stick.
+     */
+    public FullMarketData<M1> next() {
+        final int i = (int) (position & INDEX_MASK);
+        current.setTime(START_TIME + position * SECONDS_PER_CANDLE_STICK).setOpen(open[i]).setHigh(high[i])
+                .setLow(low[i]).setClose(close[i]).setSpread(spread[i]).setVolume(volume[i], VolumeUnit.BASE)
+                .setTickCount(tickCount[i]);
+        position++;
+        return current;
+    }
+}
@@ -0,0 +1,86 @@
+package de.voidnode.trading4j.benchmarks;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import de.voidnode.trading4j.api.MarketDataListener;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.timeframe.H1;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.domain.timeframe.M5;
+import de.voidnode.trading4j.functionality.timeframeconversion.FullMarketDataTimeFrameConverter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of aggregating a single {@link M1} candle stick with a {@link FullMarketDataTimeFrameConverter}.
+ *
+ * @author Raik Bieniek
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeFrameConverterBenchmark {
+
+    private SyntheticM1Stream marketData;
+    private FullMarketDataTimeFrameConverter<FullMarketData<M1>, M1, M5> toM5;
+    private FullMarketDataTimeFrameConverter<FullMarketData<M1>, M1, H1> toH1;
+    private FullMarketDataTimeFrameConverter<FullMarketData<M1>, M1, H1> toH1WithListener;
+    private MarketDataListener<FullMarketData<H1>> h1Listener;
+    private FullMarketData<H1> lastH1;
+
+    /**
+     * Creates fresh converters and market data for each run.
+     */
+    @Setup
+    public void setUp() {
+        marketData = new SyntheticM1Stream(1);
+        toM5 = new FullMarketDataTimeFrameConverter<>(new M1(), new M5());
+        toH1 = new FullMarketDataTimeFrameConverter<>(new M1(), new H1());
+        toH1WithListener = new FullMarketDataTimeFrameConverter<>(new M1(), new H1());
+        h1Listener = candleStick -> lastH1 = candleStick;
+    }
+
+    /**
+     * Measures the conversion from {@link M1} to {@link M5}.
+     *
+     * @return The completed {@link M5} candle stick if any.
+     */
+    @Benchmark
+    public Optional<FullMarketData<M5>> m1ToM5() {
+        return toM5.aggregate(marketData.next());
+    }
+
+    /**
+     * Measures the conversion from {@link M1} to {@link H1}.
+     *
+     * @return The completed {@link H1} candle stick if any.
+     */
+    @Benchmark
+    public Optional<FullMarketData<H1>> m1ToH1() {
+        return toH1.aggregate(marketData.next());
+    }
+
+    /**
+     * Measures the conversion from {@link M1} to {@link H1} when completed candle sticks are passed to a listener.
+     *
+     * @return The last completed {@link H1} candle stick.
+     */
+    @Benchmark
+    public FullMarketData<H1> m1ToH1WithListener() {
+        toH1WithListener.aggregate(marketData.next(), h1Listener);
+        return lastH1;
+    }
+}
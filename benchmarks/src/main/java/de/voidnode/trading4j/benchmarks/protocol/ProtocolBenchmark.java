@@ -0,0 +1,257 @@
+package de.voidnode.trading4j.benchmarks.protocol;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CyclicBarrier;
+
+import de.voidnode.trading4j.api.BasicExpertAdvisorFactory;
+import de.voidnode.trading4j.api.Broker;
+import de.voidnode.trading4j.api.ExpertAdvisor;
+import de.voidnode.trading4j.domain.environment.TradingEnvironmentInformation;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.orders.BasicPendingOrder;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.server.TradingServer;
+import de.voidnode.trading4j.server.TradingServerBuilder;
+import de.voidnode.trading4j.server.oio.OioServer;
+
+/**
+ * Measures how many candle sticks per second an {@link OioServer} can handle end to end.
+ *
+ * <p>
+ * The server is built with the {@link TradingServerBuilder} and runs in this process. It serves an
+ * {@link ExpertAdvisor} that does nothing so that only the cost of the server is measured. For 1, 10, 100 and 1000
+ * concurrently connected expert advisors a {@link SimulatedMetaTraderClient} connects over loopback for each expert
+ * advisor and sends candle sticks in its own thread. The latency from sending a candle stick until receiving the
+ * EVENT_HANDLING_FINISHED message is recorded for every candle stick.
+ * </p>
+ *
+ * <p>
+ * The throughput and the p50, p99 and p99.9 latencies are printed to the console and written as JSON to
+ * <code>protocol-benchmark-result.json</code> in the working directory. An other file name can be passed as the only
+ * command line argument. As the server binds the port 6474, no other Trading4j server must run on the same machine.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public final class ProtocolBenchmark {
+
+    private static final String HOST = "localhost";
+    private static final int PORT = 6474;
+    private static final int EXPERT_ADVISOR_NUMBER = 1;
+    private static final String DEFAULT_RESULT_FILE = "protocol-benchmark-result.json";
+
+    private static final int[] CONCURRENT_EXPERT_ADVISORS = { 1, 10, 100, 1000 };
+    private static final int CANDLE_STICKS_PER_RUN = 200_000;
+    private static final int MIN_CANDLE_STICKS_PER_CLIENT = 200;
+    private static final int WARM_UP_DIVISOR = 5;
+
+    private static final int SERVER_STARTUP_ATTEMPTS = 50;
+    private static final long SERVER_STARTUP_WAIT_MS = 100;
+
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double NANOS_PER_MICRO = 1e3;
+    private static final double P50 = 0.5;
+    private static final double P99 = 0.99;
+    private static final double P999 = 0.999;
+
+    private ProtocolBenchmark() {
+
+    }
+
+    /**
+     * Starts the server and measures all concurrency levels.
+     *
+     * @param args
+     *            Optionally the file the JSON results should be written to.
+     * @throws Exception
+     *             When the benchmark failed.
+     */
+    public static void main(final String[] args) throws Exception {
+        startServer();
+
+        final List<Result> results = new ArrayList<>();
+        for (final int expertAdvisors : CONCURRENT_EXPERT_ADVISORS) {
+            final Result result = measure(expertAdvisors);
+            System.out.println(result.toHumanReadable());
+            results.add(result);
+        }
+
+        final String resultFile = args.length > 0 ? args[0] : DEFAULT_RESULT_FILE;
+        writeJson(results, resultFile);
+        System.out.println("Wrote the results to " + resultFile + ".");
+        System.exit(0);
+    }
+
+    private static void startServer() throws InterruptedException {
+        final TradingServer server = new TradingServerBuilder().expertAdvisors(new IdleExpertAdvisors()).build();
+        final Thread serverThread = new Thread(server::start, "trading-server");
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        for (int i = 0; i < SERVER_STARTUP_ATTEMPTS; i++) {
+            try (Socket probe = new Socket(HOST, PORT)) {
+                return;
+            } catch (final IOException e) {
+                Thread.sleep(SERVER_STARTUP_WAIT_MS);
+            }
+        }
+        throw new IllegalStateException("The trading server did not start listening on port " + PORT + ".");
+    }
+
+    private static Result measure(final int expertAdvisors) throws Exception {
+        final int candleSticksPerClient = Math.max(MIN_CANDLE_STICKS_PER_CLIENT,
+                CANDLE_STICKS_PER_RUN / expertAdvisors);
+        final int warmUpCandleSticks = candleSticksPerClient / WARM_UP_DIVISOR;
+
+        final List<SimulatedMetaTraderClient> clients = new ArrayList<>(expertAdvisors);
+        for (int i = 0; i < expertAdvisors; i++) {
+            clients.add(new SimulatedMetaTraderClient(HOST, PORT, EXPERT_ADVISOR_NUMBER));
+        }
+
+        // The barrier action runs when all clients finished the warm up and again when all finished measuring.
+        final long[] phaseStarts = new long[2];
+        final int[] phase = { 0 };
+        final CyclicBarrier barrier = new CyclicBarrier(expertAdvisors, () -> phaseStarts[phase[0]++] = System
+                .nanoTime());
+
+        final long[][] latencies = new long[expertAdvisors][candleSticksPerClient];
+        final List<ClientThread> threads = new ArrayList<>(expertAdvisors);
+        for (int i = 0; i < expertAdvisors; i++) {
+            final ClientThread thread = new ClientThread(clients.get(i), barrier, warmUpCandleSticks, latencies[i]);
+            threads.add(thread);
+            thread.start();
+        }
+        for (final ClientThread thread : threads) {
+            thread.join();
+            thread.rethrowFailure();
+        }
+        for (final SimulatedMetaTraderClient client : clients) {
+            client.close();
+        }
+
+        final long[] allLatencies = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        final double seconds = (phaseStarts[1] - phaseStarts[0]) / NANOS_PER_SECOND;
+        return new Result(expertAdvisors, allLatencies.length, allLatencies.length / seconds,
+                percentile(allLatencies, P50), percentile(allLatencies, P99), percentile(allLatencies, P999));
+    }
+
+    private static double percentile(final long[] sorted, final double percentile) {
+        final int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / NANOS_PER_MICRO;
+    }
+
+    private static void writeJson(final List<Result> results, final String file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8))) {
+            out.println("[");
+            for (int i = 0; i < results.size(); i++) {
+                out.print("  " + results.get(i).toJson());
+                out.println(i < results.size() - 1 ? "," : "");
+            }
+            out.println("]");
+        }
+    }
+
+    /**
+     * Sends candle sticks for a single client and records their latencies.
+     */
+    private static final class ClientThread extends Thread {
+
+        private final SimulatedMetaTraderClient client;
+        private final CyclicBarrier barrier;
+        private final int warmUpCandleSticks;
+        private final long[] latencies;
+
+        private Exception failure;
+
+        ClientThread(final SimulatedMetaTraderClient client, final CyclicBarrier barrier,
+                final int warmUpCandleSticks, final long[] latencies) {
+            this.client = client;
+            this.barrier = barrier;
+            this.warmUpCandleSticks = warmUpCandleSticks;
+            this.latencies = latencies;
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (int i = 0; i < warmUpCandleSticks; i++) {
+                    client.sendCandleStick();
+                }
+                barrier.await();
+                for (int i = 0; i < latencies.length; i++) {
+                    latencies[i] = client.sendCandleStick();
+                }
+                barrier.await();
+            } catch (final Exception e) {
+                failure = e;
+                barrier.reset();
+            }
+        }
+
+        void rethrowFailure() throws Exception {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * The measured values for a single number of concurrent expert advisors.
+     */
+    private static final class Result {
+
+        private final int expertAdvisors;
+        private final int candleSticks;
+        private final double candleSticksPerSecond;
+        private final double p50;
+        private final double p99;
+        private final double p999;
+
+        Result(final int expertAdvisors, final int candleSticks, final double candleSticksPerSecond, final double p50,
+                final double p99, final double p999) {
+            this.expertAdvisors = expertAdvisors;
+            this.candleSticks = candleSticks;
+            this.candleSticksPerSecond = candleSticksPerSecond;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.p999 = p999;
+        }
+
+        String toHumanReadable() {
+            return String.format(Locale.ROOT,
+                    "%4d expert advisors: %,.0f candle sticks/s, latency p50 %.1f us, p99 %.1f us, p99.9 %.1f us "
+                            + "(%d candle sticks measured)",
+                    expertAdvisors, candleSticksPerSecond, p50, p99, p999, candleSticks);
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT,
+                    "{\"expertAdvisors\": %d, \"candleSticks\": %d, \"candleSticksPerSecond\": %.1f, "
+                            + "\"latencyMicros\": {\"p50\": %.1f, \"p99\": %.1f, \"p999\": %.1f}}",
+                    expertAdvisors, candleSticks, candleSticksPerSecond, p50, p99, p999);
+        }
+    }
+
+    /**
+     * Serves an {@link ExpertAdvisor} that ignores all market data for every request.
+     */
+    private static final class IdleExpertAdvisors implements BasicExpertAdvisorFactory {
+
+        @Override
+        public Optional<ExpertAdvisor<FullMarketData<M1>>> newExpertAdvisor(final int expertAdvisorNumber,
+                final Broker<BasicPendingOrder> broker, final TradingEnvironmentInformation environment) {
+            return Optional.of(candleStick -> {
+            });
+        }
+    }
+}
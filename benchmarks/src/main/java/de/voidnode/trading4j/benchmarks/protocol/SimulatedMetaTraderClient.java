@@ -0,0 +1,115 @@
+package de.voidnode.trading4j.benchmarks.protocol;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+
+import de.voidnode.trading4j.server.protocol.messages.MessageType;
+import de.voidnode.trading4j.server.protocol.messages.RequestTradingAlgorithmMessage.AlgorithmType;
+
+/**
+ * Speaks the byte protocol of the MetaTrader client to drive an expert advisor on a Trading4j server.
+ *
+ * <p>
+ * The client requests an expert advisor, sends the trading environment and then sends NEW_MARKET_DATA_EXTENDED
+ * messages. The expert advisor served must not place any orders as the client only understands
+ * EVENT_HANDLING_FINISHED as response.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+class SimulatedMetaTraderClient implements Closeable {
+
+    private static final int BUFFER_SIZE = 1024;
+    private static final long SECONDS_PER_CANDLE_STICK = 60;
+
+    // 2015-01-01T00:00:00Z
+    private static final long START_TIME = 1420070400L;
+    private static final double PRICE = 1.1;
+    private static final int SPREAD = 15;
+    private static final int VOLUME = 2000;
+    private static final int TICK_COUNT = 42;
+    private static final long ENVIRONMENT_VOLUME = 1000;
+
+    private final Socket socket;
+    private final DataOutputStream toServer;
+    private final DataInputStream fromServer;
+
+    private long time = START_TIME;
+
+    /**
+     * Connects to the server and requests an expert advisor.
+     *
+     * @param host
+     *            The host the server runs on.
+     * @param port
+     *            The port the server listens on.
+     * @param expertAdvisorNumber
+     *            The number of the expert advisor to request.
+     * @throws IOException
+     *             When connecting to the server failed.
+     */
+    SimulatedMetaTraderClient(final String host, final int port, final int expertAdvisorNumber) throws IOException {
+        socket = new Socket(host, port);
+        socket.setTcpNoDelay(true);
+        toServer = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER_SIZE));
+        fromServer = new DataInputStream(new BufferedInputStream(socket.getInputStream(), BUFFER_SIZE));
+
+        toServer.writeByte(MessageType.REQUEST_TRADING_ALGORITHM.getMessageNumber());
+        toServer.writeByte(AlgorithmType.EXPERT_ADVISOR.getAlgorithmTypeNumber());
+        toServer.writeInt(expertAdvisorNumber);
+
+        toServer.writeByte(MessageType.TRADING_ENVIRONMENT_INFORMATION.getMessageNumber());
+        toServer.writeUTF("Simulated Broker");
+        toServer.writeLong(1);
+        toServer.writeUTF("EUR");
+        toServer.writeUTF("EURUSD");
+        toServer.writeUTF("EURUSD");
+        toServer.writeInt(0);
+        toServer.writeInt(0);
+        toServer.writeLong(START_TIME);
+        toServer.writeLong(ENVIRONMENT_VOLUME);
+        toServer.writeLong(ENVIRONMENT_VOLUME);
+        toServer.writeLong(ENVIRONMENT_VOLUME);
+        toServer.flush();
+    }
+
+    /**
+     * Sends the next candle stick and waits until the server finished handling it.
+     *
+     * @return The nanoseconds between sending the candle stick and receiving the EVENT_HANDLING_FINISHED message.
+     * @throws IOException
+     *             When the communication with the server failed or the server sent an unexpected message.
+     */
+    long sendCandleStick() throws IOException {
+        final long start = System.nanoTime();
+        toServer.writeByte(MessageType.NEW_MARKET_DATA_EXTENDED.getMessageNumber());
+        toServer.writeLong(time);
+        toServer.writeDouble(PRICE);
+        toServer.writeDouble(PRICE);
+        toServer.writeDouble(PRICE);
+        toServer.writeDouble(PRICE);
+        toServer.writeInt(SPREAD);
+        toServer.writeInt(VOLUME);
+        toServer.writeInt(TICK_COUNT);
+        toServer.flush();
+
+        final byte response = fromServer.readByte();
+        final long latency = System.nanoTime() - start;
+        if (response != MessageType.EVENT_HANDLING_FINISHED.getMessageNumber()) {
+            throw new IOException("Expected the server to answer with EVENT_HANDLING_FINISHED but it answered with "
+                    + "the message number " + response + ".");
+        }
+        time += SECONDS_PER_CANDLE_STICK;
+        return latency;
+    }
+
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+}
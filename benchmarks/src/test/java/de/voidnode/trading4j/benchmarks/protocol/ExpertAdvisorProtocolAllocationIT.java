@@ -0,0 +1,211 @@
+package de.voidnode.trading4j.benchmarks.protocol;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+
+import de.voidnode.trading4j.api.ExpertAdvisor;
+import de.voidnode.trading4j.api.ExpertAdvisorFactory;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.moneymanagement.SharedMoneyManagement;
+import de.voidnode.trading4j.moneymanagement.SharedMoneyManagement.ReleasableMoneyManagement;
+import de.voidnode.trading4j.server.protocol.ClientConnection;
+import de.voidnode.trading4j.server.protocol.MessageBasedClientConnection;
+import de.voidnode.trading4j.server.protocol.ProtocolFactory;
+import de.voidnode.trading4j.server.protocol.exceptions.NormalCloseException;
+import de.voidnode.trading4j.server.protocol.expertadvisor.CachedHistory;
+import de.voidnode.trading4j.server.protocol.expertadvisor.ExpertAdvisorProtocol;
+import de.voidnode.trading4j.server.protocol.messages.MessageType;
+import de.voidnode.trading4j.server.reporting.CombinedNotifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Measures the heap memory that the {@link ExpertAdvisorProtocol} loop allocates for each candle stick that it passes
+ * from the client to an {@link ExpertAdvisor}.
+ *
+ * <p>
+ * The client sends NEW_MARKET_DATA_EXTENDED messages from memory so that only the server side is measured. The
+ * {@link ExpertAdvisor} only reads primitive values of the market data as the
+ * {@link de.voidnode.trading4j.domain.monetary.Price} objects returned by the getters of the market data are created on
+ * first access.
+ * </p>
+ *
+ * <p>
+ * This test is part of the benchmarks module because it measures the allocations with the
+ * {@link com.sun.management.ThreadMXBean} which is not part of the compact1 profile the other modules are built for.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class ExpertAdvisorProtocolAllocationIT {
+
+    private static final int EXAMPLE_EXPERT_ADVISOR = 200;
+    private static final int WARM_UP_CANDLES = 200_000;
+    private static final int MEASURED_CANDLES = 1_000_000;
+
+    /**
+     * Passing candle sticks from the client connection to the {@link ExpertAdvisor} should not allocate any memory.
+     *
+     * @throws Exception
+     *             not expected to leave the test.
+     */
+    @Test
+    public void shouldNotAllocateMemoryForCandleSticksPassedToTheExpertAdvisor() throws Exception {
+        final java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        Assume.assumeTrue(allocations.isThreadAllocatedMemorySupported());
+        allocations.setThreadAllocatedMemoryEnabled(true);
+
+        final MeasuringExpertAdvisor expertAdvisor = new MeasuringExpertAdvisor(allocations);
+        final ExpertAdvisorFactory expertAdvisorFactory = mock(ExpertAdvisorFactory.class);
+        when(expertAdvisorFactory.newExpertAdvisor(anyInt(), any(), any(), any()))
+                .thenReturn(Optional.of(expertAdvisor));
+        final SharedMoneyManagement moneyManagement = mock(SharedMoneyManagement.class);
+        when(moneyManagement.newConnection()).thenReturn(mock(ReleasableMoneyManagement.class));
+        final ProtocolFactory protocolFactory = new ProtocolFactory(null, expertAdvisorFactory, moneyManagement,
+                mock(CombinedNotifier.class), mock(CachedHistory.class));
+
+        final ExpertAdvisorProtocol cut = new ExpertAdvisorProtocol(
+                new MessageBasedClientConnection(new CandleSendingClient(WARM_UP_CANDLES + MEASURED_CANDLES)),
+                protocolFactory, EXAMPLE_EXPERT_ADVISOR);
+        try {
+            cut.start();
+        } catch (final NormalCloseException e) {
+            // expected when the client sent all candle sticks
+        }
+
+        // The allocations are measured between the first and the last measured candle stick.
+        final int measured = MEASURED_CANDLES - 1;
+        assertThat(expertAdvisor.candles).isEqualTo(WARM_UP_CANDLES + MEASURED_CANDLES);
+        assertThat(expertAdvisor.allocatedWhileMeasuring)
+                .as("bytes allocated for %d candle sticks (%.2f bytes per candle stick)", measured,
+                        (double) expertAdvisor.allocatedWhileMeasuring / measured)
+                .isEqualTo(0);
+    }
+
+    /**
+     * Records the memory allocated by the current thread between the first and the last measured candle stick.
+     */
+    private static final class MeasuringExpertAdvisor implements ExpertAdvisor<FullMarketData<M1>> {
+
+        private final com.sun.management.ThreadMXBean allocations;
+        private final long threadId = Thread.currentThread().getId();
+
+        private int candles;
+        private long ticks;
+        private long allocatedAtStart;
+        private long allocatedWhileMeasuring;
+
+        MeasuringExpertAdvisor(final com.sun.management.ThreadMXBean allocations) {
+            this.allocations = allocations;
+        }
+
+        @Override
+        public void newData(final FullMarketData<M1> candleStick) {
+            candles++;
+            ticks += candleStick.getTickCount();
+            if (candles == WARM_UP_CANDLES + 1) {
+                allocatedAtStart = allocations.getThreadAllocatedBytes(threadId);
+            } else if (candles == WARM_UP_CANDLES + MEASURED_CANDLES) {
+                allocatedWhileMeasuring = allocations.getThreadAllocatedBytes(threadId) - allocatedAtStart;
+            }
+        }
+    }
+
+    /**
+     * A client that sends the trading environment and then a given number of NEW_MARKET_DATA_EXTENDED messages.
+     *
+     * <p>
+     * All messages sent by the server are ignored.
+     * </p>
+     */
+    private static final class CandleSendingClient implements ClientConnection {
+
+        private static final String[] ENVIRONMENT_STRINGS = { "Example Broker", "EUR", "EURUSD", "EURUSD" };
+
+        private int candlesToSend;
+        private boolean environmentSent;
+        private int environmentString;
+        private long time;
+
+        CandleSendingClient(final int candlesToSend) {
+            this.candlesToSend = candlesToSend;
+        }
+
+        @Override
+        public byte tryReceiveByte() throws NormalCloseException {
+            if (!environmentSent) {
+                environmentSent = true;
+                return MessageType.TRADING_ENVIRONMENT_INFORMATION.getMessageNumber();
+            }
+            if (candlesToSend == 0) {
+                throw new NormalCloseException();
+            }
+            candlesToSend--;
+            return MessageType.NEW_MARKET_DATA_EXTENDED.getMessageNumber();
+        }
+
+        @Override
+        public double tryReceiveDouble() {
+            return 1.0;
+        }
+
+        @Override
+        public int tryReceiveInteger() {
+            return 1;
+        }
+
+        @Override
+        public long tryReceiveLong() {
+            return 1;
+        }
+
+        @Override
+        public String tryReceiveString() {
+            return ENVIRONMENT_STRINGS[environmentString++];
+        }
+
+        @Override
+        public void tryReceiveFully(final ByteBuffer buffer) {
+            time += 60;
+            buffer.putLong(time);
+            buffer.putDouble(1.1).putDouble(1.3).putDouble(1.0).putDouble(1.2);
+            buffer.putInt(15).putInt(2000).putInt(42);
+        }
+
+        @Override
+        public void trySendByte(final byte data) {
+        }
+
+        @Override
+        public void trySendInteger(final int data) {
+        }
+
+        @Override
+        public void trySendDouble(final double data) {
+        }
+
+        @Override
+        public void trySendLong(final long data) {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public String toString() {
+            return "candle sending client";
+        }
+    }
+}
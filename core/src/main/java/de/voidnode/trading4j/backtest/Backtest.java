@@ -0,0 +1,199 @@
+package de.voidnode.trading4j.backtest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.voidnode.trading4j.api.BasicExpertAdvisorFactory;
+import de.voidnode.trading4j.api.ExpertAdvisor;
+import de.voidnode.trading4j.api.ExpertAdvisorFactory;
+import de.voidnode.trading4j.api.MarketDataListener;
+import de.voidnode.trading4j.api.VolumeLender;
+import de.voidnode.trading4j.domain.environment.TradingEnvironmentInformation;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.domain.trades.CompletedTrade;
+import de.voidnode.trading4j.expertadvisorfactory.DefaultExpertAdvisorFactory;
+import de.voidnode.trading4j.history.M1HistoryReader;
+import de.voidnode.trading4j.tradetracker.FillModel;
+import de.voidnode.trading4j.tradetracker.FullCompletedTradeTracker;
+import de.voidnode.trading4j.tradetracker.OpenCloseFillModel;
+import de.voidnode.trading4j.tradetracker.SimulatedBroker;
+import de.voidnode.trading4j.tradetracker.TradeEventListener;
+import de.voidnode.trading4j.tradetracker.TradeStatistics;
+
+/**
+ * Tests {@link ExpertAdvisor}s against historic market data without a MetaTrader client.
+ *
+ * <p>
+ * The market data is passed directly to the {@link ExpertAdvisor} in the calling thread. Orders are executed by a
+ * {@link SimulatedBroker} and the trades are tracked with a {@link FullCompletedTradeTracker}. The
+ * {@link ExpertAdvisor}s are augmented with {@link DefaultExpertAdvisorFactory} just like the server does it. This
+ * means that no orders are placed before {@link TradingEnvironmentInformation#getNonHistoricTime()} so that the first
+ * candle sticks can be used to initialize the {@link ExpertAdvisor}.
+ * </p>
+ *
+ * <p>
+ * Each run uses a new {@link ExpertAdvisor} and a new {@link SimulatedBroker}. Instances of this class can therefore
+ * be used for multiple runs, even concurrently.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class Backtest {
+
+    private final ExpertAdvisorFactory factory;
+    private final VolumeLender volumeLender;
+    private final TradingEnvironmentInformation environment;
+    private final FillModel fillModel;
+    private final Price slippage;
+
+    /**
+     * Initializes an instance whose {@link SimulatedBroker} only considers the open and close price of candle sticks
+     * and executes orders without slippage.
+     *
+     * @param factory
+     *            The factory for the {@link ExpertAdvisor}s that should be tested.
+     * @param volumeLender
+     *            Provides the volume for each trade of the {@link ExpertAdvisor}s.
+     * @param environment
+     *            The simulated trading environment.
+     */
+    public Backtest(final BasicExpertAdvisorFactory factory, final VolumeLender volumeLender,
+            final TradingEnvironmentInformation environment) {
+        this(factory, volumeLender, environment, new OpenCloseFillModel(), new Price(0));
+    }
+
+    /**
+     * Initializes an instance with all its dependencies.
+     *
+     * @param factory
+     *            The factory for the {@link ExpertAdvisor}s that should be tested.
+     * @param volumeLender
+     *            Provides the volume for each trade of the {@link ExpertAdvisor}s.
+     * @param environment
+     *            The simulated trading environment.
+     * @param fillModel
+     *            Decides which prices the market passed during a candle stick.
+     * @param slippage
+     *            The amount by which the execution of stop orders and stop looses is worse than requested.
+     */
+    public Backtest(final BasicExpertAdvisorFactory factory, final VolumeLender volumeLender,
+            final TradingEnvironmentInformation environment, final FillModel fillModel, final Price slippage) {
+        this.factory = new DefaultExpertAdvisorFactory(factory);
+        this.volumeLender = volumeLender;
+        this.environment = environment;
+        this.fillModel = fillModel;
+        this.slippage = slippage;
+    }
+
+    /**
+     * Tests an {@link ExpertAdvisor} against all candle sticks of a history file.
+     *
+     * @param expertAdvisorNumber
+     *            The number of the {@link ExpertAdvisor} that should be tested.
+     * @param history
+     *            The market data to test the {@link ExpertAdvisor} against.
+     * @return All trades that the {@link ExpertAdvisor} completed in the order they were completed.
+     * @throws IllegalArgumentException
+     *             When the factory knows no {@link ExpertAdvisor} with the <code>expertAdvisorNumber</code>.
+     */
+    public List<CompletedTrade> run(final int expertAdvisorNumber, final M1HistoryReader history) {
+        final List<CompletedTrade> completedTrades = new ArrayList<>();
+        run(expertAdvisorNumber, history, completedTrades::add);
+        return completedTrades;
+    }
+
+    /**
+     * Tests an {@link ExpertAdvisor} against all candle sticks of a history file without keeping the completed trades.
+     *
+     * @param expertAdvisorNumber
+     *            The number of the {@link ExpertAdvisor} that should be tested.
+     * @param history
+     *            The market data to test the {@link ExpertAdvisor} against.
+     * @param listener
+     *            Receives each trade that the {@link ExpertAdvisor} completed as soon as it is completed, e.g. a
+     *            {@link TradeStatistics}.
+     * @throws IllegalArgumentException
+     *             When the factory knows no {@link ExpertAdvisor} with the <code>expertAdvisorNumber</code>.
+     */
+    public void run(final int expertAdvisorNumber, final M1HistoryReader history,
+            final TradeEventListener<? super CompletedTrade> listener) {
+        history.replay(new Run(expertAdvisorNumber, listener));
+    }
+
+    /**
+     * Tests an {@link ExpertAdvisor} against candle sticks that are already in memory.
+     *
+     * @param expertAdvisorNumber
+     *            The number of the {@link ExpertAdvisor} that should be tested.
+     * @param marketData
+     *            The market data to test the {@link ExpertAdvisor} against ordered from the oldest to the newest.
+     * @return All trades that the {@link ExpertAdvisor} completed in the order they were completed.
+     * @throws IllegalArgumentException
+     *             When the factory knows no {@link ExpertAdvisor} with the <code>expertAdvisorNumber</code>.
+     */
+    public List<CompletedTrade> run(final int expertAdvisorNumber,
+            final Iterable<? extends FullMarketData<M1>> marketData) {
+        final List<CompletedTrade> completedTrades = new ArrayList<>();
+        run(expertAdvisorNumber, marketData, completedTrades::add);
+        return completedTrades;
+    }
+
+    /**
+     * Tests an {@link ExpertAdvisor} against candle sticks that are already in memory without keeping the completed
+     * trades.
+     *
+     * @param expertAdvisorNumber
+     *            The number of the {@link ExpertAdvisor} that should be tested.
+     * @param marketData
+     *            The market data to test the {@link ExpertAdvisor} against ordered from the oldest to the newest.
+     * @param listener
+     *            Receives each trade that the {@link ExpertAdvisor} completed as soon as it is completed, e.g. a
+     *            {@link TradeStatistics}.
+     * @throws IllegalArgumentException
+     *             When the factory knows no {@link ExpertAdvisor} with the <code>expertAdvisorNumber</code>.
+     */
+    public void run(final int expertAdvisorNumber, final Iterable<? extends FullMarketData<M1>> marketData,
+            final TradeEventListener<? super CompletedTrade> listener) {
+        final Run run = new Run(expertAdvisorNumber, listener);
+        for (final FullMarketData<M1> candleStick : marketData) {
+            run.newData(candleStick);
+        }
+    }
+
+    /**
+     * The state of a single test of an {@link ExpertAdvisor}.
+     */
+    private final class Run implements MarketDataListener<FullMarketData<M1>> {
+
+        private final SimulatedBroker<FullMarketData<M1>> broker = new SimulatedBroker<>(fillModel, slippage);
+        private final FullCompletedTradeTracker<FullMarketData<M1>> tradeTracker;
+        private final ExpertAdvisor<FullMarketData<M1>> expertAdvisor;
+
+        private FullMarketData<M1> currentCandleStick;
+
+        Run(final int expertAdvisorNumber, final TradeEventListener<? super CompletedTrade> listener) {
+            tradeTracker = new FullCompletedTradeTracker<>(broker::sendOrder, this::currentTime,
+                    environment.getTradeSymbol());
+            tradeTracker.setEventListener(listener::tradeCompleted);
+            expertAdvisor = factory.newExpertAdvisor(expertAdvisorNumber, tradeTracker, volumeLender, environment)
+                    .orElseThrow(() -> new IllegalArgumentException(
+                            "There is no expert advisor with the number " + expertAdvisorNumber + "."));
+        }
+
+        @Override
+        public void newData(final FullMarketData<M1> candleStick) {
+            currentCandleStick = candleStick;
+            // The tracker needs the current candle stick when the broker closes a trade with it.
+            tradeTracker.newData(candleStick);
+            broker.newData(candleStick);
+            expertAdvisor.newData(candleStick);
+        }
+
+        private Instant currentTime() {
+            return currentCandleStick.getTime();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package de.voidnode.trading4j.backtest;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import de.voidnode.trading4j.domain.VolumeUnit;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.marketdata.impl.ReusableFullMarketData;
+import de.voidnode.trading4j.domain.monetary.Pipettes;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.history.M1HistoryReader;
+
+/**
+ * {@link M1} candle sticks that are decoded once and kept in memory for multiple {@link Backtest}s.
+ *
+ * <p>
+ * The values are stored in one primitive array per column like in the history files. Instances are immutable and can
+ * be iterated by multiple threads at the same time. Each {@link Iterator} refills its own
+ * {@link ReusableFullMarketData} with the values of the next candle stick.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public final class CandleStickArray implements Iterable<FullMarketData<M1>> {
+
+    private final long[] time;
+    private final long[] open;
+    private final long[] high;
+    private final long[] low;
+    private final long[] close;
+    private final long[] spread;
+    private final long[] volume;
+    private final long[] tickCount;
+
+    private CandleStickArray(final int size) {
+        time = new long[size];
+        open = new long[size];
+        high = new long[size];
+        low = new long[size];
+        close = new long[size];
+        spread = new long[size];
+        volume = new long[size];
+        tickCount = new long[size];
+    }
+
+    /**
+     * Decodes all candle sticks of a history file.
+     *
+     * @param history
+     *            The history file to decode.
+     * @return The decoded candle sticks.
+     * @throws IllegalArgumentException
+     *             When the history contains more candle sticks than fit into an array.
+     */
+    public static CandleStickArray of(final M1HistoryReader history) {
+        if (history.size() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "The history " + history + " contains too many candle sticks to keep them in memory.");
+        }
+        final CandleStickArray array = new CandleStickArray((int) history.size());
+        final int[] index = new int[1];
+        history.replay(candleStick -> array.set(index[0]++, candleStick));
+        return array;
+    }
+
+    /**
+     * Copies candle sticks that are already in memory.
+     *
+     * @param candleSticks
+     *            The candle sticks to copy ordered from the oldest to the newest.
+     * @return The copied candle sticks.
+     */
+    public static CandleStickArray of(final Iterable<? extends FullMarketData<M1>> candleSticks) {
+        int size = 0;
+        for (final Iterator<? extends FullMarketData<M1>> it = candleSticks.iterator(); it.hasNext(); it.next()) {
+            size++;
+        }
+        final CandleStickArray array = new CandleStickArray(size);
+        int index = 0;
+        for (final FullMarketData<M1> candleStick : candleSticks) {
+            array.set(index++, candleStick);
+        }
+        return array;
+    }
+
+    /**
+     * The number of candle sticks.
+     *
+     * @return The number of candle sticks.
+     */
+    public int size() {
+        return time.length;
+    }
+
+    @Override
+    public Iterator<FullMarketData<M1>> iterator() {
+        return new Iterator<FullMarketData<M1>>() {
+            private final ReusableFullMarketData<M1> candleStick = new ReusableFullMarketData<>();
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < time.length;
+            }
+
+            @Override
+            public FullMarketData<M1> next() {
+                if (next >= time.length) {
+                    throw new NoSuchElementException();
+                }
+                final int i = next++;
+                return candleStick.setTime(time[i]).setOpen(Pipettes.asDouble(open[i]))
+                        .setHigh(Pipettes.asDouble(high[i])).setLow(Pipettes.asDouble(low[i]))
+                        .setClose(Pipettes.asDouble(close[i])).setSpread(spread[i])
+                        .setVolume(volume[i], VolumeUnit.BASE).setTickCount(tickCount[i]);
+            }
+        };
+    }
+
+    private void set(final int index, final FullMarketData<M1> candleStick) {
+        time[index] = candleStick.getTime().getEpochSecond();
+        open[index] = candleStick.getOpen().asPipette();
+        high[index] = candleStick.getHigh().asPipette();
+        low[index] = candleStick.getLow().asPipette();
+        close[index] = candleStick.getClose().asPipette();
+        spread[index] = candleStick.getSpread().asPipette();
+        volume[index] = candleStick.getVolume().asAbsolute();
+        tickCount[index] = candleStick.getTickCount();
+    }
+}
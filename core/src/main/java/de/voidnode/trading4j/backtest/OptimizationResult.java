@@ -0,0 +1,110 @@
+package de.voidnode.trading4j.backtest;
+
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.tradetracker.TradeStatistics;
+
+/**
+ * Statistics about the trades of a single {@link Backtest} run by an {@link Optimizer}.
+ *
+ * @author Raik Bieniek
+ */
+public final class OptimizationResult {
+
+    private final Parameters parameters;
+    private final long trades;
+    private final long winningTrades;
+    private final long profit;
+    private final long maximalDrawdown;
+
+    /**
+     * Takes the values of interest from the statistics of a backtest.
+     *
+     * @param parameters
+     *            The parameters that were used for the trading strategy.
+     * @param statistics
+     *            The statistics of all trades of the backtest.
+     */
+    OptimizationResult(final Parameters parameters, final TradeStatistics statistics) {
+        this.parameters = parameters;
+        this.trades = statistics.getTrades();
+        this.winningTrades = statistics.getWinningTrades();
+        this.profit = statistics.getProfit().asPipette();
+        this.maximalDrawdown = statistics.getMaximalDrawdown().asPipette();
+    }
+
+    /**
+     * The parameters that were used for the trading strategy.
+     *
+     * @return The parameters.
+     */
+    public Parameters getParameters() {
+        return parameters;
+    }
+
+    /**
+     * The number of trades that were opened and closed.
+     *
+     * @return The number of trades.
+     */
+    public long getTrades() {
+        return trades;
+    }
+
+    /**
+     * The number of trades that were closed with a profit.
+     *
+     * @return The number of winning trades.
+     */
+    public long getWinningTrades() {
+        return winningTrades;
+    }
+
+    /**
+     * The sum of the relative profits of all trades.
+     *
+     * @return The profit. It is negative if the trades lost in sum.
+     */
+    public Price getProfit() {
+        return new Price(profit);
+    }
+
+    /**
+     * The biggest decline of the summed up profit from a previous peak.
+     *
+     * @return The maximal drawdown.
+     */
+    public Price getMaximalDrawdown() {
+        return new Price(maximalDrawdown);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof OptimizationResult)) {
+            return false;
+        }
+        final OptimizationResult other = (OptimizationResult) obj;
+        return parameters.equals(other.parameters) && trades == other.trades
+                && winningTrades == other.winningTrades && profit == other.profit
+                && maximalDrawdown == other.maximalDrawdown;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = parameters.hashCode();
+        result = prime * result + Long.hashCode(trades);
+        result = prime * result + Long.hashCode(winningTrades);
+        result = prime * result + Long.hashCode(profit);
+        result = prime * result + Long.hashCode(maximalDrawdown);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "OptimizationResult [parameters=" + parameters + ", trades=" + trades + ", winningTrades="
+                + winningTrades + ", profit=" + getProfit() + ", maximalDrawdown=" + getMaximalDrawdown() + "]";
+    }
+}
@@ -0,0 +1,104 @@
+package de.voidnode.trading4j.backtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+import de.voidnode.trading4j.api.ExpertAdvisor;
+import de.voidnode.trading4j.api.VolumeLender;
+import de.voidnode.trading4j.domain.environment.TradingEnvironmentInformation;
+import de.voidnode.trading4j.tradetracker.TradeStatistics;
+
+/**
+ * Finds good parameters for a trading strategy by running a {@link Backtest} for each set of {@link Parameters}.
+ *
+ * <p>
+ * The backtests are distributed over the threads of a {@link ForkJoinPool}. All of them iterate the same
+ * {@link CandleStickArray} and each uses its own {@link ExpertAdvisor} and {@link VolumeLender}. The results are
+ * therefore the same for any number of threads.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class Optimizer {
+
+    /**
+     * The number that is passed to the {@link Backtest} for the only {@link ExpertAdvisor} it knows.
+     */
+    private static final int EXPERT_ADVISOR_NUMBER = 0;
+
+    private final ParameterizedExpertAdvisorFactory factory;
+    private final Supplier<? extends VolumeLender> volumeLenders;
+    private final TradingEnvironmentInformation environment;
+    private final ForkJoinPool pool;
+
+    /**
+     * Initializes an instance that uses the {@link ForkJoinPool#commonPool()}.
+     *
+     * @param factory
+     *            Creates the {@link ExpertAdvisor}s for each set of parameters.
+     * @param volumeLenders
+     *            Creates a fresh {@link VolumeLender} for each backtest.
+     * @param environment
+     *            The simulated trading environment.
+     */
+    public Optimizer(final ParameterizedExpertAdvisorFactory factory,
+            final Supplier<? extends VolumeLender> volumeLenders, final TradingEnvironmentInformation environment) {
+        this(factory, volumeLenders, environment, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Initializes an instance with all its dependencies.
+     *
+     * @param factory
+     *            Creates the {@link ExpertAdvisor}s for each set of parameters.
+     * @param volumeLenders
+     *            Creates a fresh {@link VolumeLender} for each backtest.
+     * @param environment
+     *            The simulated trading environment.
+     * @param pool
+     *            The threads that should run the backtests.
+     */
+    public Optimizer(final ParameterizedExpertAdvisorFactory factory,
+            final Supplier<? extends VolumeLender> volumeLenders, final TradingEnvironmentInformation environment,
+            final ForkJoinPool pool) {
+        this.factory = factory;
+        this.volumeLenders = volumeLenders;
+        this.environment = environment;
+        this.pool = pool;
+    }
+
+    /**
+     * Runs a backtest for each set of parameters.
+     *
+     * @param parameterSets
+     *            The parameters to test, usually created by a {@link ParameterSpace}.
+     * @param marketData
+     *            The market data to test each set of parameters against.
+     * @return The results of the backtests in the same order as the <code>parameterSets</code>.
+     */
+    public List<OptimizationResult> optimize(final List<Parameters> parameterSets,
+            final CandleStickArray marketData) {
+        final List<ForkJoinTask<OptimizationResult>> backtests = new ArrayList<>(parameterSets.size());
+        for (final Parameters parameters : parameterSets) {
+            backtests.add(pool.submit(() -> backtest(parameters, marketData)));
+        }
+        final List<OptimizationResult> results = new ArrayList<>(backtests.size());
+        for (final ForkJoinTask<OptimizationResult> backtest : backtests) {
+            results.add(backtest.join());
+        }
+        return results;
+    }
+
+    private OptimizationResult backtest(final Parameters parameters, final CandleStickArray marketData) {
+        final Backtest backtest = new Backtest(
+                (number, broker, env) -> Optional.of(factory.newExpertAdvisor(parameters, broker, env)),
+                volumeLenders.get(), environment);
+        final TradeStatistics statistics = new TradeStatistics();
+        backtest.run(EXPERT_ADVISOR_NUMBER, marketData, statistics);
+        return new OptimizationResult(parameters, statistics);
+    }
+}
@@ -0,0 +1,139 @@
+package de.voidnode.trading4j.backtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * The values that should be tried for each parameter of a trading strategy.
+ *
+ * <p>
+ * The space can either be searched completely with {@link #grid()} or sampled with {@link #random(int, long)} when it
+ * is too big.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class ParameterSpace {
+
+    private final Map<String, double[]> parameters = new LinkedHashMap<>();
+
+    /**
+     * Adds a parameter with the values that should be tried.
+     *
+     * @param name
+     *            The name of the parameter.
+     * @param values
+     *            The values to try.
+     * @return This instance for a fluent API.
+     * @throws IllegalArgumentException
+     *             When a parameter with this <code>name</code> was already added or no <code>values</code> are given.
+     */
+    public ParameterSpace add(final String name, final double... values) {
+        if (parameters.containsKey(name)) {
+            throw new IllegalArgumentException("The parameter \"" + name + "\" was already added.");
+        }
+        if (values.length == 0) {
+            throw new IllegalArgumentException("At least one value must be given for the parameter \"" + name + "\".");
+        }
+        parameters.put(name, values.clone());
+        return this;
+    }
+
+    /**
+     * Adds a parameter whose values are all whole numbers of a range.
+     *
+     * @param name
+     *            The name of the parameter.
+     * @param from
+     *            The first value to try (inclusive).
+     * @param to
+     *            The last value to try (inclusive).
+     * @param step
+     *            The distance between two values.
+     * @return This instance for a fluent API.
+     * @throws IllegalArgumentException
+     *             When a parameter with this <code>name</code> was already added, <code>to</code> is smaller than
+     *             <code>from</code> or the <code>step</code> is not positive.
+     */
+    public ParameterSpace addRange(final String name, final int from, final int to, final int step) {
+        if (to < from || step < 1) {
+            throw new IllegalArgumentException("The range from " + from + " to " + to + " with the step " + step
+                    + " for the parameter \"" + name + "\" contains no values.");
+        }
+        final double[] values = new double[(to - from) / step + 1];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = from + i * step;
+        }
+        return add(name, values);
+    }
+
+    /**
+     * The number of parameter sets in this space.
+     *
+     * @return The number of all combinations of the values of all parameters.
+     */
+    public long size() {
+        long size = 1;
+        for (final double[] values : parameters.values()) {
+            size *= values.length;
+        }
+        return size;
+    }
+
+    /**
+     * All combinations of the values of all parameters.
+     *
+     * @return The parameter sets in a stable order. The values of the parameter added last change fastest.
+     */
+    public List<Parameters> grid() {
+        final List<Parameters> grid = new ArrayList<>((int) Math.min(size(), Integer.MAX_VALUE));
+        for (long i = 0; i < size(); i++) {
+            grid.add(combination(i));
+        }
+        return grid;
+    }
+
+    /**
+     * Randomly chosen combinations of the values of all parameters.
+     *
+     * @param count
+     *            The number of parameter sets to choose. When the space contains fewer parameter sets, all of them
+     *            are returned.
+     * @param seed
+     *            The seed for choosing the parameter sets. The same seed always results in the same parameter sets.
+     * @return Distinct parameter sets in the order they were chosen.
+     */
+    public List<Parameters> random(final int count, final long seed) {
+        final long size = size();
+        if (count >= size) {
+            return grid();
+        }
+        final Random random = new Random(seed);
+        final Set<Long> chosen = new LinkedHashSet<>();
+        while (chosen.size() < count) {
+            chosen.add((long) (random.nextDouble() * size));
+        }
+        final List<Parameters> sample = new ArrayList<>(count);
+        for (final long index : chosen) {
+            sample.add(combination(index));
+        }
+        return sample;
+    }
+
+    private Parameters combination(final long index) {
+        final Map<String, Double> values = new LinkedHashMap<>();
+        long remaining = index;
+        long divisor = size();
+        for (final Map.Entry<String, double[]> parameter : parameters.entrySet()) {
+            divisor /= parameter.getValue().length;
+            values.put(parameter.getKey(), parameter.getValue()[(int) (remaining / divisor)]);
+            remaining %= divisor;
+        }
+        return new Parameters(values);
+    }
+}
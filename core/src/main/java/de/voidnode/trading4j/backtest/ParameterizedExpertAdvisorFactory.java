@@ -0,0 +1,35 @@
+package de.voidnode.trading4j.backtest;
+
+import de.voidnode.trading4j.api.Broker;
+import de.voidnode.trading4j.api.ExpertAdvisor;
+import de.voidnode.trading4j.domain.environment.TradingEnvironmentInformation;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.orders.BasicPendingOrder;
+import de.voidnode.trading4j.domain.timeframe.M1;
+
+/**
+ * Creates {@link ExpertAdvisor}s whose trading strategy is configured with {@link Parameters}.
+ *
+ * <p>
+ * Implementations are used by multiple threads of an {@link Optimizer} at the same time. They should create all
+ * objects that keep state, e.g. indicators and the trading strategy, freshly for each {@link ExpertAdvisor}.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public interface ParameterizedExpertAdvisorFactory {
+
+    /**
+     * Creates a new {@link ExpertAdvisor} for a set of parameters.
+     *
+     * @param parameters
+     *            The parameters for the trading strategy.
+     * @param broker
+     *            The broker where the {@link ExpertAdvisor} should send its orders to.
+     * @param environment
+     *            Information about the trading environment.
+     * @return The created {@link ExpertAdvisor}.
+     */
+    ExpertAdvisor<FullMarketData<M1>> newExpertAdvisor(Parameters parameters, Broker<BasicPendingOrder> broker,
+            TradingEnvironmentInformation environment);
+}
@@ -0,0 +1,90 @@
+package de.voidnode.trading4j.backtest;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A set of named values for the parameters of a trading strategy.
+ *
+ * <p>
+ * Instances are created by a {@link ParameterSpace}.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public final class Parameters {
+
+    private final Map<String, Double> values;
+
+    /**
+     * Initializes an instance with all its values.
+     *
+     * @param values
+     *            The values of the parameters by their names. The iteration order is kept.
+     */
+    Parameters(final Map<String, Double> values) {
+        this.values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+    }
+
+    /**
+     * The value of a parameter.
+     *
+     * @param name
+     *            The name of the parameter.
+     * @return The value.
+     * @throws IllegalArgumentException
+     *             When there is no parameter with this <code>name</code>.
+     */
+    public double getDouble(final String name) {
+        final Double value = values.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException(
+                    "There is no parameter named \"" + name + "\". Known parameters are " + values.keySet() + ".");
+        }
+        return value;
+    }
+
+    /**
+     * The value of a parameter that was defined with whole numbers.
+     *
+     * @param name
+     *            The name of the parameter.
+     * @return The value.
+     * @throws IllegalArgumentException
+     *             When there is no parameter with this <code>name</code>.
+     */
+    public int getInt(final String name) {
+        return (int) Math.round(getDouble(name));
+    }
+
+    /**
+     * All values by their names.
+     *
+     * @return The values in the order the parameters were defined.
+     */
+    public Map<String, Double> asMap() {
+        return values;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Parameters)) {
+            return false;
+        }
+        return values.equals(((Parameters) obj).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return values.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -0,0 +1,289 @@
+package de.voidnode.trading4j.domain.marketdata.impl;
+
+import java.time.Instant;
+
+import de.voidnode.trading4j.domain.Volume;
+import de.voidnode.trading4j.domain.VolumeUnit;
+import de.voidnode.trading4j.domain.marketdata.MarketData;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.timeframe.TimeFrame;
+
+/**
+ * A {@link FullMarketData} that is refilled in place for each new data point instead of creating a new instance.
+ *
+ * <p>
+ * Receivers of market data that should not allocate memory for each new data point use a single instance of this class
+ * and overwrite its values with the setters whenever new market data arrives. The values are stored as primitives. The
+ * {@link Price}, {@link Volume} and {@link Instant} objects returned by the getters are only created when a getter is
+ * called for the first time after the respective value was set. They are immutable and can therefore be kept as long
+ * as needed.
+ * </p>
+ *
+ * <p>
+ * <b>Ownership:</b> An instance of this class only represents the current market data as long as the listener call it
+ * was passed to did not return. Listeners that want to keep the market data itself beyond that call must copy it, e.g.
+ * with {@link #retainable(MarketData)}. Keeping values returned by its getters is safe.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are not thread safe. They are only equal to themselves, see {@link #equals(Object)}.
+ * </p>
+ *
+ * @author Raik Bieniek
+ * @param <T>
+ *            The {@link TimeFrame} of this candle stick.
+ */
+public class ReusableFullMarketData<T extends TimeFrame> extends FullMarketData<T> {
+
+    private long epochSecond;
+    private double open;
+    private double high;
+    private double low;
+    private double close;
+    private long spread;
+    private long volume;
+    private VolumeUnit volumeUnit = VolumeUnit.BASE;
+    private long tickCount;
+
+    // Created lazily on the first access after the respective value was set.
+    private Instant timeObject;
+    private Price openPrice;
+    private Price highPrice;
+    private Price lowPrice;
+    private Price closePrice;
+    private Price spreadPrice;
+    private Volume volumeObject;
+
+    /**
+     * Creates an instance with all values set to <code>0</code>.
+     */
+    public ReusableFullMarketData() {
+        super(null, null, null, null, null, null, null, 0);
+    }
+
+    /**
+     * Returns market data that can be kept after the listener call it was passed to returned.
+     *
+     * <p>
+     * When the market data passed is a {@link ReusableFullMarketData} an immutable copy of it is returned. All other
+     * market data is expected to be immutable already and is returned as is.
+     * </p>
+     *
+     * @param <M>
+     *            The type of the market data.
+     * @param marketData
+     *            The market data that should be kept.
+     * @return Market data with the same values as the market data passed that will not change.
+     */
+    @SuppressWarnings("unchecked")
+    public static <M extends MarketData> M retainable(final M marketData) {
+        if (marketData instanceof ReusableFullMarketData) {
+            return (M) ((ReusableFullMarketData<?>) marketData).toImmutableFullMarketData();
+        }
+        return marketData;
+    }
+
+    /**
+     * See {@link DatedCandleStick#getTime()}.
+     *
+     * @param epochSecond
+     *            The time as seconds since the epoch 1970-01-01T00:00:00Z.
+     * @return This instance
+     */
+    public ReusableFullMarketData<T> setTime(final long epochSecond) {
+        this.epochSecond = epochSecond;
+        this.timeObject = null;
+        return this;
+    }
+
+    /**
+     * See {@link #getOpen()}.
+     *
+     * @param open
+     *            see {@link Price#Price(double)} for the meaning of the expected double.
+     * @return This instance
+     */
+    public ReusableFullMarketData<T> setOpen(final double open) {
+        this.open = open;
+        this.openPrice = null;
+        return this;
+    }
+
+    /**
+     * See {@link #getHigh()}.
+     *
+     * @param high
+     *            see {@link Price#Price(double)} for the meaning of the expected double.
+     * @return This instance
+     */
+    public ReusableFullMarketData<T> setHigh(final double high) {
+        this.high = high;
+        this.highPrice = null;
+        return this;
+    }
+
+    /**
+     * See {@link #getLow()}.
+     *
+     * @param low
+     *            see {@link Price#Price(double)} for the meaning of the expected double.
+     * @return This instance
+     */
+    public ReusableFullMarketData<T> setLow(final double low) {
+        this.low = low;
+        this.lowPrice = null;
+        return this;
+    }
+
+    /**
+     * See {@link #getClose()}.
+     *
+     * @param close
+     *            see {@link Price#Price(double)} for the meaning of the expected double.
+     * @return This instance
+     */
+    public ReusableFullMarketData<T> setClose(final double close) {
+        this.close = close;
+        this.closePrice = null;
+        return this;
+    }
+
+    /**
+     * See {@link #getSpread()}.
+     *
+     * @param spread
+     *            The spread in {@link de.voidnode.trading4j.domain.monetary.PriceUnit#PIPETTE}s.
+     * @return This instance
+     */
+    public ReusableFullMarketData<T> setSpread(final long spread) {
+        this.spread = spread;
+        this.spreadPrice = null;
+        return this;
+    }
+
+    /**
+     * See {@link #getVolume()}.
+     *
+     * @param volume
+     *            see {@link Volume#Volume(long, VolumeUnit)}
+     * @param unit
+     *            see {@link Volume#Volume(long, VolumeUnit)}
+     * @return This instance
+     */
+    public ReusableFullMarketData<T> setVolume(final long volume, final VolumeUnit unit) {
+        this.volume = volume;
+        this.volumeUnit = unit;
+        this.volumeObject = null;
+        return this;
+    }
+
+    /**
+     * See {@link #getTickCount()}.
+     *
+     * @param tickCount
+     *            see {@link #getTickCount()}
+     * @return This instance
+     */
+    public ReusableFullMarketData<T> setTickCount(final long tickCount) {
+        this.tickCount = tickCount;
+        return this;
+    }
+
+    /**
+     * Creates an immutable copy of the current values of this instance.
+     *
+     * @return The copy
+     */
+    public FullMarketData<T> toImmutableFullMarketData() {
+        return new FullMarketData<>(getTime(), getOpen(), getHigh(), getLow(), getClose(), getSpread(), getVolume(),
+                tickCount);
+    }
+
+    @Override
+    public Instant getTime() {
+        if (timeObject == null) {
+            timeObject = Instant.ofEpochSecond(epochSecond);
+        }
+        return timeObject;
+    }
+
+    @Override
+    public Price getOpen() {
+        if (openPrice == null) {
+            openPrice = new Price(open);
+        }
+        return openPrice;
+    }
+
+    @Override
+    public Price getHigh() {
+        if (highPrice == null) {
+            highPrice = new Price(high);
+        }
+        return highPrice;
+    }
+
+    @Override
+    public Price getLow() {
+        if (lowPrice == null) {
+            lowPrice = new Price(low);
+        }
+        return lowPrice;
+    }
+
+    @Override
+    public Price getClose() {
+        if (closePrice == null) {
+            closePrice = new Price(close);
+        }
+        return closePrice;
+    }
+
+    @Override
+    public Price getSpread() {
+        if (spreadPrice == null) {
+            spreadPrice = new Price(spread);
+        }
+        return spreadPrice;
+    }
+
+    @Override
+    public Volume getVolume() {
+        if (volumeObject == null) {
+            volumeObject = new Volume(volume, volumeUnit);
+        }
+        return volumeObject;
+    }
+
+    @Override
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * A {@link ReusableFullMarketData} is only equal to itself.
+     *
+     * <p>
+     * The fields inherited from {@link FullMarketData} are not used and the values of an instance change whenever it
+     * is refilled. Instances must therefore neither be compared by their values nor be used as keys in hash based
+     * collections. Use {@link #toImmutableFullMarketData()} to compare the current values.
+     * </p>
+     */
+    @Override
+    public boolean equals(final Object obj) {
+        return this == obj;
+    }
+
+    /**
+     * Returns the identity hash code, see {@link #equals(Object)}.
+     */
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    @Override
+    public String toString() {
+        return toImmutableFullMarketData().toString();
+    }
+}
@@ -0,0 +1,289 @@
+package de.voidnode.trading4j.domain.monetary;
+
+import static java.lang.Math.round;
+
+import de.voidnode.trading4j.domain.MarketDirection;
+import de.voidnode.trading4j.domain.Ratio;
+
+/**
+ * The operations of {@link Price} for prices that are passed as primitive <code>long</code> values.
+ *
+ * <p>
+ * All prices taken and returned by the methods of this class are in {@link PriceUnit#PIPETTE}s as returned by
+ * {@link Price#asPipette()}. Each method has exactly the same semantics as the {@link Price} method with the same name,
+ * including the rounding. {@link Ratio}s are passed as their {@link Ratio#asBasic()} value. In contrast to the methods
+ * of {@link Price} no objects are created.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public final class Pipettes {
+
+    /**
+     * The number of {@link PriceUnit#PIPETTE}s in one {@link PriceUnit#MAJOR}.
+     */
+    static final long ACCURACY = 100000;
+
+    private Pipettes() {
+
+    }
+
+    /**
+     * Converts a floating point price to {@link PriceUnit#PIPETTE}s.
+     *
+     * @param price
+     *            The price as floating point representation. It is rounded mathematically correctly.
+     * @return The price in {@link PriceUnit#PIPETTE}s.
+     * @see Price#Price(double)
+     */
+    public static long of(final double price) {
+        return round(price * ACCURACY);
+    }
+
+    /**
+     * Converts a price in a given {@link PriceUnit} to {@link PriceUnit#PIPETTE}s.
+     *
+     * @param value
+     *            The price in the given unit.
+     * @param unit
+     *            The unit of the value.
+     * @return The price in {@link PriceUnit#PIPETTE}s.
+     * @see Price#Price(long, PriceUnit)
+     */
+    public static long of(final long value, final PriceUnit unit) {
+        return value * unit.getMultipleOfPipette();
+    }
+
+    /**
+     * See {@link Price#asDouble()}.
+     *
+     * @param price
+     *            The price in {@link PriceUnit#PIPETTE}s.
+     * @return The price in the {@link PriceUnit#MAJOR} unit.
+     */
+    public static double asDouble(final long price) {
+        return (double) price / ACCURACY;
+    }
+
+    /**
+     * See {@link Price#plus(Price)}.
+     *
+     * @param price
+     *            The price to add to.
+     * @param other
+     *            The price to add.
+     * @return The sum.
+     */
+    public static long plus(final long price, final long other) {
+        return price + other;
+    }
+
+    /**
+     * See {@link Price#plus(int, PriceUnit)}.
+     *
+     * @param price
+     *            The price to add to.
+     * @param amount
+     *            The raw price to add.
+     * @param unit
+     *            The unit of as which the raw price should be interpreted.
+     * @return The sum.
+     */
+    public static long plus(final long price, final int amount, final PriceUnit unit) {
+        return price + amount * unit.getMultipleOfPipette();
+    }
+
+    /**
+     * See {@link Price#plus(Ratio)}.
+     *
+     * @param price
+     *            The price to add a fraction of itself to.
+     * @param ratio
+     *            The {@link Ratio#asBasic()} value of the fraction to add.
+     * @return The rounded result.
+     */
+    public static long plusRatio(final long price, final double ratio) {
+        return round((1.0 + ratio) * price);
+    }
+
+    /**
+     * See {@link Price#minus(Price)}.
+     *
+     * @param price
+     *            The price to subtract from.
+     * @param other
+     *            The price to subtract.
+     * @return The difference.
+     */
+    public static long minus(final long price, final long other) {
+        return price - other;
+    }
+
+    /**
+     * See {@link Price#minus(int, PriceUnit)}.
+     *
+     * @param price
+     *            The price to subtract from.
+     * @param amount
+     *            The raw price to subtract.
+     * @param unit
+     *            The unit of as which the raw price should be interpreted.
+     * @return The difference.
+     */
+    public static long minus(final long price, final int amount, final PriceUnit unit) {
+        return price - amount * unit.getMultipleOfPipette();
+    }
+
+    /**
+     * See {@link Price#minus(Ratio)}.
+     *
+     * @param price
+     *            The price to subtract a fraction of itself from.
+     * @param ratio
+     *            The {@link Ratio#asBasic()} value of the fraction to subtract.
+     * @return The rounded result.
+     */
+    public static long minusRatio(final long price, final double ratio) {
+        return round((1.0 - ratio) * price);
+    }
+
+    /**
+     * See {@link Price#inverse()}.
+     *
+     * @param price
+     *            The price to invert.
+     * @return The additive inverse.
+     */
+    public static long inverse(final long price) {
+        return price * -1;
+    }
+
+    /**
+     * See {@link Price#absolute()}.
+     *
+     * @param price
+     *            The price thats absolute value should be returned.
+     * @return The absolute price.
+     */
+    public static long absolute(final long price) {
+        return price < 0 ? inverse(price) : price;
+    }
+
+    /**
+     * See {@link Price#multiply(Ratio)}.
+     *
+     * @param price
+     *            The price to multiply.
+     * @param ratio
+     *            The {@link Ratio#asBasic()} value to multiply the price with.
+     * @return The rounded result.
+     */
+    public static long multiply(final long price, final double ratio) {
+        return round(ratio * price);
+    }
+
+    /**
+     * See {@link Price#divide(Price)}.
+     *
+     * @param price
+     *            The dividend.
+     * @param divisor
+     *            The divisor.
+     * @return The {@link Ratio#asBasic()} value of the quotient.
+     */
+    public static double divide(final long price, final long divisor) {
+        return (double) price / (double) divisor;
+    }
+
+    /**
+     * See {@link Price#isLessThan(Price)}.
+     *
+     * @param price
+     *            The price to compare.
+     * @param other
+     *            The price to compare with.
+     * @return <code>true</code> if <code>price</code> is lesser than <code>other</code> and <code>false</code> if not.
+     */
+    public static boolean isLessThan(final long price, final long other) {
+        return price < other;
+    }
+
+    /**
+     * See {@link Price#isGreaterThan(Price)}.
+     *
+     * @param price
+     *            The price to compare.
+     * @param other
+     *            The price to compare with.
+     * @return <code>true</code> if <code>price</code> is greater than <code>other</code> and <code>false</code> if
+     *         not.
+     */
+    public static boolean isGreaterThan(final long price, final long other) {
+        return price > other;
+    }
+
+    /**
+     * See {@link Price#isStrongerThan(Price, MarketDirection)}.
+     *
+     * @param price
+     *            The price to compare.
+     * @param other
+     *            The price to compare with.
+     * @param direction
+     *            The market direction that should be considered.
+     * @return <code>true</code> if <code>price</code> is stronger and <code>false</code> if it isn't or if its equal
+     *         to <code>other</code>.
+     */
+    public static boolean isStrongerThan(final long price, final long other, final MarketDirection direction) {
+        return direction == MarketDirection.UP ? price > other : price < other;
+    }
+
+    /**
+     * See {@link Price#isWeakerThan(Price, MarketDirection)}.
+     *
+     * @param price
+     *            The price to compare.
+     * @param other
+     *            The price to compare with.
+     * @param direction
+     *            The market direction that should be considered.
+     * @return <code>true</code> if <code>price</code> is weaker and <code>false</code> if it isn't or if its equal to
+     *         <code>other</code>.
+     */
+    public static boolean isWeakerThan(final long price, final long other, final MarketDirection direction) {
+        return direction == MarketDirection.UP ? price < other : price > other;
+    }
+
+    /**
+     * See {@link Price#isBetweenInclusive(Price, Price)}.
+     *
+     * @param price
+     *            The price to check.
+     * @param a
+     *            The first price of the range.
+     * @param b
+     *            The second price of the range.
+     * @return <code>true</code> if <code>price</code> equals <code>a</code> or <code>b</code> or is between these two
+     *         prices.
+     */
+    public static boolean isBetweenInclusive(final long price, final long a, final long b) {
+        final long min = a < b ? a : b;
+        final long max = a > b ? a : b;
+
+        return price >= min && price <= max;
+    }
+
+    /**
+     * See {@link Price#compareTo(Price)}.
+     *
+     * @param price
+     *            The price to compare.
+     * @param other
+     *            The price to compare with.
+     * @return A value &lt;0 if <code>price</code> is lesser, 0 when it is equal to and a value &gt;0 if it is greater
+     *         then <code>other</code>.
+     */
+    public static int compare(final long price, final long other) {
+        return price < other ? -1 : price == other ? 0 : 1;
+    }
+}
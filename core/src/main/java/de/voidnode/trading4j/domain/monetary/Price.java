@@ -2,8 +2,6 @@ package de.voidnode.trading4j.domain.monetary;
 
 import java.util.Currency;
 
-import static java.lang.Math.round;
-
 import de.voidnode.trading4j.domain.MarketDirection;
 import de.voidnode.trading4j.domain.Ratio;
 import de.voidnode.trading4j.domain.RatioUnit;
@@ -20,12 +18,16 @@ import de.voidnode.trading4j.domain.Volume;
  * All {@link Price} instances are immutable. No operation in this class will change the value of an instance but will
  * return a new instance when needed.
  * </p>
+ * <p>
+ * {@link Pipettes} provides the same operations for prices passed as primitive values for code that should not create
+ * new instances.
+ * </p>
  * 
  * @author Raik Bieniek
  */
 public final class Price implements Comparable<Price> {
 
-    private static final long ACCURACY = 100000;
+    private static final long ACCURACY = Pipettes.ACCURACY;
 
     private final long price;
 
@@ -36,7 +38,7 @@ public final class Price implements Comparable<Price> {
      *            The price as floating point representation. It is rounded mathematically correctly.
      */
     public Price(final double price) {
-        this.price = round(price * ACCURACY);
+        this.price = Pipettes.of(price);
     }
 
     /**
@@ -58,7 +60,7 @@ public final class Price implements Comparable<Price> {
      *            The unit of the value
      */
     public Price(final long value, final PriceUnit unit) {
-        this.price = value * unit.getMultipleOfPipette();
+        this.price = Pipettes.of(value, unit);
     }
 
     /**
@@ -82,7 +84,7 @@ public final class Price implements Comparable<Price> {
      * @return the price
      */
     public double asDouble() {
-        return (double) price / ACCURACY;
+        return Pipettes.asDouble(price);
     }
 
     /**
@@ -93,7 +95,7 @@ public final class Price implements Comparable<Price> {
      * @return A new {@link Price} containing the result of this calculation.
      */
     public Price plus(final Price other) {
-        return new Price(price + other.price);
+        return new Price(Pipettes.plus(price, other.price));
     }
 
     /**
@@ -106,7 +108,7 @@ public final class Price implements Comparable<Price> {
      * @return A new {@link Price} containing the result of this calculation.
      */
     public Price plus(final int amount, final PriceUnit unit) {
-        return new Price(price + amount * unit.getMultipleOfPipette());
+        return new Price(Pipettes.plus(price, amount, unit));
     }
 
     /**
@@ -141,7 +143,7 @@ public final class Price implements Comparable<Price> {
      * @return A new {@link Price} containing the result of this calculation.
      */
     public Price plus(final Ratio ratio) {
-        return new Price(round((1.0 + ratio.asBasic()) * price));
+        return new Price(Pipettes.plusRatio(price, ratio.asBasic()));
     }
 
     /**
@@ -152,7 +154,7 @@ public final class Price implements Comparable<Price> {
      * @return A new {@link Price} containing the result of this calculation.
      */
     public Price minus(final Price other) {
-        return new Price(price - other.price);
+        return new Price(Pipettes.minus(price, other.price));
     }
 
     /**
@@ -165,7 +167,7 @@ public final class Price implements Comparable<Price> {
      * @return A new {@link Price} containing the result of this calculation.
      */
     public Price minus(final int amount, final PriceUnit unit) {
-        return new Price(price - amount * unit.getMultipleOfPipette());
+        return new Price(Pipettes.minus(price, amount, unit));
     }
 
     /**
@@ -200,7 +202,7 @@ public final class Price implements Comparable<Price> {
      * @return A new {@link Price} containing the result of this calculation.
      */
     public Price minus(final Ratio ratio) {
-        return new Price(round((1.0 - ratio.asBasic()) * price));
+        return new Price(Pipettes.minusRatio(price, ratio.asBasic()));
     }
 
     /**
@@ -214,7 +216,7 @@ public final class Price implements Comparable<Price> {
      * @return The additive inverse
      */
     public Price inverse() {
-        return new Price(price * -1);
+        return new Price(Pipettes.inverse(price));
     }
 
     /**
@@ -243,7 +245,7 @@ public final class Price implements Comparable<Price> {
      * @return A new {@link Price} containing the result of this operation.
      */
     public Price multiply(final Ratio ratio) {
-        return new Price(round(ratio.asBasic() * price));
+        return new Price(Pipettes.multiply(price, ratio.asBasic()));
     }
 
     /**
@@ -280,7 +282,7 @@ public final class Price implements Comparable<Price> {
      * @return The quotient in form of a {@link Ratio}.
      */
     public Ratio divide(final Price divisor) {
-        return new Ratio((double) price / (double) divisor.price);
+        return new Ratio(Pipettes.divide(price, divisor.price));
     }
 
     /**
@@ -291,7 +293,7 @@ public final class Price implements Comparable<Price> {
      * @return <code>true</code> if <code>this</code> is lesser than <code>other</code> and <code>false</code> if not.
      */
     public boolean isLessThan(final Price other) {
-        return price < other.price;
+        return Pipettes.isLessThan(price, other.price);
     }
 
     /**
@@ -302,7 +304,7 @@ public final class Price implements Comparable<Price> {
      * @return <code>true</code> if <code>this</code> is greater than <code>other</code> and <code>false</code> if not.
      */
     public boolean isGreaterThan(final Price other) {
-        return price > other.price;
+        return Pipettes.isGreaterThan(price, other.price);
     }
 
     /**
@@ -316,11 +318,7 @@ public final class Price implements Comparable<Price> {
      *         the other {@link Price}.
      */
     public boolean isStrongerThan(final Price other, final MarketDirection direction) {
-        if (direction == MarketDirection.UP) {
-            return isGreaterThan(other);
-        } else {
-            return isLessThan(other);
-        }
+        return Pipettes.isStrongerThan(price, other.price, direction);
     }
 
     /**
@@ -334,11 +332,7 @@ public final class Price implements Comparable<Price> {
      *         the other {@link Price}.
      */
     public boolean isWeakerThan(final Price other, final MarketDirection direction) {
-        if (direction == MarketDirection.UP) {
-            return isLessThan(other);
-        } else {
-            return isGreaterThan(other);
-        }
+        return Pipettes.isWeakerThan(price, other.price, direction);
     }
 
     /**
@@ -352,10 +346,7 @@ public final class Price implements Comparable<Price> {
      *         prices.
      */
     public boolean isBetweenInclusive(final Price a, final Price b) {
-        final long min = a.price < b.price ? a.price : b.price;
-        final long max = a.price > b.price ? a.price : b.price;
-
-        return price >= min && price <= max;
+        return Pipettes.isBetweenInclusive(price, a.price, b.price);
     }
 
     /**
@@ -394,7 +385,7 @@ public final class Price implements Comparable<Price> {
      */
     @Override
     public int compareTo(final Price other) {
-        return price < other.price ? -1 : price == other.price ? 0 : 1;
+        return Pipettes.compare(price, other.price);
     }
 
     @Override
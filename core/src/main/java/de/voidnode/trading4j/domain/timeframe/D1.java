@@ -3,12 +3,11 @@ package de.voidnode.trading4j.domain.timeframe;
 import java.time.DayOfWeek;
 import java.time.Instant;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
-import java.time.temporal.TemporalAdjusters;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
 
 import static java.time.DayOfWeek.MONDAY;
 import static java.time.DayOfWeek.SUNDAY;
-import static java.time.temporal.ChronoUnit.DAYS;
 
 /**
  * A 1 day time frame.
@@ -17,62 +16,110 @@ import static java.time.temporal.ChronoUnit.DAYS;
  * A day starts at 00:00 o'clock London time except for Monday which starts at 22:00 o'clock at the previous Sunday.
  * </p>
  * 
+ * <p>
+ * The offset of London time to UTC is cached for the period between two daylight saving time transitions. Within
+ * this period the start of a day is calculated with integer arithmetic only.
+ * </p>
+ * 
  * @author Raik Bieniek
  */
 public class D1 implements TimeFrame {
 
-    private static final ZoneId BRITISH_TIME_ZONE = ZoneId.of("Europe/London");
+    private static final ZoneRules BRITISH_TIME_ZONE = ZoneId.of("Europe/London").getRules();
+    private static final long SECONDS_PER_DAY = 24 * 60 * 60;
+    private static final long START_OF_MONDAY_ON_SUNDAY = 22 * 60 * 60;
+    /**
+     * The day of the week of the first day of the epoch (1970-01-01), counting from Monday as 0.
+     */
+    private static final int DAY_OF_WEEK_OF_EPOCH = 3;
+
+    private volatile OffsetPeriod cachedOffset = new OffsetPeriod(0, 0, 0);
 
     @Override
-    public Instant instantOfNextFrame(final Instant instant) {
-        final ZonedDateTime britishTime = instant.atZone(BRITISH_TIME_ZONE);
-        final DayOfWeek britishDay = britishTime.getDayOfWeek();
-        if (britishDay != SUNDAY) {
-            return removeMinutesAndLess(britishTime).withHour(0).plus(1, DAYS).toInstant();
+    public long startOfFrame(final long epochSecond) {
+        final int offset = offsetAt(epochSecond);
+        final long britishSecond = epochSecond + offset;
+        final long day = Math.floorDiv(britishSecond, SECONDS_PER_DAY);
+        final long startOfDay = day * SECONDS_PER_DAY;
+        final DayOfWeek britishDay = dayOfWeek(day);
+
+        final long britishStart;
+        if (britishDay == SUNDAY && britishSecond >= startOfDay + START_OF_MONDAY_ON_SUNDAY) {
+            britishStart = startOfDay + START_OF_MONDAY_ON_SUNDAY;
+        } else if (britishDay == MONDAY) {
+            britishStart = startOfDay - SECONDS_PER_DAY + START_OF_MONDAY_ON_SUNDAY;
+        } else {
+            britishStart = startOfDay;
         }
+        return toEpochSecond(britishStart, offset);
+    }
+
+    @Override
+    public long startOfNextFrame(final long epochSecond) {
+        final int offset = offsetAt(epochSecond);
+        final long britishSecond = epochSecond + offset;
+        final long day = Math.floorDiv(britishSecond, SECONDS_PER_DAY);
+        final long startOfDay = day * SECONDS_PER_DAY;
 
-        final ZonedDateTime britishTimeCorrectTimeValues = removeMinutesAndLess(britishTime).withHour(22);
-        if (britishTime.getDayOfWeek() == SUNDAY) {
-            if (britishTime.isBefore(britishTimeCorrectTimeValues)) {
-                return britishTimeCorrectTimeValues.toInstant();
-            }
-            return removeMinutesAndLess(britishTime).withHour(0).plus(2, DAYS).toInstant();
+        final long britishNext;
+        if (dayOfWeek(day) != SUNDAY) {
+            britishNext = startOfDay + SECONDS_PER_DAY;
+        } else if (britishSecond < startOfDay + START_OF_MONDAY_ON_SUNDAY) {
+            britishNext = startOfDay + START_OF_MONDAY_ON_SUNDAY;
+        } else {
+            britishNext = startOfDay + 2 * SECONDS_PER_DAY;
         }
-        return britishTimeCorrectTimeValues.with(TemporalAdjusters.next(SUNDAY)).toInstant();
+        return toEpochSecond(britishNext, offset);
     }
 
-    private ZonedDateTime removeMinutesAndLess(final ZonedDateTime time) {
-        return time.withSecond(0).withNano(0).withMinute(0);
+    private DayOfWeek dayOfWeek(final long epochDay) {
+        return DayOfWeek.of((int) Math.floorMod(epochDay + DAY_OF_WEEK_OF_EPOCH, 7) + 1);
     }
 
-    @Override
-    public boolean areInSameTimeFrame(final Instant instant1, final Instant instant2) {
+    /**
+     * Converts a London time to UTC.
+     * 
+     * <p>
+     * The offset of the instant the London time was derived from is only a guess as there may be a daylight saving
+     * time transition in between. Daylight saving time transitions in London happen at night, so the beginnings of
+     * days are never skipped or ambiguous.
+     * </p>
+     */
+    private long toEpochSecond(final long britishSecond, final int guessedOffset) {
+        return britishSecond - offsetAt(britishSecond - guessedOffset);
+    }
 
-        final ZonedDateTime britishTime = instant1.atZone(BRITISH_TIME_ZONE);
-        final DayOfWeek britishDay = britishTime.getDayOfWeek();
+    private int offsetAt(final long epochSecond) {
+        OffsetPeriod period = cachedOffset;
+        if (epochSecond < period.from || epochSecond >= period.until) {
+            period = OffsetPeriod.containing(epochSecond);
+            cachedOffset = period;
+        }
+        return period.offset;
+    }
 
-        final ZonedDateTime localBase = britishTime.withHour(0).withMinute(0).withSecond(0).withNano(0);
+    /**
+     * A period in which London time has a constant offset to UTC.
+     */
+    private static final class OffsetPeriod {
 
-        final ZonedDateTime start;
-        final ZonedDateTime end;
+        private final long from;
+        private final long until;
+        private final int offset;
 
-        if (britishDay == SUNDAY) {
-            if (britishTime.isBefore(localBase.withHour(22))) {
-                start = localBase;
-                end = localBase.withHour(22);
-            } else {
-                start = localBase.withHour(22);
-                end = localBase.plusDays(2);
-            }
-        } else if (britishDay == MONDAY) {
-            start = localBase.minusDays(1).withHour(22);
-            end = localBase.plusDays(1);
-        } else {
-            start = localBase;
-            end = localBase.plusDays(1);
+        OffsetPeriod(final long from, final long until, final int offset) {
+            this.from = from;
+            this.until = until;
+            this.offset = offset;
         }
 
-        return instant2.equals(start.toInstant())
-                || (instant2.isAfter(start.toInstant()) && instant2.isBefore(end.toInstant()));
+        static OffsetPeriod containing(final long epochSecond) {
+            final Instant instant = Instant.ofEpochSecond(epochSecond);
+            final ZoneOffsetTransition previous = BRITISH_TIME_ZONE.previousTransition(instant.plusSeconds(1));
+            final ZoneOffsetTransition next = BRITISH_TIME_ZONE.nextTransition(instant);
+            return new OffsetPeriod(previous == null ? Long.MIN_VALUE : previous.toEpochSecond(),
+                    next == null ? Long.MAX_VALUE : next.toEpochSecond(),
+                    BRITISH_TIME_ZONE.getOffset(instant).getTotalSeconds());
+        }
     }
 }
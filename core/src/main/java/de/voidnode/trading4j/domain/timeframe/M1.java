@@ -1,10 +1,5 @@
 package de.voidnode.trading4j.domain.timeframe;
 
-import java.time.Instant;
-import java.time.OffsetDateTime;
-
-import static java.time.ZoneOffset.UTC;
-
 /**
  * A 1 minute time frame.
  * 
@@ -12,16 +7,15 @@ import static java.time.ZoneOffset.UTC;
  */
 public class M1 implements TimeFrame {
 
+    private static final long LENGTH_IN_SECONDS = 60;
+
     @Override
-    public Instant instantOfNextFrame(final Instant current) {
-        return current.atOffset(UTC).withSecond(0).withNano(0).plusMinutes(1).toInstant();
+    public long startOfFrame(final long epochSecond) {
+        return Math.floorDiv(epochSecond, LENGTH_IN_SECONDS) * LENGTH_IN_SECONDS;
     }
 
     @Override
-    public boolean areInSameTimeFrame(final Instant instant1, final Instant instant2) {
-        final OffsetDateTime localStart = instant1.atOffset(UTC).withSecond(0).withNano(0);
-        final Instant start = localStart.toInstant();
-        final Instant startOfNext = localStart.plusMinutes(1).toInstant();
-        return instant2.equals(start) || (instant2.isAfter(start) && instant2.isBefore(startOfNext));
+    public long startOfNextFrame(final long epochSecond) {
+        return startOfFrame(epochSecond) + LENGTH_IN_SECONDS;
     }
 }
@@ -0,0 +1,21 @@
+package de.voidnode.trading4j.domain.timeframe;
+
+/**
+ * A 15 second time frame.
+ * 
+ * @author Raik Bieniek
+ */
+public class S15 implements TimeFrame {
+
+    private static final long LENGTH_IN_SECONDS = 15;
+
+    @Override
+    public long startOfFrame(final long epochSecond) {
+        return Math.floorDiv(epochSecond, LENGTH_IN_SECONDS) * LENGTH_IN_SECONDS;
+    }
+
+    @Override
+    public long startOfNextFrame(final long epochSecond) {
+        return startOfFrame(epochSecond) + LENGTH_IN_SECONDS;
+    }
+}
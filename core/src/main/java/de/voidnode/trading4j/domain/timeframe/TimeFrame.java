@@ -9,10 +9,34 @@ import java.time.Instant;
  * Often each chunk has the same length. Each point in time must be assignable to exactly one of the chunks.
  * </p>
  * 
+ * <p>
+ * Implementations define the chunks with {@link #startOfFrame(long)} and {@link #startOfNextFrame(long)} on the
+ * seconds since the epoch. These are meant to be simple integer arithmetic so that checking if an instant belongs to a
+ * time frame comes down to comparing two numbers.
+ * </p>
+ * 
  * @author Raik Bieniek
  */
 public interface TimeFrame {
 
+    /**
+     * The first second of the time frame that contains a given second.
+     * 
+     * @param epochSecond
+     *            An arbitrary second since the epoch 1970-01-01T00:00:00Z.
+     * @return The second since the epoch at which the time frame of <code>epochSecond</code> starts.
+     */
+    long startOfFrame(long epochSecond);
+
+    /**
+     * The first second of the time frame that follows the time frame that contains a given second.
+     * 
+     * @param epochSecond
+     *            An arbitrary second since the epoch 1970-01-01T00:00:00Z.
+     * @return The second since the epoch at which the time frame following the one of <code>epochSecond</code> starts.
+     */
+    long startOfNextFrame(long epochSecond);
+
     /**
      * Checks if two {@link Instant}s belong to the same time frame or if they belong to different ones.
      * 
@@ -22,7 +46,10 @@ public interface TimeFrame {
      *            The second {@link Instant} for the comparison.
      * @return <code>true</code> if they both belong the the same time frame and <code>false</code> if not.
      */
-    boolean areInSameTimeFrame(Instant instant1, Instant instant2);
+    default boolean areInSameTimeFrame(final Instant instant1, final Instant instant2) {
+        // Time frames start at full seconds so the fractions of a second do not matter.
+        return startOfFrame(instant1.getEpochSecond()) == startOfFrame(instant2.getEpochSecond());
+    }
 
     /**
      * The earliest instant {@link Instant} that is later in time then the {@link Instant} passed as argument and that
@@ -32,6 +59,8 @@ public interface TimeFrame {
      *            An arbitrary {@link Instant}.
      * @return The {@link Instant} for the succeeding frame.
      */
-    Instant instantOfNextFrame(Instant current);
+    default Instant instantOfNextFrame(final Instant current) {
+        return Instant.ofEpochSecond(startOfNextFrame(current.getEpochSecond()));
+    }
 
 }
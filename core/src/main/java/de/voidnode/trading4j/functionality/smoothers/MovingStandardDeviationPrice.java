@@ -0,0 +1,38 @@
+package de.voidnode.trading4j.functionality.smoothers;
+
+import java.util.Optional;
+
+import de.voidnode.trading4j.domain.monetary.Price;
+
+/**
+ * The standard deviation of the most recent {@link Price}s passed as input.
+ *
+ * <p>
+ * The standard deviation is calculated with a {@link MovingVariance} so that smoothing has a constant cost regardless
+ * of the amount of {@link Price}s to aggregate. It is rounded to the nearest full pipette.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class MovingStandardDeviationPrice implements Smoother<Price> {
+
+    private final MovingVariance variance;
+
+    /**
+     * Initializes an instance with all its dependencies.
+     *
+     * @param aggregationCount
+     *            The amount of {@link Price}s that the standard deviation should be build from.
+     */
+    public MovingStandardDeviationPrice(final int aggregationCount) {
+        this.variance = new MovingVariance(aggregationCount);
+    }
+
+    @Override
+    public Optional<Price> smooth(final Price dataPoint) {
+        if (!variance.add(dataPoint.asPipette())) {
+            return Optional.empty();
+        }
+        return Optional.of(new Price(Math.round(variance.getStandardDeviation())));
+    }
+}
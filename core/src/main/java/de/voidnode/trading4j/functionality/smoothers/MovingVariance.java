@@ -0,0 +1,123 @@
+package de.voidnode.trading4j.functionality.smoothers;
+
+/**
+ * The mean and the variance of the most recent values passed as input.
+ *
+ * <p>
+ * The most recent values are kept in a ring buffer that is allocated once. The mean is derived from a running sum,
+ * which is exact for whole numbers like prices in pipettes. The sum of the squared differences from the mean is updated
+ * with Welford's method when a value is added and the oldest one is removed at the same time. Adding a value therefore
+ * has a constant cost regardless of the amount of values to aggregate. Unlike a sum of squares, the sum of the squared
+ * differences does not lose precision when the values are large compared to their differences, as for prices in
+ * pipettes. The small rounding errors of each update are discarded by recalculating both values from the ring buffer
+ * after a fixed amount of updates, which is a constant cost per value on average.
+ * </p>
+ *
+ * <p>
+ * The variance is the population variance of the values in the window as it is commonly used for indicators.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class MovingVariance {
+
+    /**
+     * The minimal amount of values that are added before the mean and the variance are recalculated from scratch.
+     */
+    private static final int RECALCULATION_INTERVAL = 1 << 16;
+
+    private final int aggregationCount;
+    private final int recalculationInterval;
+    private final double[] values;
+    private int next;
+    private int filled;
+    private double sum;
+    private double mean;
+    private double squaredDifferences;
+    private int addedSinceRecalculation;
+
+    /**
+     * Initializes an instance with all its dependencies.
+     *
+     * @param aggregationCount
+     *            The amount of values that the mean and the variance should be build from.
+     */
+    public MovingVariance(final int aggregationCount) {
+        this.aggregationCount = aggregationCount;
+        this.values = new double[aggregationCount];
+        this.recalculationInterval = Math.max(RECALCULATION_INTERVAL, aggregationCount);
+    }
+
+    /**
+     * Adds the most recent value and removes the oldest one if enough values were added.
+     *
+     * @param value
+     *            The most recent value.
+     * @return <code>true</code> if enough values were added to calculate the mean and the variance and
+     *         <code>false</code> if not.
+     */
+    public boolean add(final double value) {
+        final double previousMean = mean;
+        if (filled < aggregationCount) {
+            filled++;
+            sum += value;
+            mean = sum / filled;
+            squaredDifferences += (value - previousMean) * (value - mean);
+        } else {
+            final double oldest = values[next];
+            sum += value - oldest;
+            mean = sum / aggregationCount;
+            squaredDifferences += (value - oldest) * (value - mean + oldest - previousMean);
+            // Rounding errors could make it slightly negative when all values in the window are equal.
+            if (squaredDifferences < 0) {
+                squaredDifferences = 0;
+            }
+        }
+        values[next] = value;
+        next = next + 1 == aggregationCount ? 0 : next + 1;
+        if (++addedSinceRecalculation == recalculationInterval) {
+            recalculate();
+        }
+        return filled == aggregationCount;
+    }
+
+    /**
+     * The mean of the values in the window.
+     *
+     * @return The mean
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * The population variance of the values in the window.
+     *
+     * @return The variance
+     */
+    public double getVariance() {
+        return filled == 0 ? 0 : squaredDifferences / filled;
+    }
+
+    /**
+     * The population standard deviation of the values in the window.
+     *
+     * @return The standard deviation
+     */
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    private void recalculate() {
+        sum = 0;
+        for (int i = 0; i < filled; i++) {
+            sum += values[i];
+        }
+        mean = sum / filled;
+        squaredDifferences = 0;
+        for (int i = 0; i < filled; i++) {
+            squaredDifferences += (values[i] - mean) * (values[i] - mean);
+        }
+        addedSinceRecalculation = 0;
+    }
+}
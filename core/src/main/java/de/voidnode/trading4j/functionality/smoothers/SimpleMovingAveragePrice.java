@@ -1,20 +1,25 @@
 package de.voidnode.trading4j.functionality.smoothers;
 
-import java.util.LinkedList;
 import java.util.Optional;
-import java.util.Queue;
 
 import de.voidnode.trading4j.domain.monetary.Price;
 
 /**
  * The simple average {@link Price} of the most recent {@link Price}s passed as input.
+ * 
+ * <p>
+ * The most recent {@link Price}s are kept as pipettes in a ring buffer that is allocated once so that smoothing does
+ * not allocate memory for the window, regardless of the amount of {@link Price}s to aggregate.
+ * </p>
  *
  * @author Raik Bieniek
  */
 public class SimpleMovingAveragePrice implements Smoother<Price> {
 
     private final int aggregationCount;
-    private final Queue<Long> prices;
+    private final long[] pipettes;
+    private int next;
+    private int filled;
     private long sum;
 
     /**
@@ -25,19 +30,25 @@ public class SimpleMovingAveragePrice implements Smoother<Price> {
      */
     public SimpleMovingAveragePrice(final int aggregationCount) {
         this.aggregationCount = aggregationCount;
-        this.prices = new LinkedList<>();
+        this.pipettes = new long[aggregationCount];
         sum = 0;
     }
 
     @Override
     public Optional<Price> smooth(final Price dataPoint) {
-        prices.add(dataPoint.asPipette());
-        sum += dataPoint.asPipette();
-        if (prices.size() < aggregationCount) {
-            return Optional.empty();
+        final long pipette = dataPoint.asPipette();
+        pipettes[next] = pipette;
+        sum += pipette;
+        next = next + 1 == aggregationCount ? 0 : next + 1;
+        if (filled < aggregationCount) {
+            filled++;
+            if (filled < aggregationCount) {
+                return Optional.empty();
+            }
         }
         final long returnVal = sum / aggregationCount;
-        sum -= prices.poll();
+        // next now points to the oldest price which will be overwritten by the next input.
+        sum -= pipettes[next];
         return Optional.of(new Price(returnVal));
     }
 }
@@ -1,20 +1,31 @@
 package de.voidnode.trading4j.functionality.smoothers;
 
-import java.util.LinkedList;
 import java.util.Optional;
-import java.util.Queue;
 
 import de.voidnode.trading4j.domain.Ratio;
 
 /**
  * The simple average {@link Ratio} of the most recent {@link Ratio}s passed as input.
+ * 
+ * <p>
+ * The most recent {@link Ratio}s are kept in a ring buffer that is allocated once so that smoothing does not allocate
+ * memory for the window. Like in {@link SimpleMovingAveragePrice} a running sum is updated for each input so that
+ * smoothing has a constant cost regardless of the amount of {@link Ratio}s to aggregate. As the {@link Ratio}s are
+ * floating point numbers, the running sum is compensated with the Neumaier variant of the Kahan summation. The digits
+ * lost by rounding when a ratio is added or removed are kept in a second sum, so the average stays as exact as summing
+ * up the window even after ratios of very different magnitudes passed through it.
+ * </p>
  *
  * @author Raik Bieniek
  */
 public class SimpleMovingAverageRatio implements Smoother<Ratio> {
 
     private final int aggregationCount;
-    private final Queue<Double> ratios;
+    private final double[] ratios;
+    private int next;
+    private int filled;
+    private double sum;
+    private double compensation;
 
     /**
      * Initializes an instance with all its dependencies.
@@ -24,21 +35,36 @@ public class SimpleMovingAverageRatio implements Smoother<Ratio> {
      */
     public SimpleMovingAverageRatio(final int aggregationCount) {
         this.aggregationCount = aggregationCount;
-        this.ratios = new LinkedList<>();
+        this.ratios = new double[aggregationCount];
     }
 
     @Override
     public Optional<Ratio> smooth(final Ratio dataPoint) {
-        ratios.add(dataPoint.asBasic());
-        if (ratios.size() < aggregationCount) {
-            return Optional.empty();
+        final double ratio = dataPoint.asBasic();
+        // next points to the oldest ratio which is removed from the sum once the window is full.
+        if (filled == aggregationCount) {
+            add(-ratios[next]);
         }
-        double sum = 0;
-        for (final Double ratio : ratios) {
-            sum += ratio;
+        add(ratio);
+        ratios[next] = ratio;
+        next = next + 1 == aggregationCount ? 0 : next + 1;
+        if (filled < aggregationCount) {
+            filled++;
+            if (filled < aggregationCount) {
+                return Optional.empty();
+            }
         }
-        final double returnVal = sum / aggregationCount;
-        ratios.poll();
-        return Optional.of(new Ratio(returnVal));
+        return Optional.of(new Ratio((sum + compensation) / aggregationCount));
+    }
+
+    private void add(final double value) {
+        final double newSum = sum + value;
+        // The addition is exact for the bigger operand, so the lost digits are those of the smaller one.
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - newSum) + value;
+        } else {
+            compensation += (value - newSum) + sum;
+        }
+        sum = newSum;
     }
 }
@@ -0,0 +1,231 @@
+package de.voidnode.trading4j.functionality.timeframeconversion;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.voidnode.trading4j.api.MarketDataListener;
+import de.voidnode.trading4j.domain.Volume;
+import de.voidnode.trading4j.domain.VolumeUnit;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.marketdata.impl.MutableFullMarketData;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.timeframe.D1;
+import de.voidnode.trading4j.domain.timeframe.H1;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.domain.timeframe.M15;
+import de.voidnode.trading4j.domain.timeframe.M30;
+import de.voidnode.trading4j.domain.timeframe.M5;
+import de.voidnode.trading4j.domain.timeframe.TimeFrame;
+
+/**
+ * Aggregates {@link M1} {@link FullMarketData} to all larger {@link TimeFrame}s at once.
+ *
+ * <p>
+ * The time frames are aggregated hierarchically from {@link M1} to {@link M5}, {@link M15}, {@link M30}, {@link H1}
+ * and {@link D1}. Each time frame only aggregates the completed candle sticks of the time frame below it. Compared to
+ * one {@link FullMarketDataTimeFrameConverter} per time frame, only the {@link M5} time frame needs to do work for
+ * every {@link M1} candle stick. Candle sticks are only built for time frames that have listeners.
+ * </p>
+ *
+ * <p>
+ * Like the {@link TimeFrameConverter}, each time frame drops its candle sticks until a new frame starts, and it
+ * publishes a candle stick as soon as its last input is received. If that input is missing, the candle stick is
+ * published when the first input of the next frame is received. The spread is averaged over all {@link M1} candle
+ * sticks and not over the averages of the time frame below. When one {@link M1} candle stick completes candle sticks
+ * of several time frames, the smaller time frames are published first.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class MultiTimeFrameConverter implements MarketDataListener<FullMarketData<M1>> {
+
+    /**
+     * The value for the time of the previous {@link M1} candle stick when there was none.
+     */
+    private static final long NO_TIME = Long.MIN_VALUE;
+
+    private final Level<D1> d1 = new Level<>(new H1(), new D1(), null);
+    private final Level<H1> h1 = new Level<>(new M30(), new H1(), d1);
+    private final Level<M30> m30 = new Level<>(new M15(), new M30(), h1);
+    private final Level<M15> m15 = new Level<>(new M5(), new M15(), m30);
+    private final Level<M5> m5 = new Level<>(new M1(), new M5(), m15);
+
+    private final Aggregate input = new Aggregate();
+    private long previousTime = NO_TIME;
+
+    @Override
+    public void newData(final FullMarketData<M1> candleStick) {
+        input.time = candleStick.getTime();
+        input.open = candleStick.getOpen();
+        input.high = candleStick.getHigh();
+        input.low = candleStick.getLow();
+        input.close = candleStick.getClose();
+        input.volume = candleStick.getVolume().asAbsolute();
+        input.tickCount = candleStick.getTickCount();
+        input.spreadSum = candleStick.getSpread().asPipette();
+        input.count = 1;
+        input.previousTime = previousTime;
+        previousTime = input.time.getEpochSecond();
+        m5.add(input);
+    }
+
+    /**
+     * Registers a listener for completed {@link M5} candle sticks.
+     *
+     * @param listener
+     *            The listener to notify.
+     */
+    public void addM5Listener(final MarketDataListener<FullMarketData<M5>> listener) {
+        m5.listeners.add(listener);
+    }
+
+    /**
+     * Registers a listener for completed {@link M15} candle sticks.
+     *
+     * @param listener
+     *            The listener to notify.
+     */
+    public void addM15Listener(final MarketDataListener<FullMarketData<M15>> listener) {
+        m15.listeners.add(listener);
+    }
+
+    /**
+     * Registers a listener for completed {@link M30} candle sticks.
+     *
+     * @param listener
+     *            The listener to notify.
+     */
+    public void addM30Listener(final MarketDataListener<FullMarketData<M30>> listener) {
+        m30.listeners.add(listener);
+    }
+
+    /**
+     * Registers a listener for completed {@link H1} candle sticks.
+     *
+     * @param listener
+     *            The listener to notify.
+     */
+    public void addH1Listener(final MarketDataListener<FullMarketData<H1>> listener) {
+        h1.listeners.add(listener);
+    }
+
+    /**
+     * Registers a listener for completed {@link D1} candle sticks.
+     *
+     * @param listener
+     *            The listener to notify.
+     */
+    public void addD1Listener(final MarketDataListener<FullMarketData<D1>> listener) {
+        d1.listeners.add(listener);
+    }
+
+    /**
+     * The intermediate aggregation result of a candle stick.
+     */
+    private static final class Aggregate {
+        private Instant time;
+        private Price open;
+        private Price high;
+        private Price low;
+        private Price close;
+        private long volume;
+        private long tickCount;
+        private long spreadSum;
+        private int count;
+        /**
+         * The time of the {@link M1} candle stick that was received before the first one of this aggregate.
+         */
+        private long previousTime;
+
+        void merge(final Aggregate other) {
+            if (count == 0) {
+                time = other.time;
+                open = other.open;
+                high = other.high;
+                low = other.low;
+                previousTime = other.previousTime;
+            } else {
+                if (other.high.isGreaterThan(high)) {
+                    high = other.high;
+                }
+                if (other.low.isLessThan(low)) {
+                    low = other.low;
+                }
+            }
+            close = other.close;
+            volume += other.volume;
+            tickCount += other.tickCount;
+            spreadSum += other.spreadSum;
+            count += other.count;
+        }
+
+        void reset() {
+            volume = 0;
+            tickCount = 0;
+            spreadSum = 0;
+            count = 0;
+        }
+    }
+
+    /**
+     * Aggregates the candle sticks of one time frame to the next larger time frame.
+     *
+     * @param <T>
+     *            The time frame that is aggregated to.
+     */
+    private static final class Level<T extends TimeFrame> {
+
+        private final TimeFrame inputTimeFrame;
+        private final T timeFrame;
+        private final List<MarketDataListener<FullMarketData<T>>> listeners = new ArrayList<>();
+        private final MutableFullMarketData<T> builder = new MutableFullMarketData<>();
+        private final Aggregate aggregate = new Aggregate();
+        private final Level<?> upper;
+
+        private long startOfNextFrame = Long.MIN_VALUE;
+        private boolean aggregating;
+
+        Level(final TimeFrame inputTimeFrame, final T timeFrame, final Level<?> upper) {
+            this.inputTimeFrame = inputTimeFrame;
+            this.timeFrame = timeFrame;
+            this.upper = upper;
+        }
+
+        void add(final Aggregate input) {
+            final long time = input.time.getEpochSecond();
+            if (time >= startOfNextFrame) {
+                if (aggregate.count > 0) {
+                    complete();
+                }
+                // A frame is only complete when the M1 candle stick before its first one belongs to an earlier frame.
+                // Otherwise it is the first frame and it is unknown if its first inputs were received.
+                aggregating = input.previousTime != NO_TIME && input.previousTime < timeFrame.startOfFrame(time);
+                startOfNextFrame = timeFrame.startOfNextFrame(time);
+            }
+            if (!aggregating) {
+                return;
+            }
+            aggregate.merge(input);
+            if (inputTimeFrame.startOfNextFrame(time) >= startOfNextFrame) {
+                complete();
+            }
+        }
+
+        private void complete() {
+            if (!listeners.isEmpty()) {
+                final FullMarketData<T> candleStick = builder.setTime(aggregate.time).setOpen(aggregate.open)
+                        .setHigh(aggregate.high).setLow(aggregate.low).setClose(aggregate.close)
+                        .setVolume(new Volume(aggregate.volume, VolumeUnit.BASE)).setTickCount(aggregate.tickCount)
+                        .setSpread(new Price(aggregate.spreadSum / aggregate.count)).toImmutableFullMarketData();
+                for (final MarketDataListener<FullMarketData<T>> listener : listeners) {
+                    listener.newData(candleStick);
+                }
+            }
+            if (upper != null) {
+                upper.add(aggregate);
+            }
+            aggregate.reset();
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package de.voidnode.trading4j.functionality.timeframeconversion;
+
+import java.time.Instant;
+
+import de.voidnode.trading4j.api.MarketDataListener;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.marketdata.impl.MutableFullMarketData;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.timeframe.TimeFrame;
+
+import static de.voidnode.trading4j.domain.VolumeUnit.BASE;
+
+/**
+ * Builds candle sticks of a {@link TimeFrame} incrementally from single ticks.
+ *
+ * <p>
+ * The prices of the candle sticks are bid prices like those of the candle sticks sent by the MetaTrader. The tick
+ * count is the number of ticks received during the frame and the spread is the average spread of these ticks.
+ * </p>
+ *
+ * <p>
+ * Candle sticks are only built for frames in which at least one tick was received. Gaps in the tick stream like
+ * weekends or holidays therefore do not produce empty candle sticks. The end of a frame is noticed when the first tick
+ * of a later frame is received. To publish the candle stick before a gap without waiting for the next tick,
+ * {@link #timePassed(Instant)} can be called regularly. Like the {@link TimeFrameConverter}, the candle stick of the
+ * first frame is dropped as it is unknown if all of its ticks were received.
+ * </p>
+ *
+ * @author Raik Bieniek
+ *
+ * @param <T>
+ *            The time frame of the candle sticks that are built.
+ */
+public class TickCandleStickBuilder<T extends TimeFrame> {
+
+    /**
+     * The value for the start of the frames when no tick was received yet.
+     */
+    private static final long NO_FRAME = Long.MIN_VALUE;
+
+    private final T timeFrame;
+    private final MarketDataListener<FullMarketData<T>> listener;
+    private final MutableFullMarketData<T> builder = new MutableFullMarketData<>();
+
+    private long startOfFrame = NO_FRAME;
+    private long startOfNextFrame = NO_FRAME;
+    private boolean aggregating;
+
+    private long open;
+    private long high;
+    private long low;
+    private long close;
+    private long volume;
+    private long spreadSum;
+    private long tickCount;
+
+    /**
+     * Initializes the builder.
+     *
+     * @param timeFrame
+     *            The time frame of the candle sticks that should be built.
+     * @param listener
+     *            The listener that is notified about each completed candle stick.
+     */
+    public TickCandleStickBuilder(final T timeFrame, final MarketDataListener<FullMarketData<T>> listener) {
+        this.timeFrame = timeFrame;
+        this.listener = listener;
+    }
+
+    /**
+     * Adds a tick to the candle stick of its frame.
+     *
+     * <p>
+     * When the tick belongs to a later frame than the previous ticks, the candle stick of the previous ticks is
+     * completed first. Ticks that belong to a frame that was already completed are ignored.
+     * </p>
+     *
+     * @param time
+     *            The time at which the prices where quoted.
+     * @param bid
+     *            The price for which the base currency could be sold.
+     * @param ask
+     *            The price for which the base currency could be bought.
+     * @param tickVolume
+     *            The volume that was traded with this tick in {@link de.voidnode.trading4j.domain.VolumeUnit#BASE}.
+     */
+    public void newTick(final Instant time, final Price bid, final Price ask, final long tickVolume) {
+        final long second = time.getEpochSecond();
+        if (second < startOfFrame) {
+            return;
+        }
+        if (second >= startOfNextFrame) {
+            complete();
+            // Only the first frame can be incomplete. Frames following a gap are started by their first tick.
+            aggregating = startOfNextFrame != NO_FRAME;
+            startOfFrame = timeFrame.startOfFrame(second);
+            startOfNextFrame = timeFrame.startOfNextFrame(second);
+        }
+        if (!aggregating) {
+            return;
+        }
+
+        final long price = bid.asPipette();
+        if (tickCount == 0) {
+            open = price;
+            high = price;
+            low = price;
+        } else if (price > high) {
+            high = price;
+        } else if (price < low) {
+            low = price;
+        }
+        close = price;
+        volume += tickVolume;
+        spreadSum += ask.asPipette() - price;
+        tickCount++;
+    }
+
+    /**
+     * Informs the builder about the current time.
+     *
+     * <p>
+     * When the frame of the last tick has ended, its candle stick is completed without waiting for the next tick.
+     * Ticks for the completed frame that are received later are ignored.
+     * </p>
+     *
+     * @param now
+     *            The current time.
+     */
+    public void timePassed(final Instant now) {
+        if (startOfNextFrame == NO_FRAME || now.getEpochSecond() < startOfNextFrame) {
+            return;
+        }
+        complete();
+        startOfFrame = startOfNextFrame;
+    }
+
+    private void complete() {
+        if (tickCount == 0) {
+            return;
+        }
+        listener.newData(builder.setTime(Instant.ofEpochSecond(startOfFrame)).setOpen(new Price(open))
+                .setHigh(new Price(high)).setLow(new Price(low)).setClose(new Price(close)).setVolume(volume, BASE)
+                .setTickCount(tickCount).setSpread(new Price(spreadSum / tickCount)).toImmutableFullMarketData());
+        volume = 0;
+        spreadSum = 0;
+        tickCount = 0;
+    }
+}
@@ -1,7 +1,11 @@
 package de.voidnode.trading4j.functionality.timeframeconversion;
 
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Optional;
 
+import de.voidnode.trading4j.api.MarketDataListener;
 import de.voidnode.trading4j.domain.marketdata.impl.DatedCandleStick;
 import de.voidnode.trading4j.domain.marketdata.impl.MutableFullMarketData;
 import de.voidnode.trading4j.domain.monetary.Price;
@@ -39,13 +43,22 @@ public abstract class TimeFrameConverter<CIN extends DatedCandleStick<ITF>, COUT
     private final OTF outputTf;
 
     private final MutableFullMarketData<OTF> aggregatedCandleStick = new MutableFullMarketData<>();
+    private final Deque<COUT> completed = new ArrayDeque<>();
+    private final MarketDataListener<COUT> enqueueCompleted = completed::add;
 
     private boolean initialisationPhase = true;
-    private CIN lastCandleStick;
-    private Optional<COUT> nextReturnVal = Optional.empty();
+    private boolean hasLast;
+    private long lastTime;
+    private Price lastClose;
     private boolean currentIsStart;
     private boolean nextIsStart;
 
+    private Instant time;
+    private Price open;
+    private Price high;
+    private Price low;
+    private Price close;
+
     /**
      * Initializes the converter.
      * 
@@ -63,6 +76,11 @@ public abstract class TimeFrameConverter<CIN extends DatedCandleStick<ITF>, COUT
      * Aggregates an other input {@link DatedCandleStick} to the current {@link DatedCandleStick} of the output
      * {@link TimeFrame}.
      * 
+     * <p>
+     * When <code>input</code> completes two {@link DatedCandleStick}s of the output {@link TimeFrame} at once, the
+     * second one is returned by the next call.
+     * </p>
+     * 
      * @param candle
      *            The {@link DatedCandleStick} to aggregate.
      * @return If a {@link DatedCandleStick} of the output {@link TimeFrame} is completed with <code>input</code> than
@@ -70,19 +88,44 @@ public abstract class TimeFrameConverter<CIN extends DatedCandleStick<ITF>, COUT
      *         than an empty {@link Optional} is returned.
      */
     public Optional<COUT> aggregate(final CIN candle) {
-        if (lastCandleStick == null) {
-            lastCandleStick = candle;
-            return Optional.empty();
-        }
-
-        this.currentIsStart = !outputTf.areInSameTimeFrame(lastCandleStick.getTime(), candle.getTime());
-        this.nextIsStart = !outputTf.areInSameTimeFrame(candle.getTime(), inputTf.instantOfNextFrame(candle.getTime()));
+        aggregate(candle, enqueueCompleted);
+        return Optional.ofNullable(completed.poll());
+    }
 
-        final Optional<COUT> returnVal = initialisationPhase ? initialisationRound(candle)
-                : handleLateAggregatedCandles(normalRound(candle));
+    /**
+     * Aggregates an other input {@link DatedCandleStick} and passes completed {@link DatedCandleStick}s of the output
+     * {@link TimeFrame} to a listener.
+     * 
+     * <p>
+     * Apart from the aggregated candle sticks themselves, this method does not allocate any objects. The time frames
+     * are compared on the seconds since the epoch with {@link TimeFrame#startOfFrame(long)} and
+     * {@link TimeFrame#startOfNextFrame(long)}.
+     * </p>
+     * 
+     * @param candle
+     *            The {@link DatedCandleStick} to aggregate.
+     * @param listener
+     *            Receives each {@link DatedCandleStick} of the output {@link TimeFrame} as soon as it is completed.
+     *            When <code>candle</code> completes two of them at once, they are passed in chronological order.
+     */
+    public void aggregate(final CIN candle, final MarketDataListener<? super COUT> listener) {
+        // Time frames start at full seconds so the fractions of a second do not matter.
+        final long candleTime = candle.getTime().getEpochSecond();
+        if (hasLast) {
+            this.currentIsStart = !inSameOutputFrame(lastTime, candleTime);
+            this.nextIsStart = !inSameOutputFrame(candleTime, inputTf.startOfNextFrame(candleTime));
+
+            if (initialisationPhase) {
+                initialisationRound(candle, listener);
+            } else {
+                normalRound(candle, listener);
+            }
+        }
 
-        this.lastCandleStick = candle;
-        return returnVal;
+        // Only values returned by the getters are kept as the candle stick itself may be reused by the caller.
+        this.hasLast = true;
+        this.lastTime = candleTime;
+        this.lastClose = candle.getClose();
     }
 
     /**
@@ -100,7 +143,9 @@ public abstract class TimeFrameConverter<CIN extends DatedCandleStick<ITF>, COUT
      * @param isOpen
      *            <code>true</code> when this is the first data point for an aggregated candle stick.
      * @param isClose
-     *            <code>true</code> when this is the last data point for an aggregated candle stick.
+     *            <code>true</code> when this is the last data point for an aggregated candle stick. When the input
+     *            candle stick that should close a time frame is missing, the time frame is completed without any data
+     *            point passed with <code>true</code>.
      */
     protected abstract void aggregateAdditionalFields(CIN candleStick, boolean isOpen, boolean isClose);
 
@@ -125,82 +170,64 @@ public abstract class TimeFrameConverter<CIN extends DatedCandleStick<ITF>, COUT
      */
     protected abstract COUT buildAggregatedStick(MutableFullMarketData<OTF> aggregated);
 
-    private Optional<COUT> handleLateAggregatedCandles(final Optional<COUT> aggregated) {
-        if (nextReturnVal.isPresent()) {
-            final Optional<COUT> returnVal = nextReturnVal;
-            if (aggregated.isPresent()) {
-                nextReturnVal = aggregated;
-            } else {
-                nextReturnVal = Optional.empty();
-            }
-            return returnVal;
-        }
-        return aggregated;
-    }
-
-    private Optional<COUT> initialisationRound(final CIN candle) {
+    private void initialisationRound(final CIN candle, final MarketDataListener<? super COUT> listener) {
         if (currentIsStart) {
             initialisationPhase = false;
             aggregateCandleStick(candle, true, nextIsStart);
             if (nextIsStart) {
-                return Optional.of(finishTimeFrame());
+                finishTimeFrame(listener);
             }
         }
-        return Optional.empty();
     }
 
-    private Optional<COUT> normalRound(final CIN candle) {
-        COUT returnVal = null;
-
+    private void normalRound(final CIN candle, final MarketDataListener<? super COUT> listener) {
         if (currentIsStart) {
-            final boolean lastWasClosed = !outputTf.areInSameTimeFrame(lastCandleStick.getTime(),
-                    inputTf.instantOfNextFrame(lastCandleStick.getTime()));
+            final boolean lastWasClosed = !inSameOutputFrame(lastTime, inputTf.startOfNextFrame(lastTime));
             if (!lastWasClosed) {
-                aggregateCandleStick(lastCandleStick, false, true);
-                returnVal = finishTimeFrame();
+                // The last candle stick was already aggregated without knowing that it closes its time frame.
+                close = lastClose;
+                finishTimeFrame(listener);
             }
             aggregateCandleStick(candle, true, nextIsStart);
-            if (!lastWasClosed && nextIsStart) {
-                nextReturnVal = Optional.of(returnVal);
-                return Optional.of(finishTimeFrame());
-            }
         } else {
             aggregateCandleStick(candle, false, nextIsStart);
         }
 
         if (nextIsStart) {
-            returnVal = finishTimeFrame();
+            finishTimeFrame(listener);
         }
-        return Optional.ofNullable(returnVal);
+    }
+
+    private boolean inSameOutputFrame(final long epochSecond1, final long epochSecond2) {
+        return outputTf.startOfFrame(epochSecond1) == outputTf.startOfFrame(epochSecond2);
     }
 
     private void aggregateCandleStick(final CIN candleStick, final boolean isOpen, final boolean isClose) {
+        final Price currentLow = candleStick.getLow();
+        final Price currentHigh = candleStick.getHigh();
         if (isOpen) {
-            aggregatedCandleStick.setTime(candleStick.getTime()).setOpen(candleStick.getOpen());
+            time = candleStick.getTime();
+            open = candleStick.getOpen();
+            low = currentLow;
+            high = currentHigh;
+        } else {
+            if (currentLow.isLessThan(low)) {
+                low = currentLow;
+            }
+            if (currentHigh.isGreaterThan(high)) {
+                high = currentHigh;
+            }
         }
 
         if (isClose) {
-            aggregatedCandleStick.setClose(candleStick.getClose());
-        }
-
-        final Optional<Price> minLow = aggregatedCandleStick.getLow();
-        final Price currentLow = candleStick.getLow();
-        if (!minLow.isPresent() || currentLow.isLessThan(minLow.get())) {
-            aggregatedCandleStick.setLow(currentLow);
-        }
-
-        final Optional<Price> maxHigh = aggregatedCandleStick.getHigh();
-        final Price currentHigh = candleStick.getHigh();
-        if (!maxHigh.isPresent() || currentHigh.isGreaterThan(maxHigh.get())) {
-            aggregatedCandleStick.setHigh(currentHigh);
+            close = candleStick.getClose();
         }
 
         aggregateAdditionalFields(candleStick, isOpen, isClose);
     }
 
-    private COUT finishTimeFrame() {
-        final COUT aggregated = buildAggregatedStick(aggregatedCandleStick);
-        aggregatedCandleStick.setHigh(Double.MIN_VALUE).setLow(Double.MAX_VALUE);
-        return aggregated;
+    private void finishTimeFrame(final MarketDataListener<? super COUT> listener) {
+        aggregatedCandleStick.setTime(time).setOpen(open).setHigh(high).setLow(low).setClose(close);
+        listener.newData(buildAggregatedStick(aggregatedCandleStick));
     }
 }
@@ -40,6 +40,6 @@ public class TimeFrameConvertingExpertAdvisor<CIN extends DatedCandleStick<ITF>,
 
     @Override
     public void newData(final CIN marketData) {
-        converter.aggregate(marketData).ifPresent(aggregated -> orig.newData(aggregated));
+        converter.aggregate(marketData, orig);
     }
 }
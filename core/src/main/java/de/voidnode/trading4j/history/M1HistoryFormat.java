@@ -0,0 +1,191 @@
+package de.voidnode.trading4j.history;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * The layout of the files that store the {@link de.voidnode.trading4j.domain.timeframe.M1} history of a single
+ * {@link de.voidnode.trading4j.domain.ForexSymbol}.
+ *
+ * <p>
+ * A file starts with a header of {@link #HEADER_SIZE} bytes followed by an arbitrary number of blocks. Each block
+ * contains {@link #BLOCK_CAPACITY} candle sticks stored column by column. A column contains one <code>long</code> per
+ * candle stick in the order of the candle sticks. The columns of a block are stored in the order time (seconds since
+ * the epoch), open, high, low, close (all {@link de.voidnode.trading4j.domain.monetary.PriceUnit#PIPETTE}s), spread
+ * ({@link de.voidnode.trading4j.domain.monetary.PriceUnit#PIPETTE}s), volume
+ * ({@link de.voidnode.trading4j.domain.VolumeUnit#BASE}) and tick count. The last block may only be partially filled.
+ * All values are stored in big endian byte order.
+ * </p>
+ *
+ * <p>
+ * The header contains the following values:
+ * </p>
+ *
+ * <ul>
+ * <li><code>int</code>: the magic number {@link #MAGIC_NUMBER}</li>
+ * <li><code>int</code>: the format {@link #VERSION}</li>
+ * <li><code>int</code>: the number of candle sticks per block</li>
+ * <li><code>int</code>: reserved, always <code>0</code></li>
+ * <li><code>long</code>: the number of candle sticks stored in the file</li>
+ * </ul>
+ *
+ * @author Raik Bieniek
+ */
+final class M1HistoryFormat {
+
+    /**
+     * The file extension of history files including the leading dot.
+     */
+    static final String FILE_EXTENSION = ".m1";
+
+    /**
+     * The first 4 bytes of each history file (<code>T4JH</code> in ASCII).
+     */
+    static final int MAGIC_NUMBER = 0x54344A48;
+
+    /**
+     * The version of the file format described by this class.
+     */
+    static final int VERSION = 1;
+
+    /**
+     * The number of bytes of the file header.
+     */
+    static final int HEADER_SIZE = 32;
+
+    /**
+     * The position of the candle stick count in the header.
+     */
+    static final int COUNT_POSITION = 16;
+
+    /**
+     * The number of candle sticks in a single block.
+     */
+    static final int BLOCK_CAPACITY = 4096;
+
+    /**
+     * The column of the time.
+     */
+    static final int TIME = 0;
+
+    /**
+     * The column of the open price.
+     */
+    static final int OPEN = 1;
+
+    /**
+     * The column of the high price.
+     */
+    static final int HIGH = 2;
+
+    /**
+     * The column of the low price.
+     */
+    static final int LOW = 3;
+
+    /**
+     * The column of the close price.
+     */
+    static final int CLOSE = 4;
+
+    /**
+     * The column of the spread.
+     */
+    static final int SPREAD = 5;
+
+    /**
+     * The column of the volume.
+     */
+    static final int VOLUME = 6;
+
+    /**
+     * The column of the tick count.
+     */
+    static final int TICK_COUNT = 7;
+
+    /**
+     * The number of columns in each block.
+     */
+    static final int COLUMNS = 8;
+
+    /**
+     * The number of bytes of a single value in a column.
+     */
+    static final int VALUE_SIZE = Long.BYTES;
+
+    /**
+     * The number of bytes of a single block.
+     */
+    static final int BLOCK_SIZE = COLUMNS * BLOCK_CAPACITY * VALUE_SIZE;
+
+    private M1HistoryFormat() {
+
+    }
+
+    /**
+     * The position of a value relative to the start of the block that contains it.
+     *
+     * @param column
+     *            The column of the value.
+     * @param candleStick
+     *            The number of the candle stick in the whole file.
+     * @return The position in the block in bytes.
+     */
+    static int positionInBlock(final int column, final long candleStick) {
+        return (column * BLOCK_CAPACITY + (int) (candleStick % BLOCK_CAPACITY)) * VALUE_SIZE;
+    }
+
+    /**
+     * The position of a block relative to the start of the file.
+     *
+     * @param block
+     *            The number of the block.
+     * @return The position in the file in bytes.
+     */
+    static long positionOfBlock(final long block) {
+        return HEADER_SIZE + block * BLOCK_SIZE;
+    }
+
+    /**
+     * Writes the header of an empty file.
+     *
+     * @param header
+     *            A buffer with at least {@link #HEADER_SIZE} bytes remaining.
+     */
+    static void writeEmptyHeader(final ByteBuffer header) {
+        header.order(ByteOrder.BIG_ENDIAN);
+        header.putInt(0, MAGIC_NUMBER);
+        header.putInt(4, VERSION);
+        header.putInt(8, BLOCK_CAPACITY);
+        header.putInt(12, 0);
+        header.putLong(COUNT_POSITION, 0);
+    }
+
+    /**
+     * Checks that a header describes a file in the format described by this class.
+     *
+     * @param header
+     *            A buffer with at least {@link #HEADER_SIZE} bytes remaining.
+     * @param file
+     *            A description of the file the header was read from used in error messages.
+     * @return The number of candle sticks in the file.
+     * @throws IOException
+     *             When the header is not valid for this version of the format.
+     */
+    static long readHeader(final ByteBuffer header, final Object file) throws IOException {
+        if (header.getInt(0) != MAGIC_NUMBER) {
+            throw new IOException("The file \"" + file + "\" is not a M1 history file.");
+        }
+        if (header.getInt(4) != VERSION || header.getInt(8) != BLOCK_CAPACITY) {
+            throw new IOException("The M1 history file \"" + file + "\" has the version " + header.getInt(4)
+                    + " and a block capacity of " + header.getInt(8) + " but only the version " + VERSION
+                    + " with a block capacity of " + BLOCK_CAPACITY + " is supported.");
+        }
+        final long count = header.getLong(COUNT_POSITION);
+        if (count < 0) {
+            throw new IOException("The M1 history file \"" + file + "\" is corrupt as it has a negative length.");
+        }
+        return count;
+    }
+}
@@ -0,0 +1,215 @@
+package de.voidnode.trading4j.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+import de.voidnode.trading4j.api.MarketDataListener;
+import de.voidnode.trading4j.domain.VolumeUnit;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.marketdata.impl.ReusableFullMarketData;
+import de.voidnode.trading4j.domain.monetary.Pipettes;
+import de.voidnode.trading4j.domain.timeframe.M1;
+
+import static de.voidnode.trading4j.history.M1HistoryFormat.BLOCK_CAPACITY;
+import static de.voidnode.trading4j.history.M1HistoryFormat.BLOCK_SIZE;
+import static de.voidnode.trading4j.history.M1HistoryFormat.CLOSE;
+import static de.voidnode.trading4j.history.M1HistoryFormat.HEADER_SIZE;
+import static de.voidnode.trading4j.history.M1HistoryFormat.HIGH;
+import static de.voidnode.trading4j.history.M1HistoryFormat.LOW;
+import static de.voidnode.trading4j.history.M1HistoryFormat.OPEN;
+import static de.voidnode.trading4j.history.M1HistoryFormat.SPREAD;
+import static de.voidnode.trading4j.history.M1HistoryFormat.TICK_COUNT;
+import static de.voidnode.trading4j.history.M1HistoryFormat.TIME;
+import static de.voidnode.trading4j.history.M1HistoryFormat.VOLUME;
+import static de.voidnode.trading4j.history.M1HistoryFormat.positionInBlock;
+import static de.voidnode.trading4j.history.M1HistoryFormat.positionOfBlock;
+
+/**
+ * Reads the {@link M1} candle sticks of a history file.
+ *
+ * <p>
+ * All blocks of the file are memory mapped when it is opened. Candle sticks are read from the mapped columns directly
+ * into a {@link ReusableFullMarketData} without any parsing. The reader sees the candle sticks that were stored when
+ * it was opened. Candle sticks appended afterwards are not visible.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are not thread safe.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class M1HistoryReader implements Closeable {
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer[] blocks;
+    private final long count;
+
+    /**
+     * Opens a history file for reading.
+     *
+     * @param file
+     *            The history file.
+     * @throws IOException
+     *             When opening the file failed or the file is not a valid history file.
+     */
+    public M1HistoryReader(final Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, READ);
+        try {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException("The file \"" + file + "\" is not a M1 history file as it is too short.");
+            }
+            count = M1HistoryFormat.readHeader(channel.map(MapMode.READ_ONLY, 0, HEADER_SIZE), file);
+            final long blockCount = (count + BLOCK_CAPACITY - 1) / BLOCK_CAPACITY;
+            if (positionOfBlock(blockCount) > channel.size()) {
+                throw new IOException("The M1 history file \"" + file + "\" is corrupt as it is shorter than the "
+                        + count + " candle sticks it should contain.");
+            }
+            blocks = new MappedByteBuffer[(int) blockCount];
+            for (int i = 0; i < blocks.length; i++) {
+                blocks[i] = channel.map(MapMode.READ_ONLY, positionOfBlock(i), BLOCK_SIZE);
+            }
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * The number of candle sticks in the history.
+     *
+     * @return The number of candle sticks.
+     */
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Finds the first candle stick that started at or after a given time.
+     *
+     * @param time
+     *            The time to search for.
+     * @return The index of the first candle stick whose time is not before <code>time</code> or {@link #size()} when
+     *         all candle sticks are older.
+     */
+    public long indexOf(final Instant time) {
+        final long epochSecond = time.getEpochSecond();
+        long low = 0;
+        long high = count;
+        while (low < high) {
+            final long middle = (low + high) >>> 1;
+            if (value(TIME, middle) < epochSecond) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Reads only the time of a single candle stick.
+     *
+     * @param index
+     *            The index of the candle stick. The oldest candle stick has the index <code>0</code>.
+     * @return The time the candle stick started at as seconds since the epoch 1970-01-01T00:00:00Z.
+     * @throws IndexOutOfBoundsException
+     *             When there is no candle stick for the <code>index</code>.
+     */
+    public long epochSecondOf(final long index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException(
+                    "The candle stick " + index + " was requested but the history contains " + count + ".");
+        }
+        return value(TIME, index);
+    }
+
+    /**
+     * Reads a single candle stick.
+     *
+     * @param index
+     *            The index of the candle stick. The oldest candle stick has the index <code>0</code>.
+     * @param target
+     *            The instance that should be filled with the values of the candle stick.
+     * @return The <code>target</code> passed as input.
+     * @throws IndexOutOfBoundsException
+     *             When there is no candle stick for the <code>index</code>.
+     */
+    public ReusableFullMarketData<M1> read(final long index, final ReusableFullMarketData<M1> target) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException(
+                    "The candle stick " + index + " was requested but the history contains " + count + ".");
+        }
+        final MappedByteBuffer block = blocks[(int) (index / BLOCK_CAPACITY)];
+        return target.setTime(block.getLong(positionInBlock(TIME, index)))
+                .setOpen(Pipettes.asDouble(block.getLong(positionInBlock(OPEN, index))))
+                .setHigh(Pipettes.asDouble(block.getLong(positionInBlock(HIGH, index))))
+                .setLow(Pipettes.asDouble(block.getLong(positionInBlock(LOW, index))))
+                .setClose(Pipettes.asDouble(block.getLong(positionInBlock(CLOSE, index))))
+                .setSpread(block.getLong(positionInBlock(SPREAD, index)))
+                .setVolume(block.getLong(positionInBlock(VOLUME, index)), VolumeUnit.BASE)
+                .setTickCount(block.getLong(positionInBlock(TICK_COUNT, index)));
+    }
+
+    /**
+     * Passes all candle sticks of the history from the oldest to the newest to a listener.
+     *
+     * @param listener
+     *            The listener that should receive the candle sticks.
+     * @see #replay(long, long, MarketDataListener)
+     */
+    public void replay(final MarketDataListener<? super FullMarketData<M1>> listener) {
+        replay(0, count, listener);
+    }
+
+    /**
+     * Passes a range of candle sticks from the oldest to the newest to a listener.
+     *
+     * <p>
+     * The same {@link ReusableFullMarketData} instance is refilled for each candle stick. Listeners that keep candle
+     * sticks must therefore copy them with {@link ReusableFullMarketData#retainable}.
+     * </p>
+     *
+     * @param from
+     *            The index of the first candle stick to pass (inclusive).
+     * @param to
+     *            The index of the last candle stick to pass (exclusive).
+     * @param listener
+     *            The listener that should receive the candle sticks.
+     * @throws IndexOutOfBoundsException
+     *             When the range is not within <code>0</code> and {@link #size()}.
+     */
+    public void replay(final long from, final long to, final MarketDataListener<? super FullMarketData<M1>> listener) {
+        if (from < 0 || to > count || from > to) {
+            throw new IndexOutOfBoundsException("The candle sticks " + from + " to " + to
+                    + " were requested but the history contains " + count + ".");
+        }
+        final ReusableFullMarketData<M1> candleStick = new ReusableFullMarketData<>();
+        for (long i = from; i < to; i++) {
+            listener.newData(read(i, candleStick));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private long value(final int column, final long index) {
+        return blocks[(int) (index / BLOCK_CAPACITY)].getLong(positionInBlock(column, index));
+    }
+
+    @Override
+    public String toString() {
+        return "M1HistoryReader [file=" + file + "]";
+    }
+}
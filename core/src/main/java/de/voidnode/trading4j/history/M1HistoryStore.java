@@ -0,0 +1,116 @@
+package de.voidnode.trading4j.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import de.voidnode.trading4j.domain.ForexSymbol;
+import de.voidnode.trading4j.domain.timeframe.M1;
+
+/**
+ * Stores the {@link M1} history of {@link ForexSymbol}s in a directory.
+ *
+ * <p>
+ * The history of each {@link ForexSymbol} is stored in a separate file named after the symbol, e.g.
+ * <code>EURUSD.m1</code>. See {@link M1HistoryFormat} for a description of the file format.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are thread safe. There is only one {@link M1HistoryWriter} per {@link ForexSymbol} that is
+ * shared by all callers of {@link #writer(ForexSymbol)}.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class M1HistoryStore implements Closeable {
+
+    private final Path directory;
+    private final Map<ForexSymbol, M1HistoryWriter> writers = new HashMap<>();
+
+    /**
+     * Initializes an instance with all its dependencies.
+     *
+     * @param directory
+     *            The directory where the history files should be stored. It is created if it does not exist.
+     * @throws IOException
+     *             When the directory does not exist and could not be created.
+     */
+    public M1HistoryStore(final Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    /**
+     * Provides the writer for the history of a {@link ForexSymbol}.
+     *
+     * <p>
+     * The writer is closed when this store is closed. Callers must not close it.
+     * </p>
+     *
+     * @param symbol
+     *            The symbol whose history should be written.
+     * @return The writer for the history of the symbol.
+     * @throws IOException
+     *             When opening the history file failed.
+     */
+    public synchronized M1HistoryWriter writer(final ForexSymbol symbol) throws IOException {
+        M1HistoryWriter writer = writers.get(symbol);
+        if (writer == null) {
+            writer = new M1HistoryWriter(fileOf(symbol));
+            writers.put(symbol, writer);
+        }
+        return writer;
+    }
+
+    /**
+     * Opens the history of a {@link ForexSymbol} for reading.
+     *
+     * <p>
+     * The reader contains all candle sticks that were stored when this method was called. It must be closed by the
+     * caller.
+     * </p>
+     *
+     * @param symbol
+     *            The symbol whose history should be read.
+     * @return The reader for the history of the symbol or an empty {@link Optional} if no history was stored for the
+     *         symbol yet.
+     * @throws IOException
+     *             When opening the history file failed.
+     */
+    public Optional<M1HistoryReader> reader(final ForexSymbol symbol) throws IOException {
+        final Path file = fileOf(symbol);
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+        return Optional.of(new M1HistoryReader(file));
+    }
+
+    /**
+     * Closes all {@link M1HistoryWriter}s that were provided by this store.
+     *
+     * @throws IOException
+     *             When closing one of the writers failed. All other writers are closed anyway.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        IOException failure = null;
+        for (final M1HistoryWriter writer : writers.values()) {
+            try {
+                writer.close();
+            } catch (final IOException e) {
+                failure = e;
+            }
+        }
+        writers.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private Path fileOf(final ForexSymbol symbol) {
+        return directory.resolve(symbol + M1HistoryFormat.FILE_EXTENSION);
+    }
+}
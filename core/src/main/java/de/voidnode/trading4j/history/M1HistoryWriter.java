@@ -0,0 +1,159 @@
+package de.voidnode.trading4j.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.timeframe.M1;
+
+import static de.voidnode.trading4j.history.M1HistoryFormat.BLOCK_CAPACITY;
+import static de.voidnode.trading4j.history.M1HistoryFormat.BLOCK_SIZE;
+import static de.voidnode.trading4j.history.M1HistoryFormat.CLOSE;
+import static de.voidnode.trading4j.history.M1HistoryFormat.COUNT_POSITION;
+import static de.voidnode.trading4j.history.M1HistoryFormat.HEADER_SIZE;
+import static de.voidnode.trading4j.history.M1HistoryFormat.HIGH;
+import static de.voidnode.trading4j.history.M1HistoryFormat.LOW;
+import static de.voidnode.trading4j.history.M1HistoryFormat.OPEN;
+import static de.voidnode.trading4j.history.M1HistoryFormat.SPREAD;
+import static de.voidnode.trading4j.history.M1HistoryFormat.TICK_COUNT;
+import static de.voidnode.trading4j.history.M1HistoryFormat.TIME;
+import static de.voidnode.trading4j.history.M1HistoryFormat.VOLUME;
+import static de.voidnode.trading4j.history.M1HistoryFormat.positionInBlock;
+import static de.voidnode.trading4j.history.M1HistoryFormat.positionOfBlock;
+
+/**
+ * Appends {@link M1} candle sticks to a history file.
+ *
+ * <p>
+ * Candle sticks are written directly into a memory mapped block of the file. The file grows by a whole block whenever
+ * the current block is full. Only candle sticks that are newer than the newest candle stick stored are appended. This
+ * way the history that is sent again on every connect of a MetaTrader client does not create duplicates. Gaps in the
+ * history are therefore never backfilled. Readers that need complete market data have to check for gaps themselves.
+ * </p>
+ *
+ * <p>
+ * Instances of this class are thread safe. Only one instance per file must exist at a time. This is ensured when
+ * instances are obtained from {@link M1HistoryStore#writer(de.voidnode.trading4j.domain.ForexSymbol)}.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class M1HistoryWriter implements Closeable {
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+
+    private MappedByteBuffer block;
+    private long count;
+    private long newestTime = Long.MIN_VALUE;
+
+    /**
+     * Opens a history file for appending and creates it if it does not exist.
+     *
+     * @param file
+     *            The history file.
+     * @throws IOException
+     *             When opening or creating the file failed or the file is not a valid history file.
+     */
+    public M1HistoryWriter(final Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, CREATE, READ, WRITE);
+        try {
+            final boolean isNew = channel.size() == 0;
+            header = channel.map(MapMode.READ_WRITE, 0, HEADER_SIZE);
+            if (isNew) {
+                M1HistoryFormat.writeEmptyHeader(header);
+            } else {
+                count = M1HistoryFormat.readHeader(header, file);
+            }
+            if (count > 0) {
+                mapBlockOf(count - 1);
+                newestTime = block.getLong(positionInBlock(TIME, count - 1));
+            }
+        } catch (final IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends a candle stick to the history if it is newer than the newest candle stick stored.
+     *
+     * @param candleStick
+     *            The candle stick to append.
+     * @return <code>true</code> if the candle stick was appended and <code>false</code> if it was ignored because it
+     *         was not newer than the newest candle stick stored.
+     * @throws IOException
+     *             When growing the file failed.
+     */
+    public synchronized boolean append(final FullMarketData<M1> candleStick) throws IOException {
+        final long time = candleStick.getTime().getEpochSecond();
+        if (time <= newestTime) {
+            return false;
+        }
+        if (count % BLOCK_CAPACITY == 0) {
+            mapBlockOf(count);
+        }
+        block.putLong(positionInBlock(TIME, count), time);
+        block.putLong(positionInBlock(OPEN, count), candleStick.getOpen().asPipette());
+        block.putLong(positionInBlock(HIGH, count), candleStick.getHigh().asPipette());
+        block.putLong(positionInBlock(LOW, count), candleStick.getLow().asPipette());
+        block.putLong(positionInBlock(CLOSE, count), candleStick.getClose().asPipette());
+        block.putLong(positionInBlock(SPREAD, count), candleStick.getSpread().asPipette());
+        block.putLong(positionInBlock(VOLUME, count), candleStick.getVolume().asAbsolute());
+        block.putLong(positionInBlock(TICK_COUNT, count), candleStick.getTickCount());
+        // The count is updated last so that readers never see a candle stick that is not completely written.
+        count++;
+        header.putLong(COUNT_POSITION, count);
+        newestTime = time;
+        return true;
+    }
+
+    /**
+     * The number of candle sticks stored in the history.
+     *
+     * @return The number of candle sticks.
+     */
+    public synchronized long size() {
+        return count;
+    }
+
+    /**
+     * Writes all appended candle sticks to the storage device.
+     *
+     * <p>
+     * Appended candle sticks are visible to {@link M1HistoryReader}s opened afterwards even without flushing. Flushing
+     * is only needed to ensure that they survive a crash of the operating system.
+     * </p>
+     */
+    public synchronized void flush() {
+        if (block != null) {
+            block.force();
+        }
+        header.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    private void mapBlockOf(final long candleStick) throws IOException {
+        block = channel.map(MapMode.READ_WRITE, positionOfBlock(candleStick / BLOCK_CAPACITY), BLOCK_SIZE);
+    }
+
+    @Override
+    public String toString() {
+        return "M1HistoryWriter [file=" + file + "]";
+    }
+}
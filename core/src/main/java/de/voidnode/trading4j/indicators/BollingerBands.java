@@ -0,0 +1,72 @@
+package de.voidnode.trading4j.indicators;
+
+import java.util.Optional;
+
+import de.voidnode.trading4j.api.Indicator;
+import de.voidnode.trading4j.domain.marketdata.MarketData;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.monetary.PriceLevels;
+import de.voidnode.trading4j.functionality.smoothers.MovingVariance;
+
+/**
+ * Bollinger Bands indicate the volatility of the market with a band around the moving average of the prices.
+ *
+ * <p>
+ * This indicator produces 3 {@link Price} levels. They are calculated from the close prices of the last
+ * <code>n</code> {@link MarketData}s the following way.
+ * </p>
+ *
+ * <dl>
+ * <dt>upper band</dt>
+ * <dd>=SMA(n) + k * SD(n)</dd>
+ * <dt>middle band</dt>
+ * <dd>=SMA(n)</dd>
+ * <dt>lower band</dt>
+ * <dd>=SMA(n) - k * SD(n)</dd>
+ * </dl>
+ *
+ * <p>
+ * Where <code>SMA(n)</code> is the simple moving average, <code>SD(n)</code> the population standard deviation and
+ * <code>k</code> the amount of standard deviations the bands should have from the middle band. Common values are
+ * <code>n = 20</code> and <code>k = 2</code>. All levels are rounded to the nearest full pipette. As long as less than
+ * <code>n</code> {@link MarketData}s where passed, this indicator returns an empty {@link Optional}.
+ * </p>
+ *
+ * <p>
+ * The average and the standard deviation are calculated with a {@link MovingVariance}. A long period therefore costs
+ * the same per {@link MarketData} as a short one.
+ * </p>
+ *
+ * @author Raik Bieniek
+ * @param <C>
+ *            The type of {@link MarketData} that the indicator should be using for the calculations.
+ */
+public class BollingerBands<C extends MarketData> implements Indicator<PriceLevels, C> {
+
+    private final MovingVariance variance;
+    private final double deviations;
+
+    /**
+     * Initializes an instance with its configuration.
+     *
+     * @param period
+     *            The amount of {@link MarketData}s the bands should be calculated from.
+     * @param deviations
+     *            The amount of standard deviations the upper and the lower band should have from the middle band.
+     */
+    public BollingerBands(final int period, final double deviations) {
+        this.variance = new MovingVariance(period);
+        this.deviations = deviations;
+    }
+
+    @Override
+    public Optional<PriceLevels> indicate(final C marketData) {
+        if (!variance.add(marketData.getClose().asPipette())) {
+            return Optional.empty();
+        }
+        final double middle = variance.getMean();
+        final double width = deviations * variance.getStandardDeviation();
+        return Optional.of(new PriceLevels(new Price(Math.round(middle - width)), new Price(Math.round(middle)),
+                new Price(Math.round(middle + width))));
+    }
+}
@@ -1,14 +1,11 @@
 package de.voidnode.trading4j.indicators;
 
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Optional;
 
 import de.voidnode.trading4j.api.Indicator;
 import de.voidnode.trading4j.domain.MarketDirection;
 import de.voidnode.trading4j.domain.marketdata.MarketData;
 import de.voidnode.trading4j.domain.marketdata.WithOhlc;
-import de.voidnode.trading4j.domain.monetary.Price;
 
 /**
  * Calculates fractals for a single market direction.
@@ -23,7 +20,7 @@ import de.voidnode.trading4j.domain.monetary.Price;
  * 
  * <ul>
  * <li><code>high(n-2) &lt; high(n)</code></li>
- * <li><code>low(n-1) &lt; high(n)</code></li>
+ * <li><code>high(n-1) &lt; high(n)</code></li>
  * <li><code>high(n) &gt; high(n+1)</code></li>
  * <li><code>high(n) &gt; high(n+2)</code></li>
  * </ul>
@@ -38,6 +35,17 @@ import de.voidnode.trading4j.domain.monetary.Price;
  * <li><code>low(n) &lt; low(n+1)</code></li>
  * <li><code>low(n) &lt; low(n+2)</code></li>
  * </ul>
+ * 
+ * <p>
+ * The amount of candle sticks on each side of <code>n</code> is called the wing size. It is 2 by default and can be
+ * configured. A fractal is indicated when the candle stick <code>n + wingSize</code> is passed.
+ * </p>
+ * 
+ * <p>
+ * The strongest prices of the most recent candle sticks are kept as pipettes in a ring buffer. The strongest candle
+ * sticks of the window are tracked in a second ring buffer that is ordered by decreasing strength. This way each
+ * candle stick costs a constant amount of time on average regardless of the wing size and no memory is allocated.
+ * </p>
  *
  * @author Raik Bieniek
  * @param <C>
@@ -45,34 +53,110 @@ import de.voidnode.trading4j.domain.monetary.Price;
  */
 public class FractalIndicator<C extends MarketData & WithOhlc> implements Indicator<MarketDirection, C> {
 
+    private static final int DEFAULT_WING_SIZE = 2;
+
     private final MarketDirection direction;
-    private final List<C> sticks = new LinkedList<>();
+    private final Optional<MarketDirection> fractal;
+    private final int wingSize;
+    private final int windowSize;
 
     /**
-     * Initializes an instance with all required data.
+     * The strength of the most recent candle sticks indexed by <code>candle stick number % windowSize</code>.
+     * 
+     * <p>
+     * The strength is the strongest price in pipettes for up fractals and its negation for down fractals so that
+     * greater values are always stronger.
+     * </p>
+     */
+    private final long[] strength;
+
+    /**
+     * The numbers of the candidates for the strongest candle stick in the window ordered from old to new.
+     * 
+     * <p>
+     * The strength of the candidates decreases or stays equal from the oldest to the newest one. The oldest candidate
+     * is therefore the oldest of the strongest candle sticks in the window.
+     * </p>
+     */
+    private final long[] candidates;
+    private int oldestCandidate;
+    private int candidateCount;
+
+    private long candleSticks;
+
+    /**
+     * Initializes an instance that compares each candle stick with 2 candle sticks on each side.
      * 
      * @param direction
      *            The market direction for which fractals should be calculated.
      */
     public FractalIndicator(final MarketDirection direction) {
-        this.direction = direction;
+        this(direction, DEFAULT_WING_SIZE);
+    }
 
+    /**
+     * Initializes an instance with all required data.
+     * 
+     * @param direction
+     *            The market direction for which fractals should be calculated.
+     * @param wingSize
+     *            The amount of candle sticks before and after a candle stick that must be weaker than it for a
+     *            fractal.
+     * @throws IllegalArgumentException
+     *             When the wing size is less than 1.
+     */
+    public FractalIndicator(final MarketDirection direction, final int wingSize) {
+        if (wingSize < 1) {
+            throw new IllegalArgumentException("The wing size of fractals must be at least 1 but was " + wingSize
+                    + ".");
+        }
+        this.direction = direction;
+        this.fractal = Optional.of(direction);
+        this.wingSize = wingSize;
+        this.windowSize = 2 * wingSize + 1;
+        this.strength = new long[windowSize];
+        this.candidates = new long[windowSize];
     }
 
     @Override
     public Optional<MarketDirection> indicate(final C candle) {
-        sticks.add(candle);
-        if (sticks.size() < 5) {
+        final long current = candleSticks++;
+        final long pipettes = candle.getStrongest(direction).asPipette();
+        final long currentStrength = direction == MarketDirection.UP ? pipettes : -pipettes;
+        strength[slot(current)] = currentStrength;
+
+        if (candidateCount > 0 && candidates[oldestCandidate] <= current - windowSize) {
+            oldestCandidate = (oldestCandidate + 1) % windowSize;
+            candidateCount--;
+        }
+        while (candidateCount > 0 && strengthOf(newestCandidate()) < currentStrength) {
+            candidateCount--;
+        }
+        candidates[(oldestCandidate + candidateCount) % windowSize] = current;
+        candidateCount++;
+
+        if (candleSticks < windowSize) {
+            return Optional.empty();
+        }
+        final long center = current - wingSize;
+        if (candidates[oldestCandidate] != center) {
             return Optional.empty();
         }
-        final Price[] high = new Price[] { getBest(0), getBest(1), getBest(2), getBest(3), getBest(4) };
-        sticks.remove(0);
-        final boolean isUpFractal = high[0].isWeakerThan(high[2], direction) && high[1].isWeakerThan(high[2], direction)
-                && high[2].isStrongerThan(high[3], direction) && high[2].isStrongerThan(high[4], direction);
-        return isUpFractal ? Optional.of(direction) : Optional.empty();
+        // Equally strong candle sticks after the center directly follow it as candidates.
+        final boolean isStrictlyStrongest = candidateCount == 1
+                || strengthOf(candidates[(oldestCandidate + 1) % windowSize]) < strength[slot(center)];
+        return isStrictlyStrongest ? fractal : Optional.empty();
+    }
+
+    private long newestCandidate() {
+        return candidates[(oldestCandidate + candidateCount - 1) % windowSize];
+    }
+
+    private long strengthOf(final long candleStick) {
+        return strength[slot(candleStick)];
     }
 
-    private Price getBest(final int index) {
-        return sticks.get(index).getStrongest(direction);
+    private int slot(final long candleStick) {
+        return (int) (candleStick % windowSize);
     }
 }
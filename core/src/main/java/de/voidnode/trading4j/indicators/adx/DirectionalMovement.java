@@ -6,8 +6,12 @@ import de.voidnode.trading4j.api.Indicator;
 import de.voidnode.trading4j.domain.MarketDirection;
 import de.voidnode.trading4j.domain.marketdata.MarketData;
 import de.voidnode.trading4j.domain.marketdata.WithOhlc;
+import de.voidnode.trading4j.domain.marketdata.impl.ReusableFullMarketData;
 import de.voidnode.trading4j.domain.monetary.Price;
 
+import static de.voidnode.trading4j.domain.monetary.Pipettes.absolute;
+import static de.voidnode.trading4j.domain.monetary.Pipettes.minus;
+
 /**
  * The positive and negative directional movement (+DM and -DM) which are part of the directional movement index.
  * 
@@ -37,27 +41,27 @@ class DirectionalMovement<C extends MarketData & WithOhlc> implements Indicator<
     @Override
     public Optional<Price> indicate(final C candle) {
         if (lastCandle == null) {
-            lastCandle = candle;
+            lastCandle = ReusableFullMarketData.retainable(candle);
             return Optional.empty();
         }
 
         final Price lastStrongest = lastCandle.getStrongest(direction);
         final Price lastWeakest = lastCandle.getWeakest(direction);
         final Price currentStrongest = candle.getStrongest(direction);
-        lastCandle = candle;
+        lastCandle = ReusableFullMarketData.retainable(candle);
 
         if (!currentStrongest.isStrongerThan(lastStrongest, direction)) {
             return ZERO;
         }
 
-        final long strongestDiff = Math.abs(lastStrongest.asPipette() - currentStrongest.asPipette());
+        final long strongestDiff = absolute(minus(lastStrongest.asPipette(), currentStrongest.asPipette()));
 
         final Price currentWeakest = candle.getWeakest(direction);
         if (lastWeakest.isStrongerThan(currentWeakest, direction.inverted())) {
             return Optional.of(new Price(strongestDiff));
         }
 
-        final long weakestDiff = Math.abs(lastWeakest.asPipette() - currentWeakest.asPipette());
+        final long weakestDiff = absolute(minus(lastWeakest.asPipette(), currentWeakest.asPipette()));
 
         return weakestDiff > strongestDiff ? ZERO : Optional.of(new Price(strongestDiff));
     }
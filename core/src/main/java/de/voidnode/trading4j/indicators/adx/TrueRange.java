@@ -9,6 +9,8 @@ import de.voidnode.trading4j.domain.marketdata.MarketData;
 import de.voidnode.trading4j.domain.marketdata.WithOhlc;
 import de.voidnode.trading4j.domain.monetary.Price;
 
+import static de.voidnode.trading4j.domain.monetary.Pipettes.minus;
+
 /**
  * Calculates the "true" trading range by considering gaps between close and open prices.
  * 
@@ -27,9 +29,11 @@ class TrueRange<C extends MarketData & WithOhlc> implements Indicator<Price, C>
             return Optional.empty();
         }
 
-        final long volatility = current.getVolatility().asPipette();
-        final long closeToHigh = current.getHigh().asPipette() - lastClose.asPipette();
-        final long closeToLow = lastClose.asPipette() - current.getLow().asPipette();
+        final long high = current.getHigh().asPipette();
+        final long low = current.getLow().asPipette();
+        final long volatility = minus(high, low);
+        final long closeToHigh = minus(high, lastClose.asPipette());
+        final long closeToLow = minus(lastClose.asPipette(), low);
 
         lastClose = current.getClose();
         return Optional.of(new Price(max(volatility, max(closeToHigh, closeToLow))));
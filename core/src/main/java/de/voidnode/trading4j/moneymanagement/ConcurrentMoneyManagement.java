@@ -0,0 +1,18 @@
+package de.voidnode.trading4j.moneymanagement;
+
+import de.voidnode.trading4j.api.MoneyManagement;
+import de.voidnode.trading4j.api.UsedVolumeManagement;
+
+/**
+ * A {@link MoneyManagement} that can be used by multiple threads at the same time without external synchronization.
+ *
+ * <p>
+ * This also applies to the {@link UsedVolumeManagement}s it produces. Implementations of this interface do not need
+ * to be wrapped with a {@link ThreadSafeMoneyManagement}.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public interface ConcurrentMoneyManagement extends MoneyManagement {
+
+}
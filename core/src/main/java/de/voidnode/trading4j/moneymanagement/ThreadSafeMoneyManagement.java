@@ -13,9 +13,14 @@ import de.voidnode.trading4j.domain.monetary.Price;
  * Guarantees thread-safety for an original {@link MoneyManagement} instance and its produced
  * {@link UsedVolumeManagement} instances.
  * 
+ * <p>
+ * All calls are serialized with a single lock. Implementations that are {@link ConcurrentMoneyManagement}s already do
+ * not need this.
+ * </p>
+ * 
  * @author Raik Bieniek
  */
-public class ThreadSafeMoneyManagement implements MoneyManagement {
+public class ThreadSafeMoneyManagement implements ConcurrentMoneyManagement {
 
     private final Object lock = new Object();
     private final MoneyManagement orig;
@@ -2,13 +2,13 @@ package de.voidnode.trading4j.moneymanagement.standard;
 
 import java.util.Optional;
 
-import de.voidnode.trading4j.api.MoneyManagement;
 import de.voidnode.trading4j.api.UsedVolumeManagement;
 import de.voidnode.trading4j.domain.ForexSymbol;
 import de.voidnode.trading4j.domain.Ratio;
 import de.voidnode.trading4j.domain.Volume;
 import de.voidnode.trading4j.domain.monetary.Money;
 import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.moneymanagement.ConcurrentMoneyManagement;
 
 import static de.voidnode.trading4j.domain.RatioUnit.PERCENT;
 
@@ -21,9 +21,15 @@ import static de.voidnode.trading4j.domain.RatioUnit.PERCENT;
  * are traded, only one active trade is allowed for both of them.
  * </p>
  * 
+ * <p>
+ * Instances can be shared by multiple threads without a global lock. Currencies are reserved atomically per currency
+ * and exchange rates are stored in a concurrent map so that updates for one symbol never block volume requests for
+ * unrelated symbols.
+ * </p>
+ * 
  * @author Raik Bieniek
  */
-public class DefaultMoneyManagement implements MoneyManagement {
+public class DefaultMoneyManagement implements ConcurrentMoneyManagement {
 
     private final TradeBlocker currencyBlocker;
     private final RiskMoneyProvider moneyProvider;
@@ -31,7 +37,7 @@ public class DefaultMoneyManagement implements MoneyManagement {
     private final VolumeCalculator volumeCalculator;
     private final VolumeStepSizeRounder volumeRounder;
     private final ExchangeRateStore exchangeRateStore;
-    private Money balance;
+    private volatile Money balance;
 
     /**
      * Creates an instance using that risks around 1% of the current account balance per trade.
@@ -91,10 +97,9 @@ public class DefaultMoneyManagement implements MoneyManagement {
     @Override
     public Optional<UsedVolumeManagement> requestVolume(final ForexSymbol symbol, final Price currentPrice,
             final Price pipLostOnStopLoose, final Volume allowedStepSize) {
-        if (!currencyBlocker.isTradingAllowed(symbol)) {
+        if (!currencyBlocker.tryBlockCurrencies(symbol)) {
             return Optional.empty();
         }
-        currencyBlocker.blockCurrencies(symbol);
 
         final Volume volume = volumeRounder.round(volumeCalculator.calculateVolumeForTrade(
                 pipetteValueCalculator.calculatePipetteValue(balance.getCurrency(), symbol, currentPrice),
@@ -1,9 +1,11 @@
 package de.voidnode.trading4j.moneymanagement.standard;
 
 import java.util.Currency;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.StampedLock;
 
 import de.voidnode.trading4j.domain.ForexSymbol;
 import de.voidnode.trading4j.domain.monetary.AccuratePrice;
@@ -11,16 +13,39 @@ import de.voidnode.trading4j.domain.monetary.Price;
 
 /**
  * Stores and allows to retrieve currency exchange rates.
- * 
+ *
+ * <p>
+ * Each currency gets a small integer id when it is seen for the first time. The exchange rates are stored in a dense
+ * matrix indexed by these ids so that reading an exchange rate with {@link #getRawExchangeRate(Currency, Currency)}
+ * does not allocate any objects. When no exchange rate between two currencies is known, it is derived from the
+ * exchange rates to a third currency if possible.
+ * </p>
+ *
+ * <p>
+ * Exchange rates can be read and updated by multiple threads at the same time. Only adding a currency that was not
+ * seen before is done under a lock. When the matrix has to grow for it, it is copied while holding the write lock of a
+ * {@link StampedLock}. Updates validate an optimistic read stamp of that lock and are repeated under its read lock
+ * when the matrix was copied meanwhile, so that no update is lost. Reading exchange rates never uses a lock.
+ * </p>
+ *
  * @author Raik Bieniek
  */
 class ExchangeRateStore {
 
-    private Map<String, AccuratePrice> store = new HashMap<>();
+    private static final int INITIAL_CAPACITY = 16;
+    /**
+     * The value of a matrix cell for which no exchange rate is known.
+     */
+    private static final long UNKNOWN = 0;
+
+    private final Map<Currency, Integer> ids = new ConcurrentHashMap<>();
+    private final Object growLock = new Object();
+    private final StampedLock copyLock = new StampedLock();
+    private volatile Matrix matrix = new Matrix(INITIAL_CAPACITY);
 
     /**
      * The current price of the variable currency when it is exchanged for 1 unit of the fixed currency.
-     * 
+     *
      * @param fixed
      *            The currency that is measured in 1 unit.
      * @param variable
@@ -28,23 +53,143 @@ class ExchangeRateStore {
      * @return The current exchange rate or an empty {@link Optional} if no exchange rate is known.
      */
     public Optional<AccuratePrice> getExchangeRate(final Currency fixed, final Currency variable) {
-        final String forexSymbol = fixed.getSymbol() + variable.getSymbol();
-        return Optional.ofNullable(store.get(forexSymbol));
+        final double rate = getRawExchangeRate(fixed, variable);
+        return Double.isNaN(rate) ? Optional.empty() : Optional.of(new AccuratePrice(rate));
+    }
+
+    /**
+     * The current price of the variable currency when it is exchanged for 1 unit of the fixed currency without
+     * allocating any objects.
+     *
+     * @param fixed
+     *            The currency that is measured in 1 unit.
+     * @param variable
+     *            The currency thats worth equal to 1 unit of the <code>fixed</code> should be calculated.
+     * @return The current exchange rate or {@link Double#NaN} if no exchange rate is known and none can be derived.
+     */
+    public double getRawExchangeRate(final Currency fixed, final Currency variable) {
+        final Integer fixedId = ids.get(fixed);
+        final Integer variableId = ids.get(variable);
+        if (fixedId == null || variableId == null) {
+            return Double.NaN;
+        }
+        return matrix.get(fixedId, variableId);
     }
 
     /**
      * Changes the current exchange rate of a given forex pair.
-     * 
+     *
      * @param pair
      *            The forex pair thats exchange rate should be updated.
      * @param exchangeRate
      *            The current exchange rate of the symbol.
      */
     public void updateExchangeRate(final ForexSymbol pair, final Price exchangeRate) {
-        final String pairAsString = pair.getBaseCurrency().getSymbol() + pair.getQuoteCurrency().getSymbol();
-        final String oppositePair = pair.getQuoteCurrency().getSymbol() + pair.getBaseCurrency().getSymbol();
+        final int base = idOf(pair.getBaseCurrency());
+        final int quote = idOf(pair.getQuoteCurrency());
+        final double rate = exchangeRate.asDouble();
+        final long stamp = copyLock.tryOptimisticRead();
+        set(base, quote, rate);
+        if (!copyLock.validate(stamp)) {
+            // The matrix was copied while it was updated. The update may not be part of the copy.
+            final long readStamp = copyLock.readLock();
+            try {
+                set(base, quote, rate);
+            } finally {
+                copyLock.unlockRead(readStamp);
+            }
+        }
+    }
+
+    private void set(final int base, final int quote, final double rate) {
+        final Matrix current = matrix;
+        current.set(base, quote, rate);
+        current.set(quote, base, 1.0 / rate);
+    }
+
+    private int idOf(final Currency currency) {
+        final Integer id = ids.get(currency);
+        if (id != null) {
+            return id;
+        }
+        synchronized (growLock) {
+            final Integer existingId = ids.get(currency);
+            if (existingId != null) {
+                return existingId;
+            }
+            final int newId = ids.size();
+            if (newId == matrix.capacity) {
+                final long stamp = copyLock.writeLock();
+                try {
+                    matrix = matrix.grow();
+                } finally {
+                    copyLock.unlockWrite(stamp);
+                }
+            }
+            ids.put(currency, newId);
+            return newId;
+        }
+    }
+
+    /**
+     * The exchange rates of all pairs of known currencies.
+     *
+     * <p>
+     * The matrix is replaced with a bigger copy when it is full.
+     * </p>
+     */
+    private static final class Matrix {
+
+        private final int capacity;
+        private final AtomicLongArray rates;
+
+        Matrix(final int capacity) {
+            this.capacity = capacity;
+            this.rates = new AtomicLongArray(capacity * capacity);
+        }
+
+        double get(final int fixed, final int variable) {
+            if (fixed == variable) {
+                return 1.0;
+            }
+            final double direct = getDirect(fixed, variable);
+            if (!Double.isNaN(direct)) {
+                return direct;
+            }
+            // Derive a cross rate, e.g. EUR -> JPY as EUR -> USD -> JPY.
+            for (int intermediate = 0; intermediate < capacity; intermediate++) {
+                final double first = getDirect(fixed, intermediate);
+                if (Double.isNaN(first)) {
+                    continue;
+                }
+                final double second = getDirect(intermediate, variable);
+                if (!Double.isNaN(second)) {
+                    return first * second;
+                }
+            }
+            return Double.NaN;
+        }
+
+        void set(final int fixed, final int variable, final double rate) {
+            rates.set(fixed * capacity + variable, Double.doubleToRawLongBits(rate));
+        }
+
+        Matrix grow() {
+            final Matrix bigger = new Matrix(capacity * 2);
+            for (int fixed = 0; fixed < capacity; fixed++) {
+                for (int variable = 0; variable < capacity; variable++) {
+                    bigger.rates.set(fixed * bigger.capacity + variable, rates.get(fixed * capacity + variable));
+                }
+            }
+            return bigger;
+        }
 
-        store.put(pairAsString, new AccuratePrice(exchangeRate.asDouble()));
-        store.put(oppositePair, new AccuratePrice(1.0 / exchangeRate.asDouble()));
+        private double getDirect(final int fixed, final int variable) {
+            if (fixed >= capacity || variable >= capacity) {
+                return Double.NaN;
+            }
+            final long bits = rates.get(fixed * capacity + variable);
+            return bits == UNKNOWN ? Double.NaN : Double.longBitsToDouble(bits);
+        }
     }
 }
@@ -1,5 +1,7 @@
 package de.voidnode.trading4j.moneymanagement.standard;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import de.voidnode.trading4j.domain.ForexSymbol;
 
 /**
@@ -10,7 +12,7 @@ import de.voidnode.trading4j.domain.ForexSymbol;
 class FixedTradeCountAtATime implements TradeBlocker {
 
     private final int maximalAllowedTrades;
-    private int activeTrades;
+    private final AtomicInteger activeTrades = new AtomicInteger();
 
     /**
      * Initializes an instance with all its dependencies.
@@ -24,17 +26,29 @@ class FixedTradeCountAtATime implements TradeBlocker {
 
     @Override
     public boolean isTradingAllowed(final ForexSymbol symbol) {
-        return activeTrades < maximalAllowedTrades;
+        return activeTrades.get() < maximalAllowedTrades;
     }
 
     @Override
     public void blockCurrencies(final ForexSymbol symbol) {
-        activeTrades++;
+        activeTrades.incrementAndGet();
+    }
+
+    @Override
+    public boolean tryBlockCurrencies(final ForexSymbol symbol) {
+        int current = activeTrades.get();
+        while (current < maximalAllowedTrades) {
+            if (activeTrades.compareAndSet(current, current + 1)) {
+                return true;
+            }
+            current = activeTrades.get();
+        }
+        return false;
     }
 
     @Override
     public void unblockCurrencies(final ForexSymbol symbol) {
-        activeTrades--;
+        activeTrades.decrementAndGet();
     }
 
 }
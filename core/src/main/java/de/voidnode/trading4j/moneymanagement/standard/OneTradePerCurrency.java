@@ -1,45 +1,96 @@
 package de.voidnode.trading4j.moneymanagement.standard;
 
 import java.util.Currency;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import de.voidnode.trading4j.domain.ForexSymbol;
 
 /**
  * Ensures that only a single trade per currency is allowed at a time.
  * 
+ * <p>
+ * Each currency is reserved atomically without a lock so that symbols with unrelated currencies never block each
+ * other. The two currencies of a symbol are reserved in the order of their currency codes. A reservation only blocks
+ * trading once both currencies are reserved. When the second currency is already blocked, the reservation of the first
+ * one is rolled back. Requests that meet a currency which is reserved by such an unfinished reservation wait until it
+ * is either completed or rolled back. Therefore a request is only refused when one of its currencies is really blocked,
+ * just like when all requests were processed one after another. As the currencies are always reserved in the same
+ * order, waiting requests can not wait for each other in a cycle.
+ * </p>
+ * 
  * @author Raik Bieniek
  */
 class OneTradePerCurrency implements TradeBlocker {
 
-    private final Set<Currency> currenciesInvestedIn = new HashSet<>();
+    private final ConcurrentMap<Currency, Reservation> reservations = new ConcurrentHashMap<>();
 
     @Override
     public boolean isTradingAllowed(final ForexSymbol symbol) {
-        return !(currenciesInvestedIn.contains(symbol.getBaseCurrency())
-                || currenciesInvestedIn.contains(symbol.getQuoteCurrency()));
+        return !(isBlocked(symbol.getBaseCurrency()) || isBlocked(symbol.getQuoteCurrency()));
     }
 
     @Override
     public void blockCurrencies(final ForexSymbol symbol) {
-        if (!isTradingAllowed(symbol)) {
+        if (!tryBlockCurrencies(symbol)) {
             throw new IllegalArgumentException("Should block the currencies of symbol " + symbol
                     + " from trading but one or both currencies are already blocked.");
         }
+    }
+
+    @Override
+    public boolean tryBlockCurrencies(final ForexSymbol symbol) {
+        final Currency base = symbol.getBaseCurrency();
+        final Currency quote = symbol.getQuoteCurrency();
+        final boolean baseFirst = base.getCurrencyCode().compareTo(quote.getCurrencyCode()) <= 0;
+        final Currency first = baseFirst ? base : quote;
+        final Currency second = baseFirst ? quote : base;
 
-        currenciesInvestedIn.add(symbol.getBaseCurrency());
-        currenciesInvestedIn.add(symbol.getQuoteCurrency());
+        final Reservation reservation = new Reservation();
+        if (!reserve(first, reservation)) {
+            return false;
+        }
+        if (!reserve(second, reservation)) {
+            reservations.remove(first, reservation);
+            return false;
+        }
+        reservation.completed = true;
+        return true;
     }
 
     @Override
     public void unblockCurrencies(final ForexSymbol symbol) {
-        if (isTradingAllowed(symbol)) {
+        final boolean baseCurrencyWasBlocked = reservations.remove(symbol.getBaseCurrency()) != null;
+        final boolean quoteCurrencyWasBlocked = reservations.remove(symbol.getQuoteCurrency()) != null;
+        if (!baseCurrencyWasBlocked && !quoteCurrencyWasBlocked) {
             throw new IllegalArgumentException("Should unblock te currencies of symbol " + symbol
                     + " for trading but one or both currencies are not blocked.");
         }
+    }
+
+    private boolean isBlocked(final Currency currency) {
+        final Reservation reservation = reservations.get(currency);
+        return reservation != null && reservation.completed;
+    }
+
+    private boolean reserve(final Currency currency, final Reservation reservation) {
+        while (true) {
+            final Reservation current = reservations.putIfAbsent(currency, reservation);
+            if (current == null) {
+                return true;
+            }
+            // A symbol with the same base and quote currency would wait for itself.
+            if (current.completed || current == reservation) {
+                return false;
+            }
+            Thread.yield();
+        }
+    }
 
-        currenciesInvestedIn.remove(symbol.getBaseCurrency());
-        currenciesInvestedIn.remove(symbol.getQuoteCurrency());
+    /**
+     * The reservation of the currencies of one symbol.
+     */
+    private static final class Reservation {
+        private volatile boolean completed;
     }
 }
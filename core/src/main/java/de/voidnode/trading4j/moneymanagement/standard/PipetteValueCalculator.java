@@ -1,7 +1,6 @@
 package de.voidnode.trading4j.moneymanagement.standard;
 
 import java.util.Currency;
-import java.util.Optional;
 
 import de.voidnode.trading4j.domain.ForexSymbol;
 import de.voidnode.trading4j.domain.monetary.AccuratePrice;
@@ -49,10 +48,12 @@ class PipetteValueCalculator {
             return PIPETTE;
         }
 
-        final Optional<AccuratePrice> exchangeRate = exchangeRateStore.getExchangeRate(tradedSymbol.getQuoteCurrency(),
+        final double exchangeRate = exchangeRateStore.getRawExchangeRate(tradedSymbol.getQuoteCurrency(),
                 accountCurrency);
-        return exchangeRate.map(rate -> new AccuratePrice(0.00001 * exchangeRate.get().asRawValue()))
-                .orElseThrow(() -> createIlegalArgumentsException(accountCurrency, tradedSymbol));
+        if (Double.isNaN(exchangeRate)) {
+            throw createIlegalArgumentsException(accountCurrency, tradedSymbol);
+        }
+        return new AccuratePrice(0.00001 * exchangeRate);
     }
 
     private IllegalArgumentException createIlegalArgumentsException(final Currency accountCurrency,
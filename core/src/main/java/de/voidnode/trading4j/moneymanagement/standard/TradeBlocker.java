@@ -28,6 +28,21 @@ interface TradeBlocker {
      */
     void blockCurrencies(ForexSymbol symbol);
 
+    /**
+     * Blocks the currencies of a symbol for further trading if trading it is currently allowed.
+     * 
+     * <p>
+     * Unlike calling {@link #isTradingAllowed(ForexSymbol)} and {@link #blockCurrencies(ForexSymbol)} one after the
+     * other, the check and the blocking are done atomically when multiple threads use this instance.
+     * </p>
+     * 
+     * @param symbol
+     *            The symbol thats currencies should be blocked.
+     * @return <code>true</code> if the currencies were blocked and <code>false</code> if trading the symbol was not
+     *         allowed.
+     */
+    boolean tryBlockCurrencies(ForexSymbol symbol);
+
     /**
      * Unblocks the currencies of a symbol for further trading.
      * 
@@ -0,0 +1,124 @@
+package de.voidnode.trading4j.tradetracker;
+
+import java.time.Instant;
+
+import de.voidnode.trading4j.domain.monetary.Price;
+
+/**
+ * The summed up profit of trades over time with a fixed maximal number of points.
+ *
+ * <p>
+ * At first every trade is recorded. When the capacity is reached, every second point is dropped and from then on only
+ * every second trade is recorded. This repeats each time the curve is full again so that the points always cover all
+ * trades evenly while the memory needed never grows.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class EquityCurve {
+
+    private final long[] times;
+    private final long[] equities;
+    private int size;
+    private long step = 1;
+    private long recorded;
+
+    /**
+     * Initializes an empty curve.
+     *
+     * @param capacity
+     *            The maximal number of points to keep.
+     * @throws IllegalArgumentException
+     *             When the <code>capacity</code> is smaller than 2.
+     */
+    public EquityCurve(final int capacity) {
+        if (capacity < 2) {
+            throw new IllegalArgumentException(
+                    "An equity curve needs a capacity of at least 2 but was " + capacity + ".");
+        }
+        this.times = new long[capacity];
+        this.equities = new long[capacity];
+    }
+
+    /**
+     * Records the equity after a trade was completed.
+     *
+     * @param time
+     *            The time the trade was completed.
+     * @param equity
+     *            The summed up profit of all trades so far.
+     */
+    public void record(final Instant time, final Price equity) {
+        recorded++;
+        if (recorded % step != 0) {
+            return;
+        }
+        if (size == times.length) {
+            // Point i was recorded after trade (i + 1) * step so the odd points are the ones of the doubled step.
+            for (int i = 1; i < size; i += 2) {
+                times[i / 2] = times[i];
+                equities[i / 2] = equities[i];
+            }
+            size /= 2;
+            step *= 2;
+            if (recorded % step != 0) {
+                return;
+            }
+        }
+        times[size] = time.getEpochSecond();
+        equities[size] = equity.asPipette();
+        size++;
+    }
+
+    /**
+     * The number of points in the curve.
+     *
+     * @return The number of points.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The number of trades between two points of the curve.
+     *
+     * @return The number of trades.
+     */
+    public long getStep() {
+        return step;
+    }
+
+    /**
+     * The time of a point.
+     *
+     * @param index
+     *            The index of the point starting with the oldest one.
+     * @return The time the trade of the point was completed.
+     * @throws IndexOutOfBoundsException
+     *             When there is no point with this <code>index</code>.
+     */
+    public Instant getTime(final int index) {
+        checkIndex(index);
+        return Instant.ofEpochSecond(times[index]);
+    }
+
+    /**
+     * The equity of a point.
+     *
+     * @param index
+     *            The index of the point starting with the oldest one.
+     * @return The summed up profit of all trades up to the trade of the point.
+     * @throws IndexOutOfBoundsException
+     *             When there is no point with this <code>index</code>.
+     */
+    public Price getEquity(final int index) {
+        checkIndex(index);
+        return new Price(equities[index]);
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("The equity curve has no point " + index + " but " + size + " points.");
+        }
+    }
+}
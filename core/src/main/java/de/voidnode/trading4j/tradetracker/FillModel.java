@@ -0,0 +1,49 @@
+package de.voidnode.trading4j.tradetracker;
+
+import de.voidnode.trading4j.domain.marketdata.WithOhlc;
+
+/**
+ * Decides which prices a {@link SimulatedBroker} assumes the market passed during a candle stick.
+ *
+ * <p>
+ * All prices are given in pipettes and are bid prices like the ones of the candle stick. The {@link SimulatedBroker}
+ * subtracts the spread from prices that are executed at the ask price before passing them. Implementations must
+ * answer in constant time as they are called for each order that is triggered by a candle stick.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public interface FillModel {
+
+    /**
+     * The lowest price that the market is assumed to have reached during a candle stick.
+     *
+     * @param candleStick
+     *            The candle stick to check.
+     * @return The lowest price in pipettes.
+     */
+    long getLowest(WithOhlc candleStick);
+
+    /**
+     * The highest price that the market is assumed to have reached during a candle stick.
+     *
+     * @param candleStick
+     *            The candle stick to check.
+     * @return The highest price in pipettes.
+     */
+    long getHighest(WithOhlc candleStick);
+
+    /**
+     * Decides which level of an opened order was reached first when both were reached during a candle stick.
+     *
+     * @param candleStick
+     *            The candle stick that reached both levels.
+     * @param takeProfit
+     *            The take profit of the order in pipettes.
+     * @param stopLoose
+     *            The stop loose of the order in pipettes.
+     * @return <code>true</code> if the order is closed at its stop loose and <code>false</code> if it is closed at its
+     *         take profit.
+     */
+    boolean isStopLooseReachedFirst(WithOhlc candleStick, long takeProfit, long stopLoose);
+}
@@ -0,0 +1,43 @@
+package de.voidnode.trading4j.tradetracker;
+
+import de.voidnode.trading4j.domain.marketdata.WithOhlc;
+
+/**
+ * Assumes that the market passed all prices between the high and the low price of a candle stick in a typical order.
+ *
+ * <p>
+ * For a bullish candle stick the market is assumed to move from the open to the low, then to the high and finally to
+ * the close price. For a bearish candle stick it moves from the open to the high, then to the low and finally to the
+ * close price. The level of an order that is passed first on this path closes it.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class OhlcPathFillModel implements FillModel {
+
+    @Override
+    public long getLowest(final WithOhlc candleStick) {
+        return candleStick.getLow().asPipette();
+    }
+
+    @Override
+    public long getHighest(final WithOhlc candleStick) {
+        return candleStick.getHigh().asPipette();
+    }
+
+    @Override
+    public boolean isStopLooseReachedFirst(final WithOhlc candleStick, final long takeProfit, final long stopLoose) {
+        return distance(candleStick, stopLoose) < distance(candleStick, takeProfit);
+    }
+
+    // The distance the market traveled on its path through the candle stick until it reached the price the first time.
+    private long distance(final WithOhlc candleStick, final long price) {
+        final long open = candleStick.getOpen().asPipette();
+        final long high = candleStick.getHigh().asPipette();
+        final long low = candleStick.getLow().asPipette();
+        if (candleStick.getClose().asPipette() >= open) {
+            return price <= open ? open - price : open - low + price - low;
+        }
+        return price >= open ? price - open : high - open + high - price;
+    }
+}
@@ -0,0 +1,31 @@
+package de.voidnode.trading4j.tradetracker;
+
+import de.voidnode.trading4j.domain.marketdata.WithOhlc;
+
+/**
+ * Assumes that the market only passed the prices between the open and the close price of a candle stick.
+ *
+ * <p>
+ * The high and low price are ignored. When the take profit and the stop loose of an order are both reached, the take
+ * profit wins. This is the behavior the {@link SimulatedBroker} always had and it is its default.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class OpenCloseFillModel implements FillModel {
+
+    @Override
+    public long getLowest(final WithOhlc candleStick) {
+        return Math.min(candleStick.getOpen().asPipette(), candleStick.getClose().asPipette());
+    }
+
+    @Override
+    public long getHighest(final WithOhlc candleStick) {
+        return Math.max(candleStick.getOpen().asPipette(), candleStick.getClose().asPipette());
+    }
+
+    @Override
+    public boolean isStopLooseReachedFirst(final WithOhlc candleStick, final long takeProfit, final long stopLoose) {
+        return false;
+    }
+}
@@ -1,9 +1,11 @@
 package de.voidnode.trading4j.tradetracker;
 
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.TreeMap;
 
 import de.voidnode.trading4j.api.Broker;
 import de.voidnode.trading4j.api.Failed;
@@ -17,14 +19,27 @@ import de.voidnode.trading4j.domain.marketdata.WithTime;
 import de.voidnode.trading4j.domain.monetary.Price;
 import de.voidnode.trading4j.domain.orders.BasicPendingOrder;
 import de.voidnode.trading4j.domain.orders.CloseConditions;
+import de.voidnode.trading4j.domain.orders.ExecutionCondition;
 import de.voidnode.trading4j.domain.orders.OrderType;
 
+import static de.voidnode.trading4j.domain.orders.ExecutionCondition.STOP;
 import static de.voidnode.trading4j.domain.orders.OrderType.BUY;
 
 /**
  * Simulates a real broker by receiving {@link BasicPendingOrder} orders and notifying when a real broker would have
  * opened or closed them.
- * 
+ *
+ * <p>
+ * Which prices the market passed during a candle stick is decided by a {@link FillModel}. Stop orders and stop looses
+ * are executed with a configurable slippage. Limit orders and take profits are executed at their exact price.
+ * </p>
+ *
+ * <p>
+ * The entry prices of pending orders and the take profits and stop looses of opened orders are indexed by price for
+ * each order type. A candle stick therefore only checks the orders that have a price inside of its range instead of
+ * all orders. Orders that are triggered by the same candle stick are notified in the order they were sent.
+ * </p>
+ *
  * @author Raik Bieniek
  *
  * @param <C>
@@ -32,85 +47,133 @@ import static de.voidnode.trading4j.domain.orders.OrderType.BUY;
  */
 public class SimulatedBroker<C extends MarketData & WithSpread & WithTime & WithOhlc> implements Broker<BasicPendingOrder>, MarketDataListener<C> {
 
-    private List<Order> orders = new LinkedList<>();
+    private final FillModel fillModel;
+    private final long slippage;
+
+    private final NavigableMap<Long, List<Order>> pendingBuyEntries = new TreeMap<>();
+    private final NavigableMap<Long, List<Order>> pendingSellEntries = new TreeMap<>();
+    private final NavigableMap<Long, List<Order>> openedBuyCloseLevels = new TreeMap<>();
+    private final NavigableMap<Long, List<Order>> openedSellCloseLevels = new TreeMap<>();
+
+    private final List<Order> triggered = new ArrayList<>();
+    private final Comparator<Order> inSendOrder = Comparator.comparingLong(order -> order.sequenceNumber);
+    private long nextSequenceNumber;
+
+    /**
+     * Initializes an instance that only considers the open and close price of candle sticks and has no slippage.
+     */
+    public SimulatedBroker() {
+        this(new OpenCloseFillModel(), new Price(0));
+    }
+
+    /**
+     * Initializes an instance with all its dependencies.
+     *
+     * @param fillModel
+     *            Decides which prices the market passed during a candle stick.
+     * @param slippage
+     *            The amount by which the execution of stop orders and stop looses is worse than requested.
+     */
+    public SimulatedBroker(final FillModel fillModel, final Price slippage) {
+        this.fillModel = fillModel;
+        this.slippage = slippage.asPipette();
+    }
 
     @Override
     public OrderManagement sendOrder(final BasicPendingOrder order,
             final OrderEventListener eventListener) {
-        final Order newOrder = new Order(order, eventListener);
-        orders.add(newOrder);
+        final Order newOrder = new Order(order, eventListener, nextSequenceNumber++);
+        newOrder.index();
         return newOrder;
     }
 
     @Override
     public void newData(final C candleStick) {
-        final Iterator<Order> it = orders.iterator();
-        while (it.hasNext()) {
-            final Order order = it.next();
+        final long spread = candleStick.getSpread().asPipette();
+        final long low = fillModel.getLowest(candleStick);
+        final long high = fillModel.getHighest(candleStick);
+
+        // All candidates are collected before any of them is handled so that orders opened by this candle stick are
+        // not closed by it too.
+        collect(pendingBuyEntries, low + spread, high + spread);
+        collect(pendingSellEntries, low, high);
+        collect(openedBuyCloseLevels, low, high);
+        collect(openedSellCloseLevels, low + spread, high + spread);
+        triggered.sort(inSendOrder);
+
+        Order previous = null;
+        for (final Order order : triggered) {
+            // An opened order is collected twice when its take profit and stop loose are both inside of the range.
+            if (order == previous || order.closed) {
+                continue;
+            }
+            previous = order;
+            // Buy orders are opened and sell orders are closed at the ask price.
             if (order.opened) {
-                if (order.type == BUY) {
-                    checkClosingBuyOrder(order, candleStick, it);
-                } else {
-                    checkClosingSellOrder(order, candleStick, it);
-                }
+                checkClosingOrder(order, candleStick, low, high, order.type == BUY ? 0 : spread);
             } else {
-                if (order.type == BUY) {
-                    checkOpeningBuyOrder(order, candleStick);
-                } else {
-                    checkOpeningSellOrder(order, candleStick);
-                }
+                checkOpeningOrder(order, candleStick, low, high, order.type == BUY ? spread : 0);
             }
         }
+        triggered.clear();
     }
 
-    private void checkOpeningBuyOrder(final Order order, final C candleStick) {
-        final Price spread = candleStick.getSpread();
-        if (order.entryPrice
-                .isBetweenInclusive(candleStick.getOpen().plus(spread), candleStick.getClose().plus(spread))) {
-            order.opened = true;
-            order.eventListener.orderOpened(candleStick.getTime(), order.entryPrice);
+    private void collect(final NavigableMap<Long, List<Order>> index, final long from, final long to) {
+        for (final List<Order> orders : index.subMap(from, true, to, true).values()) {
+            triggered.addAll(orders);
         }
     }
 
-    private void checkOpeningSellOrder(final Order order, final C candleStick) {
-        if (order.entryPrice.isBetweenInclusive(candleStick.getOpen(), candleStick.getClose())) {
-            order.opened = true;
-            order.eventListener.orderOpened(candleStick.getTime(), order.entryPrice);
+    private void checkOpeningOrder(final Order order, final C candleStick, final long low, final long high,
+            final long spread) {
+        if (!isBetween(order.entryPrice.asPipette() - spread, low, high)) {
+            return;
         }
+        order.open();
+        final Price entryPrice = order.executionCondition == STOP
+                ? slip(order.entryPrice, order.type == BUY ? slippage : -slippage) : order.entryPrice;
+        order.eventListener.orderOpened(candleStick.getTime(), entryPrice);
     }
 
-    private void checkClosingBuyOrder(final Order order, final C candleStick, final Iterator<Order> it) {
-        final Price open = candleStick.getOpen();
-        final Price close = candleStick.getClose();
-        final Price takeProfit = order.closeConditions.getTakeProfit();
-        final Price stopLoose = order.closeConditions.getStopLoose();
+    private void checkClosingOrder(final Order order, final C candleStick, final long low, final long high,
+            final long spread) {
+        final long takeProfit = order.closeConditions.getTakeProfit().asPipette() - spread;
+        final long stopLoose = order.closeConditions.getStopLoose().asPipette() - spread;
+        final boolean takeProfitReached = isBetween(takeProfit, low, high);
+        final boolean stopLooseReached = isBetween(stopLoose, low, high);
+        if (!takeProfitReached && !stopLooseReached) {
+            return;
+        }
 
-        checkClose(open, close, takeProfit, stopLoose).ifPresent(closePrice -> {
-            it.remove();
-            order.eventListener.orderClosed(candleStick.getTime(), closePrice);
-        });
+        final Price closePrice;
+        if (stopLooseReached
+                && (!takeProfitReached || fillModel.isStopLooseReachedFirst(candleStick, takeProfit, stopLoose))) {
+            closePrice = slip(order.closeConditions.getStopLoose(), order.type == BUY ? -slippage : slippage);
+        } else {
+            closePrice = order.closeConditions.getTakeProfit();
+        }
+        order.closeOrCancelOrder();
+        order.eventListener.orderClosed(candleStick.getTime(), closePrice);
     }
 
-    private void checkClosingSellOrder(final Order order, final C candleStick, final Iterator<Order> it) {
-        final Price open = candleStick.getOpen().plus(candleStick.getSpread());
-        final Price close = candleStick.getClose().plus(candleStick.getSpread());
-        final Price takeProfit = order.closeConditions.getTakeProfit();
-        final Price stopLoose = order.closeConditions.getStopLoose();
+    private boolean isBetween(final long price, final long low, final long high) {
+        return price >= low && price <= high;
+    }
+
+    private Price slip(final Price price, final long amount) {
+        return amount == 0 ? price : new Price(price.asPipette() + amount);
+    }
 
-        checkClose(open, close, takeProfit, stopLoose).ifPresent(closePrice -> {
-            it.remove();
-            order.eventListener.orderClosed(candleStick.getTime(), closePrice);
-        });
+    private void add(final NavigableMap<Long, List<Order>> index, final Price price, final Order order) {
+        index.computeIfAbsent(price.asPipette(), level -> new ArrayList<>(1)).add(order);
     }
 
-    private Optional<Price> checkClose(final Price open, final Price close, final Price takeProfit,
-            final Price stopLoose) {
-        if (takeProfit.isBetweenInclusive(open, close)) {
-            return Optional.of(takeProfit);
-        } else if (stopLoose.isBetweenInclusive(open, close)) {
-            return Optional.of(stopLoose);
+    private void remove(final NavigableMap<Long, List<Order>> index, final Price price, final Order order) {
+        final List<Order> orders = index.get(price.asPipette());
+        orders.remove(order);
+        if (orders.isEmpty()) {
+            index.remove(price.asPipette());
         }
-        return Optional.empty();
     }
 
     /**
@@ -121,26 +184,69 @@ public class SimulatedBroker<C extends MarketData & WithSpread & WithTime & With
         private final OrderEventListener eventListener;
         private final Price entryPrice;
         private final OrderType type;
+        private final ExecutionCondition executionCondition;
+        private final long sequenceNumber;
         private CloseConditions closeConditions;
 
         private boolean opened;
+        private boolean closed;
 
-        Order(final BasicPendingOrder order, final OrderEventListener eventListener) {
+        Order(final BasicPendingOrder order, final OrderEventListener eventListener, final long sequenceNumber) {
             this.entryPrice = order.getEntryPrice();
             this.type = order.getType();
+            this.executionCondition = order.getExecutionCondition();
             this.closeConditions = order.getCloseConditions();
             this.eventListener = eventListener;
+            this.sequenceNumber = sequenceNumber;
         }
 
         @Override
         public void closeOrCancelOrder() {
-            orders.remove(this);
+            if (closed) {
+                return;
+            }
+            unindex();
+            closed = true;
         }
 
         @Override
         public Optional<Failed> changeCloseConditionsOfOrder(final CloseConditions conditions) {
+            if (closed) {
+                this.closeConditions = conditions;
+                return Optional.empty();
+            }
+            unindex();
             this.closeConditions = conditions;
+            index();
             return Optional.empty();
         }
+
+        private void open() {
+            unindex();
+            opened = true;
+            index();
+        }
+
+        private void index() {
+            if (opened) {
+                final NavigableMap<Long, List<Order>> closeLevels = type == BUY ? openedBuyCloseLevels
+                        : openedSellCloseLevels;
+                add(closeLevels, closeConditions.getTakeProfit(), this);
+                add(closeLevels, closeConditions.getStopLoose(), this);
+            } else {
+                add(type == BUY ? pendingBuyEntries : pendingSellEntries, entryPrice, this);
+            }
+        }
+
+        private void unindex() {
+            if (opened) {
+                final NavigableMap<Long, List<Order>> closeLevels = type == BUY ? openedBuyCloseLevels
+                        : openedSellCloseLevels;
+                remove(closeLevels, closeConditions.getTakeProfit(), this);
+                remove(closeLevels, closeConditions.getStopLoose(), this);
+            } else {
+                remove(type == BUY ? pendingBuyEntries : pendingSellEntries, entryPrice, this);
+            }
+        }
     }
 }
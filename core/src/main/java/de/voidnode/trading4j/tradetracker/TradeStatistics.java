@@ -0,0 +1,209 @@
+package de.voidnode.trading4j.tradetracker;
+
+import java.util.List;
+
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.trades.BasicCompletedTrade;
+import de.voidnode.trading4j.domain.trades.TradeEvent;
+
+/**
+ * Aggregates statistics about {@link BasicCompletedTrade}s as they are completed.
+ *
+ * <p>
+ * The trades are not kept. Each metric is updated incrementally with a constant amount of memory so that instances can
+ * be used for backtests with millions of trades and for servers that run for a long time. All values are based on the
+ * {@link BasicCompletedTrade#getRelativeProfit() relative profit} of the trades. Trades that were never opened are
+ * ignored.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class TradeStatistics implements TradeEventListener<BasicCompletedTrade> {
+
+    private static final int DEFAULT_EQUITY_CURVE_CAPACITY = 1000;
+
+    private final EquityCurve equityCurve;
+
+    private long trades;
+    private long winningTrades;
+    private long grossProfit;
+    private long grossLoss;
+    private long equity;
+    private long peak;
+    private long maximalDrawdown;
+    private double squaredLosses;
+
+    // Welford's online algorithm for the mean and the variance of the profit per trade.
+    private double mean;
+    private double squaredDeviations;
+
+    /**
+     * Initializes an instance with an {@link EquityCurve} of 1000 points.
+     */
+    public TradeStatistics() {
+        this(DEFAULT_EQUITY_CURVE_CAPACITY);
+    }
+
+    /**
+     * Initializes an instance with a custom size of the {@link EquityCurve}.
+     *
+     * @param equityCurveCapacity
+     *            The maximal number of points in the {@link EquityCurve}.
+     */
+    public TradeStatistics(final int equityCurveCapacity) {
+        this.equityCurve = new EquityCurve(equityCurveCapacity);
+    }
+
+    @Override
+    public void tradeCompleted(final BasicCompletedTrade trade) {
+        if (!trade.getRelativeProfit().isPresent()) {
+            return;
+        }
+        final long profit = trade.getRelativeProfit().get().asPipette();
+
+        trades++;
+        if (profit > 0) {
+            winningTrades++;
+            grossProfit += profit;
+        } else {
+            grossLoss -= profit;
+            squaredLosses += (double) profit * profit;
+        }
+
+        equity += profit;
+        peak = Math.max(peak, equity);
+        maximalDrawdown = Math.max(maximalDrawdown, peak - equity);
+
+        final double delta = profit - mean;
+        mean += delta / trades;
+        squaredDeviations += delta * (profit - mean);
+
+        final List<TradeEvent> events = trade.getEvents();
+        equityCurve.record(events.get(events.size() - 1).getTime(), new Price(equity));
+    }
+
+    /**
+     * The number of trades that were opened and closed.
+     *
+     * @return The number of trades.
+     */
+    public long getTrades() {
+        return trades;
+    }
+
+    /**
+     * The number of trades that were closed with a profit.
+     *
+     * @return The number of winning trades.
+     */
+    public long getWinningTrades() {
+        return winningTrades;
+    }
+
+    /**
+     * The share of trades that were closed with a profit.
+     *
+     * @return The win rate between 0 and 1 or 0 if there were no trades yet.
+     */
+    public double getWinRate() {
+        return trades == 0 ? 0 : (double) winningTrades / trades;
+    }
+
+    /**
+     * The sum of the relative profits of all trades.
+     *
+     * @return The profit. It is negative if the trades lost in sum.
+     */
+    public Price getProfit() {
+        return new Price(equity);
+    }
+
+    /**
+     * The sum of the profits of all winning trades.
+     *
+     * @return The gross profit.
+     */
+    public Price getGrossProfit() {
+        return new Price(grossProfit);
+    }
+
+    /**
+     * The sum of the looses of all loosing trades.
+     *
+     * @return The gross loss as positive {@link Price}.
+     */
+    public Price getGrossLoss() {
+        return new Price(grossLoss);
+    }
+
+    /**
+     * The gross profit divided by the gross loss.
+     *
+     * @return The profit factor. It is {@link Double#POSITIVE_INFINITY} when there were profits but no looses and 0
+     *         when there were no profits.
+     */
+    public double getProfitFactor() {
+        if (grossProfit == 0) {
+            return 0;
+        }
+        return grossLoss == 0 ? Double.POSITIVE_INFINITY : (double) grossProfit / grossLoss;
+    }
+
+    /**
+     * The biggest decline of the summed up profit from a previous peak.
+     *
+     * @return The maximal drawdown.
+     */
+    public Price getMaximalDrawdown() {
+        return new Price(maximalDrawdown);
+    }
+
+    /**
+     * The mean profit of a trade divided by the standard deviation of the profits of all trades.
+     *
+     * <p>
+     * This is the Sharpe ratio per trade without a risk free rate.
+     * </p>
+     *
+     * @return The ratio or 0 when there are less than two trades or all trades had the same profit.
+     */
+    public double getSharpeRatio() {
+        if (trades < 2 || squaredDeviations == 0) {
+            return 0;
+        }
+        return mean / Math.sqrt(squaredDeviations / (trades - 1));
+    }
+
+    /**
+     * The mean profit of a trade divided by the downside deviation of the profits of all trades.
+     *
+     * <p>
+     * This is the Sortino ratio per trade without a risk free rate. Unlike the Sharpe ratio it only punishes loosing
+     * trades.
+     * </p>
+     *
+     * @return The ratio or 0 when there were no trades or no loosing trades.
+     */
+    public double getSortinoRatio() {
+        if (squaredLosses == 0) {
+            return 0;
+        }
+        return mean / Math.sqrt(squaredLosses / trades);
+    }
+
+    /**
+     * The development of the summed up profit over time.
+     *
+     * @return The curve. It is updated as new trades are completed.
+     */
+    public EquityCurve getEquityCurve() {
+        return equityCurve;
+    }
+
+    @Override
+    public String toString() {
+        return "TradeStatistics [trades=" + trades + ", winRate=" + getWinRate() + ", profit=" + getProfit()
+                + ", profitFactor=" + getProfitFactor() + ", maximalDrawdown=" + getMaximalDrawdown()
+                + ", sharpeRatio=" + getSharpeRatio() + ", sortinoRatio=" + getSortinoRatio() + "]";
+    }
+}
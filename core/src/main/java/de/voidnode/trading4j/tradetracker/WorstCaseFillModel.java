@@ -0,0 +1,32 @@
+package de.voidnode.trading4j.tradetracker;
+
+import de.voidnode.trading4j.domain.marketdata.WithOhlc;
+
+/**
+ * Assumes that the market passed all prices between the high and the low price of a candle stick and always in the
+ * order that is worst for the trader.
+ *
+ * <p>
+ * When the take profit and the stop loose of an order are both reached, the stop loose wins. This gives the most
+ * pessimistic backtest results.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class WorstCaseFillModel implements FillModel {
+
+    @Override
+    public long getLowest(final WithOhlc candleStick) {
+        return candleStick.getLow().asPipette();
+    }
+
+    @Override
+    public long getHighest(final WithOhlc candleStick) {
+        return candleStick.getHigh().asPipette();
+    }
+
+    @Override
+    public boolean isStopLooseReachedFirst(final WithOhlc candleStick, final long takeProfit, final long stopLoose) {
+        return true;
+    }
+}
@@ -0,0 +1,153 @@
+package de.voidnode.trading4j.backtest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import de.voidnode.trading4j.api.BasicExpertAdvisorFactory;
+import de.voidnode.trading4j.api.Broker;
+import de.voidnode.trading4j.api.ExpertAdvisor;
+import de.voidnode.trading4j.api.OrderEventListener;
+import de.voidnode.trading4j.domain.ForexSymbol;
+import de.voidnode.trading4j.domain.Volume;
+import de.voidnode.trading4j.domain.environment.AccountInformation;
+import de.voidnode.trading4j.domain.environment.SpecialFeesInformation;
+import de.voidnode.trading4j.domain.environment.TradingEnvironmentInformation;
+import de.voidnode.trading4j.domain.environment.VolumeConstraints;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.marketdata.impl.MutableFullMarketData;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.orders.BasicPendingOrder;
+import de.voidnode.trading4j.domain.orders.CloseConditions;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.domain.trades.CompletedTrade;
+import de.voidnode.trading4j.domain.trades.TradeEvent;
+import de.voidnode.trading4j.moneymanagement.NonMoneyManagement;
+import de.voidnode.trading4j.tradetracker.TradeStatistics;
+
+import static de.voidnode.trading4j.domain.VolumeUnit.BASE;
+import static de.voidnode.trading4j.domain.VolumeUnit.LOT;
+import static de.voidnode.trading4j.domain.VolumeUnit.MINI_LOT;
+import static de.voidnode.trading4j.domain.orders.ExecutionCondition.STOP;
+import static de.voidnode.trading4j.domain.orders.OrderType.BUY;
+import static de.voidnode.trading4j.domain.trades.TradeEventType.PENDING_ORDER_OPENED;
+import static de.voidnode.trading4j.domain.trades.TradeEventType.PENDING_ORDER_PLACED;
+import static de.voidnode.trading4j.domain.trades.TradeEventType.TRADE_CLOSED;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks if {@link Backtest} works as expected.
+ *
+ * @author Raik Bieniek
+ */
+public class BacktestTest {
+
+    private static final int EXPERT_ADVISOR_NUMBER = 3;
+    private static final ForexSymbol EURUSD = new ForexSymbol("EURUSD");
+    private static final TradingEnvironmentInformation ENVIRONMENT = new TradingEnvironmentInformation(
+            new AccountInformation("Backtest", 1, EURUSD.getQuoteCurrency()), EURUSD, EURUSD,
+            new SpecialFeesInformation(new Price(0), new Price(0)), minute(2),
+            new VolumeConstraints(new Volume(1, MINI_LOT), new Volume(100, LOT), new Volume(1, MINI_LOT)));
+    private static final BasicPendingOrder ORDER = new BasicPendingOrder(BUY, STOP, new Price(1.1010),
+            new CloseConditions(new Price(1.1050), new Price(1.0950)));
+
+    private final Backtest cut = new Backtest(new OrderEveryCandleStickFactory(),
+            new NonMoneyManagement(new Volume(2, MINI_LOT)), ENVIRONMENT);
+
+    /**
+     * Orders are executed by the simulated broker and the completed trades are returned. Orders placed before the
+     * non-historic time are blocked.
+     */
+    @Test
+    public void returnsTheTradesCompletedAtTheSimulatedBroker() {
+        final List<FullMarketData<M1>> marketData = new ArrayList<>();
+        // historic data where the order is blocked although it would be opened with the next candle stick.
+        marketData.add(candleStick(0, 1.1000, 1.1000));
+        marketData.add(candleStick(1, 1.1000, 1.1020));
+        // the order is placed and opened with the next candle stick.
+        marketData.add(candleStick(2, 1.1020, 1.1000));
+        marketData.add(candleStick(3, 1.1000, 1.1020));
+        // the take profit is reached.
+        marketData.add(candleStick(4, 1.1020, 1.1060));
+
+        final List<CompletedTrade> trades = cut.run(EXPERT_ADVISOR_NUMBER, marketData);
+
+        assertThat(trades).hasSize(1);
+        final CompletedTrade trade = trades.get(0);
+        assertThat(trade.getSymbol()).isEqualTo(EURUSD);
+        assertThat(trade.getVolume()).isEqualTo(new Volume(2, MINI_LOT));
+        assertThat(trade.getEvents()).extracting(TradeEvent::getType).containsExactly(PENDING_ORDER_PLACED,
+                PENDING_ORDER_OPENED, TRADE_CLOSED);
+        assertThat(trade.getEvents()).extracting(TradeEvent::getTime).containsExactly(minute(2), minute(3),
+                minute(4));
+        assertThat(trade.getEvents().get(2).getPrice()).contains(new Price(1.1050));
+    }
+
+    /**
+     * Listeners for any kind of completed trade like {@link TradeStatistics} can receive the completed trades.
+     */
+    @Test
+    public void passesTheCompletedTradesToTradeStatistics() {
+        final List<FullMarketData<M1>> marketData = new ArrayList<>();
+        marketData.add(candleStick(2, 1.1020, 1.1000));
+        marketData.add(candleStick(3, 1.1000, 1.1020));
+        marketData.add(candleStick(4, 1.1020, 1.1060));
+        final TradeStatistics statistics = new TradeStatistics();
+
+        cut.run(EXPERT_ADVISOR_NUMBER, marketData, statistics);
+
+        assertThat(statistics.getTrades()).isEqualTo(1);
+        assertThat(statistics.getWinningTrades()).isEqualTo(1);
+    }
+
+    /**
+     * Unknown expert advisors can not be tested.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void failsForUnknownExpertAdvisors() {
+        cut.run(EXPERT_ADVISOR_NUMBER + 1, new ArrayList<>());
+    }
+
+    private static FullMarketData<M1> candleStick(final int minute, final double open, final double close) {
+        return new MutableFullMarketData<M1>().setTime(minute(minute)).setOpen(new Price(open))
+                .setHigh(new Price(Math.max(open, close))).setLow(new Price(Math.min(open, close)))
+                .setClose(new Price(close)).setSpread(new Price(0)).setVolume(1000, BASE).setTickCount(10)
+                .toImmutableFullMarketData();
+    }
+
+    private static Instant minute(final int minute) {
+        return Instant.ofEpochSecond(minute * 60L);
+    }
+
+    /**
+     * Produces an {@link ExpertAdvisor} that places {@link #ORDER} on every candle stick as long as it has no order.
+     */
+    private static class OrderEveryCandleStickFactory implements BasicExpertAdvisorFactory {
+
+        @Override
+        public Optional<ExpertAdvisor<FullMarketData<M1>>> newExpertAdvisor(final int expertAdvisorNumber,
+                final Broker<BasicPendingOrder> broker, final TradingEnvironmentInformation environment) {
+            if (expertAdvisorNumber != EXPERT_ADVISOR_NUMBER) {
+                return Optional.empty();
+            }
+            return Optional.of(new ExpertAdvisor<FullMarketData<M1>>() {
+                private final OrderEventListener listener = mock(OrderEventListener.class);
+                private boolean hasOrder;
+
+                @Override
+                public void newData(final FullMarketData<M1> candleStick) {
+                    if (hasOrder) {
+                        return;
+                    }
+                    broker.sendOrder(ORDER, listener);
+                    hasOrder = candleStick.getTime().compareTo(environment.getNonHistoricTime()) >= 0;
+                }
+            });
+        }
+    }
+}
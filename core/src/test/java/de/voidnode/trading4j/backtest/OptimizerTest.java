@@ -0,0 +1,133 @@
+package de.voidnode.trading4j.backtest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import de.voidnode.trading4j.api.Broker;
+import de.voidnode.trading4j.api.ExpertAdvisor;
+import de.voidnode.trading4j.api.OrderEventListener;
+import de.voidnode.trading4j.domain.ForexSymbol;
+import de.voidnode.trading4j.domain.Volume;
+import de.voidnode.trading4j.domain.environment.AccountInformation;
+import de.voidnode.trading4j.domain.environment.SpecialFeesInformation;
+import de.voidnode.trading4j.domain.environment.TradingEnvironmentInformation;
+import de.voidnode.trading4j.domain.environment.VolumeConstraints;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.marketdata.impl.MutableFullMarketData;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.orders.BasicPendingOrder;
+import de.voidnode.trading4j.domain.orders.CloseConditions;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.moneymanagement.NonMoneyManagement;
+
+import static de.voidnode.trading4j.domain.VolumeUnit.BASE;
+import static de.voidnode.trading4j.domain.VolumeUnit.LOT;
+import static de.voidnode.trading4j.domain.VolumeUnit.MINI_LOT;
+import static de.voidnode.trading4j.domain.orders.ExecutionCondition.STOP;
+import static de.voidnode.trading4j.domain.orders.OrderType.BUY;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks if {@link Optimizer} works as expected.
+ *
+ * @author Raik Bieniek
+ */
+public class OptimizerTest {
+
+    private static final ForexSymbol EURUSD = new ForexSymbol("EURUSD");
+    private static final TradingEnvironmentInformation ENVIRONMENT = new TradingEnvironmentInformation(
+            new AccountInformation("Backtest", 1, EURUSD.getQuoteCurrency()), EURUSD, EURUSD,
+            new SpecialFeesInformation(new Price(0), new Price(0)), Instant.EPOCH,
+            new VolumeConstraints(new Volume(1, MINI_LOT), new Volume(100, LOT), new Volume(1, MINI_LOT)));
+
+    private final ForkJoinPool singleThread = new ForkJoinPool(1);
+    private final ForkJoinPool fourThreads = new ForkJoinPool(4);
+
+    private final ParameterSpace space = new ParameterSpace().addRange("takeProfit", 10, 200, 10)
+            .addRange("stopLoose", 10, 200, 10);
+    private final CandleStickArray marketData = CandleStickArray.of(waves(2000));
+
+    /**
+     * Stops the threads used for the optimization.
+     */
+    @After
+    public void shutDownPools() {
+        singleThread.shutdown();
+        fourThreads.shutdown();
+    }
+
+    /**
+     * Each set of parameters results in its own backtest and the results are in the same order as the parameters.
+     */
+    @Test
+    public void runsABacktestForEachSetOfParameters() {
+        final List<Parameters> parameters = space.grid();
+
+        final List<OptimizationResult> results = optimizer(fourThreads).optimize(parameters, marketData);
+
+        assertThat(results).extracting(OptimizationResult::getParameters).isEqualTo(parameters);
+        assertThat(results).extracting(OptimizationResult::getTrades).doesNotContain(0L);
+        assertThat(results.get(0).getProfit()).isNotEqualTo(results.get(results.size() - 1).getProfit());
+    }
+
+    /**
+     * The results of a backtest do not depend on how many backtests are run at the same time.
+     */
+    @Test
+    public void resultsDoNotDependOnTheNumberOfThreads() {
+        final List<Parameters> parameters = space.random(100, 42);
+
+        assertThat(optimizer(fourThreads).optimize(parameters, marketData))
+                .isEqualTo(optimizer(singleThread).optimize(parameters, marketData));
+    }
+
+    private Optimizer optimizer(final ForkJoinPool pool) {
+        return new Optimizer(OptimizerTest::newExpertAdvisor, () -> new NonMoneyManagement(new Volume(1, MINI_LOT)),
+                ENVIRONMENT, pool);
+    }
+
+    /**
+     * Creates an {@link ExpertAdvisor} that places a buy stop order every ten candle sticks with a take profit and
+     * stop loose distance defined by the parameters.
+     */
+    private static ExpertAdvisor<FullMarketData<M1>> newExpertAdvisor(final Parameters parameters,
+            final Broker<BasicPendingOrder> broker, final TradingEnvironmentInformation environment) {
+        final long takeProfit = parameters.getInt("takeProfit");
+        final long stopLoose = parameters.getInt("stopLoose");
+        final OrderEventListener listener = mock(OrderEventListener.class);
+        return new ExpertAdvisor<FullMarketData<M1>>() {
+            private int candleSticks;
+
+            @Override
+            public void newData(final FullMarketData<M1> candleStick) {
+                if (++candleSticks % 10 != 0) {
+                    return;
+                }
+                final long close = candleStick.getClose().asPipette();
+                broker.sendOrder(new BasicPendingOrder(BUY, STOP, new Price(close + 5),
+                        new CloseConditions(new Price(close + takeProfit), new Price(close - stopLoose))), listener);
+            }
+        };
+    }
+
+    private static List<FullMarketData<M1>> waves(final int count) {
+        final List<FullMarketData<M1>> candleSticks = new ArrayList<>(count);
+        long previous = 110_000;
+        for (int i = 0; i < count; i++) {
+            final long close = 110_000 + Math.round(300 * Math.sin(i / 20.0) + 100 * Math.sin(i / 3.0));
+            candleSticks.add(new MutableFullMarketData<M1>().setTime(Instant.ofEpochSecond(i * 60L))
+                    .setOpen(new Price(previous)).setHigh(new Price(Math.max(previous, close) + 3))
+                    .setLow(new Price(Math.min(previous, close) - 3)).setClose(new Price(close))
+                    .setSpread(new Price(0)).setVolume(1000, BASE).setTickCount(10).toImmutableFullMarketData());
+            previous = close;
+        }
+        return candleSticks;
+    }
+}
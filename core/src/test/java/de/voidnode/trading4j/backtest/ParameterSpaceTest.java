@@ -0,0 +1,77 @@
+package de.voidnode.trading4j.backtest;
+
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks if {@link ParameterSpace} works as expected.
+ *
+ * @author Raik Bieniek
+ */
+public class ParameterSpaceTest {
+
+    private final ParameterSpace cut = new ParameterSpace().addRange("fast", 10, 14, 2).add("volatility", 0.5, 1.0);
+
+    /**
+     * The grid contains all combinations and the parameter added last changes fastest.
+     */
+    @Test
+    public void gridContainsAllCombinationsInAStableOrder() {
+        final List<Parameters> grid = cut.grid();
+
+        assertThat(cut.size()).isEqualTo(6);
+        assertThat(grid).extracting(p -> p.getInt("fast")).containsExactly(10, 10, 12, 12, 14, 14);
+        assertThat(grid).extracting(p -> p.getDouble("volatility")).containsExactly(0.5, 1.0, 0.5, 1.0, 0.5, 1.0);
+    }
+
+    /**
+     * Random samples are distinct and the same seed always chooses the same parameter sets.
+     */
+    @Test
+    public void randomSamplesAreDistinctAndReproducible() {
+        final ParameterSpace big = new ParameterSpace().addRange("fast", 1, 100, 1).addRange("slow", 1, 100, 1);
+
+        final List<Parameters> sample = big.random(50, 42);
+
+        assertThat(sample).hasSize(50);
+        assertThat(new HashSet<>(sample)).hasSize(50);
+        assertThat(big.random(50, 42)).isEqualTo(sample);
+        assertThat(big.random(50, 43)).isNotEqualTo(sample);
+    }
+
+    /**
+     * When more parameter sets are requested than there are, the whole grid is returned.
+     */
+    @Test
+    public void randomReturnsTheGridWhenTheSpaceIsSmall() {
+        assertThat(cut.random(10, 42)).isEqualTo(cut.grid());
+    }
+
+    /**
+     * Each parameter can only be added once.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void failsForDuplicateParameters() {
+        cut.add("fast", 1);
+    }
+
+    /**
+     * Each parameter needs at least one value.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void failsForEmptyRanges() {
+        cut.addRange("slow", 20, 10, 1);
+    }
+
+    /**
+     * Unknown parameters can not be read.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void failsForUnknownParameters() {
+        cut.grid().get(0).getDouble("slow");
+    }
+}
@@ -0,0 +1,101 @@
+package de.voidnode.trading4j.domain.marketdata.impl;
+
+import java.time.Instant;
+
+import de.voidnode.trading4j.domain.Volume;
+import de.voidnode.trading4j.domain.VolumeUnit;
+import de.voidnode.trading4j.domain.marketdata.MarketData;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.timeframe.M1;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks if {@link ReusableFullMarketData} works as expected.
+ *
+ * @author Raik Bieniek
+ */
+public class ReusableFullMarketDataTest {
+
+    private final ReusableFullMarketData<M1> cut = new ReusableFullMarketData<>();
+
+    /**
+     * The getters should return the values that where set last.
+     */
+    @Test
+    public void shouldReturnTheValuesThatWhereSetLast() {
+        cut.setTime(60).setOpen(1.0).setHigh(2.0).setLow(3.0).setClose(4.0).setSpread(5).setVolume(6, VolumeUnit.LOT)
+                .setTickCount(7);
+        final Price firstOpen = cut.getOpen();
+
+        cut.setTime(120).setOpen(1.5).setHigh(2.5).setLow(3.5).setClose(4.5).setSpread(8).setVolume(9,
+                VolumeUnit.MINI_LOT).setTickCount(10);
+
+        assertThat(firstOpen).isEqualTo(new Price(1.0));
+        assertThat(cut.getTime()).isEqualTo(Instant.ofEpochSecond(120));
+        assertThat(cut.getOpen()).isEqualTo(new Price(1.5));
+        assertThat(cut.getHigh()).isEqualTo(new Price(2.5));
+        assertThat(cut.getLow()).isEqualTo(new Price(3.5));
+        assertThat(cut.getClose()).isEqualTo(new Price(4.5));
+        assertThat(cut.getSpread()).isEqualTo(new Price(8));
+        assertThat(cut.getVolume()).isEqualTo(new Volume(9, VolumeUnit.MINI_LOT));
+        assertThat(cut.getTickCount()).isEqualTo(10);
+    }
+
+    /**
+     * The values returned by the getters should be reused as long as the respective value was not changed.
+     */
+    @Test
+    public void shouldReuseTheValuesReturnedByTheGettersAsLongAsTheValueIsNotChanged() {
+        cut.setOpen(1.0).setClose(4.0);
+        final Price open = cut.getOpen();
+        final Price close = cut.getClose();
+
+        cut.setClose(4.0);
+
+        assertThat(cut.getOpen()).isSameAs(open);
+        assertThat(cut.getClose()).isNotSameAs(close);
+    }
+
+    /**
+     * {@link ReusableFullMarketData#retainable(MarketData)} should copy reusable market data and return all other
+     * market data as is.
+     */
+    @Test
+    public void retainableShouldCopyOnlyReusableMarketData() {
+        cut.setTime(60).setOpen(1.0).setHigh(2.0).setLow(3.0).setClose(4.0).setSpread(5).setVolume(6, VolumeUnit.LOT)
+                .setTickCount(7);
+        final FullMarketData<M1> expected = new MutableFullMarketData<M1>().setTime(Instant.ofEpochSecond(60))
+                .setOpen(1.0).setHigh(2.0).setLow(3.0).setClose(4.0).setSpread(new Price(5))
+                .setVolume(6, VolumeUnit.LOT).setTickCount(7).toImmutableFullMarketData();
+
+        final FullMarketData<M1> retained = ReusableFullMarketData.retainable(cut);
+        cut.setOpen(10.0);
+
+        assertThat(retained).isNotInstanceOf(ReusableFullMarketData.class).isEqualTo(expected);
+        final MarketData other = new BasicMarketData(1.0);
+        assertThat(ReusableFullMarketData.retainable(other)).isSameAs(other);
+    }
+
+    /**
+     * {@link ReusableFullMarketData} should only be equal to itself as its values change when it is refilled.
+     */
+    @Test
+    public void shouldOnlyBeEqualToItself() {
+        cut.setTime(60).setOpen(1.0).setHigh(2.0).setLow(3.0).setClose(4.0).setSpread(5).setVolume(6, VolumeUnit.LOT)
+                .setTickCount(7);
+        final FullMarketData<M1> same = new MutableFullMarketData<M1>().setTime(Instant.ofEpochSecond(60))
+                .setOpen(1.0).setHigh(2.0).setLow(3.0).setClose(4.0).setSpread(new Price(5))
+                .setVolume(6, VolumeUnit.LOT).setTickCount(7).toImmutableFullMarketData();
+        final int hashCode = cut.hashCode();
+
+        assertThat(cut).isEqualTo(cut).isNotEqualTo(same);
+        assertThat(same).isNotEqualTo(cut);
+        assertThat(cut.toImmutableFullMarketData()).isEqualTo(same);
+
+        cut.setTickCount(8);
+        assertThat(cut.hashCode()).isEqualTo(hashCode);
+    }
+}
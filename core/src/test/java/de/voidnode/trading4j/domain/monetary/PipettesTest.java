@@ -0,0 +1,135 @@
+package de.voidnode.trading4j.domain.monetary;
+
+import java.util.Random;
+
+import de.voidnode.trading4j.domain.MarketDirection;
+import de.voidnode.trading4j.domain.Ratio;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks if {@link Pipettes} calculates the same results as the respective operations of {@link Price}.
+ *
+ * <p>
+ * Each property is checked for many random prices. The seed of the random numbers is fixed so that failures can be
+ * reproduced.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class PipettesTest {
+
+    private static final int SAMPLES = 10000;
+
+    private final Random random = new Random(4242);
+
+    /**
+     * Converting to and from pipettes should work like the constructors and {@link Price#asDouble()}.
+     */
+    @Test
+    public void conversionsShouldAgreeWithPrice() {
+        for (int i = 0; i < SAMPLES; i++) {
+            final double raw = randomDouble();
+            final long value = randomPrice();
+            final PriceUnit unit = randomUnit();
+
+            assertThat(Pipettes.of(raw)).isEqualTo(new Price(raw).asPipette());
+            assertThat(Pipettes.of(value, unit)).isEqualTo(new Price(value, unit).asPipette());
+            assertThat(Pipettes.asDouble(value)).isEqualTo(new Price(value).asDouble());
+        }
+    }
+
+    /**
+     * Additions, subtractions and the sign operations should work like the respective {@link Price} methods.
+     */
+    @Test
+    public void additiveOperationsShouldAgreeWithPrice() {
+        for (int i = 0; i < SAMPLES; i++) {
+            final long a = randomPrice();
+            final long b = randomPrice();
+            final int amount = random.nextInt(2000) - 1000;
+            final PriceUnit unit = randomUnit();
+
+            assertThat(Pipettes.plus(a, b)).isEqualTo(new Price(a).plus(new Price(b)).asPipette());
+            assertThat(Pipettes.plus(a, amount, unit)).isEqualTo(new Price(a).plus(amount, unit).asPipette());
+            assertThat(Pipettes.minus(a, b)).isEqualTo(new Price(a).minus(new Price(b)).asPipette());
+            assertThat(Pipettes.minus(a, amount, unit)).isEqualTo(new Price(a).minus(amount, unit).asPipette());
+            assertThat(Pipettes.inverse(a)).isEqualTo(new Price(a).inverse().asPipette());
+            assertThat(Pipettes.absolute(a)).isEqualTo(new Price(a).absolute().asPipette());
+        }
+    }
+
+    /**
+     * Operations with {@link Ratio}s should round exactly like the respective {@link Price} methods.
+     */
+    @Test
+    public void ratioOperationsShouldAgreeWithPrice() {
+        for (int i = 0; i < SAMPLES; i++) {
+            final long price = randomPrice();
+            final long divisor = randomPrice();
+            final Ratio ratio = new Ratio(random.nextDouble() * 4.0 - 2.0);
+
+            assertThat(Pipettes.plusRatio(price, ratio.asBasic())).isEqualTo(new Price(price).plus(ratio).asPipette());
+            assertThat(Pipettes.minusRatio(price, ratio.asBasic()))
+                    .isEqualTo(new Price(price).minus(ratio).asPipette());
+            assertThat(Pipettes.multiply(price, ratio.asBasic()))
+                    .isEqualTo(new Price(price).multiply(ratio).asPipette());
+            if (divisor != 0) {
+                assertThat(Pipettes.divide(price, divisor))
+                        .isEqualTo(new Price(price).divide(new Price(divisor)).asBasic());
+            }
+        }
+    }
+
+    /**
+     * Rounding of half pipettes should be the same as for {@link Price}.
+     */
+    @Test
+    public void roundingOfHalfPipettesShouldAgreeWithPrice() {
+        for (final long price : new long[] { 1, -1, 3, -3, 5, -5, 100001, -100001 }) {
+            assertThat(Pipettes.multiply(price, 0.5)).isEqualTo(new Price(price).multiply(new Ratio(0.5)).asPipette());
+            assertThat(Pipettes.plusRatio(price, 0.5)).isEqualTo(new Price(price).plus(new Ratio(0.5)).asPipette());
+            assertThat(Pipettes.minusRatio(price, 0.5)).isEqualTo(new Price(price).minus(new Ratio(0.5)).asPipette());
+        }
+    }
+
+    /**
+     * Comparisons should work like the respective {@link Price} methods.
+     */
+    @Test
+    public void comparisonsShouldAgreeWithPrice() {
+        for (int i = 0; i < SAMPLES; i++) {
+            // Small values to get many equal prices.
+            final long a = random.nextInt(21) - 10;
+            final long b = random.nextInt(21) - 10;
+            final long c = random.nextInt(21) - 10;
+
+            assertThat(Pipettes.isLessThan(a, b)).isEqualTo(new Price(a).isLessThan(new Price(b)));
+            assertThat(Pipettes.isGreaterThan(a, b)).isEqualTo(new Price(a).isGreaterThan(new Price(b)));
+            assertThat(Pipettes.compare(a, b)).isEqualTo(new Price(a).compareTo(new Price(b)));
+            assertThat(Pipettes.isBetweenInclusive(a, b, c))
+                    .isEqualTo(new Price(a).isBetweenInclusive(new Price(b), new Price(c)));
+            for (final MarketDirection direction : MarketDirection.values()) {
+                assertThat(Pipettes.isStrongerThan(a, b, direction))
+                        .isEqualTo(new Price(a).isStrongerThan(new Price(b), direction));
+                assertThat(Pipettes.isWeakerThan(a, b, direction))
+                        .isEqualTo(new Price(a).isWeakerThan(new Price(b), direction));
+            }
+        }
+    }
+
+    private long randomPrice() {
+        return random.nextInt(20000000) - 10000000;
+    }
+
+    private double randomDouble() {
+        return random.nextDouble() * 200.0 - 100.0;
+    }
+
+    private PriceUnit randomUnit() {
+        final PriceUnit[] units = PriceUnit.values();
+        return units[random.nextInt(units.length)];
+    }
+}
@@ -189,4 +189,31 @@ public class D1Test {
                 LocalDate.of(2007, Month.FEBRUARY, 6).atTime(16, 59, 51, 481).toInstant(ZoneOffset.ofHours(0))))
                 .isFalse();
     }
+
+    /**
+     * The start of a time frame in seconds since the epoch matches the rules for days in London time across daylight
+     * saving time transitions.
+     */
+    @Test
+    public void startOfFrameInEpochSecondsFollowsDaylightSavingTime() {
+        final D1 cut = new D1();
+
+        // Tuesday in British Summer Time
+        assertThat(cut.startOfFrame(LocalDate.of(2014, Month.JUNE, 17).atTime(15, 21, 35).toEpochSecond(
+                ZoneOffset.ofHours(1)))).isEqualTo(
+                LocalDate.of(2014, Month.JUNE, 17).atTime(0, 0).toEpochSecond(ZoneOffset.ofHours(1)));
+
+        // Monday after the clock change starts on Sunday 22:00 o'clock Greenwich Mean Time
+        assertThat(cut.startOfFrame(LocalDate.of(2014, Month.OCTOBER, 27).atTime(9, 0).toEpochSecond(
+                ZoneOffset.ofHours(0)))).isEqualTo(
+                LocalDate.of(2014, Month.OCTOBER, 26).atTime(22, 0).toEpochSecond(ZoneOffset.ofHours(0)));
+
+        // Sunday of the clock change started in British Summer Time
+        assertThat(cut.startOfFrame(LocalDate.of(2014, Month.OCTOBER, 26).atTime(12, 0).toEpochSecond(
+                ZoneOffset.ofHours(0)))).isEqualTo(
+                LocalDate.of(2014, Month.OCTOBER, 26).atTime(0, 0).toEpochSecond(ZoneOffset.ofHours(1)));
+        assertThat(cut.startOfNextFrame(LocalDate.of(2014, Month.MARCH, 30).atTime(0, 26).toEpochSecond(
+                ZoneOffset.ofHours(0)))).isEqualTo(
+                LocalDate.of(2014, Month.MARCH, 30).atTime(22, 0).toEpochSecond(ZoneOffset.ofHours(1)));
+    }
 }
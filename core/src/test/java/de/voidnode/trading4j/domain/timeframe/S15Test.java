@@ -0,0 +1,65 @@
+package de.voidnode.trading4j.domain.timeframe;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+
+import static java.time.ZoneOffset.UTC;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks if the {@link TimeFrame} {@link S15} works as expected.
+ * 
+ * @author Raik Bieniek
+ */
+public class S15Test {
+
+    /**
+     * Two instants are in the same {@link S15} time frame when all fields higher than seconds are the same and both
+     * instants are between the last second that has <code>s % 15 = 0</code> inclusive and <code>s + 15</code>
+     * exclusive.
+     *
+     * <p>
+     * Time frames start at seconds 0, 15, 30 and 45.
+     * </p>
+     */
+    @Test
+    public void s15InstantsAreInSameTimeFrameWhenTheyAreInTheSame15SecondFrame() {
+        final S15 cut = new S15();
+
+        final LocalDate someDay = LocalDate.of(2016, Month.MARCH, 4);
+
+        assertThat(cut.areInSameTimeFrame(someDay.atTime(9, 41, 15, 0).toInstant(UTC),
+                someDay.atTime(9, 41, 29, 999999999).toInstant(UTC))).isTrue();
+        assertThat(cut.areInSameTimeFrame(someDay.atTime(22, 0, 44, 12).toInstant(UTC),
+                someDay.atTime(22, 0, 43, 0).toInstant(UTC))).isTrue();
+
+        assertThat(cut.areInSameTimeFrame(someDay.atTime(9, 41, 29, 999999999).toInstant(UTC),
+                someDay.atTime(9, 41, 30, 0).toInstant(UTC))).isFalse();
+        assertThat(cut.areInSameTimeFrame(someDay.atTime(9, 41, 15, 0).toInstant(UTC),
+                someDay.atTime(9, 42, 15, 0).toInstant(UTC))).isFalse();
+        assertThat(cut.areInSameTimeFrame(someDay.atTime(9, 41, 15, 0).toInstant(UTC),
+                someDay.plusDays(1).atTime(9, 41, 15, 0).toInstant(UTC))).isFalse();
+    }
+
+    /**
+     * {@link S15#instantOfNextFrame(Instant)} should return the earliest {@link Instant} that is later than the
+     * {@link Instant} passed and thats seconds are a multiple of 15.
+     */
+    @Test
+    public void s15InstantOfNextFrameShouldReturnTheNextInstantThatsSecondsAreAMultipleOf15() {
+        final S15 cut = new S15();
+
+        final LocalDate someDay = LocalDate.of(2016, Month.MARCH, 4);
+
+        assertThat(cut.instantOfNextFrame(someDay.atTime(9, 41, 3, 0).toInstant(UTC)))
+                .isEqualTo(someDay.atTime(9, 41, 15, 0).toInstant(UTC));
+        assertThat(cut.instantOfNextFrame(someDay.atTime(9, 41, 15, 0).toInstant(UTC)))
+                .isEqualTo(someDay.atTime(9, 41, 30, 0).toInstant(UTC));
+        assertThat(cut.instantOfNextFrame(someDay.atTime(23, 59, 46, 500).toInstant(UTC)))
+                .isEqualTo(someDay.plusDays(1).atTime(0, 0, 0, 0).toInstant(UTC));
+    }
+}
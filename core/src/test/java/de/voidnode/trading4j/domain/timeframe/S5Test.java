@@ -0,0 +1,64 @@
+package de.voidnode.trading4j.domain.timeframe;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+
+import static java.time.ZoneOffset.UTC;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks if the {@link TimeFrame} {@link S5} works as expected.
+ * 
+ * @author Raik Bieniek
+ */
+public class S5Test {
+
+    /**
+     * Two instants are in the same {@link S5} time frame when all fields higher than seconds are the same and both
+     * instants are between the last second that has <code>s % 5 = 0</code> inclusive and <code>s + 5</code> exclusive.
+     *
+     * <p>
+     * Time frames start at seconds 0, 5, 10, ..., 50 and 55.
+     * </p>
+     */
+    @Test
+    public void s5InstantsAreInSameTimeFrameWhenTheyAreInTheSame5SecondFrame() {
+        final S5 cut = new S5();
+
+        final LocalDate someDay = LocalDate.of(2016, Month.MARCH, 4);
+
+        assertThat(cut.areInSameTimeFrame(someDay.atTime(9, 41, 10, 0).toInstant(UTC),
+                someDay.atTime(9, 41, 14, 999999999).toInstant(UTC))).isTrue();
+        assertThat(cut.areInSameTimeFrame(someDay.atTime(22, 0, 34, 12).toInstant(UTC),
+                someDay.atTime(22, 0, 33, 0).toInstant(UTC))).isTrue();
+
+        assertThat(cut.areInSameTimeFrame(someDay.atTime(9, 41, 14, 999999999).toInstant(UTC),
+                someDay.atTime(9, 41, 15, 0).toInstant(UTC))).isFalse();
+        assertThat(cut.areInSameTimeFrame(someDay.atTime(9, 41, 10, 0).toInstant(UTC),
+                someDay.atTime(9, 42, 10, 0).toInstant(UTC))).isFalse();
+        assertThat(cut.areInSameTimeFrame(someDay.atTime(9, 41, 10, 0).toInstant(UTC),
+                someDay.plusDays(1).atTime(9, 41, 10, 0).toInstant(UTC))).isFalse();
+    }
+
+    /**
+     * {@link S5#instantOfNextFrame(Instant)} should return the earliest {@link Instant} that is later than the
+     * {@link Instant} passed and thats seconds are a multiple of 5.
+     */
+    @Test
+    public void s5InstantOfNextFrameShouldReturnTheNextInstantThatsSecondsAreAMultipleOf5() {
+        final S5 cut = new S5();
+
+        final LocalDate someDay = LocalDate.of(2016, Month.MARCH, 4);
+
+        assertThat(cut.instantOfNextFrame(someDay.atTime(9, 41, 12, 0).toInstant(UTC)))
+                .isEqualTo(someDay.atTime(9, 41, 15, 0).toInstant(UTC));
+        assertThat(cut.instantOfNextFrame(someDay.atTime(9, 41, 15, 0).toInstant(UTC)))
+                .isEqualTo(someDay.atTime(9, 41, 20, 0).toInstant(UTC));
+        assertThat(cut.instantOfNextFrame(someDay.atTime(23, 59, 57, 500).toInstant(UTC)))
+                .isEqualTo(someDay.plusDays(1).atTime(0, 0, 0, 0).toInstant(UTC));
+    }
+}
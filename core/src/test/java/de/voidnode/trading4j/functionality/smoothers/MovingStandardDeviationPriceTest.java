@@ -0,0 +1,42 @@
+package de.voidnode.trading4j.functionality.smoothers;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.util.Arrays.stream;
+import static java.util.Optional.empty;
+import static java.util.stream.Collectors.toList;
+
+import de.voidnode.trading4j.domain.monetary.Price;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks if {@link MovingStandardDeviationPrice} works as expected.
+ *
+ * @author Raik Bieniek
+ */
+public class MovingStandardDeviationPriceTest {
+
+    /**
+     * The cut should return the standard deviation of the most recent {@link Price}s rounded to full pipettes.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void providesTheStandardDeviationOfTheMostRecentPrices() {
+        final Stream<Price> inputPrices = stream(new long[] { 20, 40, 40, 40, 50, 50, 70, 90 })
+                .mapToObj(p -> new Price(p));
+
+        final MovingStandardDeviationPrice cut = new MovingStandardDeviationPrice(4);
+        final List<Optional<Price>> prices = inputPrices.map(p -> cut.smooth(p)).collect(toList());
+        assertThat(prices).containsExactly(empty(), empty(), empty(), opt(new Price(9)), opt(new Price(4)),
+                opt(new Price(5)), opt(new Price(11)), opt(new Price(17)));
+    }
+
+    private <T> Optional<T> opt(final T value) {
+        return Optional.of(value);
+    }
+}
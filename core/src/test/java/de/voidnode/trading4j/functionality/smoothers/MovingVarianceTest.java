@@ -0,0 +1,75 @@
+package de.voidnode.trading4j.functionality.smoothers;
+
+import org.assertj.core.data.Offset;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks if {@link MovingVariance} works as expected.
+ *
+ * @author Raik Bieniek
+ */
+public class MovingVarianceTest {
+
+    private static final Offset<Double> ALLOWED_OFFSET = Offset.offset(0.000001);
+
+    /**
+     * The cut provides the mean and the population variance of the most recent values once enough values were added.
+     */
+    @Test
+    public void providesMeanAndVarianceOfTheMostRecentValues() {
+        final MovingVariance cut = new MovingVariance(4);
+
+        assertThat(cut.add(2)).isFalse();
+        assertThat(cut.add(4)).isFalse();
+        assertThat(cut.add(4)).isFalse();
+        assertThat(cut.add(4)).isTrue();
+        assertThat(cut.getMean()).isEqualTo(3.5, ALLOWED_OFFSET);
+        assertThat(cut.getVariance()).isEqualTo(0.75, ALLOWED_OFFSET);
+
+        cut.add(5);
+        cut.add(5);
+        cut.add(7);
+        assertThat(cut.add(9)).isTrue();
+        assertThat(cut.getMean()).isEqualTo(6.5, ALLOWED_OFFSET);
+        assertThat(cut.getVariance()).isEqualTo(2.75, ALLOWED_OFFSET);
+        assertThat(cut.getStandardDeviation()).isEqualTo(Math.sqrt(2.75), ALLOWED_OFFSET);
+    }
+
+    /**
+     * The variance of equal values is exactly 0 even after the values before them differed.
+     */
+    @Test
+    public void varianceOfEqualValuesIsZero() {
+        final MovingVariance cut = new MovingVariance(3);
+        cut.add(130017);
+        cut.add(129983);
+        cut.add(130101);
+
+        cut.add(130000);
+        cut.add(130000);
+        cut.add(130000);
+
+        assertThat(cut.getMean()).isEqualTo(130000, ALLOWED_OFFSET);
+        assertThat(cut.getVariance()).isEqualTo(0, ALLOWED_OFFSET);
+    }
+
+    /**
+     * The mean and the variance stay correct when far more values than the amount to aggregate were added.
+     */
+    @Test
+    public void staysCorrectAfterManyMoreValuesThanAggregated() {
+        final MovingVariance cut = new MovingVariance(3);
+        for (int i = 0; i < 200000; i++) {
+            cut.add(130000 + (i * 7919) % 200);
+        }
+
+        cut.add(130001);
+        cut.add(130002);
+        cut.add(130003);
+
+        assertThat(cut.getMean()).isEqualTo(130002, ALLOWED_OFFSET);
+        assertThat(cut.getVariance()).isEqualTo(2.0 / 3.0, ALLOWED_OFFSET);
+    }
+}
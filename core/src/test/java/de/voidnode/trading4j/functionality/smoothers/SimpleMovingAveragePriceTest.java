@@ -52,6 +52,21 @@ public class SimpleMovingAveragePriceTest {
         assertThat(prices).containsExactly(empty(), empty(), empty(), opt(new Price(14.5)), opt(new Price(18.25)));
     }
 
+    /**
+     * The average should stay correct when far more {@link Price}s than the amount to aggregate were passed.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void providesTheAverageAfterManyMorePricesThanAggregated() {
+        final SimpleMovingAveragePrice cut = new SimpleMovingAveragePrice(3);
+        for (int i = 1; i <= 100; i++) {
+            cut.smooth(new Price(i));
+        }
+
+        assertThat(cut.smooth(new Price(101))).isEqualTo(opt(new Price(100)));
+        assertThat(cut.smooth(new Price(0))).isEqualTo(opt(new Price(67)));
+    }
+
     private <T> Optional<T> opt(final T value) {
         return Optional.of(value);
     }
@@ -2,6 +2,7 @@ package de.voidnode.trading4j.functionality.smoothers;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.stream;
@@ -59,4 +60,72 @@ public class SimpleMovingAverageRatioTest {
         assertThat(ratios.get(3).get()).isApproximatelyEqualTo(new Ratio(0.145), ALLOWED_OFFSET);
         assertThat(ratios.get(4).get()).isApproximatelyEqualTo(new Ratio(0.1825), ALLOWED_OFFSET);
     }
+
+    /**
+     * The average should stay correct when far more {@link Ratio}s than the amount to aggregate were passed.
+     */
+    @Test
+    public void providesTheAverageAfterManyMoreRatiosThanAggregated() {
+        final SimpleMovingAverageRatio cut = new SimpleMovingAverageRatio(3);
+        for (int i = 1; i <= 100; i++) {
+            cut.smooth(new Ratio(i / 100.0));
+        }
+
+        assertThat(cut.smooth(new Ratio(1.01)).get()).isApproximatelyEqualTo(new Ratio(1.0), ALLOWED_OFFSET);
+        assertThat(cut.smooth(new Ratio(0.0)).get()).isApproximatelyEqualTo(new Ratio(0.67), ALLOWED_OFFSET);
+    }
+
+    /**
+     * Rounding errors of the running sum should not accumulate over a long series of {@link Ratio}s.
+     */
+    @Test
+    public void doesNotAccumulateRoundingErrors() {
+        final SimpleMovingAverageRatio cut = new SimpleMovingAverageRatio(3);
+        // Removing these from the running sum loses the digits of the small ratios added meanwhile.
+        for (int i = 1; i <= 10; i++) {
+            cut.smooth(new Ratio(1e15 / i));
+        }
+        for (int i = 0; i < 100_000; i++) {
+            cut.smooth(new Ratio(0.01));
+        }
+        cut.smooth(new Ratio(0.02));
+
+        assertThat(cut.smooth(new Ratio(0.03)).get()).isApproximatelyEqualTo(new Ratio(0.02), ALLOWED_OFFSET);
+    }
+
+    /**
+     * The average should be exact right after {@link Ratio}s of a much higher magnitude left the window.
+     */
+    @Test
+    public void staysExactAfterMuchLargerRatiosLeftTheWindow() {
+        final SimpleMovingAverageRatio cut = new SimpleMovingAverageRatio(3);
+        for (int i = 1; i <= 10; i++) {
+            cut.smooth(new Ratio(1e15 / i));
+        }
+        for (int i = 0; i < 1000; i++) {
+            cut.smooth(new Ratio(0.01));
+        }
+
+        assertThat(cut.smooth(new Ratio(0.01)).get().asBasic()).isEqualTo(0.01, Offset.offset(1e-15));
+    }
+
+    /**
+     * The average should match the average of the window summed up from scratch for arbitrary {@link Ratio}s.
+     */
+    @Test
+    public void matchesTheAverageOfTheWindowSummedUpFromScratch() {
+        final int period = 20;
+        final SimpleMovingAverageRatio cut = new SimpleMovingAverageRatio(period);
+        final Random random = new Random(42);
+        final double[] window = new double[period];
+        for (int i = 0; i < 10_000; i++) {
+            final double ratio = random.nextDouble() * Math.pow(10, random.nextInt(16) - 8);
+            window[i % period] = ratio;
+            final Optional<Ratio> average = cut.smooth(new Ratio(ratio));
+            if (i >= period - 1) {
+                final double expected = stream(window).sum() / period;
+                assertThat(average.get().asBasic()).isEqualTo(expected, Offset.offset(Math.ulp(expected) * 4));
+            }
+        }
+    }
 }
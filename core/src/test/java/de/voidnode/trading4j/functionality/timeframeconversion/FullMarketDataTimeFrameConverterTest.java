@@ -53,23 +53,19 @@ public class FullMarketDataTimeFrameConverterTest {
      */
     @Before
     public void setUpCut() {
-        when(inputTimeFrame.instantOfNextFrame(firstTime.minusSeconds(60))).thenReturn(firstTime);
-        when(inputTimeFrame.instantOfNextFrame(firstTime)).thenReturn(firstTime.plusSeconds(60));
-        when(inputTimeFrame.instantOfNextFrame(firstTime.plusSeconds(60))).thenReturn(firstTime.plusSeconds(120));
-        when(inputTimeFrame.instantOfNextFrame(firstTime.plusSeconds(120))).thenReturn(firstTime.plusSeconds(180));
-        when(inputTimeFrame.instantOfNextFrame(firstTime.plusSeconds(180))).thenReturn(firstTime.plusSeconds(240));
-        when(inputTimeFrame.instantOfNextFrame(firstTime.plusSeconds(240))).thenReturn(firstTime.plusSeconds(300));
-
-        when(outputTimeFrame.areInSameTimeFrame(firstTime.minusSeconds(60), firstTime)).thenReturn(false);
-        when(outputTimeFrame.areInSameTimeFrame(firstTime, firstTime.plusSeconds(60))).thenReturn(true);
-        when(outputTimeFrame.areInSameTimeFrame(firstTime.plusSeconds(60), firstTime.plusSeconds(120)))
-                .thenReturn(false);
-        when(outputTimeFrame.areInSameTimeFrame(firstTime.plusSeconds(120), firstTime.plusSeconds(180)))
-                .thenReturn(true);
-        when(outputTimeFrame.areInSameTimeFrame(firstTime.plusSeconds(180), firstTime.plusSeconds(240)))
-                .thenReturn(true);
-        when(outputTimeFrame.areInSameTimeFrame(firstTime.plusSeconds(240), firstTime.plusSeconds(300)))
-                .thenReturn(false);
+        final long first = firstTime.getEpochSecond();
+        for (long time = first - 60; time <= first + 240; time += 60) {
+            when(inputTimeFrame.startOfNextFrame(time)).thenReturn(time + 60);
+        }
+
+        // The output frames are [-60], [0, 60], [120, 180, 240] and [300] relative to the first time.
+        when(outputTimeFrame.startOfFrame(first - 60)).thenReturn(first - 60);
+        when(outputTimeFrame.startOfFrame(first)).thenReturn(first);
+        when(outputTimeFrame.startOfFrame(first + 60)).thenReturn(first);
+        when(outputTimeFrame.startOfFrame(first + 120)).thenReturn(first + 120);
+        when(outputTimeFrame.startOfFrame(first + 180)).thenReturn(first + 120);
+        when(outputTimeFrame.startOfFrame(first + 240)).thenReturn(first + 120);
+        when(outputTimeFrame.startOfFrame(first + 300)).thenReturn(first + 300);
 
         cut = new FullMarketDataTimeFrameConverter<>(inputTimeFrame, outputTimeFrame);
     }
@@ -0,0 +1,127 @@
+package de.voidnode.trading4j.functionality.timeframeconversion;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.voidnode.trading4j.domain.Volume;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.marketdata.impl.MutableFullMarketData;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.timeframe.H1;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.domain.timeframe.M15;
+import de.voidnode.trading4j.domain.timeframe.M5;
+
+import static de.voidnode.trading4j.domain.VolumeUnit.BASE;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks if {@link MultiTimeFrameConverter} works as expected.
+ *
+ * @author Raik Bieniek
+ */
+public class MultiTimeFrameConverterTest {
+
+    /**
+     * 1970-01-01T10:00:00Z.
+     */
+    private static final Instant TEN_O_CLOCK = Instant.EPOCH.plusSeconds(10 * 60 * 60);
+
+    private final MultiTimeFrameConverter cut = new MultiTimeFrameConverter();
+
+    private final List<FullMarketData<M5>> m5 = new ArrayList<>();
+    private final List<FullMarketData<M15>> m15 = new ArrayList<>();
+    private final List<FullMarketData<H1>> h1 = new ArrayList<>();
+
+    /**
+     * The cut aggregates the {@link M1} candle sticks to all time frames it has listeners for.
+     */
+    @Test
+    public void aggregatesM1CandleSticksToAllTimeFrames() {
+        registerListeners();
+
+        // 09:59 belongs to an incomplete frame and is dropped.
+        for (int minute = -1; minute < 60; minute++) {
+            cut.newData(m1(minute, 1.0 + minute * 0.0001, 10, 2));
+        }
+
+        assertThat(m5).hasSize(12);
+        assertThat(m15).hasSize(4);
+        assertThat(h1).hasSize(1);
+
+        final FullMarketData<M5> firstM5 = m5.get(0);
+        assertThat(firstM5.getTime()).isEqualTo(TEN_O_CLOCK);
+        assertThat(firstM5.getOpen()).isEqualTo(new Price(1.0));
+        assertThat(firstM5.getClose()).isEqualTo(new Price(1.0004));
+        assertThat(firstM5.getVolume()).isEqualTo(new Volume(50, BASE));
+
+        final FullMarketData<H1> hour = h1.get(0);
+        assertThat(hour.getTime()).isEqualTo(TEN_O_CLOCK);
+        assertThat(hour.getOpen()).isEqualTo(new Price(1.0));
+        assertThat(hour.getHigh()).isEqualTo(new Price(1.0059 + 0.0002));
+        assertThat(hour.getLow()).isEqualTo(new Price(1.0 - 0.0002));
+        assertThat(hour.getClose()).isEqualTo(new Price(1.0059));
+        assertThat(hour.getVolume()).isEqualTo(new Volume(600, BASE));
+        assertThat(hour.getTickCount()).isEqualTo(120);
+    }
+
+    /**
+     * The spread of a larger time frame is the average of all {@link M1} spreads and not the average of the averages
+     * of the time frame below.
+     */
+    @Test
+    public void spreadIsAveragedOverAllM1CandleSticks() {
+        registerListeners();
+
+        cut.newData(m1(-1, 1.0, 1, 1));
+        // The first M5 candle stick has 1 M1 candle stick with a spread of 100 pipettes, the second 5 with 10.
+        cut.newData(m1(4, 1.0, 1, 1, 100));
+        for (int minute = 5; minute < 10; minute++) {
+            cut.newData(m1(minute, 1.0, 1, 1, 10));
+        }
+        // The next M5 candle stick completes the first M15 candle stick.
+        cut.newData(m1(19, 1.0, 1, 1, 10));
+
+        assertThat(m5.get(0).getSpread()).isEqualTo(new Price(100));
+        assertThat(m5.get(1).getSpread()).isEqualTo(new Price(10));
+        assertThat(m15.get(0).getSpread()).isEqualTo(new Price(25));
+    }
+
+    /**
+     * A candle stick whose last {@link M1} candle stick is missing is published when the next frame starts.
+     */
+    @Test
+    public void publishesIncompleteFramesWhenTheNextFrameStarts() {
+        registerListeners();
+
+        cut.newData(m1(-1, 1.0, 1, 1));
+        cut.newData(m1(0, 1.0, 1, 1));
+        cut.newData(m1(3, 1.0, 1, 1));
+        assertThat(m5).isEmpty();
+
+        cut.newData(m1(7, 1.0, 1, 1));
+        assertThat(m5).hasSize(1);
+        assertThat(m5.get(0).getVolume()).isEqualTo(new Volume(2, BASE));
+    }
+
+    private void registerListeners() {
+        cut.addM5Listener(m5::add);
+        cut.addM15Listener(m15::add);
+        cut.addH1Listener(h1::add);
+    }
+
+    private FullMarketData<M1> m1(final int minute, final double open, final long volume, final long tickCount) {
+        return m1(minute, open, volume, tickCount, 10);
+    }
+
+    private FullMarketData<M1> m1(final int minute, final double open, final long volume, final long tickCount,
+            final long spread) {
+        return new MutableFullMarketData<M1>().setTime(TEN_O_CLOCK.plusSeconds(minute * 60)).setOpen(open)
+                .setHigh(open + 0.0002).setLow(open - 0.0002).setClose(open).setVolume(volume, BASE)
+                .setTickCount(tickCount).setSpread(new Price(spread)).toImmutableFullMarketData();
+    }
+}
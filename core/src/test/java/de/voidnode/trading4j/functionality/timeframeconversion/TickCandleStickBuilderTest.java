@@ -0,0 +1,134 @@
+package de.voidnode.trading4j.functionality.timeframeconversion;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.voidnode.trading4j.domain.Volume;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.domain.timeframe.S15;
+
+import static de.voidnode.trading4j.domain.VolumeUnit.BASE;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks if {@link TickCandleStickBuilder} works as expected.
+ *
+ * @author Raik Bieniek
+ */
+public class TickCandleStickBuilderTest {
+
+    /**
+     * 2016-03-04T21:59:00Z, the last minute before the market closes for the weekend.
+     */
+    private static final Instant FRIDAY_CLOSE = Instant.parse("2016-03-04T21:59:00Z");
+
+    private final List<FullMarketData<M1>> m1 = new ArrayList<>();
+    private final TickCandleStickBuilder<M1> cut = new TickCandleStickBuilder<>(new M1(), m1::add);
+
+    /**
+     * The cut builds candle sticks of the bid prices with the average spread and the number of ticks received.
+     */
+    @Test
+    public void buildsCandleSticksFromTheBidPricesOfTheTicks() {
+        cut.newTick(FRIDAY_CLOSE.minusSeconds(1), new Price(100000), new Price(100010), 1);
+
+        cut.newTick(FRIDAY_CLOSE, new Price(100020), new Price(100030), 1);
+        cut.newTick(FRIDAY_CLOSE.plusSeconds(10), new Price(100050), new Price(100070), 2);
+        cut.newTick(FRIDAY_CLOSE.plusSeconds(20), new Price(99990), new Price(100020), 3);
+        cut.newTick(FRIDAY_CLOSE.plusSeconds(59), new Price(100040), new Price(100060), 4);
+        assertThat(m1).isEmpty();
+
+        cut.newTick(FRIDAY_CLOSE.plusSeconds(60), new Price(100040), new Price(100050), 1);
+
+        assertThat(m1).hasSize(1);
+        final FullMarketData<M1> candleStick = m1.get(0);
+        assertThat(candleStick.getTime()).isEqualTo(FRIDAY_CLOSE);
+        assertThat(candleStick.getOpen()).isEqualTo(new Price(100020));
+        assertThat(candleStick.getHigh()).isEqualTo(new Price(100050));
+        assertThat(candleStick.getLow()).isEqualTo(new Price(99990));
+        assertThat(candleStick.getClose()).isEqualTo(new Price(100040));
+        assertThat(candleStick.getSpread()).isEqualTo(new Price(20));
+        assertThat(candleStick.getVolume()).isEqualTo(new Volume(10, BASE));
+        assertThat(candleStick.getTickCount()).isEqualTo(4);
+    }
+
+    /**
+     * The cut drops the first frame as it is unknown if all its ticks were received.
+     */
+    @Test
+    public void dropsTheFirstFrame() {
+        cut.newTick(FRIDAY_CLOSE, new Price(100000), new Price(100010), 1);
+        cut.newTick(FRIDAY_CLOSE.plusSeconds(60), new Price(100000), new Price(100010), 1);
+        cut.newTick(FRIDAY_CLOSE.plusSeconds(120), new Price(100000), new Price(100010), 1);
+
+        assertThat(m1).hasSize(1);
+        assertThat(m1.get(0).getTime()).isEqualTo(FRIDAY_CLOSE.plusSeconds(60));
+    }
+
+    /**
+     * Frames without ticks like those of the weekend produce no candle sticks.
+     */
+    @Test
+    public void buildsNoCandleSticksForGaps() {
+        final Instant sundayOpen = Instant.parse("2016-03-06T22:00:00Z");
+
+        cut.newTick(FRIDAY_CLOSE.minusSeconds(1), new Price(100000), new Price(100010), 1);
+        cut.newTick(FRIDAY_CLOSE, new Price(100000), new Price(100010), 1);
+        cut.newTick(sundayOpen.plusSeconds(3), new Price(100100), new Price(100110), 1);
+        cut.newTick(sundayOpen.plusSeconds(60), new Price(100100), new Price(100110), 1);
+
+        assertThat(m1).hasSize(2);
+        assertThat(m1.get(0).getTime()).isEqualTo(FRIDAY_CLOSE);
+        assertThat(m1.get(1).getTime()).isEqualTo(sundayOpen);
+    }
+
+    /**
+     * When the time passed the end of a frame the candle stick is completed without waiting for the next tick. Ticks
+     * that are received too late for it are ignored.
+     */
+    @Test
+    public void completesCandleSticksWhenTheirFrameHasEnded() {
+        cut.newTick(FRIDAY_CLOSE.minusSeconds(1), new Price(100000), new Price(100010), 1);
+        cut.newTick(FRIDAY_CLOSE, new Price(100000), new Price(100010), 1);
+
+        cut.timePassed(FRIDAY_CLOSE.plusSeconds(59));
+        assertThat(m1).isEmpty();
+
+        cut.timePassed(FRIDAY_CLOSE.plusSeconds(60));
+        assertThat(m1).hasSize(1);
+        assertThat(m1.get(0).getTickCount()).isEqualTo(1);
+
+        cut.newTick(FRIDAY_CLOSE.plusSeconds(59), new Price(100000), new Price(100010), 1);
+        cut.timePassed(FRIDAY_CLOSE.plusSeconds(61));
+        cut.newTick(FRIDAY_CLOSE.plusSeconds(62), new Price(100000), new Price(100010), 1);
+        cut.newTick(FRIDAY_CLOSE.plusSeconds(120), new Price(100000), new Price(100010), 1);
+        assertThat(m1).hasSize(2);
+        assertThat(m1.get(1).getTime()).isEqualTo(FRIDAY_CLOSE.plusSeconds(60));
+    }
+
+    /**
+     * The cut can build candle sticks of sub-minute time frames.
+     */
+    @Test
+    public void buildsSubMinuteCandleSticks() {
+        final List<FullMarketData<S15>> s15 = new ArrayList<>();
+        final TickCandleStickBuilder<S15> s15Cut = new TickCandleStickBuilder<>(new S15(), s15::add);
+
+        for (int second = -1; second <= 45; second += 2) {
+            s15Cut.newTick(FRIDAY_CLOSE.plusSeconds(second), new Price(100000 + second), new Price(100010 + second),
+                    1);
+        }
+
+        assertThat(s15).hasSize(3);
+        assertThat(s15.get(1).getTime()).isEqualTo(FRIDAY_CLOSE.plusSeconds(15));
+        assertThat(s15.get(1).getOpen()).isEqualTo(new Price(100015));
+        assertThat(s15.get(1).getClose()).isEqualTo(new Price(100029));
+        assertThat(s15.get(1).getTickCount()).isEqualTo(8);
+    }
+}
@@ -1,13 +1,11 @@
 package de.voidnode.trading4j.functionality.timeframeconversion;
 
-import java.util.Optional;
-
 import de.voidnode.trading4j.api.ExpertAdvisor;
+import de.voidnode.trading4j.api.MarketDataListener;
 import de.voidnode.trading4j.domain.marketdata.impl.DatedCandleStick;
 import de.voidnode.trading4j.domain.timeframe.M1;
 import de.voidnode.trading4j.domain.timeframe.M15;
 
-import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -15,8 +13,9 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
 
 /**
  * Checks if {@link TimeFrameConvertingExpertAdvisor} works as expected.
@@ -50,14 +49,6 @@ public class TimeFrameConvertingExpertAdvisorTest {
     @Mock
     private DatedCandleStick<M15> someOutput2;
 
-    /**
-     * Set up default behavior of the mocks.
-     */
-    @Before
-    public void setUpMocks() {
-        when(converter.aggregate(any())).thenReturn(Optional.empty());
-    }
-
     /**
      * The cut passes all market data to the {@link TimeFrameConverter}.
      */
@@ -66,8 +57,8 @@ public class TimeFrameConvertingExpertAdvisorTest {
         cut.newData(someInput1);
         cut.newData(someInput2);
 
-        verify(converter).aggregate(someInput1);
-        verify(converter).aggregate(someInput2);
+        verify(converter).aggregate(eq(someInput1), any());
+        verify(converter).aggregate(eq(someInput2), any());
     }
 
     /**
@@ -75,8 +66,8 @@ public class TimeFrameConvertingExpertAdvisorTest {
      */
     @Test
     public void passesOnlyCompletlyAggregateMarketDataToOriginalExpertAdvisor() {
-        when(converter.aggregate(someInput1)).thenReturn(Optional.of(someOutput1));
-        when(converter.aggregate(someInput3)).thenReturn(Optional.of(someOutput2));
+        completes(someInput1, someOutput1);
+        completes(someInput3, someOutput2);
 
         cut.newData(someInput1);
         cut.newData(someInput2);
@@ -85,4 +76,12 @@ public class TimeFrameConvertingExpertAdvisorTest {
         verify(inputExpertAdvisor).newData(someOutput1);
         verify(inputExpertAdvisor).newData(someOutput2);
     }
+
+    @SuppressWarnings("unchecked")
+    private void completes(final DatedCandleStick<M1> input, final DatedCandleStick<M15> output) {
+        doAnswer(invocation -> {
+            ((MarketDataListener<DatedCandleStick<M15>>) invocation.getArguments()[1]).newData(output);
+            return null;
+        }).when(converter).aggregate(eq(input), any());
+    }
 }
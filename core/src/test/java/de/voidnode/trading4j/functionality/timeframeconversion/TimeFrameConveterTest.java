@@ -68,7 +68,8 @@ public class TimeFrameConveterTest {
         }
 
         for (int i = 0; i < CANDLE_STICK_COUNT - 1; i++) {
-            when(m5Tf.instantOfNextFrame(testCandleStickTimes[i])).thenReturn(testCandleStickTimes[i + 1]);
+            when(m5Tf.startOfNextFrame(testCandleStickTimes[i].getEpochSecond()))
+                    .thenReturn(testCandleStickTimes[i + 1].getEpochSecond());
         }
     }
 
@@ -93,11 +94,7 @@ public class TimeFrameConveterTest {
                         { 1.1, 1.5, 1.0, 1.4 }, // 5
         });
 
-        final boolean[] areInSameTimeFrame = new boolean[] { false, true, false, true, true, false };
-        for (int i = 0; i < areInSameTimeFrame.length - 1; i++) {
-            when(m30Tf.areInSameTimeFrame(testCandleStickTimes[i], testCandleStickTimes[i + 1]))
-                    .thenReturn(areInSameTimeFrame[i]);
-        }
+        stubM30Frames(false, true, false, true, true, false);
 
         final List<DatedCandleStick<M30>> output = candleData.map(in -> cut.aggregate(in)).filter(Optional::isPresent)
                 .map(out -> out.get()).collect(toList());
@@ -113,7 +110,7 @@ public class TimeFrameConveterTest {
 
     /**
      * Until the first {@link DatedCandleStick} is in a different time frame shown by
-     * {@link TimeFrame#areInSameTimeFrame(Instant, Instant)}, all input {@link DatedCandleStick}s should be discarded.
+     * {@link TimeFrame#startOfFrame(long)}, all input {@link DatedCandleStick}s should be discarded.
      */
     @Test
     public void shouldDiscardPassedCandleStickUntilFirstOfNewFrameOccures() {
@@ -128,11 +125,7 @@ public class TimeFrameConveterTest {
                         { 1.0, 1.1, 1.9, 1.3 }, // 4
         });
 
-        final boolean[] areInSameTimeFrame = new boolean[] { true, false, true, true, false };
-        for (int i = 0; i < areInSameTimeFrame.length - 1; i++) {
-            when(m30Tf.areInSameTimeFrame(testCandleStickTimes[i], testCandleStickTimes[i + 1]))
-                    .thenReturn(areInSameTimeFrame[i]);
-        }
+        stubM30Frames(true, false, true, true, false);
 
         final List<DatedCandleStick<M30>> output = candleData.map(in -> cut.aggregate(in)).filter(Optional::isPresent)
                 .map(out -> out.get()).collect(toList());
@@ -146,7 +139,7 @@ public class TimeFrameConveterTest {
     // /////////////////
 
     /**
-     * When the {@link TimeFrame#instantOfNextFrame(Instant)} of the smaller time frame in call <code>n</code> should be
+     * When the {@link TimeFrame#startOfNextFrame(long)} of the smaller time frame in call <code>n</code> should be
      * in the same time frame as time of the current {@link DatedCandleStick} but the time of the
      * {@link DatedCandleStick} of call <code>n + 1</code> is in a different time frame than the time of of the
      * {@link DatedCandleStick} <code>n</code> the time frame should be closed at the candle <code>n</code> an the
@@ -167,12 +160,7 @@ public class TimeFrameConveterTest {
         }).collect(toList());
         final List<DatedCandleStick<M30>> output = new LinkedList<>();
 
-        final boolean[] areInSameTimeFrame = new boolean[] { false, true, true, false, true, false };
-        for (int i = 0; i < areInSameTimeFrame.length - 1; i++) {
-            when(m30Tf.areInSameTimeFrame(testCandleStickTimes[i], testCandleStickTimes[i + 1]))
-                    .thenReturn(areInSameTimeFrame[i]);
-        }
-        when(m30Tf.areInSameTimeFrame(testCandleStickTimes[2], testCandleStickTimes[4])).thenReturn(false);
+        stubM30Frames(false, true, true, false, true, false);
 
         cut.aggregate(input.get(0)).ifPresent(c -> output.add(c));
         cut.aggregate(input.get(1)).ifPresent(c -> output.add(c));
@@ -186,7 +174,7 @@ public class TimeFrameConveterTest {
     }
 
     /**
-     * At initialization phase, if at call <code>n</code> the {@link TimeFrame#instantOfNextFrame(Instant)} should be in
+     * At initialization phase, if at call <code>n</code> the {@link TimeFrame#startOfNextFrame(long)} should be in
      * the same time frame but the time of the {@link DatedCandleStick} in call <code>n + 1</code> is in a different
      * time frame, the time frame aggregation should start anyway.
      */
@@ -203,12 +191,7 @@ public class TimeFrameConveterTest {
         }).collect(toList());
         final List<DatedCandleStick<M30>> output = new LinkedList<>();
 
-        final boolean[] areInSameTimeFrame = new boolean[] { true, false, true, false };
-        for (int i = 0; i < areInSameTimeFrame.length - 1; i++) {
-            when(m30Tf.areInSameTimeFrame(testCandleStickTimes[i], testCandleStickTimes[i + 1]))
-                    .thenReturn(areInSameTimeFrame[i]);
-        }
-        when(m30Tf.areInSameTimeFrame(testCandleStickTimes[0], testCandleStickTimes[2])).thenReturn(false);
+        stubM30Frames(true, false, true, false);
 
         cut.aggregate(input.get(0)).ifPresent(c -> output.add(c));
         cut.aggregate(input.get(2)).ifPresent(c -> output.add(c));
@@ -238,12 +221,7 @@ public class TimeFrameConveterTest {
         }).collect(toList());
         final List<DatedCandleStick<M30>> output = new LinkedList<>();
 
-        final boolean[] areInSameTimeFrame = new boolean[] { false, true, false, false, true, false };
-        for (int i = 0; i < areInSameTimeFrame.length - 1; i++) {
-            when(m30Tf.areInSameTimeFrame(testCandleStickTimes[i], testCandleStickTimes[i + 1]))
-                    .thenReturn(areInSameTimeFrame[i]);
-        }
-        when(m30Tf.areInSameTimeFrame(testCandleStickTimes[1], testCandleStickTimes[3])).thenReturn(false);
+        stubM30Frames(false, true, false, false, true, false);
 
         cut.aggregate(input.get(0)).ifPresent(c -> output.add(c));
         cut.aggregate(input.get(1)).ifPresent(c -> output.add(c));
@@ -256,4 +234,23 @@ public class TimeFrameConveterTest {
         assertThat(output.get(1)).isEqualTo(new DatedCandleStick<>(testCandleStickTimes[3], 1.5, 1.8, 1.3, 1.6));
         assertThat(output.get(2)).isEqualTo(new DatedCandleStick<>(testCandleStickTimes[4], 1.2, 1.9, 0.9, 1.6));
     }
+
+    /**
+     * Stubs the starts of the {@link M30} frames of the test candle stick times.
+     * 
+     * @param inSameFrameAsPrevious
+     *            For each test candle stick time starting with the second one, if it is in the same frame as the
+     *            previous test candle stick time.
+     */
+    private void stubM30Frames(final boolean... inSameFrameAsPrevious) {
+        long frameStart = testCandleStickTimes[0].getEpochSecond();
+        when(m30Tf.startOfFrame(frameStart)).thenReturn(frameStart);
+        for (int i = 0; i < inSameFrameAsPrevious.length; i++) {
+            final long time = testCandleStickTimes[i + 1].getEpochSecond();
+            if (!inSameFrameAsPrevious[i]) {
+                frameStart = time;
+            }
+            when(m30Tf.startOfFrame(time)).thenReturn(frameStart);
+        }
+    }
 }
@@ -0,0 +1,216 @@
+package de.voidnode.trading4j.history;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.voidnode.trading4j.domain.ForexSymbol;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.marketdata.impl.MutableFullMarketData;
+import de.voidnode.trading4j.domain.marketdata.impl.ReusableFullMarketData;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.timeframe.M1;
+
+import static de.voidnode.trading4j.domain.VolumeUnit.BASE;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks if {@link M1HistoryStore}, {@link M1HistoryWriter} and {@link M1HistoryReader} work together as expected.
+ *
+ * @author Raik Bieniek
+ */
+public class M1HistoryStoreTest {
+
+    private static final ForexSymbol EURUSD = new ForexSymbol("EURUSD");
+    private static final ForexSymbol GBPUSD = new ForexSymbol("GBPUSD");
+
+    /**
+     * Temporary directory for the history files.
+     */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private M1HistoryStore cut;
+
+    /**
+     * Sets up the class under test.
+     *
+     * @throws IOException
+     *             Not expected to leave the test.
+     */
+    @Before
+    public void setUpCut() throws IOException {
+        cut = new M1HistoryStore(folder.getRoot().toPath());
+    }
+
+    /**
+     * Closes the writers of the class under test.
+     *
+     * @throws IOException
+     *             Not expected to leave the test.
+     */
+    @After
+    public void closeCut() throws IOException {
+        cut.close();
+    }
+
+    /**
+     * All values of the candle sticks written are read back unchanged.
+     *
+     * @throws IOException
+     *             Not expected to leave the test.
+     */
+    @Test
+    public void readsTheCandleSticksThatWereWritten() throws IOException {
+        final List<FullMarketData<M1>> written = candleSticks(0, 3);
+        for (final FullMarketData<M1> candleStick : written) {
+            assertThat(cut.writer(EURUSD).append(candleStick)).isTrue();
+        }
+
+        try (M1HistoryReader reader = cut.reader(EURUSD).get()) {
+            assertThat(reader.size()).isEqualTo(3);
+            assertThat(readAll(reader)).isEqualTo(written);
+        }
+    }
+
+    /**
+     * Candle sticks that are not newer than the newest candle stick stored are ignored.
+     *
+     * @throws IOException
+     *             Not expected to leave the test.
+     */
+    @Test
+    public void ignoresCandleSticksThatAreAlreadyStored() throws IOException {
+        final M1HistoryWriter writer = cut.writer(EURUSD);
+        candleSticks(0, 5).forEach(candleStick -> append(writer, candleStick));
+
+        assertThat(writer.append(candleStick(2))).isFalse();
+        assertThat(writer.append(candleStick(4))).isFalse();
+        assertThat(writer.append(candleStick(5))).isTrue();
+
+        try (M1HistoryReader reader = cut.reader(EURUSD).get()) {
+            assertThat(readAll(reader)).isEqualTo(candleSticks(0, 6));
+        }
+    }
+
+    /**
+     * Histories span multiple blocks and can be continued after they were closed.
+     *
+     * @throws IOException
+     *             Not expected to leave the test.
+     */
+    @Test
+    public void continuesExistingHistoriesOverMultipleBlocks() throws IOException {
+        final int total = 2 * M1HistoryFormat.BLOCK_CAPACITY + 10;
+        final int firstSession = M1HistoryFormat.BLOCK_CAPACITY + 5;
+        final M1HistoryWriter writer = cut.writer(EURUSD);
+        candleSticks(0, firstSession).forEach(candleStick -> append(writer, candleStick));
+        cut.close();
+
+        cut = new M1HistoryStore(folder.getRoot().toPath());
+        final M1HistoryWriter continuingWriter = cut.writer(EURUSD);
+        assertThat(continuingWriter.size()).isEqualTo(firstSession);
+        candleSticks(0, total).forEach(candleStick -> append(continuingWriter, candleStick));
+
+        try (M1HistoryReader reader = cut.reader(EURUSD).get()) {
+            assertThat(reader.size()).isEqualTo(total);
+            assertThat(readAll(reader)).isEqualTo(candleSticks(0, total));
+        }
+    }
+
+    /**
+     * The history of each symbol is stored separately and there is no history for symbols never written.
+     *
+     * @throws IOException
+     *             Not expected to leave the test.
+     */
+    @Test
+    public void storesTheHistoryOfEachSymbolSeparately() throws IOException {
+        assertThat(cut.reader(EURUSD)).isEmpty();
+
+        cut.writer(EURUSD).append(candleStick(0));
+        cut.writer(GBPUSD).append(candleStick(0));
+        cut.writer(GBPUSD).append(candleStick(1));
+
+        assertThat(cut.writer(EURUSD)).isSameAs(cut.writer(EURUSD));
+        assertThat(Files.exists(folder.getRoot().toPath().resolve("EURUSD.m1"))).isTrue();
+        try (M1HistoryReader eurusd = cut.reader(EURUSD).get(); M1HistoryReader gbpusd = cut.reader(GBPUSD).get()) {
+            assertThat(eurusd.size()).isEqualTo(1);
+            assertThat(gbpusd.size()).isEqualTo(2);
+        }
+    }
+
+    /**
+     * Readers can find candle sticks by time and replay ranges of candle sticks.
+     *
+     * @throws IOException
+     *             Not expected to leave the test.
+     */
+    @Test
+    public void findsAndReplaysRangesOfCandleSticks() throws IOException {
+        final M1HistoryWriter writer = cut.writer(EURUSD);
+        candleSticks(0, 10).forEach(candleStick -> append(writer, candleStick));
+
+        try (M1HistoryReader reader = cut.reader(EURUSD).get()) {
+            assertThat(reader.indexOf(Instant.ofEpochSecond(0))).isEqualTo(0);
+            assertThat(reader.indexOf(Instant.ofEpochSecond(4 * 60))).isEqualTo(4);
+            assertThat(reader.indexOf(Instant.ofEpochSecond(4 * 60 + 1))).isEqualTo(5);
+            assertThat(reader.indexOf(Instant.ofEpochSecond(10 * 60))).isEqualTo(10);
+            assertThat(reader.epochSecondOf(4)).isEqualTo(4 * 60);
+
+            final List<FullMarketData<M1>> replayed = new ArrayList<>();
+            reader.replay(3, 6, candleStick -> replayed.add(ReusableFullMarketData.retainable(candleStick)));
+            assertThat(replayed).isEqualTo(candleSticks(3, 6));
+        }
+    }
+
+    /**
+     * Files that are not history files are rejected.
+     *
+     * @throws IOException
+     *             Expected to leave the test.
+     */
+    @Test(expected = IOException.class)
+    public void rejectsFilesWithAnUnknownFormat() throws IOException {
+        Files.write(folder.getRoot().toPath().resolve("EURUSD.m1"), new byte[M1HistoryFormat.HEADER_SIZE]);
+        cut.reader(EURUSD);
+    }
+
+    private static List<FullMarketData<M1>> readAll(final M1HistoryReader reader) {
+        final List<FullMarketData<M1>> candleSticks = new ArrayList<>();
+        reader.replay(candleStick -> candleSticks.add(ReusableFullMarketData.retainable(candleStick)));
+        return candleSticks;
+    }
+
+    private static List<FullMarketData<M1>> candleSticks(final int from, final int to) {
+        final List<FullMarketData<M1>> candleSticks = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            candleSticks.add(candleStick(i));
+        }
+        return candleSticks;
+    }
+
+    private static FullMarketData<M1> candleStick(final int minute) {
+        return new MutableFullMarketData<M1>().setTime(Instant.ofEpochSecond(minute * 60L))
+                .setOpen(new Price(110000 + minute)).setHigh(new Price(110050 + minute))
+                .setLow(new Price(109950 + minute)).setClose(new Price(110010 + minute)).setSpread(new Price(15))
+                .setVolume(1000 + minute, BASE).setTickCount(minute % 100).toImmutableFullMarketData();
+    }
+
+    private static void append(final M1HistoryWriter writer, final FullMarketData<M1> candleStick) {
+        try {
+            writer.append(candleStick);
+        } catch (final IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
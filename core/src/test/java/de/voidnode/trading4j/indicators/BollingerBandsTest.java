@@ -0,0 +1,68 @@
+package de.voidnode.trading4j.indicators;
+
+import de.voidnode.trading4j.api.Indicator;
+import de.voidnode.trading4j.domain.marketdata.impl.BasicMarketData;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.monetary.PriceLevels;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks if the {@link BollingerBands} indicator works as expected.
+ *
+ * @author Raik Bieniek
+ */
+public class BollingerBandsTest {
+
+    private final Indicator<PriceLevels, BasicMarketData> cut = new BollingerBands<>(4, 2.0);
+
+    /**
+     * The indicator should calculate the bands as specified in its JavaDoc once enough market data was passed.
+     */
+    @Test
+    public void shouldCalculateTheBandsFromTheMostRecentClosePrices() {
+        assertThat(cut.indicate(close(100020))).isEmpty();
+        assertThat(cut.indicate(close(100040))).isEmpty();
+        assertThat(cut.indicate(close(100040))).isEmpty();
+
+        // average 100035, standard deviation 8.66
+        final PriceLevels first = cut.indicate(close(100040)).get();
+        assertThat(first.count()).isEqualTo(3);
+        assertThat(first.get(0)).isEqualTo(new Price(100018));
+        assertThat(first.get(1)).isEqualTo(new Price(100035));
+        assertThat(first.get(2)).isEqualTo(new Price(100052));
+
+        cut.indicate(close(100050));
+        cut.indicate(close(100050));
+        cut.indicate(close(100070));
+        // average 100065, standard deviation 16.58
+        final PriceLevels last = cut.indicate(close(100090)).get();
+        assertThat(last.get(0)).isEqualTo(new Price(100032));
+        assertThat(last.get(1)).isEqualTo(new Price(100065));
+        assertThat(last.get(2)).isEqualTo(new Price(100098));
+    }
+
+    /**
+     * When the prices do not move, all bands are at the same price.
+     */
+    @Test
+    public void bandsCollapseWhenThePriceDoesNotMove() {
+        for (int i = 0; i < 3; i++) {
+            cut.indicate(close(100020 + i * 50));
+        }
+        for (int i = 0; i < 3; i++) {
+            cut.indicate(close(100000));
+        }
+
+        final PriceLevels bands = cut.indicate(close(100000)).get();
+        assertThat(bands.get(0)).isEqualTo(new Price(100000));
+        assertThat(bands.get(1)).isEqualTo(new Price(100000));
+        assertThat(bands.get(2)).isEqualTo(new Price(100000));
+    }
+
+    private BasicMarketData close(final long pipettes) {
+        return new BasicMarketData(new Price(pipettes));
+    }
+}
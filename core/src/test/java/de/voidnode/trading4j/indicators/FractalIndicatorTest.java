@@ -290,4 +290,82 @@ public class FractalIndicatorTest {
                 .collect(Collectors.toList());
         assertThat(fractals).containsExactly(UNKNOWN, UNKNOWN, UNKNOWN, UNKNOWN, UNKNOWN);
     }
+
+    ////////////////////////
+    /// Custom Wing Size ///
+    ////////////////////////
+
+    /**
+     * With a wing size of 3 the following constellation has a single up fractal at position 4/7 while the
+     * constellation at position 2/7 is not a fractal as there is only 1 candle stick on its left side.
+     * 
+     * <pre>
+     *       ^
+     *       |
+     *   |   |
+     *   | | | |
+     * | | | | | |
+     * | | | | | | |
+     * </pre>
+     */
+    @Test
+    public void upFractalsWithCustomWingSize() {
+        final Indicator<MarketDirection, CandleStick> cut = new FractalIndicator<>(MarketDirection.UP, 3);
+        final Stream<CandleStick> candleData = candleStickStream(new double[][] {
+                // open, high, low, close
+                { SOME_PRICE, 1.11, SOME_PRICE, SOME_PRICE }, // 0
+                { SOME_PRICE, 1.13, SOME_PRICE, SOME_PRICE }, // 1
+                { SOME_PRICE, 1.12, SOME_PRICE, SOME_PRICE }, // 2
+                { SOME_PRICE, 1.14, SOME_PRICE, SOME_PRICE }, // 3
+                { SOME_PRICE, 1.12, SOME_PRICE, SOME_PRICE }, // 4
+                { SOME_PRICE, 1.11, SOME_PRICE, SOME_PRICE }, // 5
+                { SOME_PRICE, 1.10, SOME_PRICE, SOME_PRICE }, // 6
+        });
+
+        final List<Optional<MarketDirection>> fractals = candleData.map((stick) -> cut.indicate(stick))
+                .collect(Collectors.toList());
+        assertThat(fractals).containsExactly(UNKNOWN, UNKNOWN, UNKNOWN, UNKNOWN, UNKNOWN, UNKNOWN, UP);
+    }
+
+    /**
+     * With a wing size of 3 a down fractal requires that all 3 candle sticks on each side have a higher low. The
+     * following constellation would be a down fractal at position 4/7 with the default wing size of 2 but is none
+     * with a wing size of 3.
+     * 
+     * <pre>
+     * | | | | | | |
+     * | | | | | |
+     * |   | | |
+     * |     |
+     * |
+     * |
+     * v
+     * </pre>
+     */
+    @Test
+    public void noDownFractalWhenAnOuterWingCandleStickIsStronger() {
+        final Indicator<MarketDirection, CandleStick> cut = new FractalIndicator<>(MarketDirection.DOWN, 3);
+        final Stream<CandleStick> candleData = candleStickStream(new double[][] {
+                // open, high, low, close
+                { SOME_PRICE, SOME_PRICE, 1.04, SOME_PRICE }, // 0
+                { SOME_PRICE, SOME_PRICE, 1.08, SOME_PRICE }, // 1
+                { SOME_PRICE, SOME_PRICE, 1.07, SOME_PRICE }, // 2
+                { SOME_PRICE, SOME_PRICE, 1.06, SOME_PRICE }, // 3
+                { SOME_PRICE, SOME_PRICE, 1.07, SOME_PRICE }, // 4
+                { SOME_PRICE, SOME_PRICE, 1.08, SOME_PRICE }, // 5
+                { SOME_PRICE, SOME_PRICE, 1.09, SOME_PRICE }, // 6
+        });
+
+        final List<Optional<MarketDirection>> fractals = candleData.map((stick) -> cut.indicate(stick))
+                .collect(Collectors.toList());
+        assertThat(fractals).containsOnly(UNKNOWN);
+    }
+
+    /**
+     * A fractal needs at least 1 candle stick on each side.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void failsOnWingSizesLessThanOne() {
+        new FractalIndicator<CandleStick>(MarketDirection.UP, 0);
+    }
 }
@@ -63,7 +63,7 @@ public class DefaultMoneyManagementTest {
      */
     @Before
     public void setUpMocks() {
-        when(currencyBlocker.isTradingAllowed(any())).thenReturn(true);
+        when(currencyBlocker.tryBlockCurrencies(any())).thenReturn(true);
         when(volumeCalculator.calculateVolumeForTrade(any(), any(), any())).thenReturn(new Volume(1, VolumeUnit.LOT));
     }
 
@@ -72,12 +72,11 @@ public class DefaultMoneyManagementTest {
      */
     @Test
     public void providesVolumeWhenTradingIsntBlocked() {
-        when(currencyBlocker.isTradingAllowed(new ForexSymbol("EURUSD"))).thenReturn(true);
+        when(currencyBlocker.tryBlockCurrencies(new ForexSymbol("EURUSD"))).thenReturn(true);
 
         assertThat(cut.requestVolume(SYMBOL_EURUSD, SOME_PRICE, SOME_PRICE, SOME_STEP_SIZE)).isPresent();
 
-        verify(currencyBlocker).isTradingAllowed(new ForexSymbol("EURUSD"));
-        verify(currencyBlocker).blockCurrencies(new ForexSymbol("EURUSD"));
+        verify(currencyBlocker).tryBlockCurrencies(new ForexSymbol("EURUSD"));
         verifyNoMoreInteractions(currencyBlocker);
     }
 
@@ -86,11 +85,11 @@ public class DefaultMoneyManagementTest {
      */
     @Test
     public void notProvidingVolumeWhenTradingIsBlocked() {
-        when(currencyBlocker.isTradingAllowed(new ForexSymbol("EURUSD"))).thenReturn(false);
+        when(currencyBlocker.tryBlockCurrencies(new ForexSymbol("EURUSD"))).thenReturn(false);
 
         assertThat(cut.requestVolume(SYMBOL_EURUSD, SOME_PRICE, SOME_PRICE, SOME_STEP_SIZE)).isEmpty();
 
-        verify(currencyBlocker).isTradingAllowed(new ForexSymbol("EURUSD"));
+        verify(currencyBlocker).tryBlockCurrencies(new ForexSymbol("EURUSD"));
         verifyNoMoreInteractions(currencyBlocker);
     }
 
@@ -1,7 +1,9 @@
 package de.voidnode.trading4j.moneymanagement.standard;
 
 import java.util.Currency;
+import java.util.Iterator;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import de.voidnode.trading4j.domain.ForexSymbol;
 import de.voidnode.trading4j.domain.monetary.AccuratePrice;
@@ -24,6 +26,7 @@ public class ExchangeRateStoreTest {
     private static final Currency EUR = Currency.getInstance("EUR");
     private static final Currency AUD = Currency.getInstance("AUD");
     private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency JPY = Currency.getInstance("JPY");
 
     private static final Price SOME_EXCHANGE_RATE = new Price(1.0);
     private static final Offset<Double> ALLOWED_OFFSET = Offset.offset(0.0000001);
@@ -51,4 +54,77 @@ public class ExchangeRateStoreTest {
         assertThat(cut.getExchangeRate(EUR, USD).get()).isEqualTo(new AccuratePrice(1.6), ALLOWED_OFFSET);
         assertThat(cut.getExchangeRate(USD, EUR).get()).isEqualTo(new AccuratePrice(0.625), ALLOWED_OFFSET);
     }
+
+    /**
+     * When no exchange rate between two currencies was stored, it is derived from the exchange rates to a third
+     * currency.
+     */
+    @Test
+    public void crossExchangeRateIsDerivedFromExchangeRatesToThirdCurrency() {
+        cut.updateExchangeRate(new ForexSymbol(EUR, USD), new Price(1.25));
+        cut.updateExchangeRate(new ForexSymbol(USD, JPY), new Price(120.0));
+
+        assertThat(cut.getRawExchangeRate(EUR, JPY)).isEqualTo(150.0, ALLOWED_OFFSET);
+        assertThat(cut.getRawExchangeRate(JPY, EUR)).isEqualTo(1.0 / 150.0, ALLOWED_OFFSET);
+    }
+
+    /**
+     * The raw exchange rate is {@link Double#NaN} when it is unknown and can not be derived.
+     */
+    @Test
+    public void rawExchangeRateIsNanWhenItIsUnknown() {
+        cut.updateExchangeRate(new ForexSymbol(EUR, AUD), SOME_EXCHANGE_RATE);
+        cut.updateExchangeRate(new ForexSymbol(USD, JPY), SOME_EXCHANGE_RATE);
+
+        assertThat(cut.getRawExchangeRate(EUR, JPY)).isNaN();
+        assertThat(cut.getRawExchangeRate(EUR, Currency.getInstance("CHF"))).isNaN();
+    }
+
+    /**
+     * Exchange rates are kept when more currencies are stored than fit into the initial storage.
+     */
+    @Test
+    public void exchangeRatesAreKeptWhenManyCurrenciesAreStored() {
+        final String[] currencies = {"AUD", "CAD", "CHF", "CNY", "CZK", "DKK", "GBP", "HKD", "HUF", "JPY", "MXN",
+            "NOK", "NZD", "PLN", "SEK", "SGD", "TRY", "ZAR" };
+        for (int i = 0; i < currencies.length; i++) {
+            cut.updateExchangeRate(new ForexSymbol(USD, Currency.getInstance(currencies[i])), new Price(i + 1.0));
+        }
+
+        assertThat(cut.getRawExchangeRate(USD, AUD)).isEqualTo(1.0, ALLOWED_OFFSET);
+        assertThat(cut.getRawExchangeRate(USD, Currency.getInstance("ZAR"))).isEqualTo(18.0, ALLOWED_OFFSET);
+        assertThat(cut.getRawExchangeRate(Currency.getInstance("CAD"), Currency.getInstance("ZAR"))).isEqualTo(9.0,
+                ALLOWED_OFFSET);
+    }
+
+    /**
+     * Exchange rates that are updated while the storage grows for new currencies are not lost.
+     *
+     * @throws InterruptedException
+     *             Not expected to leave the test.
+     */
+    @Test
+    public void exchangeRateUpdatesAreNotLostWhileNewCurrenciesAreStored() throws InterruptedException {
+        final ForexSymbol eurUsd = new ForexSymbol(EUR, USD);
+        cut.updateExchangeRate(eurUsd, SOME_EXCHANGE_RATE);
+        final AtomicInteger lostUpdates = new AtomicInteger();
+        final Thread updater = new Thread(() -> {
+            for (int i = 1; i <= 100000; i++) {
+                cut.updateExchangeRate(eurUsd, new Price(i));
+                if (cut.getRawExchangeRate(EUR, USD) != new Price(i).asDouble()) {
+                    lostUpdates.incrementAndGet();
+                }
+            }
+        });
+
+        updater.start();
+        final Iterator<Currency> currencies = Currency.getAvailableCurrencies().iterator();
+        for (int i = 0; i < 200 && currencies.hasNext(); i++) {
+            cut.updateExchangeRate(new ForexSymbol(JPY, currencies.next()), SOME_EXCHANGE_RATE);
+        }
+        updater.join();
+
+        assertThat(lostUpdates.get()).isZero();
+        assertThat(cut.getRawExchangeRate(EUR, USD)).isEqualTo(new Price(100000).asDouble());
+    }
 }
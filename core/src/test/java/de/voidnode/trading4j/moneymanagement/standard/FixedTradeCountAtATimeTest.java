@@ -57,4 +57,18 @@ public class FixedTradeCountAtATimeTest {
         assertThat(cut.isTradingAllowed(SOME_SYMBOL)).isTrue();
         assertThat(cut.isTradingAllowed(OTHER_SYMBOL)).isTrue();
     }
+
+    /**
+     * Trying to block succeeds as long as the active trade limit is not reached.
+     */
+    @Test
+    public void tryingToBlockSucceedsUntilGlobalTradeCountMaximumIsReached() {
+        assertThat(cut.tryBlockCurrencies(SOME_SYMBOL)).isTrue();
+        assertThat(cut.tryBlockCurrencies(OTHER_SYMBOL)).isTrue();
+        assertThat(cut.tryBlockCurrencies(SOME_SYMBOL)).isFalse();
+
+        cut.unblockCurrencies(SOME_SYMBOL);
+
+        assertThat(cut.tryBlockCurrencies(OTHER_SYMBOL)).isTrue();
+    }
 }
@@ -1,5 +1,7 @@
 package de.voidnode.trading4j.moneymanagement.standard;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import de.voidnode.trading4j.domain.ForexSymbol;
 
 import org.junit.Test;
@@ -45,6 +47,57 @@ public class OneTradePerCurrencyTest {
 
     }
 
+    /**
+     * Trying to block currencies only succeeds when none of them is blocked and does not block anything otherwise.
+     */
+    @Test
+    public void tryingToBlockCurrenciesSucceedsOnlyWhenTradingIsAllowed() {
+        assertThat(cut.tryBlockCurrencies(new ForexSymbol("EURUSD"))).isTrue();
+
+        assertThat(cut.tryBlockCurrencies(new ForexSymbol("USDCAD"))).isFalse();
+        assertThat(cut.tryBlockCurrencies(new ForexSymbol("CHFEUR"))).isFalse();
+
+        // CHF was not blocked by the failed try above.
+        assertThat(cut.tryBlockCurrencies(new ForexSymbol("CADCHF"))).isTrue();
+    }
+
+    /**
+     * A request that is refused concurrently does not cause the refusal of requests for symbols that only share the
+     * currency which was not blocked.
+     *
+     * @throws InterruptedException
+     *             Not expected to leave the test.
+     */
+    @Test
+    public void refusedRequestsDoNotCauseConcurrentRequestsToBeRefused() throws InterruptedException {
+        cut.blockCurrencies(new ForexSymbol("USDCHF"));
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicBoolean eurUsdAllowed = new AtomicBoolean();
+        final Thread refused = new Thread(() -> {
+            while (running.get()) {
+                // Reserves EUR and rolls it back as USD is blocked.
+                if (cut.tryBlockCurrencies(new ForexSymbol("EURUSD"))) {
+                    eurUsdAllowed.set(true);
+                }
+            }
+        });
+
+        refused.start();
+        int refusedEurJpy = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (cut.tryBlockCurrencies(new ForexSymbol("EURJPY"))) {
+                cut.unblockCurrencies(new ForexSymbol("EURJPY"));
+            } else {
+                refusedEurJpy++;
+            }
+        }
+        running.set(false);
+        refused.join();
+
+        assertThat(refusedEurJpy).isZero();
+        assertThat(eurUsdAllowed.get()).isFalse();
+    }
+
     /**
      * When blocking an already blocked currency a second time, the cut throws an exception.
      */
@@ -1,7 +1,6 @@
 package de.voidnode.trading4j.moneymanagement.standard;
 
 import java.util.Currency;
-import java.util.Optional;
 
 import de.voidnode.trading4j.domain.ForexSymbol;
 import de.voidnode.trading4j.domain.monetary.AccuratePrice;
@@ -66,10 +65,10 @@ public class PipetteValueCalculatorTest {
      */
     @Test
     public void pipetteValueIsOnePipetteMultipliedByExchangeRateOfQuoteToAccountCurrencyWhenSymbolDoesNotContainAccountCurrency() {
-        when(exchangeRateStore.getExchangeRate(Currency.getInstance("AUD"), Currency.getInstance("CAD"))).thenReturn(Optional.of(new AccuratePrice(1.8)));
+        when(exchangeRateStore.getRawExchangeRate(Currency.getInstance("AUD"), Currency.getInstance("CAD"))).thenReturn(1.8);
         assertThat(cut.calculatePipetteValue(currency("CAD"), new ForexSymbol("EURAUD"), new Price(1.2))).isEqualTo(new AccuratePrice(0.000018), ALLOWED_OFFSET);
 
-        when(exchangeRateStore.getExchangeRate(Currency.getInstance("USD"), Currency.getInstance("CHF"))).thenReturn(Optional.of(new AccuratePrice(1.358)));
+        when(exchangeRateStore.getRawExchangeRate(Currency.getInstance("USD"), Currency.getInstance("CHF"))).thenReturn(1.358);
         assertThat(cut.calculatePipetteValue(currency("CHF"), new ForexSymbol("GBPUSD"), new Price(1.9))).isEqualTo(new AccuratePrice(0.00001358), ALLOWED_OFFSET);
     }
 
@@ -78,7 +77,7 @@ public class PipetteValueCalculatorTest {
      */
     @Test(expected = IllegalArgumentException.class)
     public void failsWhenExchangeRateStoreDoesNotContainRequieredExchangeRate() {
-        when(exchangeRateStore.getExchangeRate(Currency.getInstance("AUD"), Currency.getInstance("CAD"))).thenReturn(Optional.empty());
+        when(exchangeRateStore.getRawExchangeRate(Currency.getInstance("AUD"), Currency.getInstance("CAD"))).thenReturn(Double.NaN);
         assertThat(cut.calculatePipetteValue(currency("CAD"), new ForexSymbol("EURAUD"), new Price(1.2))).isEqualTo(new AccuratePrice(0.000018), ALLOWED_OFFSET);
     }
 
@@ -0,0 +1,62 @@
+package de.voidnode.trading4j.tradetracker;
+
+import java.time.Instant;
+
+import de.voidnode.trading4j.domain.monetary.Price;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks if {@link EquityCurve} works as expected.
+ *
+ * @author Raik Bieniek
+ */
+public class EquityCurveTest {
+
+    private final EquityCurve cut = new EquityCurve(4);
+
+    /**
+     * Every trade is recorded as long as the capacity suffices.
+     */
+    @Test
+    public void recordsEveryTradeUntilTheCapacityIsReached() {
+        record(1, 2, 3, 4);
+
+        assertThat(cut.size()).isEqualTo(4);
+        assertThat(cut.getStep()).isEqualTo(1);
+        assertThat(cut.getEquity(0)).isEqualTo(new Price(1));
+        assertThat(cut.getEquity(3)).isEqualTo(new Price(4));
+        assertThat(cut.getTime(3)).isEqualTo(Instant.ofEpochSecond(4));
+    }
+
+    /**
+     * When the curve is full, every second point is dropped and the number of trades between two points doubles.
+     */
+    @Test
+    public void dropsEverySecondPointWhenTheCapacityIsExceeded() {
+        record(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+        assertThat(cut.getStep()).isEqualTo(4);
+        assertThat(cut.size()).isEqualTo(2);
+        assertThat(cut.getEquity(0)).isEqualTo(new Price(4));
+        assertThat(cut.getEquity(1)).isEqualTo(new Price(8));
+    }
+
+    /**
+     * Points that do not exist can not be read.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void failsForNonExistingPoints() {
+        record(1);
+
+        cut.getEquity(1);
+    }
+
+    private void record(final long... equities) {
+        for (final long equity : equities) {
+            cut.record(Instant.ofEpochSecond(equity), new Price(equity));
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package de.voidnode.trading4j.tradetracker;
+
+import de.voidnode.trading4j.domain.marketdata.WithOhlc;
+import de.voidnode.trading4j.domain.marketdata.impl.CandleStick;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks if {@link OhlcPathFillModel} works as expected.
+ *
+ * @author Raik Bieniek
+ */
+public class OhlcPathFillModelTest {
+
+    private final OhlcPathFillModel cut = new OhlcPathFillModel();
+
+    /**
+     * The whole range between the low and the high {@link de.voidnode.trading4j.domain.monetary.Price} is reached.
+     */
+    @Test
+    public void theMarketReachesTheHighAndTheLowPrice() {
+        final WithOhlc candleStick = new CandleStick(1.1000, 1.1050, 1.0950, 1.1010);
+
+        assertThat(cut.getLowest(candleStick)).isEqualTo(109500);
+        assertThat(cut.getHighest(candleStick)).isEqualTo(110500);
+    }
+
+    /**
+     * Bullish candle sticks are assumed to reach their low before their high.
+     */
+    @Test
+    public void bullishCandleSticksReachTheLowFirst() {
+        final WithOhlc candleStick = new CandleStick(1.1000, 1.1050, 1.0950, 1.1010);
+
+        // a stop loose below the open is reached before a take profit above it
+        assertThat(cut.isStopLooseReachedFirst(candleStick, 110400, 109600)).isTrue();
+        // a take profit below the open is reached before a stop loose above it
+        assertThat(cut.isStopLooseReachedFirst(candleStick, 109600, 110400)).isFalse();
+        // on the way up from the low, the lower level is reached first
+        assertThat(cut.isStopLooseReachedFirst(candleStick, 110400, 110200)).isTrue();
+    }
+
+    /**
+     * Bearish candle sticks are assumed to reach their high before their low.
+     */
+    @Test
+    public void bearishCandleSticksReachTheHighFirst() {
+        final WithOhlc candleStick = new CandleStick(1.1000, 1.1050, 1.0950, 1.0990);
+
+        assertThat(cut.isStopLooseReachedFirst(candleStick, 109600, 110400)).isTrue();
+        assertThat(cut.isStopLooseReachedFirst(candleStick, 110400, 109600)).isFalse();
+        // on the way down from the high, the higher level is reached first
+        assertThat(cut.isStopLooseReachedFirst(candleStick, 109600, 109800)).isTrue();
+    }
+}
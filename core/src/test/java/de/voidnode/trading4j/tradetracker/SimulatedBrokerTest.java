@@ -20,10 +20,11 @@ import static de.voidnode.trading4j.domain.orders.OrderType.SELL;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -35,8 +36,7 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 @RunWith(MockitoJUnitRunner.class)
 public class SimulatedBrokerTest {
 
-    @InjectMocks
-    private SimulatedBroker<FullMarketData<M1>> cut;
+    private SimulatedBroker<FullMarketData<M1>> cut = new SimulatedBroker<>();
 
     @Mock
     private OrderEventListener orderEventListener;
@@ -281,6 +281,78 @@ public class SimulatedBrokerTest {
         verify(otherOrderEventListener).orderClosed(testTime, new Price(40));
     }
 
+    /**
+     * Orders that are triggered by the same {@link CandleStick} are notified in the order they were sent and are only
+     * closed once even when their take profit and stop loose are both met.
+     */
+    @Test
+    public void ordersTriggeredByTheSameCandleStickAreNotifiedInTheOrderTheyWereSent() {
+        testOrder.setEntryPrice(new Price(30)).setCloseConditions(testCloseConditions.setTakeProfit(new Price(40)));
+        cut.sendOrder(testOrder.toImmutablePendingOrder(), orderEventListener);
+
+        testOrder.setEntryPrice(new Price(10))
+                .setCloseConditions(testCloseConditions.setTakeProfit(new Price(20)).setStopLoose(new Price(20)));
+        cut.sendOrder(testOrder.toImmutablePendingOrder(), otherOrderEventListener);
+
+        testCandleStick.setOpen(new Price(5)).setClose(new Price(35));
+        cut.newData(testCandleStick.toImmutableFullMarketData());
+
+        // opened orders are not closed by the candle stick that opened them
+        final InOrder inOrder = inOrder(orderEventListener, otherOrderEventListener);
+        inOrder.verify(orderEventListener).orderOpened(testTime, new Price(30));
+        inOrder.verify(otherOrderEventListener).orderOpened(testTime, new Price(10));
+
+        testCandleStick.setOpen(new Price(45)).setClose(new Price(15));
+        cut.newData(testCandleStick.toImmutableFullMarketData());
+
+        inOrder.verify(orderEventListener).orderClosed(testTime, new Price(40));
+        inOrder.verify(otherOrderEventListener).orderClosed(testTime, new Price(20));
+        verifyNoMoreInteractions(orderEventListener, otherOrderEventListener);
+    }
+
+    // /////////////////
+    // / Fill models ///
+    // /////////////////
+
+    /**
+     * Fill models that consider the high and low {@link Price} open and close orders that are only reached by a wick.
+     */
+    @Test
+    public void wicksAreConsideredByOhlcFillModels() {
+        cut = new SimulatedBroker<>(new OhlcPathFillModel(), new Price(0));
+        testOrder.setCloseConditions(testCloseConditions.setTakeProfit(new Price(100)).setStopLoose(new Price(5)));
+        openPendingOrder();
+
+        testCandleStick.setOpen(new Price(50)).setHigh(new Price(105)).setLow(new Price(45)).setClose(new Price(60));
+        cut.newData(testCandleStick.toImmutableFullMarketData());
+
+        verify(orderEventListener).orderClosed(testTime, new Price(100));
+    }
+
+    /**
+     * Stop orders and stop looses are executed with slippage. Take profits are not.
+     */
+    @Test
+    public void slippageWorsensTheExecutionOfStopOrdersAndStopLooses() {
+        cut = new SimulatedBroker<>(new OpenCloseFillModel(), new Price(2));
+        testOrder.setType(SELL).setEntryPrice(new Price(10))
+                .setCloseConditions(testCloseConditions.setTakeProfit(new Price(5)).setStopLoose(new Price(20)));
+        cut.sendOrder(testOrder.toImmutablePendingOrder(), orderEventListener);
+        testOrder.setType(BUY).setEntryPrice(new Price(10))
+                .setCloseConditions(testCloseConditions.setTakeProfit(new Price(20)).setStopLoose(new Price(5)));
+        cut.sendOrder(testOrder.toImmutablePendingOrder(), otherOrderEventListener);
+
+        testCandleStick.setOpen(new Price(9)).setClose(new Price(11));
+        cut.newData(testCandleStick.toImmutableFullMarketData());
+        testCandleStick.setOpen(new Price(11)).setClose(new Price(21));
+        cut.newData(testCandleStick.toImmutableFullMarketData());
+
+        verify(orderEventListener).orderOpened(testTime, new Price(8));
+        verify(orderEventListener).orderClosed(testTime, new Price(22));
+        verify(otherOrderEventListener).orderOpened(testTime, new Price(12));
+        verify(otherOrderEventListener).orderClosed(testTime, new Price(20));
+    }
+
     private OrderManagement openPendingOrder() {
         testOrder.setEntryPrice(new Price(10));
         testCandleStick.setOpen(new Price(9)).setClose(new Price(11));
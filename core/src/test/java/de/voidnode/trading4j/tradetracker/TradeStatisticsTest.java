@@ -0,0 +1,101 @@
+package de.voidnode.trading4j.tradetracker;
+
+import java.time.Instant;
+
+import static java.util.Arrays.asList;
+
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.trades.BasicCompletedTrade;
+import de.voidnode.trading4j.domain.trades.TradeEvent;
+
+import static de.voidnode.trading4j.domain.orders.ExecutionCondition.STOP;
+import static de.voidnode.trading4j.domain.orders.OrderType.BUY;
+import static de.voidnode.trading4j.domain.orders.OrderType.SELL;
+import static de.voidnode.trading4j.domain.trades.TradeEventType.PENDING_ORDER_CANCELD;
+import static de.voidnode.trading4j.domain.trades.TradeEventType.PENDING_ORDER_OPENED;
+import static de.voidnode.trading4j.domain.trades.TradeEventType.PENDING_ORDER_PLACED;
+import static de.voidnode.trading4j.domain.trades.TradeEventType.TRADE_CLOSED;
+
+import org.assertj.core.data.Offset;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks if {@link TradeStatistics} works as expected.
+ *
+ * @author Raik Bieniek
+ */
+public class TradeStatisticsTest {
+
+    private static final Offset<Double> ALLOWED_OFFSET = Offset.offset(0.000000001);
+
+    private final TradeStatistics cut = new TradeStatistics();
+
+    /**
+     * The statistics are updated with each completed trade.
+     */
+    @Test
+    public void aggregatesTheRelativeProfitsOfTrades() {
+        cut.tradeCompleted(trade(1, 100));
+        cut.tradeCompleted(trade(2, -50));
+        cut.tradeCompleted(trade(3, -30));
+        cut.tradeCompleted(trade(4, 120));
+
+        assertThat(cut.getTrades()).isEqualTo(4);
+        assertThat(cut.getWinningTrades()).isEqualTo(2);
+        assertThat(cut.getWinRate()).isEqualTo(0.5);
+        assertThat(cut.getProfit()).isEqualTo(new Price(140));
+        assertThat(cut.getGrossProfit()).isEqualTo(new Price(220));
+        assertThat(cut.getGrossLoss()).isEqualTo(new Price(80));
+        assertThat(cut.getProfitFactor()).isEqualTo(2.75);
+        assertThat(cut.getMaximalDrawdown()).isEqualTo(new Price(80));
+        // mean = 35, sample standard deviation = sqrt(22900 / 3)
+        assertThat(cut.getSharpeRatio()).isEqualTo(35 / Math.sqrt(22900 / 3.0), ALLOWED_OFFSET);
+        // downside deviation = sqrt((2500 + 900) / 4)
+        assertThat(cut.getSortinoRatio()).isEqualTo(35 / Math.sqrt(850), ALLOWED_OFFSET);
+    }
+
+    /**
+     * Sell trades win when the price falls and orders that were never opened are not counted as trades.
+     */
+    @Test
+    public void considersTheDirectionOfTradesAndIgnoresCanceledOrders() {
+        cut.tradeCompleted(new BasicCompletedTrade(SELL, STOP,
+                asList(new TradeEvent(PENDING_ORDER_PLACED, minute(0), "", new Price(1000)),
+                        new TradeEvent(PENDING_ORDER_OPENED, minute(1), "", new Price(1000)),
+                        new TradeEvent(TRADE_CLOSED, minute(2), "", new Price(900)))));
+        cut.tradeCompleted(new BasicCompletedTrade(BUY, STOP,
+                asList(new TradeEvent(PENDING_ORDER_PLACED, minute(3), "", new Price(1000)),
+                        new TradeEvent(PENDING_ORDER_CANCELD, minute(4), ""))));
+
+        assertThat(cut.getTrades()).isEqualTo(1);
+        assertThat(cut.getProfit()).isEqualTo(new Price(100));
+        assertThat(cut.getProfitFactor()).isEqualTo(Double.POSITIVE_INFINITY);
+        assertThat(cut.getEquityCurve().size()).isEqualTo(1);
+        assertThat(cut.getEquityCurve().getTime(0)).isEqualTo(minute(2));
+    }
+
+    /**
+     * Without trades all values are 0.
+     */
+    @Test
+    public void allValuesAreZeroWithoutTrades() {
+        assertThat(cut.getWinRate()).isEqualTo(0.0);
+        assertThat(cut.getProfitFactor()).isEqualTo(0.0);
+        assertThat(cut.getSharpeRatio()).isEqualTo(0.0);
+        assertThat(cut.getSortinoRatio()).isEqualTo(0.0);
+        assertThat(cut.getEquityCurve().size()).isEqualTo(0);
+    }
+
+    private static BasicCompletedTrade trade(final int minute, final long profit) {
+        return new BasicCompletedTrade(BUY, STOP,
+                asList(new TradeEvent(PENDING_ORDER_PLACED, minute(minute), "", new Price(1000)),
+                        new TradeEvent(PENDING_ORDER_OPENED, minute(minute), "", new Price(1000)),
+                        new TradeEvent(TRADE_CLOSED, minute(minute), "", new Price(1000 + profit))));
+    }
+
+    private static Instant minute(final int minute) {
+        return Instant.ofEpochSecond(minute * 60L);
+    }
+}
@@ -38,12 +38,31 @@ public final class NMovingAveragesExpertAdvisorFactory {
      * @return The created expert advisor.
      */
     public static ExpertAdvisor<FullMarketData<M1>> createNew(final Broker<BasicPendingOrder> broker) {
+        return createNew(broker, 14, 28, new Ratio(10, RatioUnit.RELATIVE_PIP));
+    }
+
+    /**
+     * Creates a new strategy with custom parameters, e.g. to find good parameters with an
+     * {@link de.voidnode.trading4j.backtest.Optimizer}.
+     * 
+     * @param broker
+     *            Used to execute the orders produced by this expert advisor.
+     * @param fastPeriod
+     *            The number of M5 candle sticks used for the fast moving average.
+     * @param slowPeriod
+     *            The number of M5 candle sticks used for the slow moving average.
+     * @param requiredVolatility
+     *            The minimal volatility of a M5 candle stick for placing orders.
+     * @return The created expert advisor.
+     */
+    public static ExpertAdvisor<FullMarketData<M1>> createNew(final Broker<BasicPendingOrder> broker,
+            final int fastPeriod, final int slowPeriod, final Ratio requiredVolatility) {
         
         // Create indicators needed for the trading strategy. Trading4j already implements some well-known indicators
         // but it is also easy to implement new ones.
         final MovingAverageIndicatorFactory mAFactory = new MovingAverageIndicatorFactory();
-        final Indicator<Price, FullMarketData<M5>> fast = mAFactory.createExponentialMovingAverage(14);
-        final Indicator<Price, FullMarketData<M5>> slow = mAFactory.createSmoothedMovingAverage(28);
+        final Indicator<Price, FullMarketData<M5>> fast = mAFactory.createExponentialMovingAverage(fastPeriod);
+        final Indicator<Price, FullMarketData<M5>> slow = mAFactory.createSmoothedMovingAverage(slowPeriod);
 
         // Create the actual trading strategy. Like with the indicators the following line defines that market data of
         // the time frame M5 should be used as input. Market data contains, besides others, all values for a candle stick
@@ -54,7 +73,7 @@ public final class NMovingAveragesExpertAdvisorFactory {
         // following filter will prevent trading when the volatility of a single candle stick chart in the time frame M5
         // is to low.
         final OrderFilter<FullMarketData<M5>> lowVolatilityOrderFilter = new LowVolatilityOrderFilter<>(
-                new Ratio(10, RatioUnit.RELATIVE_PIP));
+                requiredVolatility);
         // Order filtering is wrapped around the original broker as an aspect.
         final OrderFilteringBroker<FullMarketData<M5>> filteringBroker = new OrderFilteringBroker<>(broker,
                 lowVolatilityOrderFilter);
@@ -0,0 +1,81 @@
+package de.voidnode.trading4j.server;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates {@link Executor}s that run the handlers for the communication with connected clients.
+ *
+ * <p>
+ * Each handler runs as long as its client stays connected and blocks most of the time waiting for new data of its
+ * client. Therefore the {@link Executor}s must not limit the number of handlers that run concurrently.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public final class ClientHandlerExecutors {
+
+    private ClientHandlerExecutors() {
+
+    }
+
+    /**
+     * Runs each handler in a new platform thread.
+     *
+     * <p>
+     * The threads are daemon threads with a high priority because they make trading decisions. This is the default
+     * when no other {@link Executor} is configured.
+     * </p>
+     *
+     * @return The {@link Executor}.
+     */
+    public static Executor platformThreads() {
+        return handler -> {
+            final Thread clientThread = new Thread(handler);
+            // Give threads that make trading decisions high priority.
+            clientThread.setPriority(Thread.MAX_PRIORITY - 1);
+            clientThread.setDaemon(true);
+            clientThread.start();
+        };
+    }
+
+    /**
+     * Runs each handler in a new virtual thread.
+     *
+     * <p>
+     * Virtual threads make the blocking I/O of the {@link de.voidnode.trading4j.server.oio.OioServer} cheap for
+     * thousands of connections. They require a Java runtime of version 21 or newer. Virtual threads can not be
+     * prioritized so handlers compete with other virtual threads in the same JVM as equals.
+     * </p>
+     *
+     * @return The {@link Executor}.
+     * @throws UnsupportedOperationException
+     *             When the Java runtime does not support virtual threads.
+     * @see #isVirtualThreadsSupported()
+     */
+    public static Executor virtualThreads() throws UnsupportedOperationException {
+        try {
+            final Method newExecutor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (Executor) newExecutor.invoke(null);
+        } catch (final NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new UnsupportedOperationException(
+                    "Virtual threads are not supported by this Java runtime. Java 21 or newer is required.", e);
+        }
+    }
+
+    /**
+     * Checks if the current Java runtime supports {@link #virtualThreads()}.
+     *
+     * @return <code>true</code> if virtual threads are supported and <code>false</code> if not.
+     */
+    public static boolean isVirtualThreadsSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (final NoSuchMethodException e) {
+            return false;
+        }
+    }
+}
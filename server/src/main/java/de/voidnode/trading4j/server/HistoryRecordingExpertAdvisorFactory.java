@@ -0,0 +1,109 @@
+package de.voidnode.trading4j.server;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import de.voidnode.trading4j.api.Broker;
+import de.voidnode.trading4j.api.ExpertAdvisor;
+import de.voidnode.trading4j.api.ExpertAdvisorFactory;
+import de.voidnode.trading4j.api.VolumeLender;
+import de.voidnode.trading4j.domain.environment.TradingEnvironmentInformation;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.orders.PendingOrder;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.history.M1HistoryStore;
+import de.voidnode.trading4j.history.M1HistoryWriter;
+import de.voidnode.trading4j.server.reporting.AdmininstratorNotifier;
+
+/**
+ * Records the market data passed to {@link ExpertAdvisor}s produced by a factory in a {@link M1HistoryStore}.
+ *
+ * <p>
+ * Each candle stick is appended to the history of the trade symbol of the {@link ExpertAdvisor} before the
+ * {@link ExpertAdvisor} receives it. Candle sticks that are already stored are ignored by the {@link M1HistoryWriter}.
+ * Sessions of the strategy tester of the MetaTrader, which report the broker <code>Backtest</code>, are not recorded.
+ * </p>
+ *
+ * <p>
+ * Recording must never stop trading. When the history can not be written, the administrator is informed and the
+ * {@link ExpertAdvisor} keeps receiving market data without it being recorded any longer.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+class HistoryRecordingExpertAdvisorFactory implements ExpertAdvisorFactory {
+
+    private final ExpertAdvisorFactory factory;
+    private final M1HistoryStore store;
+    private final AdmininstratorNotifier admin;
+
+    /**
+     * Initializes an instance with all its dependencies.
+     *
+     * @param factory
+     *            The factory that produces the {@link ExpertAdvisor}s thats market data should be recorded.
+     * @param store
+     *            The store where the market data should be recorded.
+     * @param admin
+     *            Used to inform the administrator when recording failed.
+     */
+    HistoryRecordingExpertAdvisorFactory(final ExpertAdvisorFactory factory, final M1HistoryStore store,
+            final AdmininstratorNotifier admin) {
+        this.factory = factory;
+        this.store = store;
+        this.admin = admin;
+    }
+
+    @Override
+    public Optional<ExpertAdvisor<FullMarketData<M1>>> newExpertAdvisor(final int expertAdvisorNumber,
+            final Broker<PendingOrder> broker, final VolumeLender volumeLender,
+            final TradingEnvironmentInformation environment) {
+        final Optional<ExpertAdvisor<FullMarketData<M1>>> expertAdvisor = factory.newExpertAdvisor(expertAdvisorNumber,
+                broker, volumeLender, environment);
+        if (!expertAdvisor.isPresent() || "Backtest".equals(environment.getAccountInformation().getBrokerName())) {
+            return expertAdvisor;
+        }
+
+        final M1HistoryWriter history;
+        try {
+            history = store.writer(environment.getTradeSymbol());
+        } catch (final IOException e) {
+            admin.unexpectedEvent("Failed to open the market data history for " + environment.getTradeSymbol()
+                    + ". The market data of the new expert advisor is not recorded.", e);
+            return expertAdvisor;
+        }
+        return Optional.of(new RecordingExpertAdvisor(expertAdvisor.get(), history, admin));
+    }
+
+    /**
+     * Appends the market data to a history before passing it to an {@link ExpertAdvisor} until appending fails once.
+     */
+    private static class RecordingExpertAdvisor implements ExpertAdvisor<FullMarketData<M1>> {
+
+        private final ExpertAdvisor<FullMarketData<M1>> advisor;
+        private final M1HistoryWriter history;
+        private final AdmininstratorNotifier admin;
+        private boolean recording = true;
+
+        RecordingExpertAdvisor(final ExpertAdvisor<FullMarketData<M1>> advisor, final M1HistoryWriter history,
+                final AdmininstratorNotifier admin) {
+            this.advisor = advisor;
+            this.history = history;
+            this.admin = admin;
+        }
+
+        @Override
+        public void newData(final FullMarketData<M1> marketData) {
+            if (recording) {
+                try {
+                    history.append(marketData);
+                } catch (final IOException e) {
+                    recording = false;
+                    admin.unexpectedEvent("Failed to record market data in " + history
+                            + ". The market data of this expert advisor is not recorded any longer.", e);
+                }
+            }
+            advisor.newData(marketData);
+        }
+    }
+}
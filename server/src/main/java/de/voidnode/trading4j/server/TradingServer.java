@@ -0,0 +1,28 @@
+package de.voidnode.trading4j.server;
+
+/**
+ * A server that accepts connections from trading clients and serves trading strategies to them.
+ * 
+ * @author Raik Bieniek
+ */
+public interface TradingServer {
+
+    /**
+     * Starts listening for incoming client connections.
+     * 
+     * <p>
+     * This method will block until the current thread is terminated from the outside (e.g. with STRG+C) or
+     * {@link #stop()} is called.
+     * </p>
+     */
+    void start();
+
+    /**
+     * Stops listening for incoming client connections so that {@link #start()} returns.
+     * 
+     * <p>
+     * Clients that are already connected are not disconnected.
+     * </p>
+     */
+    void stop();
+}
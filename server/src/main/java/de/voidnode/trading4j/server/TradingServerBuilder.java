@@ -1,6 +1,8 @@
 package de.voidnode.trading4j.server;
 
+import java.time.Duration;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 
 import de.voidnode.trading4j.api.BasicExpertAdvisorFactory;
 import de.voidnode.trading4j.api.Broker;
@@ -16,12 +18,16 @@ import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
 import de.voidnode.trading4j.domain.orders.BasicPendingOrder;
 import de.voidnode.trading4j.domain.timeframe.M1;
 import de.voidnode.trading4j.expertadvisorfactory.DefaultExpertAdvisorFactory;
+import de.voidnode.trading4j.history.M1HistoryStore;
+import de.voidnode.trading4j.moneymanagement.ConcurrentMoneyManagement;
 import de.voidnode.trading4j.moneymanagement.SharedMoneyManagement;
 import de.voidnode.trading4j.moneymanagement.ThreadSafeMoneyManagement;
 import de.voidnode.trading4j.moneymanagement.standard.DefaultMoneyManagement;
+import de.voidnode.trading4j.server.nio.NioServer;
 import de.voidnode.trading4j.server.oio.OioServer;
 import de.voidnode.trading4j.server.protocol.ClientCommunicator;
 import de.voidnode.trading4j.server.protocol.ProtocolFactory;
+import de.voidnode.trading4j.server.protocol.expertadvisor.CachedHistory;
 import de.voidnode.trading4j.server.reporting.CombinedNotifier;
 import de.voidnode.trading4j.server.reporting.implementations.NotifierFactory;
 
@@ -32,12 +38,22 @@ import de.voidnode.trading4j.server.reporting.implementations.NotifierFactory;
  */
 public class TradingServerBuilder {
 
+    /**
+     * The amount of recorded market data that is fed to new expert advisors by default. MetaTrader clients send the
+     * same amount of history when the server has no market data cached.
+     */
+    private static final Duration DEFAULT_HISTORY_WARM_UP_PERIOD = Duration.ofDays(30);
+
     private NotifierFactory notifierFactory = new NotifierFactory();
 
     private BasicExpertAdvisorFactory expertAdvisors;
     private TrendIndicatorFactory trendIndicators;
     private CombinedNotifier emailNotifier;
     private MoneyManagement moneyManagement;
+    private int eventLoops;
+    private Executor clientHandlerExecutor;
+    private M1HistoryStore historyStore;
+    private Duration historyWarmUpPeriod = DEFAULT_HISTORY_WARM_UP_PERIOD;
 
     /**
      * The expert advisors that should be served by the server.
@@ -74,7 +90,7 @@ public class TradingServerBuilder {
      * <p>
      * The same {@link MoneyManagement} instance will be used for all {@link ExpertAdvisor}s that are created by
      * {@link #expertAdvisors(BasicExpertAdvisorFactory) expert advisor factory}. It is guaranteed that only one thread
-     * will access the {@link MoneyManagement} at the same time.
+     * will access the {@link MoneyManagement} at the same time unless it is a {@link ConcurrentMoneyManagement}.
      * </p>
      * 
      * <p>
@@ -112,28 +128,107 @@ public class TradingServerBuilder {
         return this;
     }
 
+    /**
+     * Multiplexes the socket I/O of all clients on a fixed number of threads instead of using blocking sockets.
+     * 
+     * <p>
+     * By default an {@link OioServer} is built that does the socket I/O of each client in the thread that handles the
+     * client. When this option is set, a {@link NioServer} is built instead.
+     * </p>
+     * 
+     * @param eventLoops
+     *            The number of threads that should be used for the socket I/O of all clients.
+     * @return This builder for a fluent API.
+     */
+    public TradingServerBuilder useNonBlockingIo(final int eventLoops) {
+        this.eventLoops = eventLoops;
+        return this;
+    }
+
+    /**
+     * The {@link Executor} that runs the handlers for the communication with each connected client.
+     * 
+     * <p>
+     * A handler runs as long as its client is connected. The {@link Executor} must therefore not limit the number of
+     * concurrently running handlers. {@link ClientHandlerExecutors} provides suitable {@link Executor}s. If no
+     * {@link Executor} is configured explicitly, {@link ClientHandlerExecutors#platformThreads()} is used.
+     * </p>
+     * 
+     * @param clientHandlerExecutor
+     *            The {@link Executor} that should be used.
+     * @return This builder for a fluent API.
+     */
+    public TradingServerBuilder clientHandlerExecutor(final Executor clientHandlerExecutor) {
+        this.clientHandlerExecutor = clientHandlerExecutor;
+        return this;
+    }
+
+    /**
+     * Records the market data received for {@link ExpertAdvisor}s in a {@link M1HistoryStore}.
+     * 
+     * <p>
+     * The history of each trade symbol is written incrementally while the {@link ExpertAdvisor}s receive market data.
+     * Candle sticks that are already stored, e.g. because MetaTrader sends the recent history again on every connect,
+     * are ignored. The store is not closed by the server.
+     * </p>
+     * 
+     * @param historyStore
+     *            The store where the market data should be recorded.
+     * @return This builder for a fluent API.
+     */
+    public TradingServerBuilder recordMarketDataHistory(final M1HistoryStore historyStore) {
+        this.historyStore = historyStore;
+        return this;
+    }
+
+    /**
+     * How much of the recorded market data is fed to a new {@link ExpertAdvisor} when the client requests it.
+     * 
+     * <p>
+     * Market data is only cached when it is recorded with {@link #recordMarketDataHistory(M1HistoryStore)}. Clients
+     * that receive cached market data only send the market data that is newer than the cached one. The default is 30
+     * days.
+     * </p>
+     * 
+     * @param historyWarmUpPeriod
+     *            The period before the first non-historic candle stick that should be fed to new {@link ExpertAdvisor}s.
+     * @return This builder for a fluent API.
+     */
+    public TradingServerBuilder historyWarmUpPeriod(final Duration historyWarmUpPeriod) {
+        this.historyWarmUpPeriod = historyWarmUpPeriod;
+        return this;
+    }
+
     /**
      * Builds the server that was configured with this builder.
      * 
      * @return The built server.
      */
-    public OioServer build() {
+    public TradingServer build() {
         final CombinedNotifier consoleOnlyNotifier = notifierFactory.getConsoleOnlyNotifier();
         final CombinedNotifier fullNotifier = emailNotifier != null ? emailNotifier : consoleOnlyNotifier;
 
-        final SharedMoneyManagement moneyManagement = new SharedMoneyManagement(
-                new ThreadSafeMoneyManagement(getOrCreateMoneyManagement()), consoleOnlyNotifier);
+        final SharedMoneyManagement moneyManagement = new SharedMoneyManagement(getOrCreateMoneyManagement(),
+                consoleOnlyNotifier);
 
         final ExpertAdvisorFactory expertAdvisorFactory = new DefaultExpertAdvisorFactory(
                 getOrCreateBasicExpertAdvisorFactory());
         final ExpertAdvisorFactory loggingExpertAdvisorFactory = new TradeTrackingExpertAdvisorFactory(
                 expertAdvisorFactory, fullNotifier, consoleOnlyNotifier);
+        final ExpertAdvisorFactory recordingExpertAdvisorFactory = historyStore != null
+                ? new HistoryRecordingExpertAdvisorFactory(loggingExpertAdvisorFactory, historyStore, fullNotifier)
+                : loggingExpertAdvisorFactory;
 
         final ProtocolFactory protocolFactory = new ProtocolFactory(getOrCreateIndicatorFactory(),
-                loggingExpertAdvisorFactory, moneyManagement, fullNotifier);
+                recordingExpertAdvisorFactory, moneyManagement, fullNotifier,
+                new CachedHistory(Optional.ofNullable(historyStore), historyWarmUpPeriod, fullNotifier));
         final ClientCommunicator clientCommunicator = new ClientCommunicator(protocolFactory);
 
-        return new OioServer(clientCommunicator, fullNotifier);
+        final Executor executor = getOrCreateClientHandlerExecutor();
+        if (eventLoops > 0) {
+            return new NioServer(clientCommunicator, fullNotifier, eventLoops, executor);
+        }
+        return new OioServer(clientCommunicator, fullNotifier, executor);
     }
 
     private BasicExpertAdvisorFactory getOrCreateBasicExpertAdvisorFactory() {
@@ -145,7 +240,17 @@ public class TradingServerBuilder {
     }
 
     private MoneyManagement getOrCreateMoneyManagement() {
-        return this.moneyManagement != null ? this.moneyManagement : new DefaultMoneyManagement();
+        if (this.moneyManagement == null) {
+            return new DefaultMoneyManagement();
+        }
+        // Money managements that are already thread safe should not be serialized through a global lock.
+        return this.moneyManagement instanceof ConcurrentMoneyManagement ? this.moneyManagement
+                : new ThreadSafeMoneyManagement(this.moneyManagement);
+    }
+
+    private Executor getOrCreateClientHandlerExecutor() {
+        return this.clientHandlerExecutor != null ? this.clientHandlerExecutor
+                : ClientHandlerExecutors.platformThreads();
     }
 
     /**
@@ -0,0 +1,400 @@
+package de.voidnode.trading4j.server.nio;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+import de.voidnode.trading4j.server.protocol.ClientConnection;
+import de.voidnode.trading4j.server.protocol.exceptions.AbnormalCloseException;
+import de.voidnode.trading4j.server.protocol.exceptions.NormalCloseException;
+
+/**
+ * A TCP client connection thats socket I/O is done by a {@link NioEventLoop}.
+ *
+ * <p>
+ * The event loop fills a receive buffer whenever the client sent new data. The <code>tryReceive</code> methods block
+ * until the buffer contains the requested data. Sending works like in the
+ * {@link de.voidnode.trading4j.server.oio.OioClientConnection}: As long as there is data available for read, data to
+ * send is buffered. When the socket can not take more data, the sending thread waits until the event loop signals
+ * that the socket is writable again.
+ * </p>
+ *
+ * <p>
+ * Receiving and sending is expected to be done by a single thread at a time. This is the case for all protocols.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class NioClientConnection implements ClientConnection {
+
+    /**
+     * The size of the receive buffer. It must be large enough to hold the longest {@link String} that can be received.
+     */
+    static final int READ_BUFFER_SIZE = 128 * 1024;
+
+    /**
+     * As long as there is data available for read, data to write is buffered up to the amount of bytes of this limit.
+     */
+    static final int WRITE_BUFFER_SIZE = 1200;
+
+    private static final int BYTES_OF_STRING_LENGTH = 2;
+
+    private final SocketChannel channel;
+    private final NioEventLoop eventLoop;
+    private final String remoteAddress;
+
+    private final Object readLock = new Object();
+    // guarded by readLock. Filled by the event loop from position 0 to its position.
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    // guarded by readLock. Shares the content of readBuffer and is used to copy bulks of received data.
+    private final ByteBuffer readBufferView = readBuffer.duplicate();
+    // guarded by readLock. The index of the next byte to receive in readBuffer.
+    private int readIndex;
+    // guarded by readLock
+    private boolean endOfStream;
+    // guarded by readLock
+    private IOException readFailure;
+
+    private final Object writeLock = new Object();
+    // guarded by writeLock
+    private boolean writeable = true;
+
+    // only accessed by the thread that sends data.
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+
+    // only accessed by the event loop thread.
+    private SelectionKey key;
+
+    /**
+     * Initializes the connection.
+     *
+     * @param channel
+     *            The channel to the client. It must be in non-blocking mode.
+     * @param eventLoop
+     *            The event loop that does the socket I/O for this connection.
+     * @throws IOException
+     *             When the address of the client could not be determined.
+     */
+    NioClientConnection(final SocketChannel channel, final NioEventLoop eventLoop) throws IOException {
+        this.channel = channel;
+        this.eventLoop = eventLoop;
+        this.remoteAddress = String.valueOf(channel.getRemoteAddress());
+    }
+
+    /**
+     * Starts the socket I/O for this connection in its event loop.
+     */
+    void registerAtEventLoop() {
+        eventLoop.register(this);
+    }
+
+    ////////////////////////////////
+    /// Called by the event loop ///
+    ////////////////////////////////
+
+    /**
+     * The channel that is used for the socket I/O.
+     *
+     * @return The channel
+     */
+    SocketChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Informs this connection that it was registered at the selector of the event loop.
+     *
+     * @param selectionKey
+     *            The key for the registration.
+     */
+    void registered(final SelectionKey selectionKey) {
+        this.key = selectionKey;
+    }
+
+    /**
+     * Reads the data that is available in the socket into the receive buffer.
+     */
+    void readFromChannel() {
+        final boolean failed;
+        synchronized (readLock) {
+            if (!readBuffer.hasRemaining()) {
+                compactReadBuffer();
+            }
+            try {
+                if (channel.read(readBuffer) < 0) {
+                    endOfStream = true;
+                    key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+                } else if (!readBuffer.hasRemaining()) {
+                    // Stop reading until the receiving thread consumed some data.
+                    key.interestOps(key.interestOps() & ~SelectionKey.OP_READ);
+                }
+            } catch (final IOException e) {
+                readFailure = e;
+                key.cancel();
+            }
+            failed = readFailure != null;
+            readLock.notifyAll();
+        }
+        if (failed) {
+            wakeUpWriter();
+        }
+    }
+
+    /**
+     * Informs this connection that reading from the socket is not possible anymore.
+     *
+     * @param cause
+     *            The reason why reading is not possible.
+     */
+    void readFailed(final IOException cause) {
+        synchronized (readLock) {
+            readFailure = cause;
+            readLock.notifyAll();
+        }
+        wakeUpWriter();
+    }
+
+    /**
+     * Informs this connection that the socket can take data to send again.
+     */
+    void writeableAgain() {
+        key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+        wakeUpWriter();
+    }
+
+    ///////////////
+    /// Reading ///
+    ///////////////
+
+    @Override
+    public byte tryReceiveByte() throws AbnormalCloseException, NormalCloseException {
+        synchronized (readLock) {
+            awaitReceived(Byte.BYTES);
+            final byte value = readBuffer.get(readIndex);
+            consumed(Byte.BYTES);
+            return value;
+        }
+    }
+
+    @Override
+    public double tryReceiveDouble() throws AbnormalCloseException, NormalCloseException {
+        synchronized (readLock) {
+            awaitReceived(Double.BYTES);
+            final double value = readBuffer.getDouble(readIndex);
+            consumed(Double.BYTES);
+            return value;
+        }
+    }
+
+    @Override
+    public int tryReceiveInteger() throws AbnormalCloseException, NormalCloseException {
+        synchronized (readLock) {
+            awaitReceived(Integer.BYTES);
+            final int value = readBuffer.getInt(readIndex);
+            consumed(Integer.BYTES);
+            return value;
+        }
+    }
+
+    @Override
+    public long tryReceiveLong() throws AbnormalCloseException, NormalCloseException {
+        synchronized (readLock) {
+            awaitReceived(Long.BYTES);
+            final long value = readBuffer.getLong(readIndex);
+            consumed(Long.BYTES);
+            return value;
+        }
+    }
+
+    @Override
+    public String tryReceiveString() throws AbnormalCloseException, NormalCloseException {
+        synchronized (readLock) {
+            awaitReceived(BYTES_OF_STRING_LENGTH);
+            final int length = BYTES_OF_STRING_LENGTH + (readBuffer.getShort(readIndex) & 0xFFFF);
+            awaitReceived(length);
+            final byte[] encoded = new byte[length];
+            for (int i = 0; i < length; i++) {
+                encoded[i] = readBuffer.get(readIndex + i);
+            }
+            consumed(length);
+            try {
+                return new DataInputStream(new ByteArrayInputStream(encoded)).readUTF();
+            } catch (final IOException e) {
+                throw new AbnormalCloseException(e);
+            }
+        }
+    }
+
+    @Override
+    public void tryReceiveFully(final ByteBuffer buffer) throws AbnormalCloseException, NormalCloseException {
+        synchronized (readLock) {
+            while (buffer.hasRemaining()) {
+                awaitReceived(1);
+                final int chunk = Math.min(buffer.remaining(), readBuffer.position() - readIndex);
+                readBufferView.limit(readIndex + chunk);
+                readBufferView.position(readIndex);
+                buffer.put(readBufferView);
+                consumed(chunk);
+            }
+        }
+    }
+
+    private void awaitReceived(final int bytes) throws AbnormalCloseException, NormalCloseException {
+        while (readBuffer.position() - readIndex < bytes) {
+            if (readFailure != null) {
+                throw new AbnormalCloseException(readFailure);
+            }
+            if (endOfStream) {
+                throw new NormalCloseException();
+            }
+            if (!readBuffer.hasRemaining()) {
+                // The event loop paused reading because the buffer is full.
+                compactReadBuffer();
+                resumeReading();
+            }
+            try {
+                readLock.wait();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AbnormalCloseException();
+            }
+        }
+    }
+
+    private void consumed(final int bytes) {
+        readIndex += bytes;
+        if (readIndex == readBuffer.position()) {
+            final boolean wasFull = !readBuffer.hasRemaining();
+            readBuffer.clear();
+            readIndex = 0;
+            if (wasFull) {
+                resumeReading();
+            }
+        }
+    }
+
+    private void compactReadBuffer() {
+        readBuffer.limit(readBuffer.position());
+        readBuffer.position(readIndex);
+        readBuffer.compact();
+        readIndex = 0;
+    }
+
+    private void resumeReading() {
+        eventLoop.execute(() -> {
+            if (key.isValid()) {
+                key.interestOps(key.interestOps() | SelectionKey.OP_READ);
+            }
+        });
+    }
+
+    private boolean noMoreBytesReadable() {
+        synchronized (readLock) {
+            return readBuffer.position() == readIndex;
+        }
+    }
+
+    ///////////////
+    /// Writing ///
+    ///////////////
+
+    @Override
+    public void trySendByte(final byte data) throws AbnormalCloseException, NormalCloseException {
+        ensureWriteCapacity(Byte.BYTES);
+        writeBuffer.put(data);
+        flushIfNothingToRead();
+    }
+
+    @Override
+    public void trySendInteger(final int data) throws AbnormalCloseException, NormalCloseException {
+        ensureWriteCapacity(Integer.BYTES);
+        writeBuffer.putInt(data);
+        flushIfNothingToRead();
+    }
+
+    @Override
+    public void trySendDouble(final double data) throws AbnormalCloseException, NormalCloseException {
+        ensureWriteCapacity(Double.BYTES);
+        writeBuffer.putDouble(data);
+        flushIfNothingToRead();
+    }
+
+    @Override
+    public void trySendLong(final long data) throws AbnormalCloseException, NormalCloseException {
+        ensureWriteCapacity(Long.BYTES);
+        writeBuffer.putLong(data);
+        flushIfNothingToRead();
+    }
+
+    private void ensureWriteCapacity(final int bytes) throws AbnormalCloseException {
+        if (writeBuffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flushIfNothingToRead() throws AbnormalCloseException {
+        if (noMoreBytesReadable()) {
+            flush();
+        }
+    }
+
+    private void flush() throws AbnormalCloseException {
+        writeBuffer.flip();
+        try {
+            while (writeBuffer.hasRemaining()) {
+                if (channel.write(writeBuffer) == 0) {
+                    awaitWriteable();
+                }
+            }
+        } catch (final IOException e) {
+            throw new AbnormalCloseException(e);
+        } finally {
+            writeBuffer.clear();
+        }
+    }
+
+    private void awaitWriteable() throws AbnormalCloseException {
+        synchronized (writeLock) {
+            writeable = false;
+        }
+        eventLoop.execute(() -> {
+            if (key.isValid()) {
+                key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+            } else {
+                wakeUpWriter();
+            }
+        });
+        synchronized (writeLock) {
+            while (!writeable) {
+                try {
+                    writeLock.wait();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new AbnormalCloseException();
+                }
+            }
+        }
+    }
+
+    private void wakeUpWriter() {
+        synchronized (writeLock) {
+            writeable = true;
+            writeLock.notifyAll();
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        channel.close();
+        readFailed(new ClosedChannelException());
+    }
+
+    @Override
+    public String toString() {
+        return remoteAddress;
+    }
+}
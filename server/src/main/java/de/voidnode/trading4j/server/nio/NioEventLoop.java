@@ -0,0 +1,130 @@
+package de.voidnode.trading4j.server.nio;
+
+import java.io.IOException;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import de.voidnode.trading4j.server.reporting.AdmininstratorNotifier;
+
+/**
+ * Multiplexes the socket I/O of many {@link NioClientConnection}s on a single thread.
+ *
+ * <p>
+ * The selector of an event loop must only be accessed by the thread that executes the loop. Other threads hand over
+ * work to this thread with {@link #execute(Runnable)}.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+class NioEventLoop implements Runnable {
+
+    private final Selector selector;
+    private final AdmininstratorNotifier admin;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean running = true;
+
+    /**
+     * Initializes the event loop.
+     *
+     * @param admin
+     *            used to inform the administrator when the event loop failed.
+     * @throws IOException
+     *             When no {@link Selector} could be opened.
+     */
+    NioEventLoop(final AdmininstratorNotifier admin) throws IOException {
+        this.admin = admin;
+        this.selector = Selector.open();
+    }
+
+    /**
+     * Starts multiplexing the I/O of a new connection.
+     *
+     * @param connection
+     *            The connection that should be served by this event loop.
+     */
+    void register(final NioClientConnection connection) {
+        execute(() -> {
+            try {
+                connection.registered(connection.getChannel().register(selector, SelectionKey.OP_READ, connection));
+            } catch (final ClosedChannelException e) {
+                connection.readFailed(e);
+            }
+        });
+    }
+
+    /**
+     * Executes a task in the thread of this event loop.
+     *
+     * @param task
+     *            The task to execute.
+     */
+    void execute(final Runnable task) {
+        tasks.add(task);
+        selector.wakeup();
+    }
+
+    /**
+     * Stops the event loop after the current iteration.
+     */
+    void stop() {
+        running = false;
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (running) {
+                selector.select();
+                runTasks();
+                handleSelectedKeys();
+            }
+        } catch (final IOException e) {
+            admin.unrecoverableError("An event loop for client connections failed.", e);
+        } finally {
+            closeSelector();
+        }
+    }
+
+    private void runTasks() {
+        Runnable task = tasks.poll();
+        while (task != null) {
+            task.run();
+            task = tasks.poll();
+        }
+    }
+
+    private void handleSelectedKeys() {
+        final Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+            final SelectionKey key = keys.next();
+            keys.remove();
+            final NioClientConnection connection = (NioClientConnection) key.attachment();
+            try {
+                if (key.isReadable()) {
+                    connection.readFromChannel();
+                }
+                if (key.isValid() && key.isWritable()) {
+                    connection.writeableAgain();
+                }
+            } catch (final CancelledKeyException e) {
+                // The connection was closed by an other thread. There is nothing left to do for it.
+                continue;
+            }
+        }
+    }
+
+    private void closeSelector() {
+        try {
+            selector.close();
+        } catch (final IOException e) {
+            admin.unexpectedEvent("Failed to close the selector of an event loop.", e);
+        }
+    }
+}
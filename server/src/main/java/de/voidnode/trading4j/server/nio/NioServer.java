@@ -0,0 +1,176 @@
+package de.voidnode.trading4j.server.nio;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.Executor;
+
+import de.voidnode.trading4j.server.TradingServer;
+import de.voidnode.trading4j.server.protocol.ClientCommunicator;
+import de.voidnode.trading4j.server.reporting.AdmininstratorNotifier;
+
+/**
+ * A TCP server that accepts clients for trading strategies based on Java NIO mechanisms.
+ *
+ * <p>
+ * The socket I/O of all clients is multiplexed on a fixed number of event loop threads. The protocols of the clients
+ * still read and write in a blocking fashion in handlers run by an {@link Executor}, but these handlers only wait for
+ * data in memory buffers instead of being blocked in the operating system.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class NioServer implements TradingServer {
+
+    private static final int PORT = 6474;
+
+    private final ClientCommunicator clientCommunicator;
+    private final AdmininstratorNotifier admin;
+    private final int eventLoopCount;
+    private final Executor clientHandlerExecutor;
+
+    private volatile ServerSocketChannel serverChannel;
+    private NioEventLoop[] eventLoops;
+    private int nextEventLoop;
+
+    /**
+     * Initializes this class with all its dependencies.
+     *
+     * @param clientCommunicator
+     *            used handle the communication with new clients.
+     * @param admin
+     *            used to inform the administrator of errors with the connection.
+     * @param eventLoopCount
+     *            The number of threads that should be used to do the socket I/O of all clients.
+     * @param clientHandlerExecutor
+     *            used to run the handlers for the communication with each client.
+     * @throws IllegalArgumentException
+     *             When the number of event loops is smaller than 1.
+     */
+    public NioServer(final ClientCommunicator clientCommunicator, final AdmininstratorNotifier admin,
+            final int eventLoopCount, final Executor clientHandlerExecutor) throws IllegalArgumentException {
+        if (eventLoopCount < 1) {
+            throw new IllegalArgumentException("At least one event loop is required but " + eventLoopCount
+                    + " event loops where requested.");
+        }
+        this.clientCommunicator = clientCommunicator;
+        this.admin = admin;
+        this.eventLoopCount = eventLoopCount;
+        this.clientHandlerExecutor = clientHandlerExecutor;
+    }
+
+    @Override
+    public void start() {
+        serverChannel = createServerChannel();
+        if (serverChannel != null && startEventLoops()) {
+            admin.informalEvent("Listening for connections on port " + PORT + ".");
+            acceptNewClients();
+            stopEventLoops();
+        }
+        closeServerChannel();
+    }
+
+    @Override
+    public void stop() {
+        closeServerChannel();
+    }
+
+    private ServerSocketChannel createServerChannel() {
+        try {
+            return ServerSocketChannel.open().bind(new InetSocketAddress(PORT));
+        } catch (final IOException e) {
+            handleServerError(e);
+        }
+        return null;
+    }
+
+    private boolean startEventLoops() {
+        eventLoops = new NioEventLoop[eventLoopCount];
+        for (int i = 0; i < eventLoopCount; i++) {
+            try {
+                eventLoops[i] = new NioEventLoop(admin);
+            } catch (final IOException e) {
+                handleServerError(e);
+                stopEventLoops();
+                return false;
+            }
+            final Thread eventLoopThread = new Thread(eventLoops[i], "trading4j-event-loop-" + i);
+            // The event loops deliver the data for threads that make trading decisions.
+            eventLoopThread.setPriority(Thread.MAX_PRIORITY - 1);
+            eventLoopThread.setDaemon(true);
+            eventLoopThread.start();
+        }
+        return true;
+    }
+
+    private void acceptNewClients() {
+        while (serverChannel.isOpen()) {
+            try {
+                final SocketChannel clientChannel = serverChannel.accept();
+                handleNewClient(clientChannel);
+            } catch (final ClosedChannelException e) {
+                // The server channel was closed, e.g. by stop() or because the server thread was interrupted.
+                return;
+            } catch (final IOException e) {
+                handleServerError(e);
+            }
+        }
+    }
+
+    private void handleNewClient(final SocketChannel clientChannel) {
+        final NioClientConnection connection;
+        try {
+            admin.informalEvent(String.format("A client connected from '%s'.", clientChannel.getRemoteAddress()));
+            clientChannel.configureBlocking(false);
+            connection = new NioClientConnection(clientChannel, nextEventLoop());
+        } catch (final IOException e) {
+            handleClientInitialisationError(clientChannel, e);
+            return;
+        }
+        connection.registerAtEventLoop();
+        clientHandlerExecutor.execute(clientCommunicator.newClientCommunicationHandler(connection));
+    }
+
+    private NioEventLoop nextEventLoop() {
+        final NioEventLoop eventLoop = eventLoops[nextEventLoop];
+        nextEventLoop = (nextEventLoop + 1) % eventLoops.length;
+        return eventLoop;
+    }
+
+    private void stopEventLoops() {
+        for (final NioEventLoop eventLoop : eventLoops) {
+            if (eventLoop != null) {
+                eventLoop.stop();
+            }
+        }
+    }
+
+    private void closeServerChannel() {
+        final ServerSocketChannel channel = serverChannel;
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            admin.unrecoverableError("Failed to close the server socket.", e);
+        }
+    }
+
+    private void handleServerError(final IOException e) {
+        admin.unrecoverableError("An error occured in the main server socket.", e);
+    }
+
+    private void handleClientInitialisationError(final SocketChannel clientChannel, final IOException e) {
+        final String addr = String.valueOf(clientChannel.socket().getRemoteSocketAddress());
+        admin.unexpectedEvent(String.format(
+                "Can't initialize connection of client '%s' correctly. Closing the connection to it.", addr), e);
+        try {
+            clientChannel.close();
+        } catch (IOException e1) {
+            admin.unexpectedEvent(String.format("Could not close the connection to the client '%s'.", addr), e1);
+        }
+    }
+}
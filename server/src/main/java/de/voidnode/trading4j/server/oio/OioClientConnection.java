@@ -7,6 +7,7 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.Socket;
+import java.nio.ByteBuffer;
 
 import de.voidnode.trading4j.server.protocol.ClientConnection;
 import de.voidnode.trading4j.server.protocol.exceptions.AbnormalCloseException;
@@ -29,6 +30,7 @@ public class OioClientConnection implements ClientConnection {
     private final DataOutputStream clientOutput;
 
     private OutputStream bufferedClientOutput;
+    private byte[] transferBuffer = new byte[0];
 
     /**
      * Initializes the connection.
@@ -95,6 +97,27 @@ public class OioClientConnection implements ClientConnection {
         throw new AbnormalCloseException();
     }
 
+    @Override
+    public void tryReceiveFully(final ByteBuffer buffer) throws AbnormalCloseException, NormalCloseException {
+        final int length = buffer.remaining();
+        try {
+            if (buffer.hasArray()) {
+                clientInput.readFully(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+                buffer.position(buffer.limit());
+            } else {
+                if (transferBuffer.length < length) {
+                    transferBuffer = new byte[length];
+                }
+                clientInput.readFully(transferBuffer, 0, length);
+                buffer.put(transferBuffer, 0, length);
+            }
+            return;
+        } catch (final IOException e) {
+            wrapException(e);
+        }
+        throw new AbnormalCloseException();
+    }
+
     @Override
     public void trySendByte(final byte data) throws AbnormalCloseException, NormalCloseException {
         trySend(() -> clientOutput.write(data));
@@ -3,7 +3,10 @@ package de.voidnode.trading4j.server.oio;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.util.concurrent.Executor;
 
+import de.voidnode.trading4j.server.ClientHandlerExecutors;
+import de.voidnode.trading4j.server.TradingServer;
 import de.voidnode.trading4j.server.protocol.ClientCommunicator;
 import de.voidnode.trading4j.server.reporting.AdmininstratorNotifier;
 
@@ -13,18 +16,23 @@ import de.voidnode.trading4j.server.reporting.AdmininstratorNotifier;
  * 
  * @author Raik Bieniek
  */
-public class OioServer {
+public class OioServer implements TradingServer {
 
     private static final int PORT = 6474;
 
     private final ClientCommunicator clientCommunicator;
     private final AdmininstratorNotifier admin;
+    private final Executor clientHandlerExecutor;
 
-    private ServerSocket serverSocket;
+    private volatile ServerSocket serverSocket;
 
     /**
      * Initializes this class with all its dependencies.
      * 
+     * <p>
+     * The communication with each client is handled in its own platform thread.
+     * </p>
+     * 
      * @param clientCommunicator
      *            used handle the communication with new clients.
      * @param admin
@@ -32,19 +40,29 @@ public class OioServer {
      *            connection.
      */
     public OioServer(final ClientCommunicator clientCommunicator, final AdmininstratorNotifier admin) {
-        this.clientCommunicator = clientCommunicator;
-        this.admin = admin;
+        this(clientCommunicator, admin, ClientHandlerExecutors.platformThreads());
     }
 
     /**
-     * Starts listening for incoming client connections.
-     * 
-     * <p>
-     * This method will block until the current thread is terminated from the
-     * outside (e.g. with STRG+C).
-     * </p>
+     * Initializes this class with all its dependencies.
      * 
+     * @param clientCommunicator
+     *            used handle the communication with new clients.
+     * @param admin
+     *            used to inform the administrator of errors with the
+     *            connection.
+     * @param clientHandlerExecutor
+     *            used to run the handlers for the communication with each
+     *            client.
      */
+    public OioServer(final ClientCommunicator clientCommunicator, final AdmininstratorNotifier admin,
+            final Executor clientHandlerExecutor) {
+        this.clientCommunicator = clientCommunicator;
+        this.admin = admin;
+        this.clientHandlerExecutor = clientHandlerExecutor;
+    }
+
+    @Override
     public void start() {
         serverSocket = createServerSocket();
         if (serverSocket != null) {
@@ -64,31 +82,37 @@ public class OioServer {
         return null;
     }
 
+    @Override
+    public void stop() {
+        if (serverSocket != null) {
+            closeServerSocket();
+        }
+    }
+
     private void acceptNewClients() {
         while (!serverSocket.isClosed()) {
             try {
                 final Socket clientSocket = serverSocket.accept();
                 handleNewClient(clientSocket);
             } catch (final IOException e) {
-                handleServerError(e);
+                // Closing the server socket with stop() aborts accept() with an exception.
+                if (!serverSocket.isClosed()) {
+                    handleServerError(e);
+                }
             }
         }
     }
 
     private void handleNewClient(final Socket clientSocket) {
         admin.informalEvent(String.format("A client connected from '%s'.", clientSocket.getRemoteSocketAddress()));
-        Thread clientThread = null;
+        final Runnable clientHandler;
         try {
-            clientThread = new Thread(
-                    clientCommunicator.newClientCommunicationHandler(new OioClientConnection(clientSocket)));
+            clientHandler = clientCommunicator.newClientCommunicationHandler(new OioClientConnection(clientSocket));
         } catch (final IOException e) {
             handleClientInitialisationError(clientSocket, e);
             return;
         }
-        // Give threads that make trading decisions high priority.
-        clientThread.setPriority(Thread.MAX_PRIORITY - 1);
-        clientThread.setDaemon(true);
-        clientThread.start();
+        clientHandlerExecutor.execute(clientHandler);
     }
 
     private void closeServerSocket() {
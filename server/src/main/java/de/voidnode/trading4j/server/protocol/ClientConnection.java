@@ -1,5 +1,7 @@
 package de.voidnode.trading4j.server.protocol;
 
+import java.nio.ByteBuffer;
+
 import de.voidnode.trading4j.server.protocol.exceptions.AbnormalCloseException;
 import de.voidnode.trading4j.server.protocol.exceptions.NormalCloseException;
 
@@ -65,6 +67,23 @@ public interface ClientConnection {
      */
     String tryReceiveString() throws AbnormalCloseException, NormalCloseException;
 
+    /**
+     * Tries to receive as many bytes from the client as the passed buffer has remaining.
+     * 
+     * <p>
+     * The bytes are put into the buffer starting at its current position. When this method returns, the position of
+     * the buffer equals its limit. Heap buffers as well as direct buffers are supported.
+     * </p>
+     * 
+     * @param buffer
+     *            The buffer to fill with the received bytes.
+     * @throws NormalCloseException
+     *             When receiving was not possible because the connection the the client was closed in a normal way.
+     * @throws AbnormalCloseException
+     *             When receiving was not possible because the connection the the client was closed in an abnormal way.
+     */
+    void tryReceiveFully(ByteBuffer buffer) throws AbnormalCloseException, NormalCloseException;
+
     /**
      * Trys to send a {@link Byte} of data to the client.
      * 
@@ -0,0 +1,86 @@
+package de.voidnode.trading4j.server.protocol;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+import de.voidnode.trading4j.domain.VolumeUnit;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.marketdata.impl.MutableFullMarketData;
+import de.voidnode.trading4j.domain.marketdata.impl.ReusableFullMarketData;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.server.protocol.messages.NewMarketDataExtendedMessage;
+
+/**
+ * Decodes market data messages from a whole frame of received bytes at once.
+ *
+ * <p>
+ * A frame contains all data of a message except the message number. The fields are read with absolute gets relative
+ * to the position of the buffer so that the position of the buffer is not changed. The buffer can be a heap or a
+ * direct buffer but must have the byte order {@link java.nio.ByteOrder#BIG_ENDIAN} which is the default for
+ * {@link ByteBuffer}s.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public final class MarketDataFrameCodec {
+
+    /**
+     * The size of the frame of a {@link NewMarketDataExtendedMessage} in bytes.
+     */
+    public static final int NEW_MARKET_DATA_EXTENDED_FRAME_SIZE = 52;
+
+    private static final int TIME = 0;
+    private static final int OPEN = 8;
+    private static final int HIGH = 16;
+    private static final int LOW = 24;
+    private static final int CLOSE = 32;
+    private static final int SPREAD = 40;
+    private static final int VOLUME = 44;
+    private static final int TICK_COUNT = 48;
+
+    private MarketDataFrameCodec() {
+
+    }
+
+    /**
+     * Decodes the market data of a {@link NewMarketDataExtendedMessage}.
+     *
+     * @param frame
+     *            The buffer that contains the frame starting at its current position. At least
+     *            {@link #NEW_MARKET_DATA_EXTENDED_FRAME_SIZE} bytes must be remaining.
+     * @return The decoded market data.
+     */
+    public static FullMarketData<M1> decodeNewMarketDataExtended(final ByteBuffer frame) {
+        final int start = frame.position();
+        return new MutableFullMarketData<M1>().setTime(Instant.ofEpochSecond(frame.getLong(start + TIME)))
+                .setOpen(frame.getDouble(start + OPEN)).setHigh(frame.getDouble(start + HIGH))
+                .setLow(frame.getDouble(start + LOW)).setClose(frame.getDouble(start + CLOSE))
+                .setSpread(new Price(frame.getInt(start + SPREAD)))
+                .setVolume(frame.getInt(start + VOLUME), VolumeUnit.BASE).setTickCount(frame.getInt(start + TICK_COUNT))
+                .toImmutableFullMarketData();
+    }
+
+    /**
+     * Decodes the market data of a {@link NewMarketDataExtendedMessage} into an existing instance.
+     *
+     * <p>
+     * In contrast to {@link #decodeNewMarketDataExtended(ByteBuffer)} this method does not allocate any memory.
+     * </p>
+     *
+     * @param frame
+     *            The buffer that contains the frame starting at its current position. At least
+     *            {@link #NEW_MARKET_DATA_EXTENDED_FRAME_SIZE} bytes must be remaining.
+     * @param target
+     *            The instance that should be refilled with the decoded market data.
+     * @return The <code>target</code> passed.
+     */
+    public static ReusableFullMarketData<M1> decodeNewMarketDataExtended(final ByteBuffer frame,
+            final ReusableFullMarketData<M1> target) {
+        final int start = frame.position();
+        return target.setTime(frame.getLong(start + TIME)).setOpen(frame.getDouble(start + OPEN))
+                .setHigh(frame.getDouble(start + HIGH)).setLow(frame.getDouble(start + LOW))
+                .setClose(frame.getDouble(start + CLOSE)).setSpread(frame.getInt(start + SPREAD))
+                .setVolume(frame.getInt(start + VOLUME), VolumeUnit.BASE).setTickCount(frame.getInt(start + TICK_COUNT));
+    }
+}
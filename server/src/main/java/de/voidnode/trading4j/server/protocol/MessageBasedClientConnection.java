@@ -1,7 +1,10 @@
 package de.voidnode.trading4j.server.protocol;
 
+import java.nio.ByteBuffer;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Currency;
+import java.util.List;
 import java.util.Optional;
 
 import de.voidnode.trading4j.domain.ForexSymbol;
@@ -14,24 +17,28 @@ import de.voidnode.trading4j.domain.environment.TradingEnvironmentInformation;
 import de.voidnode.trading4j.domain.environment.VolumeConstraints;
 import de.voidnode.trading4j.domain.marketdata.impl.DatedCandleStick;
 import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
-import de.voidnode.trading4j.domain.marketdata.impl.MutableFullMarketData;
+import de.voidnode.trading4j.domain.marketdata.impl.ReusableFullMarketData;
 import de.voidnode.trading4j.domain.monetary.Price;
 import de.voidnode.trading4j.domain.orders.CloseConditions;
 import de.voidnode.trading4j.domain.orders.PendingOrder;
 import de.voidnode.trading4j.domain.timeframe.M1;
 import de.voidnode.trading4j.server.protocol.exceptions.CommunicationException;
 import de.voidnode.trading4j.server.protocol.exceptions.MessageReadException;
+import de.voidnode.trading4j.server.protocol.exceptions.ProtocolException;
 import de.voidnode.trading4j.server.protocol.messages.AccountCurrencyExchangeRateChangedMessage;
 import de.voidnode.trading4j.server.protocol.messages.BalanceChangedMessage;
+import de.voidnode.trading4j.server.protocol.messages.CachedHistoryReplayedMessage;
 import de.voidnode.trading4j.server.protocol.messages.ChangeCloseConditionsMessage;
 import de.voidnode.trading4j.server.protocol.messages.CloseOrCancelPendingOrderMessage;
 import de.voidnode.trading4j.server.protocol.messages.Message;
 import de.voidnode.trading4j.server.protocol.messages.MessageType;
+import de.voidnode.trading4j.server.protocol.messages.NewMarketDataBatchMessage;
 import de.voidnode.trading4j.server.protocol.messages.NewMarketDataExtendedMessage;
 import de.voidnode.trading4j.server.protocol.messages.NewMarketDataSimpleMessage;
 import de.voidnode.trading4j.server.protocol.messages.PendingOrderConditionalyClosedMessage;
 import de.voidnode.trading4j.server.protocol.messages.PendingOrderConditionalyExecutedMessage;
 import de.voidnode.trading4j.server.protocol.messages.PlacePendingOrderMessage;
+import de.voidnode.trading4j.server.protocol.messages.RequestCachedHistoryMessage;
 import de.voidnode.trading4j.server.protocol.messages.RequestTradingAlgorithmMessage;
 import de.voidnode.trading4j.server.protocol.messages.RequestTradingAlgorithmMessage.AlgorithmType;
 import de.voidnode.trading4j.server.protocol.messages.ResponseChangeCloseConditionsMessage;
@@ -46,7 +53,31 @@ import de.voidnode.trading4j.server.protocol.messages.TrendForMarketDataMessage;
  */
 public class MessageBasedClientConnection {
 
+    /**
+     * The maximal number of candle sticks a {@link NewMarketDataBatchMessage} may contain.
+     * 
+     * <p>
+     * This is the batch size the MetaTrader client sends. Larger counts are rejected before any memory is reserved for
+     * them.
+     * </p>
+     */
+    static final int MAX_BATCH_SIZE = 1000;
+
+    /**
+     * The maximal number of candle sticks of a {@link NewMarketDataBatchMessage} that are received at once.
+     */
+    private static final int BATCH_FRAMES_PER_RECEIVE = 64;
+
+    private static final RequestCachedHistoryMessage REQUEST_CACHED_HISTORY = new RequestCachedHistoryMessage();
+
     private final ClientConnection connection;
+    private final ByteBuffer newMarketDataExtendedFrame = ByteBuffer
+            .allocate(MarketDataFrameCodec.NEW_MARKET_DATA_EXTENDED_FRAME_SIZE);
+    private final ByteBuffer newMarketDataBatchFrames = ByteBuffer
+            .allocate(MarketDataFrameCodec.NEW_MARKET_DATA_EXTENDED_FRAME_SIZE * BATCH_FRAMES_PER_RECEIVE);
+    private final ReusableFullMarketData<M1> newMarketDataExtended = new ReusableFullMarketData<>();
+    private final NewMarketDataExtendedMessage newMarketDataExtendedMessage = new NewMarketDataExtendedMessage(
+            newMarketDataExtended);
 
     /**
      * Initializes the message reader and writer with its dependencies.
@@ -61,6 +92,11 @@ public class MessageBasedClientConnection {
     /**
      * Reads the next message from the client.
      *
+     * <p>
+     * {@link NewMarketDataExtendedMessage}s and the {@link ReusableFullMarketData} they contain are reused for every
+     * such message read. They are only valid until the next message is read from this instance.
+     * </p>
+     *
      * @return The read message.
      * @throws CommunicationException
      *             When no message could not be read from the {@link ClientConnection}.
@@ -101,6 +137,8 @@ public class MessageBasedClientConnection {
                 return readNewMarketDataSimpleMessage();
             case NEW_MARKET_DATA_EXTENDED:
                 return readNewMarketDataExtendedMessage();
+            case NEW_MARKET_DATA_BATCH:
+                return readNewMarketDataBatchMessage();
             case ACCOUNT_CURRENCY_EXCHANGE_RATE_CHANGED:
                 return readAccountCurrencyExchangeRateChangedMessage();
             case RESPONSE_PLACE_PENDING_ORDER:
@@ -115,6 +153,9 @@ public class MessageBasedClientConnection {
                 return readResponseChangeCloseConditionsMessage();
             case BALANCE_CHANGED:
                 return readBalanceChangedMessage();
+            case REQUEST_CACHED_HISTORY:
+                // This message has no additional data to read.
+                return REQUEST_CACHED_HISTORY;
             default:
                 throw new UnsupportedOperationException("Reading of " + messageType + " messages is not supported.");
         }
@@ -123,8 +164,12 @@ public class MessageBasedClientConnection {
     private MessageType readMessageTypeOrFail() throws CommunicationException {
         final byte number = connection.tryReceiveByte();
         final Optional<MessageType> messageType = MessageType.forMessageNumber(number);
-        return messageType.orElseThrow(() -> new MessageReadException(
-                "Read the message number " + (int) number + " which is not assigned to any known message type."));
+        // No orElseThrow() as the capturing lambda would be allocated for every message read.
+        if (!messageType.isPresent()) {
+            throw new MessageReadException(
+                    "Read the message number " + (int) number + " which is not assigned to any known message type.");
+        }
+        return messageType.get();
     }
 
     private RequestTradingAlgorithmMessage readRequestTradingAlgorithmMessage() throws CommunicationException {
@@ -143,14 +188,37 @@ public class MessageBasedClientConnection {
     }
 
     private NewMarketDataExtendedMessage readNewMarketDataExtendedMessage() throws CommunicationException {
-        final Instant time = Instant.ofEpochSecond(connection.tryReceiveLong());
-        final FullMarketData<M1> candleStick = new MutableFullMarketData<M1>().setTime(time)
-                .setOpen(connection.tryReceiveDouble()).setHigh(connection.tryReceiveDouble())
-                .setLow(connection.tryReceiveDouble()).setClose(connection.tryReceiveDouble())
-                .setSpread(new Price(connection.tryReceiveInteger()))
-                .setVolume(connection.tryReceiveInteger(), VolumeUnit.BASE).setTickCount(connection.tryReceiveInteger())
-                .toImmutableFullMarketData();
-        return new NewMarketDataExtendedMessage(candleStick);
+        newMarketDataExtendedFrame.clear();
+        connection.tryReceiveFully(newMarketDataExtendedFrame);
+        newMarketDataExtendedFrame.flip();
+        MarketDataFrameCodec.decodeNewMarketDataExtended(newMarketDataExtendedFrame, newMarketDataExtended);
+        return newMarketDataExtendedMessage;
+    }
+
+    private NewMarketDataBatchMessage readNewMarketDataBatchMessage() throws CommunicationException {
+        final int count = connection.tryReceiveInteger();
+        if (count < 0) {
+            throw new MessageReadException(
+                    "Received a batch of market data with the negative candle stick count " + count + ".");
+        }
+        if (count > MAX_BATCH_SIZE) {
+            throw new ProtocolException("Received a batch of market data with " + count
+                    + " candle sticks but at most " + MAX_BATCH_SIZE + " are allowed.");
+        }
+        final List<FullMarketData<M1>> candleSticks = new ArrayList<>(count);
+        while (candleSticks.size() < count) {
+            final int frames = Math.min(count - candleSticks.size(), BATCH_FRAMES_PER_RECEIVE);
+            newMarketDataBatchFrames.clear();
+            newMarketDataBatchFrames.limit(frames * MarketDataFrameCodec.NEW_MARKET_DATA_EXTENDED_FRAME_SIZE);
+            connection.tryReceiveFully(newMarketDataBatchFrames);
+            newMarketDataBatchFrames.flip();
+            while (newMarketDataBatchFrames.hasRemaining()) {
+                candleSticks.add(MarketDataFrameCodec.decodeNewMarketDataExtended(newMarketDataBatchFrames));
+                newMarketDataBatchFrames.position(
+                        newMarketDataBatchFrames.position() + MarketDataFrameCodec.NEW_MARKET_DATA_EXTENDED_FRAME_SIZE);
+            }
+        }
+        return new NewMarketDataBatchMessage(candleSticks);
     }
 
     private Message readAccountCurrencyExchangeRateChangedMessage() throws CommunicationException {
@@ -233,6 +301,9 @@ public class MessageBasedClientConnection {
             case CHANGE_CLOSE_CONDITIONS:
                 writeMessage((ChangeCloseConditionsMessage) message);
                 break;
+            case CACHED_HISTORY_REPLAYED:
+                writeMessage((CachedHistoryReplayedMessage) message);
+                break;
             case EVENT_HANDLING_FINISHED:
                 // This message has no additional data to write.
                 break;
@@ -286,6 +357,11 @@ public class MessageBasedClientConnection {
         }
     }
 
+    private void writeMessage(final CachedHistoryReplayedMessage message) throws CommunicationException {
+        // MetaTrader times are never before the epoch so 0 can safely indicate that nothing was cached.
+        connection.trySendLong(message.getNewestCandleStickTime().map(Instant::getEpochSecond).orElse(0L));
+    }
+
     @Override
     public String toString() {
         return connection.toString();
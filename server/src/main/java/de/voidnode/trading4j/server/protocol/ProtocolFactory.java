@@ -11,6 +11,7 @@ import de.voidnode.trading4j.api.TrendIndicatorFactory;
 import de.voidnode.trading4j.domain.environment.TradingEnvironmentInformation;
 import de.voidnode.trading4j.moneymanagement.SharedMoneyManagement;
 import de.voidnode.trading4j.moneymanagement.SharedMoneyManagement.ReleasableMoneyManagement;
+import de.voidnode.trading4j.server.protocol.expertadvisor.CachedHistory;
 import de.voidnode.trading4j.server.protocol.expertadvisor.ExpertAdvisorProtocol;
 import de.voidnode.trading4j.server.protocol.expertadvisor.LocalExpertAdvisor;
 import de.voidnode.trading4j.server.protocol.expertadvisor.PendingOrderMapper;
@@ -28,6 +29,7 @@ public class ProtocolFactory {
     private final TrendIndicatorFactory indicatorFactory;
     private final ExpertAdvisorFactory expertAdvisorFactory;
     private final SharedMoneyManagement moneyManagement;
+    private final CachedHistory cachedHistory;
 
     /**
      * Initializes the factory with the dependencies that are independent of the concrete {@link ClientConnection}.
@@ -40,14 +42,17 @@ public class ProtocolFactory {
      *            Used to manage the amount of money that is invested in each trade.
      * @param notifier
      *            Used to notify on different events.
+     * @param cachedHistory
+     *            The market data that {@link ExpertAdvisor}s can be warmed up with on request of the client.
      */
     public ProtocolFactory(final TrendIndicatorFactory indicatorFactory,
             final ExpertAdvisorFactory expertAdvisorFactory, final SharedMoneyManagement moneyManagement,
-            final CombinedNotifier notifier) {
+            final CombinedNotifier notifier, final CachedHistory cachedHistory) {
         this.indicatorFactory = indicatorFactory;
         this.expertAdvisorFactory = expertAdvisorFactory;
         this.moneyManagement = moneyManagement;
         this.fullNotifier = notifier;
+        this.cachedHistory = cachedHistory;
     }
 
     /**
@@ -123,8 +128,8 @@ public class ProtocolFactory {
         final RemoteBroker broker = new RemoteBroker(clientConnection, orderMapper);
 
         return expertAdvisorFactory.newExpertAdvisor(expertAdvisorNumber, broker, moneyManagement, information)
-                .map(ea -> new LocalExpertAdvisor(ea, moneyManagement, orderMapper,
-                        information.getAccountInformation().getAccountCurrency(), information.getAccountSymbol()));
+                .map(ea -> new LocalExpertAdvisor(ea, moneyManagement, orderMapper, clientConnection, cachedHistory,
+                        information));
     }
 
     /**
@@ -0,0 +1,168 @@
+package de.voidnode.trading4j.server.protocol.expertadvisor;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import de.voidnode.trading4j.api.ExpertAdvisor;
+import de.voidnode.trading4j.domain.environment.TradingEnvironmentInformation;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.marketdata.impl.ReusableFullMarketData;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.history.M1HistoryReader;
+import de.voidnode.trading4j.history.M1HistoryStore;
+import de.voidnode.trading4j.server.reporting.AdmininstratorNotifier;
+
+/**
+ * Warms up newly created {@link ExpertAdvisor}s with the market data that was recorded in a {@link M1HistoryStore}.
+ *
+ * <p>
+ * Without the cache each client sends the recent history of its trade symbol on every connect. With the cache the
+ * server feeds the recorded candle sticks to the {@link ExpertAdvisor} itself and the client only needs to send the
+ * candle sticks that are newer than the newest recorded one.
+ * </p>
+ *
+ * <p>
+ * The cache is only used when the recorded history reaches into the warm up period. Otherwise the client would have
+ * to fill a gap that is older than the history it usually sends. Only candle sticks that are older than the first
+ * non-historic candle stick are fed. Sessions of the strategy tester of the MetaTrader, which report the broker
+ * <code>Backtest</code>, never use the cache as their historic market data is unrelated to the recorded one.
+ * </p>
+ *
+ * <p>
+ * The {@link de.voidnode.trading4j.history.M1HistoryWriter} never backfills gaps in the recorded history, e.g. when
+ * the server was not running for some time. When the warm up period contains more than an hour without candle sticks
+ * outside of the weekend close of the market, the cache is not used either so that the client sends its complete
+ * history. Gaps caused by holidays are treated as missing market data too, which only costs the transfer of the client
+ * history.
+ * </p>
+ *
+ * <p>
+ * A cached history that can not be read, e.g. because its file is corrupt, must not prevent trading. The file is
+ * opened and validated before any candle stick is fed. When this fails, the administrator is informed and the cache is
+ * not used so that the client sends its complete history.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class CachedHistory {
+
+    /**
+     * The longest time without candle sticks that is expected while the market is open.
+     */
+    private static final long MAX_GAP = Duration.ofHours(1).getSeconds();
+
+    private static final long WEEK = Duration.ofDays(7).getSeconds();
+
+    /**
+     * The earliest time brokers close for the weekend, Friday 20:00 UTC, relative to the start of a week that begins
+     * on Thursday 00:00 UTC like the epoch.
+     */
+    private static final long WEEKEND_START = Duration.ofHours(24 + 20).getSeconds();
+
+    /**
+     * The time until the latest time brokers open after the weekend, Sunday 23:00 UTC.
+     */
+    private static final long WEEKEND_LENGTH = Duration.ofHours(51).getSeconds();
+
+    private final Optional<M1HistoryStore> store;
+    private final Duration warmUpPeriod;
+    private final AdmininstratorNotifier admin;
+
+    /**
+     * Initializes an instance with all its dependencies.
+     *
+     * @param store
+     *            The store where the market data of all trade symbols is recorded or an empty {@link Optional} if no
+     *            market data is recorded.
+     * @param warmUpPeriod
+     *            How much market data before the first non-historic candle stick should be fed to each
+     *            {@link ExpertAdvisor}.
+     * @param admin
+     *            Used to inform the administrator when the cached market data could not be read.
+     */
+    public CachedHistory(final Optional<M1HistoryStore> store, final Duration warmUpPeriod,
+            final AdmininstratorNotifier admin) {
+        this.store = store;
+        this.warmUpPeriod = warmUpPeriod;
+        this.admin = admin;
+    }
+
+    /**
+     * Feeds the cached market data of a trade symbol to an {@link ExpertAdvisor}.
+     *
+     * @param environment
+     *            The environment of the {@link ExpertAdvisor} that contains its trade symbol and the time of the first
+     *            candle stick that will be live market data.
+     * @param expertAdvisor
+     *            The {@link ExpertAdvisor} that should receive the cached market data.
+     * @return The time of the newest candle stick that was fed to the {@link ExpertAdvisor} or an empty
+     *         {@link Optional} if no cached market data was fed.
+     */
+    public Optional<Instant> replay(final TradingEnvironmentInformation environment,
+            final ExpertAdvisor<FullMarketData<M1>> expertAdvisor) {
+        if (!store.isPresent() || "Backtest".equals(environment.getAccountInformation().getBrokerName())) {
+            return Optional.empty();
+        }
+        final Optional<M1HistoryReader> reader;
+        try {
+            reader = store.get().reader(environment.getTradeSymbol());
+        } catch (final IOException e) {
+            admin.unexpectedEvent("Failed to read the cached market data for " + environment.getTradeSymbol()
+                    + ". The client is requested to send its complete history instead.", e);
+            return Optional.empty();
+        }
+        if (!reader.isPresent()) {
+            return Optional.empty();
+        }
+        final M1HistoryReader history = reader.get();
+        try {
+            return replay(history, environment.getNonHistoricTime(), expertAdvisor);
+        } finally {
+            close(history);
+        }
+    }
+
+    private Optional<Instant> replay(final M1HistoryReader history, final Instant nonHistoricTime,
+            final ExpertAdvisor<FullMarketData<M1>> expertAdvisor) {
+        final Instant warmUpStart = nonHistoricTime.minus(warmUpPeriod);
+        final long from = history.indexOf(warmUpStart);
+        final long to = history.indexOf(nonHistoricTime);
+        if (from == to || hasGap(history, from, to, warmUpStart.getEpochSecond())) {
+            return Optional.empty();
+        }
+        history.replay(from, to, expertAdvisor);
+        return Optional.of(history.read(to - 1, new ReusableFullMarketData<>()).getTime());
+    }
+
+    private void close(final M1HistoryReader history) {
+        try {
+            history.close();
+        } catch (final IOException e) {
+            admin.unexpectedEvent("Failed to close " + history + ".", e);
+        }
+    }
+
+    private static boolean hasGap(final M1HistoryReader history, final long from, final long to,
+            final long warmUpStart) {
+        long older = warmUpStart;
+        for (long i = from; i < to; i++) {
+            final long newer = history.epochSecondOf(i);
+            if (isMissingMarketData(older, newer)) {
+                return true;
+            }
+            older = newer;
+        }
+        return false;
+    }
+
+    private static boolean isMissingMarketData(final long older, final long newer) {
+        // The first weekend that did not end before the older time. Gaps up to a few days overlap at most this one.
+        final long weekendStart = Math.floorDiv(older - WEEKEND_START - WEEKEND_LENGTH, WEEK) * WEEK + WEEK
+                + WEEKEND_START;
+        final long closed = Math.max(0,
+                Math.min(newer, weekendStart + WEEKEND_LENGTH) - Math.max(older, weekendStart));
+        return newer - older - closed > MAX_GAP;
+    }
+}
@@ -0,0 +1,49 @@
+package de.voidnode.trading4j.server.protocol.expertadvisor;
+
+import java.util.Optional;
+
+import de.voidnode.trading4j.api.OrderEventListener;
+
+/**
+ * A {@link PendingOrderMapper} that can be accessed by multiple threads at the same time.
+ * 
+ * <p>
+ * This is intended for protocols where order events are received by an I/O thread while the expert advisor places and
+ * closes orders in its own thread. Each access is done under the lock of the instance. As there are usually only two
+ * threads accessing it, the lock is hardly ever contended.
+ * </p>
+ * 
+ * @author Raik Bieniek
+ */
+public class ConcurrentPendingOrderMapper extends PendingOrderMapper {
+
+    @Override
+    public synchronized void put(final int id, final OrderEventListener listener) {
+        super.put(id, listener);
+    }
+
+    @Override
+    public synchronized void remove(final int id) {
+        super.remove(id);
+    }
+
+    @Override
+    public synchronized Optional<OrderEventListener> removeIfPresent(final int id) {
+        return super.removeIfPresent(id);
+    }
+
+    @Override
+    public synchronized boolean has(final int id) {
+        return super.has(id);
+    }
+
+    @Override
+    public synchronized OrderEventListener get(final int orderId) {
+        return super.get(orderId);
+    }
+
+    @Override
+    public synchronized Optional<OrderEventListener> find(final int orderId) {
+        return super.find(orderId);
+    }
+}
@@ -28,6 +28,8 @@ import de.voidnode.trading4j.server.protocol.messages.TradingEnvironmentInformat
  */
 public class ExpertAdvisorProtocol {
 
+    private static final EventHandlingFinishedMessage EVENT_HANDLING_FINISHED = new EventHandlingFinishedMessage();
+
     private final MessageBasedClientConnection clientConnection;
     private final ProtocolFactory factory;
     private final int expertAdvisorNumber;
@@ -72,7 +74,7 @@ public class ExpertAdvisorProtocol {
         while (true) {
             try {
                 expertAdvisor.handleMessage(clientConnection.readMessage());
-                clientConnection.sendMessage(new EventHandlingFinishedMessage());
+                clientConnection.sendMessage(EVENT_HANDLING_FINISHED);
             } catch (LoopThroughCommunicationException e) {
                 moneyManagement.realeaseAllAquieredVolume();
                 throw e.getWrappedException();
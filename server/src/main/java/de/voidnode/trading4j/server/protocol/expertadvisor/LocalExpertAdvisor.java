@@ -1,23 +1,31 @@
 package de.voidnode.trading4j.server.protocol.expertadvisor;
 
+import java.time.Instant;
 import java.util.Currency;
+import java.util.Optional;
 
 import de.voidnode.trading4j.api.AccountBalanceManager;
 import de.voidnode.trading4j.api.Broker;
 import de.voidnode.trading4j.api.ExpertAdvisor;
 import de.voidnode.trading4j.api.OrderEventListener;
 import de.voidnode.trading4j.domain.ForexSymbol;
+import de.voidnode.trading4j.domain.environment.TradingEnvironmentInformation;
 import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
 import de.voidnode.trading4j.domain.monetary.Money;
 import de.voidnode.trading4j.domain.orders.PendingOrder;
 import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.server.protocol.MessageBasedClientConnection;
+import de.voidnode.trading4j.server.protocol.exceptions.CommunicationException;
 import de.voidnode.trading4j.server.protocol.exceptions.ProtocolException;
 import de.voidnode.trading4j.server.protocol.messages.AccountCurrencyExchangeRateChangedMessage;
 import de.voidnode.trading4j.server.protocol.messages.BalanceChangedMessage;
+import de.voidnode.trading4j.server.protocol.messages.CachedHistoryReplayedMessage;
 import de.voidnode.trading4j.server.protocol.messages.Message;
+import de.voidnode.trading4j.server.protocol.messages.NewMarketDataBatchMessage;
 import de.voidnode.trading4j.server.protocol.messages.NewMarketDataExtendedMessage;
 import de.voidnode.trading4j.server.protocol.messages.PendingOrderConditionalyClosedMessage;
 import de.voidnode.trading4j.server.protocol.messages.PendingOrderConditionalyExecutedMessage;
+import de.voidnode.trading4j.server.protocol.messages.RequestCachedHistoryMessage;
 
 /**
  * Converts incoming {@link Message}s from the remote {@link Broker} to method calls to the local {@link ExpertAdvisor}.
@@ -31,6 +39,9 @@ public class LocalExpertAdvisor {
     private final Currency balanceCurrency;
     private final ForexSymbol accountCurrencyExchangeSymbol;
     private final AccountBalanceManager accountBalanceManager;
+    private final MessageBasedClientConnection clientConnection;
+    private final CachedHistory cachedHistory;
+    private final TradingEnvironmentInformation environment;
 
     /**
      * Initializes the message to method call converter with all its dependencies.
@@ -41,19 +52,25 @@ public class LocalExpertAdvisor {
      *            Used to send incoming balance managing messages to.
      * @param orderMapper
      *            Used to translate between {@link PendingOrder} objects and their ids.
-     * @param balanceCurrency
-     *            The currency that the balance of the trading account is kept in.
-     * @param accountCurrencyExchangeSymbol
-     *            The symbol for the exchange rate of the account currency to the currency of the traded asset.
+     * @param clientConnection
+     *            Used to answer requests for the {@link CachedHistory}.
+     * @param cachedHistory
+     *            The market data that should be fed to the {@link ExpertAdvisor} when the client requests it.
+     * @param environment
+     *            Basic information about the state of the remote {@link Broker}.
      */
     public LocalExpertAdvisor(final ExpertAdvisor<FullMarketData<M1>> expertAdvisor,
             final AccountBalanceManager accountBalanceManager, final PendingOrderMapper orderMapper,
-            final Currency balanceCurrency, final ForexSymbol accountCurrencyExchangeSymbol) {
+            final MessageBasedClientConnection clientConnection, final CachedHistory cachedHistory,
+            final TradingEnvironmentInformation environment) {
         this.expertAdvisor = expertAdvisor;
         this.accountBalanceManager = accountBalanceManager;
         this.orderMapper = orderMapper;
-        this.balanceCurrency = balanceCurrency;
-        this.accountCurrencyExchangeSymbol = accountCurrencyExchangeSymbol;
+        this.clientConnection = clientConnection;
+        this.cachedHistory = cachedHistory;
+        this.environment = environment;
+        this.balanceCurrency = environment.getAccountInformation().getAccountCurrency();
+        this.accountCurrencyExchangeSymbol = environment.getAccountSymbol();
     }
 
     /**
@@ -67,6 +84,8 @@ public class LocalExpertAdvisor {
     public void handleMessage(final Message message) throws ProtocolException {
         if (message instanceof NewMarketDataExtendedMessage) {
             handle((NewMarketDataExtendedMessage) message);
+        } else if (message instanceof NewMarketDataBatchMessage) {
+            handle((NewMarketDataBatchMessage) message);
         } else if (message instanceof AccountCurrencyExchangeRateChangedMessage) {
             handle((AccountCurrencyExchangeRateChangedMessage) message);
         } else if (message instanceof PendingOrderConditionalyExecutedMessage) {
@@ -75,6 +94,8 @@ public class LocalExpertAdvisor {
             handle((PendingOrderConditionalyClosedMessage) message);
         } else if (message instanceof BalanceChangedMessage) {
             handle((BalanceChangedMessage) message);
+        } else if (message instanceof RequestCachedHistoryMessage) {
+            handle((RequestCachedHistoryMessage) message);
         } else {
             throw new ProtocolException("Received a message of type '" + message.getClass().getSimpleName()
                     + "' which was not expected for the expert advisor protocol.");
@@ -85,6 +106,21 @@ public class LocalExpertAdvisor {
         expertAdvisor.newData(message.getCandleStick());
     }
 
+    private void handle(final NewMarketDataBatchMessage message) {
+        for (final FullMarketData<M1> candleStick : message.getCandleSticks()) {
+            expertAdvisor.newData(candleStick);
+        }
+    }
+
+    private void handle(final RequestCachedHistoryMessage message) {
+        final Optional<Instant> newestCandleStickTime = cachedHistory.replay(environment, expertAdvisor);
+        try {
+            clientConnection.sendMessage(new CachedHistoryReplayedMessage(newestCandleStickTime));
+        } catch (final CommunicationException e) {
+            throw new LoopThroughCommunicationException(e);
+        }
+    }
+
     private void handle(final BalanceChangedMessage message) {
         accountBalanceManager.updateBalance(new Money(message.getNewBalance(), balanceCurrency));
     }
@@ -94,21 +130,20 @@ public class LocalExpertAdvisor {
     }
 
     private void handle(final PendingOrderConditionalyExecutedMessage message) throws ProtocolException {
-        if (!orderMapper.has(message.getOrderId())) {
+        final Optional<OrderEventListener> listener = orderMapper.find(message.getOrderId());
+        if (!listener.isPresent()) {
             throw new ProtocolException("Received a message that the order with the id " + message.getOrderId()
                     + " was executed but no pending order with this id was placed by this expert advisor.");
         }
-        final OrderEventListener listener = orderMapper.get(message.getOrderId());
-        listener.orderOpened(message.getTime(), message.getPrice());
+        listener.get().orderOpened(message.getTime(), message.getPrice());
     }
 
     private void handle(final PendingOrderConditionalyClosedMessage message) throws ProtocolException {
-        if (!orderMapper.has(message.getOrderId())) {
+        final Optional<OrderEventListener> listener = orderMapper.removeIfPresent(message.getOrderId());
+        if (!listener.isPresent()) {
             throw new ProtocolException("Received a message that the order with the id " + message.getOrderId()
                     + " was closed but no pending order with this id was placed by this expert advisor or it already was closed.");
         }
-        final OrderEventListener listener = orderMapper.get(message.getOrderId());
-        orderMapper.remove(message.getOrderId());
-        listener.orderClosed(message.getTime(), message.getPrice());
+        listener.get().orderClosed(message.getTime(), message.getPrice());
     }
 }
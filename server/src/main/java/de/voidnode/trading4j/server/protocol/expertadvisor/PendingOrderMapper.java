@@ -1,19 +1,28 @@
 package de.voidnode.trading4j.server.protocol.expertadvisor;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 
 import de.voidnode.trading4j.api.OrderEventListener;
 
 /**
  * Stores {@link OrderEventListener} and makes them accessible by the id of the pending order they listen for.
  * 
+ * <p>
+ * The ids are stored as primitive <code>int</code>s in an open addressing hash table so that they don't need to be
+ * boxed. Instances are not thread safe. Use {@link ConcurrentPendingOrderMapper} when an instance is accessed by
+ * multiple threads.
+ * </p>
+ * 
  * @author Raik Bieniek
  */
 public class PendingOrderMapper {
 
-    private final Map<Integer, OrderEventListener> idToOrder = new HashMap<>();
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] ids = new int[INITIAL_CAPACITY];
+    private OrderEventListener[] listeners = new OrderEventListener[INITIAL_CAPACITY];
+    private int size;
 
     /**
      * Stores an {@link OrderEventListener} for a given order id.
@@ -24,7 +33,16 @@ public class PendingOrderMapper {
      *            The listener for events of the given order.
      */
     public void put(final int id, final OrderEventListener listener) {
-        idToOrder.put(id, listener);
+        // The table is kept at most half full so that the probe sequences stay short.
+        if ((size + 1) * 2 > ids.length) {
+            resize(ids.length * 2);
+        }
+        final int slot = slotOf(id);
+        if (listeners[slot] == null) {
+            size++;
+        }
+        ids[slot] = id;
+        listeners[slot] = listener;
     }
 
     /**
@@ -36,14 +54,31 @@ public class PendingOrderMapper {
      *             When no event listener for the order with the given order is registered.
      */
     public void remove(final int id) {
-        final OrderEventListener removed = idToOrder.remove(id);
-        if (removed == null) {
+        if (!removeIfPresent(id).isPresent()) {
             throw new IllegalArgumentException("An OrderEventListener with the id " + id
                     + " should be removed from the " + PendingOrderMapper.class.getSimpleName()
                     + " but no OrderEventListener with this id is known.", new NoSuchElementException());
         }
     }
 
+    /**
+     * Removes the {@link OrderEventListener} for a given order id from this store if one is known.
+     * 
+     * @param id
+     *            The order id thats event listener should be removed.
+     * @return The removed event listener or an empty {@link Optional} if no event listener for the order was known.
+     */
+    public Optional<OrderEventListener> removeIfPresent(final int id) {
+        final int slot = slotOf(id);
+        final OrderEventListener removed = listeners[slot];
+        if (removed == null) {
+            return Optional.empty();
+        }
+        deleteSlot(slot);
+        size--;
+        return Optional.of(removed);
+    }
+
     /**
      * Checks if an order with the given id is known.
      * 
@@ -52,7 +87,7 @@ public class PendingOrderMapper {
      * @return <code>true</code> if an order with the given id is known and <code>false</code> if not.
      */
     public boolean has(final int id) {
-        return idToOrder.containsKey(id);
+        return listeners[slotOf(id)] != null;
     }
 
     /**
@@ -65,7 +100,7 @@ public class PendingOrderMapper {
      *             When no event listener for the order with the given order is known.
      */
     public OrderEventListener get(final int orderId) {
-        final OrderEventListener order = idToOrder.get(orderId);
+        final OrderEventListener order = listeners[slotOf(orderId)];
         if (order == null) {
             throw new IllegalArgumentException("An OrderEventListener for the order id " + orderId
                     + " was requested from the " + PendingOrderMapper.class.getSimpleName()
@@ -73,4 +108,67 @@ public class PendingOrderMapper {
         }
         return order;
     }
+
+    /**
+     * Queries for the event listener of a given order without failing when it is unknown.
+     * 
+     * @param orderId
+     *            The id of the order thats registered event listener should be returned.
+     * @return The event listener or an empty {@link Optional} if no event listener for the order is known.
+     */
+    public Optional<OrderEventListener> find(final int orderId) {
+        return Optional.ofNullable(listeners[slotOf(orderId)]);
+    }
+
+    /**
+     * The slot that contains the given id or the free slot where it should be inserted.
+     */
+    private int slotOf(final int id) {
+        final int mask = ids.length - 1;
+        int slot = hash(id) & mask;
+        while (listeners[slot] != null && ids[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Frees a slot by moving following entries of the same probe sequence backwards so that no tombstones are needed.
+     */
+    private void deleteSlot(final int slot) {
+        final int mask = ids.length - 1;
+        int free = slot;
+        int next = (free + 1) & mask;
+        while (listeners[next] != null) {
+            final int home = hash(ids[next]) & mask;
+            // The entry may only be moved when the free slot lies between its home slot and its current slot.
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                ids[free] = ids[next];
+                listeners[free] = listeners[next];
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+        listeners[free] = null;
+    }
+
+    private void resize(final int capacity) {
+        final int[] oldIds = ids;
+        final OrderEventListener[] oldListeners = listeners;
+        ids = new int[capacity];
+        listeners = new OrderEventListener[capacity];
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldListeners[i] != null) {
+                final int slot = slotOf(oldIds[i]);
+                ids[slot] = oldIds[i];
+                listeners[slot] = oldListeners[i];
+            }
+        }
+    }
+
+    private static int hash(final int id) {
+        // Order ids are often consecutive. Spreading them avoids long runs of occupied slots.
+        final int hash = id * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
 }
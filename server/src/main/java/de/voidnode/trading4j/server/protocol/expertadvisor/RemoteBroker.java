@@ -71,12 +71,11 @@ public class RemoteBroker implements Broker<PendingOrder> {
 
         @Override
         public void closeOrCancelOrder() {
-            if (!orderMapper.has(orderId)) {
+            if (!orderMapper.removeIfPresent(orderId).isPresent()) {
                 throw new LoopThroughIllegalStateException(new IllegalStateException(
                         "The expert advisor tried to close or cancel an order that was already closed or canceld."));
             }
             try {
-                orderMapper.remove(orderId);
                 clientConnection.sendMessage(new CloseOrCancelPendingOrderMessage(orderId));
             } catch (CommunicationException e) {
                 throw new LoopThroughCommunicationException(e);
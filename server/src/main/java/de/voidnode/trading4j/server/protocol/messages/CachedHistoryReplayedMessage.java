@@ -0,0 +1,35 @@
+package de.voidnode.trading4j.server.protocol.messages;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Indicates that the market data cached by the server was fed to the expert advisor in response to a
+ * {@link RequestCachedHistoryMessage}.
+ * 
+ * @author Raik Bieniek
+ */
+public class CachedHistoryReplayedMessage implements Message {
+
+    private final Optional<Instant> newestCandleStickTime;
+
+    /**
+     * Initializes this message.
+     * 
+     * @param newestCandleStickTime
+     *            The time of the newest candle stick that was fed to the expert advisor or an empty {@link Optional}
+     *            if no market data was cached.
+     */
+    public CachedHistoryReplayedMessage(final Optional<Instant> newestCandleStickTime) {
+        this.newestCandleStickTime = newestCandleStickTime;
+    }
+
+    /**
+     * The time of the newest candle stick that was fed to the expert advisor if any.
+     * 
+     * @return The time
+     */
+    public Optional<Instant> getNewestCandleStickTime() {
+        return newestCandleStickTime;
+    }
+}
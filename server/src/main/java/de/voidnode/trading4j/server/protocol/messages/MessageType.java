@@ -1,5 +1,6 @@
 package de.voidnode.trading4j.server.protocol.messages;
 
+import java.util.Arrays;
 import java.util.Optional;
 
 /**
@@ -82,7 +83,34 @@ public enum MessageType {
     /**
      * Indicates a {@link AccountCurrencyExchangeRateChangedMessage}.
      */
-    ACCOUNT_CURRENCY_EXCHANGE_RATE_CHANGED(14, AccountCurrencyExchangeRateChangedMessage.class);
+    ACCOUNT_CURRENCY_EXCHANGE_RATE_CHANGED(14, AccountCurrencyExchangeRateChangedMessage.class),
+
+    /**
+     * Indicates a {@link NewMarketDataBatchMessage}.
+     */
+    NEW_MARKET_DATA_BATCH(15, NewMarketDataBatchMessage.class),
+
+    /**
+     * Indicates a {@link RequestCachedHistoryMessage}.
+     */
+    REQUEST_CACHED_HISTORY(16, RequestCachedHistoryMessage.class),
+
+    /**
+     * Indicates a {@link CachedHistoryReplayedMessage}.
+     */
+    CACHED_HISTORY_REPLAYED(17, CachedHistoryReplayedMessage.class);
+
+    // values() returns a new copy of the constants array on each call.
+    private static final MessageType[] VALUES = values();
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static final Optional<MessageType>[] BY_MESSAGE_NUMBER = new Optional[256];
+
+    static {
+        Arrays.fill(BY_MESSAGE_NUMBER, Optional.empty());
+        for (final MessageType type : VALUES) {
+            BY_MESSAGE_NUMBER[type.messageNumber & 0xFF] = Optional.of(type);
+        }
+    }
 
     private final byte messageNumber;
     private final Class<? extends Message> messageClass;
@@ -119,7 +147,7 @@ public enum MessageType {
      *             When the {@link Message} {@link Class} passed is not known to this enumartion.
      */
     public static MessageType forMessageClass(final Class<? extends Message> clazz) throws IllegalArgumentException {
-        for (final MessageType candidate : values()) {
+        for (final MessageType candidate : VALUES) {
             if (candidate.messageClass.equals(clazz)) {
                 return candidate;
             }
@@ -137,11 +165,6 @@ public enum MessageType {
      *         {@link Optional} if not.
      */
     public static Optional<MessageType> forMessageNumber(final byte number) {
-        for (final MessageType candidate : values()) {
-            if (candidate.messageNumber == number) {
-                return Optional.of(candidate);
-            }
-        }
-        return Optional.empty();
+        return BY_MESSAGE_NUMBER[number & 0xFF];
     }
 }
@@ -0,0 +1,40 @@
+package de.voidnode.trading4j.server.protocol.messages;
+
+import java.util.List;
+
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.domain.timeframe.TimeFrame;
+
+/**
+ * A message containing multiple consecutive {@link FullMarketData}s with the {@link M1} {@link TimeFrame}.
+ * 
+ * <p>
+ * Clients use this message to send large amounts of historic market data without a round trip for each candle.
+ * </p>
+ * 
+ * @author Raik Bieniek
+ */
+public class NewMarketDataBatchMessage implements Message {
+
+    private final List<FullMarketData<M1>> candleSticks;
+
+    /**
+     * Initializes the message.
+     * 
+     * @param candleSticks
+     *            The candle sticks that were received ordered from the oldest to the newest.
+     */
+    public NewMarketDataBatchMessage(final List<FullMarketData<M1>> candleSticks) {
+        this.candleSticks = candleSticks;
+    }
+
+    /**
+     * The new market data that is wrapped in this message.
+     * 
+     * @return The market data ordered from the oldest to the newest candle stick.
+     */
+    public List<FullMarketData<M1>> getCandleSticks() {
+        return candleSticks;
+    }
+}
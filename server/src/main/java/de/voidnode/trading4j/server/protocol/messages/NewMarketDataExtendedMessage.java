@@ -7,6 +7,12 @@ import de.voidnode.trading4j.domain.timeframe.TimeFrame;
 /**
  * A message containing new market data in form of a {@link FullMarketData} with the {@link M1} {@link TimeFrame}.
  * 
+ * <p>
+ * Instances read from the network contain a
+ * {@link de.voidnode.trading4j.domain.marketdata.impl.ReusableFullMarketData} that is refilled for the next message
+ * read. See there for how to keep the market data.
+ * </p>
+ * 
  * @author Raik Bieniek
  */
 public class NewMarketDataExtendedMessage implements Message {
@@ -0,0 +1,15 @@
+package de.voidnode.trading4j.server.protocol.messages;
+
+/**
+ * Requests that the server feeds the market data it has cached for the trade symbol to the expert advisor.
+ * 
+ * <p>
+ * The server answers with a {@link CachedHistoryReplayedMessage}. The client only needs to send the market data that
+ * is newer than the cached market data afterwards.
+ * </p>
+ * 
+ * @author Raik Bieniek
+ */
+public class RequestCachedHistoryMessage implements Message {
+
+}
@@ -0,0 +1,242 @@
+package de.voidnode.trading4j.server;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.Executor;
+
+import de.voidnode.trading4j.api.Indicator;
+import de.voidnode.trading4j.api.TrendIndicatorFactory;
+import de.voidnode.trading4j.domain.MarketDirection;
+import de.voidnode.trading4j.domain.marketdata.impl.DatedCandleStick;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.server.protocol.messages.MessageType;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A load test that checks the resource usage of the {@link ClientHandlerExecutors} for many connected clients.
+ *
+ * <p>
+ * A real {@link TradingServer} is built with the {@link TradingServerBuilder} for each {@link Executor}. Each client
+ * requests a trend indicator and sends candle sticks in several rounds. All of them must receive a trend for each
+ * candle stick. The server is an {@link de.voidnode.trading4j.server.oio.OioServer} that does the blocking socket I/O
+ * of each client in the thread of its handler.
+ * </p>
+ *
+ * <p>
+ * Besides the platform threads, the memory that is additionally used with the clients connected is printed to the
+ * console for each {@link Executor}. The stacks of virtual threads are stored in the heap while the stacks of platform
+ * threads are reserved outside of it. Therefore the heap as well as the resident memory of the process are measured.
+ * The latter is only available on Linux.
+ * </p>
+ *
+ * @author Raik Bieniek
+ */
+public class ClientHandlerExecutorsLoadIT {
+
+    private static final String LOCALHOST = "localhost";
+    private static final int SERVER_PORT = 6474;
+    private static final int CLIENTS = 1000;
+    private static final int ROUNDS = 20;
+
+    private static final byte TREND_INDICATOR_TYPE = 1;
+    private static final int DUMMY_INDICATOR_NUMBER = 100;
+
+    /**
+     * Serves many clients with a new platform thread for each client.
+     *
+     * @throws Exception
+     *             not expected to leave the test.
+     */
+    @Test
+    public void serveManyClientsWithPlatformThreads() throws Exception {
+        final Usage usage = serveManyClients("platform threads", ClientHandlerExecutors.platformThreads());
+
+        assertThat(usage.additionalThreads).as("additional platform threads for %d clients", CLIENTS)
+                .isGreaterThanOrEqualTo(CLIENTS);
+    }
+
+    /**
+     * Serves many clients with a new virtual thread for each client.
+     *
+     * <p>
+     * This test is skipped when the Java runtime does not support virtual threads.
+     * </p>
+     *
+     * @throws Exception
+     *             not expected to leave the test.
+     */
+    @Test
+    public void serveManyClientsWithVirtualThreads() throws Exception {
+        Assume.assumeTrue(ClientHandlerExecutors.isVirtualThreadsSupported());
+
+        final Usage usage = serveManyClients("virtual threads", ClientHandlerExecutors.virtualThreads());
+
+        // The carrier threads of the virtual threads.
+        assertThat(usage.additionalThreads).as("additional platform threads for %d clients", CLIENTS)
+                .isLessThan(CLIENTS / 10);
+    }
+
+    /**
+     * Serves {@link #CLIENTS} clients for {@link #ROUNDS} rounds.
+     *
+     * @return The resources that were additionally used while the clients were connected.
+     */
+    private Usage serveManyClients(final String mode, final Executor executor) throws Exception {
+        final long threadsBefore = platformThreads();
+        final long heapBefore = usedHeap();
+        final OptionalLong residentBefore = residentMemory();
+        final TradingServer server = new TradingServerBuilder().trendIndicators(new DummyIndicatorFactory())
+                .clientHandlerExecutor(executor).build();
+        final Thread serverThread = new Thread(server::start);
+        serverThread.start();
+        try {
+            awaitServerReady();
+            final List<Socket> clients = connectClients();
+
+            // One round to ensure that all handlers are running.
+            sendCandlesAndReceiveTrends(clients);
+            final long threadsWithClients = platformThreads();
+            final long heapWithClients = usedHeap();
+            final OptionalLong residentWithClients = residentMemory();
+
+            for (int round = 0; round < ROUNDS; round++) {
+                sendCandlesAndReceiveTrends(clients);
+            }
+
+            for (final Socket client : clients) {
+                client.close();
+            }
+            // The server thread itself is not a handler.
+            final Usage usage = new Usage(threadsWithClients - threadsBefore - 1, heapWithClients - heapBefore,
+                    residentBefore.isPresent() && residentWithClients.isPresent()
+                            ? OptionalLong.of(residentWithClients.getAsLong() - residentBefore.getAsLong())
+                            : OptionalLong.empty());
+            System.out.println("Served " + CLIENTS + " clients with " + mode + ": " + usage + ".");
+            return usage;
+        } finally {
+            server.stop();
+            serverThread.join();
+            awaitHandlersFinished(threadsBefore);
+        }
+    }
+
+    private void awaitServerReady() throws InterruptedException {
+        for (int i = 0; i < 50; i++) {
+            try (Socket probe = new Socket(LOCALHOST, SERVER_PORT)) {
+                return;
+            } catch (final IOException e) {
+                Thread.sleep(100);
+            }
+        }
+        throw new IllegalStateException("The trading server did not start listening within 5 seconds.");
+    }
+
+    private void awaitHandlersFinished(final long threadsBefore) throws InterruptedException {
+        for (int i = 0; i < 50 && platformThreads() > threadsBefore; i++) {
+            Thread.sleep(100);
+        }
+    }
+
+    private List<Socket> connectClients() throws IOException {
+        final List<Socket> clients = new ArrayList<>(CLIENTS);
+        for (int i = 0; i < CLIENTS; i++) {
+            final Socket client = new Socket(LOCALHOST, SERVER_PORT);
+            final DataOutputStream out = new DataOutputStream(client.getOutputStream());
+            out.writeByte(MessageType.REQUEST_TRADING_ALGORITHM.getMessageNumber());
+            out.writeByte(TREND_INDICATOR_TYPE);
+            out.writeInt(DUMMY_INDICATOR_NUMBER);
+            clients.add(client);
+        }
+        return clients;
+    }
+
+    private void sendCandlesAndReceiveTrends(final List<Socket> clients) throws IOException {
+        for (final Socket client : clients) {
+            final DataOutputStream out = new DataOutputStream(client.getOutputStream());
+            out.writeByte(MessageType.NEW_MARKET_DATA_SIMPLE.getMessageNumber());
+            out.writeLong(1L);
+            out.writeDouble(1.0);
+            out.writeDouble(1.0);
+            out.writeDouble(1.0);
+            out.writeDouble(1.0);
+        }
+        for (final Socket client : clients) {
+            final DataInputStream in = new DataInputStream(client.getInputStream());
+            assertThat(in.readByte()).isEqualTo(MessageType.TREND_FOR_MARKET_DATA.getMessageNumber());
+            in.readByte();
+        }
+    }
+
+    private long platformThreads() {
+        // Virtual threads are not included.
+        return Thread.getAllStackTraces().size();
+    }
+
+    private long usedHeap() {
+        System.gc();
+        return Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory();
+    }
+
+    private OptionalLong residentMemory() throws IOException {
+        final Path status = Paths.get("/proc/self/status");
+        if (!Files.exists(status)) {
+            return OptionalLong.empty();
+        }
+        for (final String line : Files.readAllLines(status)) {
+            // e.g. "VmRSS:     123456 kB"
+            if (line.startsWith("VmRSS:")) {
+                return OptionalLong.of(Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024);
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    /**
+     * The resources that were additionally used for serving {@link #CLIENTS} clients.
+     */
+    private static class Usage {
+        private final long additionalThreads;
+        private final long additionalHeap;
+        private final OptionalLong additionalResidentMemory;
+
+        Usage(final long additionalThreads, final long additionalHeap, final OptionalLong additionalResidentMemory) {
+            this.additionalThreads = additionalThreads;
+            this.additionalHeap = additionalHeap;
+            this.additionalResidentMemory = additionalResidentMemory;
+        }
+
+        @Override
+        public String toString() {
+            return additionalThreads + " additional platform threads, " + additionalHeap / 1024
+                    + " KiB additional heap, "
+                    + (additionalResidentMemory.isPresent()
+                            ? additionalResidentMemory.getAsLong() / 1024 + " KiB additional resident memory"
+                            : "resident memory unknown");
+        }
+    }
+
+    /**
+     * Serves a {@link DummyIndicator} for every request.
+     */
+    private static class DummyIndicatorFactory implements TrendIndicatorFactory {
+
+        @Override
+        public Optional<Indicator<MarketDirection, DatedCandleStick<M1>>> newIndicatorByNumber(
+                final int indicatorNumber) {
+            return Optional.of(new DummyIndicator<>());
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package de.voidnode.trading4j.server;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Currency;
+import java.util.Optional;
+
+import de.voidnode.trading4j.api.Broker;
+import de.voidnode.trading4j.api.ExpertAdvisor;
+import de.voidnode.trading4j.api.ExpertAdvisorFactory;
+import de.voidnode.trading4j.api.VolumeLender;
+import de.voidnode.trading4j.domain.ForexSymbol;
+import de.voidnode.trading4j.domain.Volume;
+import de.voidnode.trading4j.domain.environment.AccountInformation;
+import de.voidnode.trading4j.domain.environment.SpecialFeesInformation;
+import de.voidnode.trading4j.domain.environment.TradingEnvironmentInformation;
+import de.voidnode.trading4j.domain.environment.VolumeConstraints;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.orders.PendingOrder;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.history.M1HistoryStore;
+import de.voidnode.trading4j.history.M1HistoryWriter;
+import de.voidnode.trading4j.server.reporting.AdmininstratorNotifier;
+
+import static de.voidnode.trading4j.domain.VolumeUnit.LOT;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Checks if {@link HistoryRecordingExpertAdvisorFactory} works as expected.
+ *
+ * @author Raik Bieniek
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class HistoryRecordingExpertAdvisorFactoryTest {
+
+    private static final ForexSymbol EURUSD = new ForexSymbol("EURUSD");
+
+    @Mock
+    private ExpertAdvisorFactory factory;
+
+    @Mock
+    private M1HistoryStore store;
+
+    @Mock
+    private M1HistoryWriter writer;
+
+    @Mock
+    private AdmininstratorNotifier admin;
+
+    @Mock
+    private ExpertAdvisor<FullMarketData<M1>> expertAdvisor;
+
+    @Mock
+    private Broker<PendingOrder> broker;
+
+    @Mock
+    private VolumeLender volumeLender;
+
+    @Mock
+    private FullMarketData<M1> marketData;
+
+    private HistoryRecordingExpertAdvisorFactory cut;
+
+    /**
+     * Sets up the class under test and the default behavior of the mocks.
+     *
+     * @throws IOException
+     *             Not expected to leave the method.
+     */
+    @Before
+    public void setUpCut() throws IOException {
+        when(factory.newExpertAdvisor(any(Integer.class), any(), any(), any()))
+                .thenReturn(Optional.of(expertAdvisor));
+        when(store.writer(EURUSD)).thenReturn(writer);
+        cut = new HistoryRecordingExpertAdvisorFactory(factory, store, admin);
+    }
+
+    /**
+     * The cut appends market data to the history before the expert advisor receives it.
+     *
+     * @throws IOException
+     *             Not expected to leave the test.
+     */
+    @Test
+    public void recordsMarketDataBeforePassingItToTheExpertAdvisor() throws IOException {
+        cut.newExpertAdvisor(1, broker, volumeLender, environment("Some Broker")).get().newData(marketData);
+
+        final InOrder inOrder = inOrder(writer, expertAdvisor);
+        inOrder.verify(writer).append(marketData);
+        inOrder.verify(expertAdvisor).newData(marketData);
+    }
+
+    /**
+     * When recording fails the administrator is informed and trading goes on without recording.
+     *
+     * @throws IOException
+     *             Not expected to leave the test.
+     */
+    @Test
+    public void keepsTradingWithoutRecordingWhenRecordingFailed() throws IOException {
+        when(writer.append(marketData)).thenThrow(new IOException("disk full"));
+        final ExpertAdvisor<FullMarketData<M1>> recording = cut
+                .newExpertAdvisor(1, broker, volumeLender, environment("Some Broker")).get();
+
+        recording.newData(marketData);
+        recording.newData(marketData);
+
+        verify(writer, times(1)).append(marketData);
+        verify(admin).unexpectedEvent(anyString(), any(IOException.class));
+        verify(expertAdvisor, times(2)).newData(marketData);
+    }
+
+    /**
+     * Sessions of the strategy tester are not recorded.
+     *
+     * @throws IOException
+     *             Not expected to leave the test.
+     */
+    @Test
+    public void doesNotRecordBacktests() throws IOException {
+        final Optional<ExpertAdvisor<FullMarketData<M1>>> backtest = cut.newExpertAdvisor(1, broker, volumeLender,
+                environment("Backtest"));
+
+        assertThat(backtest).contains(expertAdvisor);
+        verifyZeroInteractions(store);
+    }
+
+    private static TradingEnvironmentInformation environment(final String broker) {
+        return new TradingEnvironmentInformation(
+                new AccountInformation(broker, 42, Currency.getInstance("USD")), EURUSD, EURUSD,
+                new SpecialFeesInformation(new Price(0), new Price(0)), Instant.ofEpochSecond(0),
+                new VolumeConstraints(new Volume(1, LOT), new Volume(100, LOT), new Volume(1, LOT)));
+    }
+}
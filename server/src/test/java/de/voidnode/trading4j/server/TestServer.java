@@ -14,7 +14,6 @@ import de.voidnode.trading4j.domain.marketdata.impl.DatedCandleStick;
 import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
 import de.voidnode.trading4j.domain.orders.BasicPendingOrder;
 import de.voidnode.trading4j.domain.timeframe.M1;
-import de.voidnode.trading4j.server.oio.OioServer;
 
 /**
  * A server that is build using the trading4j library.
@@ -27,6 +26,7 @@ import de.voidnode.trading4j.server.oio.OioServer;
  */
 class TestServer {
 
+    private TradingServer server;
     private Thread serverThread;
 
     /**
@@ -40,7 +40,7 @@ class TestServer {
         final TradingServerBuilder builder = new TradingServerBuilder();
         builder.trendIndicators(new TestIndicators());
         builder.expertAdvisors(new TestExpertAdvisors());
-        final OioServer server = builder.build();
+        server = builder.build();
 
         serverThread = new Thread(() -> server.start());
         serverThread.start();
@@ -52,6 +52,7 @@ class TestServer {
      * Stops the Server.
      */
     public void stop() {
+        server.stop();
         serverThread.interrupt();
     }
 
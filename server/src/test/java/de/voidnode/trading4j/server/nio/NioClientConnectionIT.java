@@ -0,0 +1,253 @@
+package de.voidnode.trading4j.server.nio;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+
+import de.voidnode.trading4j.server.protocol.exceptions.NormalCloseException;
+import de.voidnode.trading4j.server.reporting.AdmininstratorNotifier;
+
+import org.assertj.core.data.Offset;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Checks if {@link NioClientConnection} works as expected.
+ *
+ * @author Raik Bieniek
+ */
+public class NioClientConnectionIT {
+
+    private static final String LOCALHOST = "localhost";
+    private static final int EXAMPLE_PORT = 18522;
+    private static final Offset<Double> TOLERANCE = offset(0.000001);
+
+    private NioClientConnection cut;
+
+    private ServerSocketChannel server;
+    private NioEventLoop eventLoop;
+    private Socket client;
+
+    /**
+     * Sets up the class to test and its dependencies.
+     *
+     * @throws IOException
+     *             when the test cannot be executed because of network errors.
+     */
+    @Before
+    public void setUpClassToTestAndDependencies() throws IOException {
+        server = ServerSocketChannel.open().bind(new InetSocketAddress(EXAMPLE_PORT));
+        client = new Socket(LOCALHOST, EXAMPLE_PORT);
+
+        eventLoop = new NioEventLoop(mock(AdmininstratorNotifier.class));
+        final Thread eventLoopThread = new Thread(eventLoop);
+        eventLoopThread.setDaemon(true);
+        eventLoopThread.start();
+
+        final SocketChannel clientChannel = server.accept();
+        clientChannel.configureBlocking(false);
+        cut = new NioClientConnection(clientChannel, eventLoop);
+        cut.registerAtEventLoop();
+    }
+
+    /**
+     * When the client closed the connection, the next read should result in a {@link NormalCloseException}.
+     *
+     * @throws Exception
+     *             not expected to leave the test.
+     */
+    @Test(expected = NormalCloseException.class)
+    public void shouldThrowANormalCloseExceptionWhenTheClientClosedTheConnection() throws Exception {
+        client.close();
+        cut.tryReceiveByte();
+    }
+
+    // /////////////
+    // / Reading ///
+    // /////////////
+
+    /**
+     * The connection should be able to read all primitive types over the network.
+     *
+     * @throws Exception
+     *             not expected to leave the test.
+     */
+    @Test
+    public void shouldBeAbleToReadPrimitives() throws Exception {
+        client.getOutputStream().write(new byte[] { (byte) 5, //
+                (byte) 0x01, (byte) 0x02, (byte) 0x03, (byte) 0x04, //
+                (byte) 0x01, (byte) 0x02, (byte) 0x03, (byte) 0x04, (byte) 0x15, (byte) 0x16, (byte) 0x17,
+                (byte) 0x18, //
+                (byte) 0x40, (byte) 0x39, (byte) 0x25, (byte) 0xF0, (byte) 0x6F, (byte) 0x69, (byte) 0x44,
+                (byte) 0x67 });
+
+        assertThat(cut.tryReceiveByte()).isEqualTo((byte) 5);
+        assertThat(cut.tryReceiveInteger()).isEqualTo(0x01020304);
+        assertThat(cut.tryReceiveLong()).isEqualTo(0x0102030415161718L);
+        assertThat(cut.tryReceiveDouble()).isCloseTo(25.1482, TOLERANCE);
+    }
+
+    /**
+     * The connection should be able to length prepended UTF-8 {@link String}s over the network.
+     *
+     * @throws Exception
+     *             not expected to leave the test.
+     */
+    @Test
+    public void shouldBeAbleToReadUtf8Strings() throws Exception {
+        client.getOutputStream().write(new byte[] {
+                // 13 bytes
+                0x00, 0x0D, //
+                'H', 'e', 'l', 'l', 'o', ' ', 'w', //
+                // UTF-8 representation of ö
+                (byte) 0xC3, (byte) 0xB6, //
+                'r', 'l', 'd', '!' });
+        assertThat(cut.tryReceiveString()).isEqualTo("Hello wörld!");
+    }
+
+    /**
+     * The connection should be able to receive whole frames of bytes into heap buffers.
+     *
+     * @throws Exception
+     *             not expected to leave the test.
+     */
+    @Test
+    public void shouldBeAbleToReceiveFramesIntoHeapBuffers() throws Exception {
+        client.getOutputStream().write(new byte[] { 1, 2, 3, 4, 5, 6 });
+        final ByteBuffer frame = ByteBuffer.allocate(6);
+        frame.position(1);
+        frame.limit(5);
+
+        cut.tryReceiveFully(frame);
+
+        assertThat(frame.position()).isEqualTo(5);
+        assertThat(frame.array()).containsExactly(new byte[] { 0, 1, 2, 3, 4, 0 });
+        assertThat(cut.tryReceiveByte()).isEqualTo((byte) 5);
+    }
+
+    /**
+     * The connection should be able to receive whole frames of bytes into direct buffers.
+     *
+     * @throws Exception
+     *             not expected to leave the test.
+     */
+    @Test
+    public void shouldBeAbleToReceiveFramesIntoDirectBuffers() throws Exception {
+        client.getOutputStream().write(new byte[] { 0x01, 0x02, 0x03, 0x04, 0x05 });
+        final ByteBuffer frame = ByteBuffer.allocateDirect(4);
+
+        cut.tryReceiveFully(frame);
+
+        assertThat(frame.hasRemaining()).isFalse();
+        assertThat(frame.getInt(0)).isEqualTo(0x01020304);
+        assertThat(cut.tryReceiveByte()).isEqualTo((byte) 5);
+    }
+
+    /**
+     * The connection should be able to receive more data than fits into its receive buffer at once.
+     *
+     * @throws Exception
+     *             not expected to leave the test.
+     */
+    @Test
+    public void shouldReceiveMoreDataThanFitsInTheReceiveBuffer() throws Exception {
+        final int longsToSend = NioClientConnection.READ_BUFFER_SIZE;
+        final Thread sender = new Thread(() -> {
+            try {
+                final DataOutputStream out = new DataOutputStream(client.getOutputStream());
+                for (long i = 0; i < longsToSend; i++) {
+                    out.writeLong(i);
+                }
+                out.flush();
+            } catch (final IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        sender.start();
+
+        for (long i = 0; i < longsToSend; i++) {
+            assertThat(cut.tryReceiveLong()).isEqualTo(i);
+        }
+        sender.join();
+    }
+
+    // /////////////
+    // / Writing ///
+    // /////////////
+
+    /**
+     * The connection should be able to write all primitive types to the network.
+     *
+     * @throws Exception
+     *             not expected to leave the test.
+     */
+    @Test
+    public void shouldBeAbleToWritePrimitives() throws Exception {
+        cut.trySendByte((byte) 6);
+        cut.trySendInteger(0x20212223);
+        cut.trySendLong(0x3031323334353637L);
+        cut.trySendDouble(851.254);
+
+        final int[] expected = new int[] { 6, //
+                0x20, 0x21, 0x22, 0x23, //
+                0x30, 0x31, 0x32, 0x33, 0x34, 0x35, 0x36, 0x37, //
+                0x40, 0x8A, 0x9A, 0x08, 0x31, 0x26, 0xE9, 0x79 };
+        for (final int expectedByte : expected) {
+            assertThat(client.getInputStream().read()).isEqualTo(expectedByte);
+        }
+    }
+
+    /**
+     * The connection should be able to send more data than the socket can take at once.
+     *
+     * @throws Exception
+     *             not expected to leave the test.
+     */
+    @Test
+    public void shouldSendMoreDataThanTheSocketCanTakeAtOnce() throws Exception {
+        final int longsToSend = NioClientConnection.READ_BUFFER_SIZE;
+        final Thread sender = new Thread(() -> {
+            try {
+                for (long i = 0; i < longsToSend; i++) {
+                    cut.trySendLong(i);
+                }
+            } catch (final Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        sender.start();
+
+        // Wait to let the socket buffers of the operating system run full.
+        Thread.sleep(100);
+
+        final DataInputStream in = new DataInputStream(client.getInputStream());
+        for (long i = 0; i < longsToSend; i++) {
+            assertThat(in.readLong()).isEqualTo(i);
+        }
+        sender.join();
+    }
+
+    /**
+     * Closes the connection after the test.
+     *
+     * @throws Exception
+     *             when closing the connection failed due to network errors.
+     */
+    @After
+    public void disconnect() throws Exception {
+        client.close();
+        cut.close();
+        server.close();
+        eventLoop.stop();
+    }
+}
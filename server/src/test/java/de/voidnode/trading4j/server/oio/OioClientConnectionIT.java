@@ -3,6 +3,7 @@ package de.voidnode.trading4j.server.oio;
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.ByteBuffer;
 
 import de.voidnode.trading4j.server.protocol.exceptions.NormalCloseException;
 
@@ -132,6 +133,44 @@ public class OioClientConnectionIT {
         assertThat(cut.tryReceiveString()).isEqualTo("Hello wörld!");
     }
 
+    /**
+     * The connection should be able to receive whole frames of bytes into heap buffers.
+     * 
+     * @throws Exception
+     *             not expected to leave the test.
+     */
+    @Test
+    public void shouldBeAbleToReceiveFramesIntoHeapBuffers() throws Exception {
+        client.getOutputStream().write(new byte[] { 1, 2, 3, 4, 5, 6 });
+        final ByteBuffer frame = ByteBuffer.allocate(6);
+        frame.position(1);
+        frame.limit(5);
+
+        cut.tryReceiveFully(frame);
+
+        assertThat(frame.position()).isEqualTo(5);
+        assertThat(frame.array()).containsExactly(new byte[] { 0, 1, 2, 3, 4, 0 });
+        assertThat(cut.tryReceiveByte()).isEqualTo((byte) 5);
+    }
+
+    /**
+     * The connection should be able to receive whole frames of bytes into direct buffers.
+     * 
+     * @throws Exception
+     *             not expected to leave the test.
+     */
+    @Test
+    public void shouldBeAbleToReceiveFramesIntoDirectBuffers() throws Exception {
+        client.getOutputStream().write(new byte[] { 0x01, 0x02, 0x03, 0x04, 0x05 });
+        final ByteBuffer frame = ByteBuffer.allocateDirect(4);
+
+        cut.tryReceiveFully(frame);
+
+        assertThat(frame.hasRemaining()).isFalse();
+        assertThat(frame.getInt(0)).isEqualTo(0x01020304);
+        assertThat(cut.tryReceiveByte()).isEqualTo((byte) 5);
+    }
+
     // /////////////
     // / Writing ///
     // /////////////
@@ -0,0 +1,78 @@
+package de.voidnode.trading4j.server.protocol;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+import de.voidnode.trading4j.domain.marketdata.impl.MutableFullMarketData;
+import de.voidnode.trading4j.domain.marketdata.impl.ReusableFullMarketData;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.domain.monetary.Price;
+
+import static de.voidnode.trading4j.domain.VolumeUnit.BASE;
+import static de.voidnode.trading4j.testutils.assertions.Assertions.assertThat;
+
+import org.junit.Test;
+
+/**
+ * Tests if {@link MarketDataFrameCodec} works as expected.
+ * 
+ * @author Raik Bieniek
+ */
+public class MarketDataFrameCodecTest {
+
+    /**
+     * The codec should decode the frames of new market data extended messages from heap buffers.
+     */
+    @Test
+    public void shouldDecodeNewMarketDataExtendedFramesFromHeapBuffers() {
+        final ByteBuffer buffer = ByteBuffer.allocate(MarketDataFrameCodec.NEW_MARKET_DATA_EXTENDED_FRAME_SIZE);
+        writeExampleFrame(buffer);
+        buffer.flip();
+
+        assertThat(MarketDataFrameCodec.decodeNewMarketDataExtended(buffer)).isEqualTo(new MutableFullMarketData<>()
+                .setTime(Instant.ofEpochSecond(1405782575L)).setOpen(1.0).setHigh(2.0).setLow(3.0).setClose(4.0)
+                .setSpread(new Price(50)).setVolume(2000, BASE).setTickCount(42).toImmutableFullMarketData());
+    }
+
+    /**
+     * The codec should decode frames from direct buffers starting at the current position of the buffer without
+     * changing the position.
+     */
+    @Test
+    public void shouldDecodeNewMarketDataExtendedFramesFromDirectBuffersRelativeToThePosition() {
+        final ByteBuffer buffer = ByteBuffer
+                .allocateDirect(3 + MarketDataFrameCodec.NEW_MARKET_DATA_EXTENDED_FRAME_SIZE);
+        buffer.put(new byte[] { 1, 2, 3 });
+        writeExampleFrame(buffer);
+        buffer.flip();
+        buffer.position(3);
+
+        assertThat(MarketDataFrameCodec.decodeNewMarketDataExtended(buffer)).isEqualTo(new MutableFullMarketData<>()
+                .setTime(Instant.ofEpochSecond(1405782575L)).setOpen(1.0).setHigh(2.0).setLow(3.0).setClose(4.0)
+                .setSpread(new Price(50)).setVolume(2000, BASE).setTickCount(42).toImmutableFullMarketData());
+        assertThat(buffer.position()).isEqualTo(3);
+    }
+
+    /**
+     * The codec should be able to refill existing market data instances instead of creating new ones.
+     */
+    @Test
+    public void shouldDecodeNewMarketDataExtendedFramesIntoReusableMarketData() {
+        final ByteBuffer buffer = ByteBuffer.allocate(MarketDataFrameCodec.NEW_MARKET_DATA_EXTENDED_FRAME_SIZE);
+        writeExampleFrame(buffer);
+        buffer.flip();
+        final ReusableFullMarketData<M1> target = new ReusableFullMarketData<M1>().setOpen(5.0).setTickCount(7);
+
+        assertThat(MarketDataFrameCodec.decodeNewMarketDataExtended(buffer, target)).isSameAs(target);
+        assertThat(target.toImmutableFullMarketData()).isEqualTo(new MutableFullMarketData<>()
+                .setTime(Instant.ofEpochSecond(1405782575L)).setOpen(1.0).setHigh(2.0).setLow(3.0).setClose(4.0)
+                .setSpread(new Price(50)).setVolume(2000, BASE).setTickCount(42).toImmutableFullMarketData());
+        assertThat(buffer.position()).isEqualTo(0);
+    }
+
+    private void writeExampleFrame(final ByteBuffer buffer) {
+        buffer.putLong(1405782575L);
+        buffer.putDouble(1.0).putDouble(2.0).putDouble(3.0).putDouble(4.0);
+        buffer.putInt(50).putInt(2000).putInt(42);
+    }
+}
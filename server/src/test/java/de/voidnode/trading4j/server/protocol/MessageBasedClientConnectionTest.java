@@ -1,5 +1,6 @@
 package de.voidnode.trading4j.server.protocol;
 
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.Currency;
 import java.util.Optional;
@@ -9,6 +10,7 @@ import de.voidnode.trading4j.domain.MarketDirection;
 import de.voidnode.trading4j.domain.Volume;
 import de.voidnode.trading4j.domain.marketdata.impl.DatedCandleStick;
 import de.voidnode.trading4j.domain.marketdata.impl.MutableFullMarketData;
+import de.voidnode.trading4j.domain.marketdata.impl.ReusableFullMarketData;
 import de.voidnode.trading4j.domain.monetary.Price;
 import de.voidnode.trading4j.domain.orders.CloseConditions;
 import de.voidnode.trading4j.domain.orders.MutableCloseConditions;
@@ -24,18 +26,22 @@ import static de.voidnode.trading4j.domain.orders.OrderType.SELL;
 import static de.voidnode.trading4j.testutils.assertions.Assertions.assertThat;
 
 import de.voidnode.trading4j.server.protocol.exceptions.MessageReadException;
+import de.voidnode.trading4j.server.protocol.exceptions.ProtocolException;
 import de.voidnode.trading4j.server.protocol.messages.AccountCurrencyExchangeRateChangedMessage;
 import de.voidnode.trading4j.server.protocol.messages.BalanceChangedMessage;
+import de.voidnode.trading4j.server.protocol.messages.CachedHistoryReplayedMessage;
 import de.voidnode.trading4j.server.protocol.messages.ChangeCloseConditionsMessage;
 import de.voidnode.trading4j.server.protocol.messages.CloseOrCancelPendingOrderMessage;
 import de.voidnode.trading4j.server.protocol.messages.EventHandlingFinishedMessage;
 import de.voidnode.trading4j.server.protocol.messages.Message;
 import de.voidnode.trading4j.server.protocol.messages.MessageType;
+import de.voidnode.trading4j.server.protocol.messages.NewMarketDataBatchMessage;
 import de.voidnode.trading4j.server.protocol.messages.NewMarketDataExtendedMessage;
 import de.voidnode.trading4j.server.protocol.messages.NewMarketDataSimpleMessage;
 import de.voidnode.trading4j.server.protocol.messages.PendingOrderConditionalyClosedMessage;
 import de.voidnode.trading4j.server.protocol.messages.PendingOrderConditionalyExecutedMessage;
 import de.voidnode.trading4j.server.protocol.messages.PlacePendingOrderMessage;
+import de.voidnode.trading4j.server.protocol.messages.RequestCachedHistoryMessage;
 import de.voidnode.trading4j.server.protocol.messages.RequestTradingAlgorithmMessage;
 import de.voidnode.trading4j.server.protocol.messages.ResponseChangeCloseConditionsMessage;
 import de.voidnode.trading4j.server.protocol.messages.ResponsePlacePendingOrderMessage;
@@ -49,7 +55,10 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -123,15 +132,88 @@ public class MessageBasedClientConnectionTest {
     @Test
     public void shouldReadNewMarketDataExtendedMessages() throws CommunicationException {
         when(client.tryReceiveByte()).thenReturn(MessageType.NEW_MARKET_DATA_EXTENDED.getMessageNumber());
-        // This is Sat, 19 Jul 2014 15:09:35 GMT
-        when(client.tryReceiveLong()).thenReturn(1405782575L);
-        when(client.tryReceiveDouble()).thenReturn(1.0, 2.0, 3.0, 4.0);
-        when(client.tryReceiveInteger()).thenReturn(50, 2000, 42);
+        doAnswer(invocation -> {
+            final ByteBuffer frame = (ByteBuffer) invocation.getArguments()[0];
+            // This is Sat, 19 Jul 2014 15:09:35 GMT
+            frame.putLong(1405782575L);
+            frame.putDouble(1.0).putDouble(2.0).putDouble(3.0).putDouble(4.0);
+            frame.putInt(50).putInt(2000).putInt(42);
+            return null;
+        }).when(client).tryReceiveFully(any(ByteBuffer.class));
 
         final NewMarketDataExtendedMessage readMessage = cut.readMessage(NewMarketDataExtendedMessage.class);
-        assertThat(readMessage.getCandleStick()).isEqualTo(new MutableFullMarketData<>()
-                .setTime(Instant.ofEpochSecond(1405782575L)).setOpen(1.0).setHigh(2.0).setLow(3.0).setClose(4.0)
-                .setSpread(new Price(50)).setVolume(2, MICRO_LOT).setTickCount(42).toImmutableFullMarketData());
+        assertThat(ReusableFullMarketData.retainable(readMessage.getCandleStick()))
+                .isEqualTo(new MutableFullMarketData<>().setTime(Instant.ofEpochSecond(1405782575L)).setOpen(1.0)
+                        .setHigh(2.0).setLow(3.0).setClose(4.0).setSpread(new Price(50)).setVolume(2, MICRO_LOT)
+                        .setTickCount(42).toImmutableFullMarketData());
+    }
+
+    /**
+     * The class should be able to read {@link NewMarketDataBatchMessage}s that are larger than the chunks in which
+     * candle sticks are received.
+     * 
+     * @throws CommunicationException
+     *             Not expected to leave the test method.
+     */
+    @Test
+    public void shouldReadNewMarketDataBatchMessages() throws CommunicationException {
+        final int candleSticks = 100;
+        when(client.tryReceiveByte()).thenReturn(MessageType.NEW_MARKET_DATA_BATCH.getMessageNumber());
+        when(client.tryReceiveInteger()).thenReturn(candleSticks);
+        final int[] sent = new int[1];
+        doAnswer(invocation -> {
+            final ByteBuffer frames = (ByteBuffer) invocation.getArguments()[0];
+            while (frames.hasRemaining()) {
+                frames.putLong(1405782575L + 60 * sent[0]);
+                frames.putDouble(1.0).putDouble(2.0).putDouble(3.0).putDouble(4.0);
+                frames.putInt(50).putInt(2000).putInt(sent[0]);
+                sent[0]++;
+            }
+            return null;
+        }).when(client).tryReceiveFully(any(ByteBuffer.class));
+
+        final NewMarketDataBatchMessage readMessage = cut.readMessage(NewMarketDataBatchMessage.class);
+
+        assertThat(readMessage.getCandleSticks()).hasSize(candleSticks);
+        for (int i = 0; i < candleSticks; i++) {
+            assertThat(readMessage.getCandleSticks().get(i)).isEqualTo(new MutableFullMarketData<>()
+                    .setTime(Instant.ofEpochSecond(1405782575L + 60 * i)).setOpen(1.0).setHigh(2.0).setLow(3.0)
+                    .setClose(4.0).setSpread(new Price(50)).setVolume(2, MICRO_LOT).setTickCount(i)
+                    .toImmutableFullMarketData());
+        }
+    }
+
+    /**
+     * A {@link NewMarketDataBatchMessage} with a negative candle stick count should be rejected.
+     * 
+     * @throws CommunicationException
+     *             Expected to leave the test method.
+     */
+    @Test(expected = MessageReadException.class)
+    public void shouldRejectNewMarketDataBatchMessagesWithNegativeCount() throws CommunicationException {
+        when(client.tryReceiveByte()).thenReturn(MessageType.NEW_MARKET_DATA_BATCH.getMessageNumber());
+        when(client.tryReceiveInteger()).thenReturn(-1);
+
+        cut.readMessage();
+    }
+
+    /**
+     * A {@link NewMarketDataBatchMessage} with more candle sticks than allowed should be rejected before any of them is
+     * received.
+     * 
+     * @throws CommunicationException
+     *             Expected to leave the test method.
+     */
+    @Test(expected = ProtocolException.class)
+    public void shouldRejectNewMarketDataBatchMessagesLargerThanTheMaximalBatchSize() throws CommunicationException {
+        when(client.tryReceiveByte()).thenReturn(MessageType.NEW_MARKET_DATA_BATCH.getMessageNumber());
+        when(client.tryReceiveInteger()).thenReturn(MessageBasedClientConnection.MAX_BATCH_SIZE + 1);
+
+        try {
+            cut.readMessage();
+        } finally {
+            verify(client, never()).tryReceiveFully(any(ByteBuffer.class));
+        }
     }
 
     /**
@@ -311,6 +393,21 @@ public class MessageBasedClientConnectionTest {
         assertThat(message.getNewRate()).isEqualTo(new Price(1.5));
     }
 
+    /**
+     * The reader should be able to read {@link RequestCachedHistoryMessage}s correctly.
+     * 
+     * @throws CommunicationException
+     *             Not expected to leave the test method.
+     */
+    @Test
+    public void shouldReadRequestCachedHistoryMessagesCorrectly() throws CommunicationException {
+        when(client.tryReceiveByte()).thenReturn(MessageType.REQUEST_CACHED_HISTORY.getMessageNumber());
+
+        assertThat(cut.readMessage()).isInstanceOf(RequestCachedHistoryMessage.class);
+        verify(client).tryReceiveByte();
+        verifyNoMoreInteractions(client);
+    }
+
     // /////////////
     // / Writing ///
     // /////////////
@@ -401,6 +498,25 @@ public class MessageBasedClientConnectionTest {
         verifyNoMoreInteractions(client);
     }
 
+    /**
+     * The class should be able to write {@link CachedHistoryReplayedMessage} messages correctly.
+     * 
+     * @throws CommunicationException
+     *             Not expected to leave the test method.
+     */
+    @Test
+    public void shouldWriteCachedHistoryReplayedMessagesCorrectly() throws CommunicationException {
+        cut.sendMessage(new CachedHistoryReplayedMessage(Optional.of(Instant.ofEpochSecond(1234567890L))));
+        cut.sendMessage(new CachedHistoryReplayedMessage(Optional.empty()));
+
+        final InOrder inOrder = inOrder(client);
+        inOrder.verify(client).trySendByte(MessageType.CACHED_HISTORY_REPLAYED.getMessageNumber());
+        inOrder.verify(client).trySendLong(1234567890L);
+        inOrder.verify(client).trySendByte(MessageType.CACHED_HISTORY_REPLAYED.getMessageNumber());
+        inOrder.verify(client).trySendLong(0L);
+        verifyNoMoreInteractions(client);
+    }
+
     /**
      * The class should be able to write {@link ChangeCloseConditionsMessage} messages correctly.
      * 
@@ -0,0 +1,201 @@
+package de.voidnode.trading4j.server.protocol.expertadvisor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
+import java.util.Optional;
+
+import de.voidnode.trading4j.api.ExpertAdvisor;
+import de.voidnode.trading4j.domain.ForexSymbol;
+import de.voidnode.trading4j.domain.Volume;
+import de.voidnode.trading4j.domain.environment.AccountInformation;
+import de.voidnode.trading4j.domain.environment.SpecialFeesInformation;
+import de.voidnode.trading4j.domain.environment.TradingEnvironmentInformation;
+import de.voidnode.trading4j.domain.environment.VolumeConstraints;
+import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
+import de.voidnode.trading4j.domain.marketdata.impl.MutableFullMarketData;
+import de.voidnode.trading4j.domain.monetary.Price;
+import de.voidnode.trading4j.domain.timeframe.M1;
+import de.voidnode.trading4j.history.M1HistoryStore;
+import de.voidnode.trading4j.history.M1HistoryWriter;
+import de.voidnode.trading4j.server.reporting.AdmininstratorNotifier;
+
+import static de.voidnode.trading4j.domain.VolumeUnit.BASE;
+import static de.voidnode.trading4j.domain.VolumeUnit.LOT;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Checks if {@link CachedHistory} works as expected.
+ *
+ * @author Raik Bieniek
+ */
+public class CachedHistoryTest {
+
+    private static final ForexSymbol EURUSD = new ForexSymbol("EURUSD");
+    private static final ForexSymbol GBPUSD = new ForexSymbol("GBPUSD");
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Duration WARM_UP_PERIOD = Duration.ofMinutes(30);
+
+    /**
+     * Temporary directory for the history files.
+     */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<Instant> fed = new ArrayList<>();
+    private final ExpertAdvisor<FullMarketData<M1>> expertAdvisor = candleStick -> fed.add(candleStick.getTime());
+    private final AdmininstratorNotifier admin = mock(AdmininstratorNotifier.class);
+
+    private M1HistoryStore store;
+    private CachedHistory cut;
+
+    /**
+     * Sets up the class under test with the candle sticks of the minutes <code>0</code> to <code>99</code> recorded.
+     *
+     * @throws IOException
+     *             Not expected to leave the test.
+     */
+    @Before
+    public void setUpCut() throws IOException {
+        store = new M1HistoryStore(folder.getRoot().toPath());
+        record(EURUSD, 0, 100);
+        cut = new CachedHistory(Optional.of(store), WARM_UP_PERIOD, admin);
+    }
+
+    /**
+     * Closes the store of the class under test.
+     *
+     * @throws IOException
+     *             Not expected to leave the test.
+     */
+    @After
+    public void closeStore() throws IOException {
+        store.close();
+    }
+
+    /**
+     * The cut feeds the candle sticks of the warm up period but none that is not historic.
+     */
+    @Test
+    public void feedsOnlyTheHistoricCandleSticksOfTheWarmUpPeriod() {
+        final Optional<Instant> newest = cut.replay(environment("Test Broker", 90), expertAdvisor);
+
+        assertThat(fed).hasSize(30);
+        assertThat(fed.get(0)).isEqualTo(minute(60));
+        assertThat(fed.get(29)).isEqualTo(minute(89));
+        assertThat(newest).contains(minute(89));
+    }
+
+    /**
+     * Sessions of the strategy tester never use the cache.
+     */
+    @Test
+    public void feedsNothingToBacktests() {
+        final Optional<Instant> newest = cut.replay(environment("Backtest", 90), expertAdvisor);
+
+        assertThat(newest).isEmpty();
+        assertThat(fed).isEmpty();
+    }
+
+    /**
+     * When market data is missing in the warm up period nothing is fed so that the client sends its full history.
+     *
+     * @throws IOException
+     *             Not expected to leave the test.
+     */
+    @Test
+    public void feedsNothingWhenMarketDataIsMissingInTheWarmUpPeriod() throws IOException {
+        record(GBPUSD, 0, 40);
+        record(GBPUSD, 160, 200);
+        final CachedHistory gapCut = new CachedHistory(Optional.of(store), Duration.ofMinutes(200), admin);
+
+        final Optional<Instant> newest = gapCut.replay(environment("Test Broker", GBPUSD, 200), expertAdvisor);
+
+        assertThat(newest).isEmpty();
+        assertThat(fed).isEmpty();
+    }
+
+    /**
+     * The time the market is closed over the weekend is not treated as missing market data.
+     *
+     * @throws IOException
+     *             Not expected to leave the test.
+     */
+    @Test
+    public void feedsCandleSticksAcrossTheWeekend() throws IOException {
+        // Friday 1970-01-02 from 20:00 to 21:00 UTC and Sunday 1970-01-04 from 22:00 to 23:00 UTC.
+        final int fridayEvening = (24 + 20) * 60;
+        final int sundayEvening = (72 + 22) * 60;
+        record(GBPUSD, fridayEvening, fridayEvening + 60);
+        record(GBPUSD, sundayEvening, sundayEvening + 60);
+        final CachedHistory weekendCut = new CachedHistory(Optional.of(store), Duration.ofHours(51), admin);
+
+        final Optional<Instant> newest = weekendCut.replay(environment("Test Broker", GBPUSD, sundayEvening + 60),
+                expertAdvisor);
+
+        assertThat(fed).hasSize(120);
+        assertThat(newest).contains(minute(sundayEvening + 59));
+    }
+
+    /**
+     * A history file that can not be read is reported to the administrator and nothing is fed so that the client
+     * sends its full history.
+     *
+     * @throws IOException
+     *             Not expected to leave the test.
+     */
+    @Test
+    public void feedsNothingWhenTheHistoryFileIsCorrupt() throws IOException {
+        // Shorter than the header of a history file.
+        Files.write(folder.getRoot().toPath().resolve("GBPUSD.m1"), new byte[] {1, 2, 3 });
+
+        final Optional<Instant> newest = cut.replay(environment("Test Broker", GBPUSD, 90), expertAdvisor);
+
+        assertThat(newest).isEmpty();
+        assertThat(fed).isEmpty();
+        verify(admin).unexpectedEvent(anyString(), any(IOException.class));
+    }
+
+    private void record(final ForexSymbol symbol, final int fromMinute, final int toMinute) throws IOException {
+        final M1HistoryWriter writer = store.writer(symbol);
+        for (int minute = fromMinute; minute < toMinute; minute++) {
+            writer.append(candleStick(minute));
+        }
+    }
+
+    private static TradingEnvironmentInformation environment(final String broker, final int nonHistoricMinute) {
+        return environment(broker, EURUSD, nonHistoricMinute);
+    }
+
+    private static TradingEnvironmentInformation environment(final String broker, final ForexSymbol symbol,
+            final int nonHistoricMinute) {
+        return new TradingEnvironmentInformation(new AccountInformation(broker, 42, USD), symbol, EURUSD,
+                new SpecialFeesInformation(new Price(0), new Price(0)), minute(nonHistoricMinute),
+                new VolumeConstraints(new Volume(1, LOT), new Volume(100, LOT), new Volume(1, LOT)));
+    }
+
+    private static FullMarketData<M1> candleStick(final int minute) {
+        return new MutableFullMarketData<M1>().setTime(minute(minute)).setOpen(new Price(110000))
+                .setHigh(new Price(110050)).setLow(new Price(109950)).setClose(new Price(110010))
+                .setSpread(new Price(15)).setVolume(1000, BASE).setTickCount(10).toImmutableFullMarketData();
+    }
+
+    private static Instant minute(final int minute) {
+        return Instant.ofEpochSecond(minute * 60L);
+    }
+}
@@ -0,0 +1,68 @@
+package de.voidnode.trading4j.server.protocol.expertadvisor;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.voidnode.trading4j.api.OrderEventListener;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks if {@link ConcurrentPendingOrderMapper} works as expected.
+ *
+ * @author Raik Bieniek
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ConcurrentPendingOrderMapperTest {
+
+    private static final int ORDER_COUNT = 100000;
+
+    private final ConcurrentPendingOrderMapper cut = new ConcurrentPendingOrderMapper();
+
+    @Mock
+    private OrderEventListener evenOrderEventListener;
+
+    @Mock
+    private OrderEventListener oddOrderEventListener;
+
+    /**
+     * Mappings put by one thread are found and removed by an other thread while the cut grows and shrinks.
+     *
+     * @throws InterruptedException
+     *             Not expected to leave the test.
+     */
+    @Test(timeout = 10000)
+    public void mappingsPutByOneThreadCanBeRemovedByAnOtherThread() throws InterruptedException {
+        final AtomicInteger wrongListeners = new AtomicInteger();
+        final Thread remover = new Thread(() -> {
+            for (int id = 0; id < ORDER_COUNT; id++) {
+                Optional<OrderEventListener> removed = cut.removeIfPresent(id);
+                while (!removed.isPresent()) {
+                    removed = cut.removeIfPresent(id);
+                }
+                if (removed.get() != listenerFor(id)) {
+                    wrongListeners.incrementAndGet();
+                }
+            }
+        });
+
+        remover.start();
+        for (int id = 0; id < ORDER_COUNT; id++) {
+            cut.put(id, listenerFor(id));
+        }
+        remover.join();
+
+        assertThat(wrongListeners.get()).isZero();
+        assertThat(cut.has(0)).isFalse();
+        assertThat(cut.has(ORDER_COUNT - 1)).isFalse();
+    }
+
+    private OrderEventListener listenerFor(final int id) {
+        return id % 2 == 0 ? evenOrderEventListener : oddOrderEventListener;
+    }
+}
@@ -4,11 +4,17 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.Currency;
+import java.util.Optional;
 
 import de.voidnode.trading4j.api.AccountBalanceManager;
 import de.voidnode.trading4j.api.ExpertAdvisor;
 import de.voidnode.trading4j.api.OrderEventListener;
 import de.voidnode.trading4j.domain.ForexSymbol;
+import de.voidnode.trading4j.domain.Volume;
+import de.voidnode.trading4j.domain.environment.AccountInformation;
+import de.voidnode.trading4j.domain.environment.SpecialFeesInformation;
+import de.voidnode.trading4j.domain.environment.TradingEnvironmentInformation;
+import de.voidnode.trading4j.domain.environment.VolumeConstraints;
 import de.voidnode.trading4j.domain.marketdata.impl.FullMarketData;
 import de.voidnode.trading4j.domain.monetary.Money;
 import de.voidnode.trading4j.domain.monetary.Price;
@@ -18,19 +24,28 @@ import de.voidnode.trading4j.server.protocol.exceptions.CommunicationException;
 import de.voidnode.trading4j.server.protocol.exceptions.ProtocolException;
 import de.voidnode.trading4j.server.protocol.messages.AccountCurrencyExchangeRateChangedMessage;
 import de.voidnode.trading4j.server.protocol.messages.BalanceChangedMessage;
+import de.voidnode.trading4j.server.protocol.messages.CachedHistoryReplayedMessage;
 import de.voidnode.trading4j.server.protocol.messages.Message;
 import de.voidnode.trading4j.server.protocol.MessageBasedClientConnection;
+import de.voidnode.trading4j.server.protocol.messages.NewMarketDataBatchMessage;
 import de.voidnode.trading4j.server.protocol.messages.NewMarketDataExtendedMessage;
 import de.voidnode.trading4j.server.protocol.messages.PendingOrderConditionalyClosedMessage;
 import de.voidnode.trading4j.server.protocol.messages.PendingOrderConditionalyExecutedMessage;
+import de.voidnode.trading4j.server.protocol.messages.RequestCachedHistoryMessage;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import static de.voidnode.trading4j.domain.VolumeUnit.LOT;
+import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -45,6 +60,12 @@ public class LocalExpertAdvisorTest {
 
     private static final Currency TEST_CURRENCY = Currency.getInstance("AUD");
     private static final ForexSymbol TEST_SYMBOL = new ForexSymbol(TEST_CURRENCY, Currency.getInstance("CAD"));
+    private static final ForexSymbol TRADE_SYMBOL = new ForexSymbol("EURUSD");
+    private static final Instant NON_HISTORIC_TIME = Instant.ofEpochSecond(1_000_000);
+    private static final TradingEnvironmentInformation ENVIRONMENT = new TradingEnvironmentInformation(
+            new AccountInformation("Test Broker", 42, TEST_CURRENCY), TRADE_SYMBOL, TEST_SYMBOL,
+            new SpecialFeesInformation(new Price(0), new Price(0)), NON_HISTORIC_TIME,
+            new VolumeConstraints(new Volume(1, LOT), new Volume(100, LOT), new Volume(1, LOT)));
 
     @Mock
     private ExpertAdvisor<FullMarketData<M1>> expertAdvisor;
@@ -55,6 +76,12 @@ public class LocalExpertAdvisorTest {
     @Mock
     private PendingOrderMapper pendingOrderMapper;
 
+    @Mock
+    private MessageBasedClientConnection clientConnection;
+
+    @Mock
+    private CachedHistory cachedHistory;
+
     private LocalExpertAdvisor cut;
 
     @Mock
@@ -80,11 +107,12 @@ public class LocalExpertAdvisorTest {
      */
     @Before
     public void setUpMocksAndCut() {
-        when(pendingOrderMapper.has(EXAMPLE_PENDING_ORDER_ID)).thenReturn(true);
-        when(pendingOrderMapper.get(EXAMPLE_PENDING_ORDER_ID)).thenReturn(orderEventListener);
+        when(pendingOrderMapper.find(EXAMPLE_PENDING_ORDER_ID)).thenReturn(Optional.of(orderEventListener));
+        when(pendingOrderMapper.removeIfPresent(EXAMPLE_PENDING_ORDER_ID)).thenReturn(Optional.of(orderEventListener));
         when(exampleNewMarketDataMessage.getCandleStick()).thenReturn(exampleFatCandleStick);
 
-        cut = new LocalExpertAdvisor(expertAdvisor, balanceManager, pendingOrderMapper, TEST_CURRENCY, TEST_SYMBOL);
+        cut = new LocalExpertAdvisor(expertAdvisor, balanceManager, pendingOrderMapper, clientConnection,
+                cachedHistory, ENVIRONMENT);
     }
 
     /**
@@ -121,6 +149,44 @@ public class LocalExpertAdvisorTest {
         verify(expertAdvisor).newData(exampleFatCandleStick);
     }
 
+    /**
+     * When a {@link NewMarketDataBatchMessage} was received the expert advisor should be notified for each candle stick
+     * in the order of the batch.
+     * 
+     * @throws CommunicationException
+     *             not expected to leave the test.
+     */
+    @Test
+    public void shouldInformExpertAdvisorForEachCandleStickOfABatch() throws CommunicationException {
+        @SuppressWarnings("unchecked")
+        final FullMarketData<M1> otherFatCandleStick = mock(FullMarketData.class);
+        cut.handleMessage(new NewMarketDataBatchMessage(asList(exampleFatCandleStick, otherFatCandleStick)));
+
+        final InOrder inOrder = inOrder(expertAdvisor);
+        inOrder.verify(expertAdvisor).newData(exampleFatCandleStick);
+        inOrder.verify(expertAdvisor).newData(otherFatCandleStick);
+    }
+
+    /**
+     * When a {@link RequestCachedHistoryMessage} was received the cached market data should be fed to the expert
+     * advisor and the time of the newest cached candle stick should be sent to the client.
+     * 
+     * @throws CommunicationException
+     *             not expected to leave the test.
+     */
+    @Test
+    public void shouldFeedCachedHistoryToExpertAdvisorWhenRequested() throws CommunicationException {
+        final Instant newestCached = NON_HISTORIC_TIME.minusSeconds(60);
+        when(cachedHistory.replay(ENVIRONMENT, expertAdvisor)).thenReturn(Optional.of(newestCached));
+
+        cut.handleMessage(new RequestCachedHistoryMessage());
+
+        final ArgumentCaptor<CachedHistoryReplayedMessage> response = ArgumentCaptor
+                .forClass(CachedHistoryReplayedMessage.class);
+        verify(clientConnection).sendMessage(response.capture());
+        assertThat(response.getValue().getNewestCandleStickTime()).contains(newestCached);
+    }
+
     /**
      * When a {@link BalanceChangedMessage} was received the expert advisor should be notified.
      * 
@@ -179,7 +245,7 @@ public class LocalExpertAdvisorTest {
      */
     @Test(expected = ProtocolException.class)
     public void shouldFailWhenUnknownOrderWasOpened() throws CommunicationException {
-        when(pendingOrderMapper.has(EXAMPLE_PENDING_ORDER_ID)).thenReturn(false);
+        when(pendingOrderMapper.find(EXAMPLE_PENDING_ORDER_ID)).thenReturn(Optional.empty());
 
         final Price examplePrice = new Price(5.48);
         final Instant exampleTime = LocalDateTime.of(2014, 07, 13, 15, 32, 23).toInstant(ZoneOffset.UTC);
@@ -217,7 +283,7 @@ public class LocalExpertAdvisorTest {
      */
     @Test(expected = ProtocolException.class)
     public void shouldFailWhenUnknownOrderWasClosed() throws CommunicationException {
-        when(pendingOrderMapper.has(EXAMPLE_PENDING_ORDER_ID)).thenReturn(false);
+        when(pendingOrderMapper.removeIfPresent(EXAMPLE_PENDING_ORDER_ID)).thenReturn(Optional.empty());
 
         final Price examplePrice = new Price(5.48);
         final Instant exampleTime = LocalDateTime.of(2014, 07, 13, 15, 32, 23).toInstant(ZoneOffset.UTC);
@@ -242,7 +308,7 @@ public class LocalExpertAdvisorTest {
 
         cut.handleMessage(message);
 
-        verify(pendingOrderMapper).remove(EXAMPLE_PENDING_ORDER_ID);
+        verify(pendingOrderMapper).removeIfPresent(EXAMPLE_PENDING_ORDER_ID);
     }
 
     /**
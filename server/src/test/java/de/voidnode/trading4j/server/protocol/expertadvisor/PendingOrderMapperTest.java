@@ -1,5 +1,7 @@
 package de.voidnode.trading4j.server.protocol.expertadvisor;
 
+import java.util.Optional;
+
 import de.voidnode.trading4j.api.OrderEventListener;
 
 import org.junit.Before;
@@ -84,4 +86,41 @@ public class PendingOrderMapperTest {
     public void removingAnUnknownIdShouldResultInAnException() {
         cut.remove(OTHER_PENDING_ORDER_ID);
     }
+
+    /**
+     * The cut allows to query for an {@link OrderEventListener} without failing when it is unknown.
+     */
+    @Test
+    public void canFindOrderEventListenersWithoutFailingForUnknownIds() {
+        assertThat(cut.find(INITIAL_PENDING_ORDER_ID)).isEqualTo(Optional.of(initialOrderEventListener));
+        assertThat(cut.find(OTHER_PENDING_ORDER_ID)).isEqualTo(Optional.empty());
+    }
+
+    /**
+     * The cut allows to remove an {@link OrderEventListener} and to receive it in one step.
+     */
+    @Test
+    public void removingIfPresentReturnsTheRemovedOrderEventListener() {
+        assertThat(cut.removeIfPresent(INITIAL_PENDING_ORDER_ID)).isEqualTo(Optional.of(initialOrderEventListener));
+        assertThat(cut.removeIfPresent(INITIAL_PENDING_ORDER_ID)).isEqualTo(Optional.empty());
+        assertThat(cut.has(INITIAL_PENDING_ORDER_ID)).isFalse();
+    }
+
+    /**
+     * Mappings stay accessible when many orders are placed and some of them are removed again.
+     */
+    @Test
+    public void shouldKeepMappingsWhenManyOrdersArePlacedAndRemoved() {
+        for (int id = 0; id < 1000; id++) {
+            cut.put(id, otherOrderEventListener);
+        }
+        for (int id = 0; id < 1000; id += 3) {
+            cut.remove(id);
+        }
+
+        for (int id = 0; id < 1000; id++) {
+            assertThat(cut.has(id)).isEqualTo(id % 3 != 0);
+        }
+        assertThat(cut.has(-1)).isFalse();
+    }
 }
@@ -87,7 +87,8 @@ public class RemoteBrokerTest {
     public void setUpMocks() throws CommunicationException {
         when(client.readMessage(ResponsePlacePendingOrderMessage.class)).thenReturn(
                 new ResponsePlacePendingOrderMessage(true, 42));
-        when(pendingOrderMapper.has(EXAMPLE_PENDING_ORDER_ID)).thenReturn(true);
+        when(pendingOrderMapper.removeIfPresent(EXAMPLE_PENDING_ORDER_ID)).thenReturn(
+                Optional.of(exampleOrderEventListener));
     }
 
     // /////////////////////////
@@ -182,7 +183,7 @@ public class RemoteBrokerTest {
         final OrderManagement orderManagement = cut.sendOrder(EXAMPLE_PENDING_ORDER, exampleOrderEventListener);
         orderManagement.closeOrCancelOrder();
 
-        verify(pendingOrderMapper).remove(EXAMPLE_PENDING_ORDER_ID);
+        verify(pendingOrderMapper).removeIfPresent(EXAMPLE_PENDING_ORDER_ID);
     }
 
     /**
@@ -194,7 +195,7 @@ public class RemoteBrokerTest {
      */
     @Test(expected = LoopThroughIllegalStateException.class)
     public void closeOrCancelAnAlreadyClosedOrCanceledOrderShouldFail() throws CommunicationException {
-        when(pendingOrderMapper.has(EXAMPLE_PENDING_ORDER_ID)).thenReturn(false);
+        when(pendingOrderMapper.removeIfPresent(EXAMPLE_PENDING_ORDER_ID)).thenReturn(Optional.empty());
 
         final OrderManagement orderManagement = cut.sendOrder(EXAMPLE_PENDING_ORDER, exampleOrderEventListener);
         orderManagement.closeOrCancelOrder();
@@ -215,6 +216,7 @@ public class RemoteBrokerTest {
     public void shouldSentCloseConditionChangesOfPendingOrdersCorrectly() throws CommunicationException {
         when(client.readMessage(ResponseChangeCloseConditionsMessage.class)).thenReturn(
                 new ResponseChangeCloseConditionsMessage());
+        when(pendingOrderMapper.has(EXAMPLE_PENDING_ORDER_ID)).thenReturn(true);
 
         final OrderManagement orderManagement = cut.sendOrder(EXAMPLE_PENDING_ORDER, exampleOrderEventListener);
         final Optional<Failed> result = orderManagement.changeCloseConditionsOfOrder(EXAMPLE_NEW_CLOSE_CONDITIONS);
@@ -241,6 +243,7 @@ public class RemoteBrokerTest {
     public void whenChangingCloseConditionsFailedTheExpertAdvisorShouldBeInformed() throws CommunicationException {
         when(client.readMessage(ResponseChangeCloseConditionsMessage.class)).thenReturn(
                 new ResponseChangeCloseConditionsMessage(50));
+        when(pendingOrderMapper.has(EXAMPLE_PENDING_ORDER_ID)).thenReturn(true);
 
         final OrderManagement orderManagement = cut.sendOrder(EXAMPLE_PENDING_ORDER, exampleOrderEventListener);
         final Optional<Failed> result = orderManagement.changeCloseConditionsOfOrder(EXAMPLE_NEW_CLOSE_CONDITIONS);